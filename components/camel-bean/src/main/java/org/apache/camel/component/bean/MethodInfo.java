@@ -49,6 +49,7 @@ import org.apache.camel.Processor;
 import org.apache.camel.RuntimeCamelException;
 import org.apache.camel.RuntimeExchangeException;
 import org.apache.camel.StreamCache;
+import org.apache.camel.TypeConverter;
 import org.apache.camel.spi.ErrorHandlerAware;
 import org.apache.camel.support.DefaultMessage;
 import org.apache.camel.support.ExchangeHelper;
@@ -546,9 +547,15 @@ public class MethodInfo {
      */
     private final class ParameterExpression implements Expression {
         private final Expression[] expressions;
+        // the values bound to a parameter are often of the same type, so use a call site type converter per parameter
+        private final TypeConverter[] converters;
 
         ParameterExpression(Expression[] expressions) {
             this.expressions = expressions;
+            this.converters = new TypeConverter[expressions.length];
+            for (int i = 0; i < converters.length; i++) {
+                converters[i] = camelContext.getTypeConverterRegistry().createCallSiteTypeConverter();
+            }
         }
 
         @Override
@@ -709,8 +716,7 @@ public class MethodInfo {
                     }
                     try {
                         // it is a valid parameter value, so convert it to the expected type of the parameter
-                        answer = exchange.getContext().getTypeConverter().mandatoryConvertTo(parameterType, exchange,
-                                parameterValue);
+                        answer = converters[index].mandatoryConvertTo(parameterType, exchange, parameterValue);
                         if (LOG.isTraceEnabled()) {
                             LOG.trace("Parameter #{} evaluated as: {} type: {}", index, answer,
                                     org.apache.camel.util.ObjectHelper.type(answer));
@@ -743,7 +749,7 @@ public class MethodInfo {
                         answer = result;
                     } else {
                         // we got a value now try to convert it to the expected type
-                        answer = exchange.getContext().getTypeConverter().mandatoryConvertTo(parameterType, result);
+                        answer = converters[index].mandatoryConvertTo(parameterType, result);
                     }
                     if (LOG.isTraceEnabled()) {
                         LOG.trace("Parameter #{} evaluated as: {} type: {}", index, answer,
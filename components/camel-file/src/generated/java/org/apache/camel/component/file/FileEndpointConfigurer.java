@@ -164,6 +164,8 @@ public class FileEndpointConfigurer extends PropertyConfigurerSupport implements
         case "repeatCount": target.setRepeatCount(property(camelContext, long.class, value)); return true;
         case "runlogginglevel":
         case "runLoggingLevel": target.setRunLoggingLevel(property(camelContext, org.apache.camel.LoggingLevel.class, value)); return true;
+        case "scanparallelism":
+        case "scanParallelism": target.setScanParallelism(property(camelContext, int.class, value)); return true;
         case "scheduledexecutorservice":
         case "scheduledExecutorService": target.setScheduledExecutorService(property(camelContext, java.util.concurrent.ScheduledExecutorService.class, value)); return true;
         case "scheduler": target.setScheduler(property(camelContext, java.lang.Object.class, value)); return true;
@@ -181,6 +183,8 @@ public class FileEndpointConfigurer extends PropertyConfigurerSupport implements
         case "startingDirectoryMustExist": target.setStartingDirectoryMustExist(property(camelContext, boolean.class, value)); return true;
         case "startingdirectorymusthaveaccess":
         case "startingDirectoryMustHaveAccess": target.setStartingDirectoryMustHaveAccess(property(camelContext, boolean.class, value)); return true;
+        case "streamingscan":
+        case "streamingScan": target.setStreamingScan(property(camelContext, boolean.class, value)); return true;
         case "synchronous": target.setSynchronous(property(camelContext, boolean.class, value)); return true;
         case "tempfilename":
         case "tempFileName": target.setTempFileName(property(camelContext, java.lang.String.class, value)); return true;
@@ -190,6 +194,8 @@ public class FileEndpointConfigurer extends PropertyConfigurerSupport implements
         case "timeUnit": target.setTimeUnit(property(camelContext, java.util.concurrent.TimeUnit.class, value)); return true;
         case "usefixeddelay":
         case "useFixedDelay": target.setUseFixedDelay(property(camelContext, boolean.class, value)); return true;
+        case "watchdirectory":
+        case "watchDirectory": target.setWatchDirectory(property(camelContext, boolean.class, value)); return true;
         default: return false;
         }
     }
@@ -340,6 +346,8 @@ public class FileEndpointConfigurer extends PropertyConfigurerSupport implements
         case "repeatCount": return long.class;
         case "runlogginglevel":
         case "runLoggingLevel": return org.apache.camel.LoggingLevel.class;
+        case "scanparallelism":
+        case "scanParallelism": return int.class;
         case "scheduledexecutorservice":
         case "scheduledExecutorService": return java.util.concurrent.ScheduledExecutorService.class;
         case "scheduler": return java.lang.Object.class;
@@ -357,6 +365,8 @@ public class FileEndpointConfigurer extends PropertyConfigurerSupport implements
         case "startingDirectoryMustExist": return boolean.class;
         case "startingdirectorymusthaveaccess":
         case "startingDirectoryMustHaveAccess": return boolean.class;
+        case "streamingscan":
+        case "streamingScan": return boolean.class;
         case "synchronous": return boolean.class;
         case "tempfilename":
         case "tempFileName": return java.lang.String.class;
@@ -366,6 +376,8 @@ public class FileEndpointConfigurer extends PropertyConfigurerSupport implements
         case "timeUnit": return java.util.concurrent.TimeUnit.class;
         case "usefixeddelay":
         case "useFixedDelay": return boolean.class;
+        case "watchdirectory":
+        case "watchDirectory": return boolean.class;
         default: return null;
         }
     }
@@ -517,6 +529,8 @@ public class FileEndpointConfigurer extends PropertyConfigurerSupport implements
         case "repeatCount": return target.getRepeatCount();
         case "runlogginglevel":
         case "runLoggingLevel": return target.getRunLoggingLevel();
+        case "scanparallelism":
+        case "scanParallelism": return target.getScanParallelism();
         case "scheduledexecutorservice":
         case "scheduledExecutorService": return target.getScheduledExecutorService();
         case "scheduler": return target.getScheduler();
@@ -534,6 +548,8 @@ public class FileEndpointConfigurer extends PropertyConfigurerSupport implements
         case "startingDirectoryMustExist": return target.isStartingDirectoryMustExist();
         case "startingdirectorymusthaveaccess":
         case "startingDirectoryMustHaveAccess": return target.isStartingDirectoryMustHaveAccess();
+        case "streamingscan":
+        case "streamingScan": return target.isStreamingScan();
         case "synchronous": return target.isSynchronous();
         case "tempfilename":
         case "tempFileName": return target.getTempFileName();
@@ -543,6 +559,8 @@ public class FileEndpointConfigurer extends PropertyConfigurerSupport implements
         case "timeUnit": return target.getTimeUnit();
         case "usefixeddelay":
         case "useFixedDelay": return target.isUseFixedDelay();
+        case "watchdirectory":
+        case "watchDirectory": return target.isWatchDirectory();
         default: return null;
         }
     }
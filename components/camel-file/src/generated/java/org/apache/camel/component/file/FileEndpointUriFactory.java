@@ -21,7 +21,7 @@ public class FileEndpointUriFactory extends org.apache.camel.support.component.E
     private static final Set<String> SECRET_PROPERTY_NAMES;
     private static final Set<String> MULTI_VALUE_PREFIXES;
     static {
-        Set<String> props = new HashSet<>(94);
+        Set<String> props = new HashSet<>(97);
         props.add("allowNullBody");
         props.add("antExclude");
         props.add("antFilterCaseSensitive");
@@ -101,6 +101,7 @@ public class FileEndpointUriFactory extends org.apache.camel.support.component.E
         props.add("renameUsingCopy");
         props.add("repeatCount");
         props.add("runLoggingLevel");
+        props.add("scanParallelism");
         props.add("scheduledExecutorService");
         props.add("scheduler");
         props.add("schedulerProperties");
@@ -111,11 +112,13 @@ public class FileEndpointUriFactory extends org.apache.camel.support.component.E
         props.add("startScheduler");
         props.add("startingDirectoryMustExist");
         props.add("startingDirectoryMustHaveAccess");
+        props.add("streamingScan");
         props.add("synchronous");
         props.add("tempFileName");
         props.add("tempPrefix");
         props.add("timeUnit");
         props.add("useFixedDelay");
+        props.add("watchDirectory");
         PROPERTY_NAMES = Collections.unmodifiableSet(props);
         SECRET_PROPERTY_NAMES = Collections.emptySet();
         Set<String> prefixes = new HashSet<>(1);
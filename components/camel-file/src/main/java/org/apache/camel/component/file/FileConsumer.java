@@ -18,15 +18,38 @@ package org.apache.camel.component.file;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.Message;
@@ -38,6 +61,7 @@ import org.apache.camel.resume.ResumeAware;
 import org.apache.camel.resume.ResumeStrategy;
 import org.apache.camel.support.resume.Resumables;
 import org.apache.camel.util.FileUtil;
+import org.apache.camel.util.IOHelper;
 import org.apache.camel.util.ObjectHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,9 +72,21 @@ import org.slf4j.LoggerFactory;
 public class FileConsumer extends GenericFileConsumer<File> implements ResumeAware<ResumeStrategy> {
 
     private static final Logger LOG = LoggerFactory.getLogger(FileConsumer.class);
+    private static final long WATCH_QUIET_PERIOD = 50;
     private ResumeStrategy resumeStrategy;
     private String endpointPath;
     private Set<String> extendedAttributes;
+    private ForkJoinPool forkJoinPool;
+
+    // watching the directories for changes
+    private final Lock pollLock = new ReentrantLock();
+    private final Set<Path> changedFiles = ConcurrentHashMap.newKeySet();
+    private final Map<WatchKey, Path> watchKeys = new ConcurrentHashMap<>();
+    private volatile WatchService watchService;
+    private volatile Path watchRoot;
+    private volatile boolean watchOverflow;
+    private volatile boolean watchPolling;
+    private ExecutorService watchExecutor;
 
     public FileConsumer(FileEndpoint endpoint, Processor processor, GenericFileOperations<File> operations,
                         GenericFileProcessStrategy<File> processStrategy) {
@@ -78,76 +114,120 @@ public class FileConsumer extends GenericFileConsumer<File> implements ResumeAwa
         if (LOG.isTraceEnabled()) {
             LOG.trace("Polling directory: {}, absolute path: {}", directory.getPath(), directory.getAbsolutePath());
         }
-        final File[] files = listFiles(directory);
-        if (files == null || files.length == 0) {
-            return true;
-        }
 
-        if (getEndpoint().isPreSort()) {
-            Arrays.sort(files, Comparator.comparing(File::getAbsoluteFile));
-        }
+        // when scanning in parallel then the sub directories are scanned by tasks forked from this task
+        List<ForkJoinTask<Boolean>> subDirectoryTasks = forkJoinPool != null ? new ArrayList<>() : null;
+        boolean answer = true;
+        try {
+            if (getEndpoint().isStreamingScan() && !getEndpoint().isPreSort()) {
+                answer = pollDirectoryStream(directory, fileList, depth, subDirectoryTasks);
+            } else {
+                final File[] files = listFiles(directory);
+                if (files == null || files.length == 0) {
+                    return true;
+                }
 
-        for (File file : files) {
-            // check if we can continue polling in files
-            if (!canPollMoreFiles(fileList)) {
-                return false;
-            }
+                if (getEndpoint().isPreSort()) {
+                    Arrays.sort(files, Comparator.comparing(File::getAbsoluteFile));
+                }
 
-            // trace log as Windows/Unix can have different views what the file is
-            if (LOG.isTraceEnabled()) {
-                LOG.trace("Found file: {} [isAbsolute: {}, isDirectory: {}, isFile: {}, isHidden: {}]", file, file.isAbsolute(),
-                        file.isDirectory(), file.isFile(),
-                        file.isHidden());
+                for (File file : files) {
+                    if (!pollFile(file, files, fileList, depth, subDirectoryTasks)) {
+                        answer = false;
+                        break;
+                    }
+                }
+            }
+        } finally {
+            if (subDirectoryTasks != null) {
+                // must wait for all the sub directories to be scanned even if we hit the limit
+                for (ForkJoinTask<Boolean> task : subDirectoryTasks) {
+                    answer &= task.join();
+                }
             }
+        }
 
-            // creates a generic file
-            GenericFile<File> gf
-                    = asGenericFile(endpointPath, file, getEndpoint().getCharset(), getEndpoint().isProbeContentType());
+        return answer;
+    }
 
-            if (resumeStrategy != null) {
-                ResumeAdapter adapter = resumeStrategy.getAdapter();
-                LOG.trace("Checking the resume adapter: {}", adapter);
-                if (adapter instanceof FileOffsetResumeAdapter) {
-                    LOG.trace("The resume adapter is for offsets: {}", adapter);
-                    ((FileOffsetResumeAdapter) adapter).setResumePayload(gf);
-                    adapter.resume();
+    private boolean pollDirectoryStream(
+            File directory, List<GenericFile<File>> fileList, int depth, List<ForkJoinTask<Boolean>> subDirectoryTasks) {
+        // stream the entries in the directory, so we do not need to load all the entries in memory,
+        // and can stop listing the directory as soon as we hit the limit
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory.toPath())) {
+            for (Path path : stream) {
+                if (!pollFile(path.toFile(), null, fileList, depth, subDirectoryTasks)) {
+                    return false;
                 }
+            }
+        } catch (IOException | DirectoryIteratorException e) {
+            throw new GenericFileOperationFailedException("Cannot list directory: " + directory, e);
+        }
+        return true;
+    }
 
-                if (adapter instanceof DirectoryEntriesResumeAdapter) {
-                    LOG.trace("Running the resume process for file {}", file);
-                    if (((DirectoryEntriesResumeAdapter) adapter).resume(file)) {
-                        LOG.trace("Skipping file {} because it has been marked previously consumed", file);
-                        continue;
-                    }
-                }
+    private boolean pollFile(
+            File file, File[] files, List<GenericFile<File>> fileList, int depth,
+            List<ForkJoinTask<Boolean>> subDirectoryTasks) {
+        // check if we can continue polling in files
+        if (!canPollMoreFiles(fileList)) {
+            return false;
+        }
+
+        // trace log as Windows/Unix can have different views what the file is
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Found file: {} [isAbsolute: {}, isDirectory: {}, isFile: {}, isHidden: {}]", file, file.isAbsolute(),
+                    file.isDirectory(), file.isFile(),
+                    file.isHidden());
+        }
+
+        // creates a generic file
+        GenericFile<File> gf
+                = asGenericFile(endpointPath, file, getEndpoint().getCharset(), getEndpoint().isProbeContentType());
+
+        if (resumeStrategy != null) {
+            ResumeAdapter adapter = resumeStrategy.getAdapter();
+            LOG.trace("Checking the resume adapter: {}", adapter);
+            if (adapter instanceof FileOffsetResumeAdapter) {
+                LOG.trace("The resume adapter is for offsets: {}", adapter);
+                ((FileOffsetResumeAdapter) adapter).setResumePayload(gf);
+                adapter.resume();
             }
 
-            if (file.isDirectory()) {
-                if (endpoint.isRecursive() && depth < endpoint.getMaxDepth() && isValidFile(gf, true, files)) {
-                    boolean canPollMore = pollDirectory(file, fileList, depth);
-                    if (!canPollMore) {
-                        return false;
-                    }
+            if (adapter instanceof DirectoryEntriesResumeAdapter) {
+                LOG.trace("Running the resume process for file {}", file);
+                if (((DirectoryEntriesResumeAdapter) adapter).resume(file)) {
+                    LOG.trace("Skipping file {} because it has been marked previously consumed", file);
+                    return true;
                 }
-            } else {
-                // Windows can report false to a file on a share so regard it
-                // always as a file (if it is not a directory)
-                if (depth >= endpoint.minDepth && isValidFile(gf, false, files)) {
-                    LOG.trace("Adding valid file: {}", file);
-                    // matched file so add
-                    if (extendedAttributes != null) {
-                        Path path = file.toPath();
-                        Map<String, Object> allAttributes = new HashMap<>();
-                        for (String attribute : extendedAttributes) {
-                            readAttributes(file, path, allAttributes, attribute);
-                        }
+            }
+        }
 
-                        gf.setExtendedAttributes(allAttributes);
+        if (file.isDirectory()) {
+            if (endpoint.isRecursive() && depth < endpoint.getMaxDepth() && isValidFile(gf, true, files)) {
+                if (subDirectoryTasks != null) {
+                    subDirectoryTasks.add(new DirectoryScanTask(file, fileList, depth).fork());
+                } else {
+                    return pollDirectory(file, fileList, depth);
+                }
+            }
+        } else {
+            // Windows can report false to a file on a share so regard it
+            // always as a file (if it is not a directory)
+            if (depth >= endpoint.minDepth && isValidFile(gf, false, files)) {
+                LOG.trace("Adding valid file: {}", file);
+                // matched file so add
+                if (extendedAttributes != null) {
+                    Path path = file.toPath();
+                    Map<String, Object> allAttributes = new HashMap<>();
+                    for (String attribute : extendedAttributes) {
+                        readAttributes(file, path, allAttributes, attribute);
                     }
 
-                    fileList.add(gf);
+                    gf.setExtendedAttributes(allAttributes);
                 }
 
+                fileList.add(gf);
             }
         }
 
@@ -167,9 +247,173 @@ public class FileConsumer extends GenericFileConsumer<File> implements ResumeAwa
             return true;
         }
 
+        if (watchService != null) {
+            if (watchPolling && !watchOverflow && getEndpoint().getDoneFileName() == null) {
+                // only poll the files we have been notified about
+                return pollChangedFiles(directory, fileList);
+            }
+            // the full scan picks up all the changed files
+            watchOverflow = false;
+            changedFiles.clear();
+        }
+
+        if (forkJoinPool != null) {
+            // the files are gathered by several threads
+            List<GenericFile<File>> gathered = Collections.synchronizedList(new ArrayList<>());
+            try {
+                return forkJoinPool.invoke(new DirectoryScanTask(directory, gathered, depth));
+            } finally {
+                // add the files even if the scan failed, so they are removed from the in progress repository
+                fileList.addAll(gathered);
+            }
+        }
         return pollDirectory(directory, fileList, depth);
     }
 
+    private boolean pollChangedFiles(File directory, List<GenericFile<File>> fileList) {
+        Path root = directory.toPath();
+        for (Path path : changedFiles) {
+            if (!canPollMoreFiles(fileList)) {
+                // the remaining files are polled by the next poll
+                return false;
+            }
+            changedFiles.remove(path);
+
+            File file = path.toFile();
+            // the file may have been deleted or moved since we were notified
+            if (file.isFile()) {
+                int depth = root.relativize(path).getNameCount();
+                pollFile(file, null, fileList, depth, null);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int poll() throws Exception {
+        // the file system watcher may poll as well
+        pollLock.lock();
+        try {
+            return super.poll();
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    private void watchDirectory() {
+        LOG.debug("Watching directory: {} for changes", endpointPath);
+        while (isRunAllowed()) {
+            try {
+                WatchKey key = watchService.take();
+                // drain the events until the directories are quiet, so we do not pick up files while they are
+                // being written, and poll the changed files together
+                while (key != null) {
+                    handleWatchEvents(key);
+                    key = watchService.poll(WATCH_QUIET_PERIOD, TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ClosedWatchServiceException e) {
+                return;
+            }
+
+            if ((watchOverflow || !changedFiles.isEmpty()) && isRunAllowed() && !isSuspended()) {
+                pollChanges();
+            }
+        }
+    }
+
+    private void handleWatchEvents(WatchKey key) {
+        Path dir = watchKeys.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || dir == null) {
+                // events have been lost so the next poll must scan the directories
+                watchOverflow = true;
+                continue;
+            }
+            Path path = dir.resolve((Path) event.context());
+            if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+                changedFiles.remove(path);
+            } else if (Files.isDirectory(path)) {
+                if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+                    registerDirectory(path, true);
+                }
+            } else {
+                changedFiles.add(path);
+            }
+        }
+        if (!key.reset()) {
+            watchKeys.remove(key);
+        }
+    }
+
+    private void registerDirectory(Path directory, boolean created) {
+        Path root = watchRoot;
+        int depth = directory.equals(root) ? 0 : root.relativize(directory).getNameCount();
+        if (depth > 0 && (!getEndpoint().isRecursive() || depth >= getEndpoint().getMaxDepth())) {
+            return;
+        }
+        try {
+            Files.walkFileTree(directory, EnumSet.noneOf(FileVisitOption.class), getEndpoint().getMaxDepth() - depth,
+                    new SimpleFileVisitor<>() {
+                        @Override
+                        public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                            // folders starting with dot are always skipped
+                            if (!dir.equals(root) && dir.getFileName().toString().startsWith(".")) {
+                                return FileVisitResult.SKIP_SUBTREE;
+                            }
+                            LOG.trace("Watching directory: {}", dir);
+                            watchKeys.put(dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE), dir);
+                            return getEndpoint().isRecursive() ? FileVisitResult.CONTINUE : FileVisitResult.SKIP_SUBTREE;
+                        }
+
+                        @Override
+                        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                            // files in a new directory may have been written before we watch the directory
+                            if (created && attrs.isRegularFile()) {
+                                changedFiles.add(file);
+                            }
+                            return FileVisitResult.CONTINUE;
+                        }
+
+                        @Override
+                        public FileVisitResult visitFileFailed(Path file, IOException e) {
+                            LOG.debug("Cannot watch: {} due to {}", file, e.getMessage());
+                            return FileVisitResult.CONTINUE;
+                        }
+                    });
+        } catch (IOException e) {
+            LOG.warn("Cannot watch directory: {} due to {}. The directory is only scanned by polling.", directory,
+                    e.getMessage());
+        }
+    }
+
+    private void pollChanges() {
+        pollLock.lock();
+        try {
+            watchPolling = true;
+            if (getPollStrategy().begin(this, getEndpoint())) {
+                int polledMessages = poll();
+                getPollStrategy().commit(this, getEndpoint(), polledMessages);
+            }
+        } catch (Exception e) {
+            try {
+                // the next poll will pick up the files, so we do not retry
+                getPollStrategy().rollback(this, getEndpoint(), 0, e);
+            } catch (Exception t) {
+                LOG.debug("Error during rollback of poll strategy. This exception will be ignored.", t);
+            }
+            getExceptionHandler().handleException("Failed polling changed files from endpoint: " + getEndpoint()
+                                                  + ". Will try again at next poll",
+                    e);
+        } finally {
+            watchPolling = false;
+            pollLock.unlock();
+        }
+    }
+
     private File[] listFiles(File directory) {
         final File[] dirFiles = directory.listFiles();
 
@@ -220,6 +464,14 @@ public class FileConsumer extends GenericFileConsumer<File> implements ResumeAwa
     @Override
     protected boolean isMatched(GenericFile<File> file, String doneFileName, File[] files) {
         String onlyName = FileUtil.stripPath(doneFileName);
+        if (files == null) {
+            // the directory is streamed so check the done file on the file system
+            if (new File(file.getFile().getParentFile(), onlyName).exists()) {
+                return true;
+            }
+            LOG.trace("Done file: {} does not exist", doneFileName);
+            return false;
+        }
         // the done file name must be among the files
         for (File f : files) {
             if (f.getName().equals(onlyName)) {
@@ -324,7 +576,58 @@ public class FileConsumer extends GenericFileConsumer<File> implements ResumeAwa
             resumeStrategy.loadCache();
         }
 
+        int parallelism = getEndpoint().getScanParallelism();
+        if (parallelism > 1) {
+            if (resumeStrategy != null) {
+                LOG.warn("Cannot scan directories in parallel when using a resume strategy. Will scan using a single thread.");
+            } else {
+                final String threadName = getEndpoint().getCamelContext().getExecutorServiceManager()
+                        .resolveThreadName("FileConsumerScan[" + endpointPath + "]");
+                forkJoinPool = new ForkJoinPool(parallelism, pool -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                    thread.setName(threadName + "-" + thread.getPoolIndex());
+                    return thread;
+                }, null, false);
+            }
+        }
+
+        File directory = getEndpoint().getFile();
+        if (getEndpoint().isWatchDirectory() && directory.isDirectory()) {
+            // register the directories before the first poll, so we do not miss any changes
+            watchRoot = directory.toPath();
+            watchService = watchRoot.getFileSystem().newWatchService();
+            registerDirectory(watchRoot, false);
+        }
+
         super.doStart();
+
+        if (watchService != null) {
+            watchExecutor = getEndpoint().getCamelContext().getExecutorServiceManager()
+                    .newSingleThreadExecutor(this, "FileWatchConsumer[" + endpointPath + "]");
+            watchExecutor.submit(this::watchDirectory);
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (watchService != null) {
+            // closing the watch service stops the watcher
+            IOHelper.close(watchService);
+            watchService = null;
+            watchKeys.clear();
+            changedFiles.clear();
+        }
+        if (watchExecutor != null) {
+            getEndpoint().getCamelContext().getExecutorServiceManager().shutdownNow(watchExecutor);
+            watchExecutor = null;
+        }
+
+        super.doStop();
+
+        if (forkJoinPool != null) {
+            forkJoinPool.shutdownNow();
+            forkJoinPool = null;
+        }
     }
 
     @Override
@@ -341,4 +644,25 @@ public class FileConsumer extends GenericFileConsumer<File> implements ResumeAwa
     public String adapterFactoryService() {
         return "file-adapter-factory";
     }
+
+    /**
+     * Task which scans a directory, and forks a task for each of its sub directories.
+     */
+    private final class DirectoryScanTask extends RecursiveTask<Boolean> {
+
+        private final File directory;
+        private final List<GenericFile<File>> fileList;
+        private final int depth;
+
+        private DirectoryScanTask(File directory, List<GenericFile<File>> fileList, int depth) {
+            this.directory = directory;
+            this.fileList = fileList;
+            this.depth = depth;
+        }
+
+        @Override
+        protected Boolean compute() {
+            return pollDirectory(directory, fileList, depth);
+        }
+    }
 }
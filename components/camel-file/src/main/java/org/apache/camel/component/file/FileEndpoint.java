@@ -75,6 +75,12 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
     private boolean probeContentType;
     @UriParam(label = "consumer,advanced")
     private String extendedAttributes;
+    @UriParam(label = "consumer,advanced")
+    private boolean streamingScan;
+    @UriParam(label = "consumer,advanced", defaultValue = "1")
+    private int scanParallelism = 1;
+    @UriParam(label = "consumer")
+    private boolean watchDirectory;
     @UriParam(label = "producer,advanced", defaultValue = "true")
     private boolean forceWrites = true;
     @UriParam(label = "producer,advanced")
@@ -360,6 +366,46 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
         this.extendedAttributes = extendedAttributes;
     }
 
+    public boolean isStreamingScan() {
+        return streamingScan;
+    }
+
+    /**
+     * Whether to stream the entries of the directories when scanning for files, instead of listing all the entries of
+     * a directory at once. This lowers the memory usage when polling directories with a very large number of files,
+     * and when using maxMessagesPerPoll then the scan stops as soon as the limit is hit. This option is not in use when
+     * preSort is enabled, as pre sorting requires all the entries of a directory.
+     */
+    public void setStreamingScan(boolean streamingScan) {
+        this.streamingScan = streamingScan;
+    }
+
+    public int getScanParallelism() {
+        return scanParallelism;
+    }
+
+    /**
+     * The number of threads to use for scanning the sub directories in parallel when recursive is enabled. The files
+     * are gathered in no particular order, so use a sorter if the files should be processed in a given order.
+     */
+    public void setScanParallelism(int scanParallelism) {
+        this.scanParallelism = scanParallelism;
+    }
+
+    public boolean isWatchDirectory() {
+        return watchDirectory;
+    }
+
+    /**
+     * Whether to watch the directories for changes using the file system watch service, so new and changed files are
+     * picked up as soon as the file system notifies about them, instead of at the next poll. The regular polling is
+     * still in use as a periodic scan which picks up any files the notifications may have missed, so the delay option
+     * can be set to a longer interval.
+     */
+    public void setWatchDirectory(boolean watchDirectory) {
+        this.watchDirectory = watchDirectory;
+    }
+
     /**
      * Chmod value must be between 000 and 777; If there is a leading digit like in 0755 we will ignore it.
      */
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.throttle.hazelcast;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.map.ExtendedMapEntry;
+import com.hazelcast.map.IMap;
+import org.apache.camel.support.processor.throttle.LeasedThrottleStateRepository;
+
+/**
+ * A {@link org.apache.camel.spi.ThrottleStateRepository} which counts the permits in a Hazelcast map, so the throttle
+ * rate applies to all the Camel applications using the same map.
+ * <p/>
+ * The counters are updated with an entry processor, which runs on the cluster member owning the counter, so the
+ * camel-hazelcast JAR must be on the classpath of the members.
+ */
+public class HazelcastThrottleStateRepository extends LeasedThrottleStateRepository {
+
+    private String repositoryName;
+    private IMap<String, Long> repo;
+    private HazelcastInstance hazelcastInstance;
+
+    public HazelcastThrottleStateRepository(HazelcastInstance hazelcastInstance) {
+        this(hazelcastInstance, HazelcastThrottleStateRepository.class.getSimpleName());
+    }
+
+    public HazelcastThrottleStateRepository(HazelcastInstance hazelcastInstance, String repositoryName) {
+        this.repositoryName = repositoryName;
+        this.hazelcastInstance = hazelcastInstance;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        repo = hazelcastInstance.getMap(repositoryName);
+    }
+
+    @Override
+    protected long addAndGet(String name, int delta, long timeToLiveMillis) {
+        return repo.executeOnKey(name, new AddAndGetProcessor(delta, timeToLiveMillis));
+    }
+
+    public String getRepositoryName() {
+        return repositoryName;
+    }
+
+    /**
+     * Adds the delta to the counter atomically on the member owning the counter.
+     */
+    private static final class AddAndGetProcessor implements EntryProcessor<String, Long, Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final int delta;
+        private final long timeToLiveMillis;
+
+        AddAndGetProcessor(int delta, long timeToLiveMillis) {
+            this.delta = delta;
+            this.timeToLiveMillis = timeToLiveMillis;
+        }
+
+        @Override
+        public Long process(Map.Entry<String, Long> entry) {
+            Long current = entry.getValue();
+            long answer = current != null ? current + delta : delta;
+            // the time to live ends at the same time for every caller within the window
+            ((ExtendedMapEntry<String, Long>) entry).setValue(answer, timeToLiveMillis, TimeUnit.MILLISECONDS);
+            return answer;
+        }
+    }
+}
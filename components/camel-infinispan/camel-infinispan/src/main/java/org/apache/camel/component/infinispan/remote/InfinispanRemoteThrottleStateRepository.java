@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.infinispan.remote;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.support.processor.throttle.LeasedThrottleStateRepository;
+import org.apache.camel.util.function.Suppliers;
+import org.infinispan.client.hotrod.Flag;
+import org.infinispan.client.hotrod.MetadataValue;
+import org.infinispan.client.hotrod.RemoteCache;
+import org.infinispan.client.hotrod.RemoteCacheManager;
+
+import static org.apache.camel.component.infinispan.remote.InfinispanRemoteUtil.getCacheWithFlags;
+
+/**
+ * A {@link org.apache.camel.spi.ThrottleStateRepository} which counts the permits in a remote Infinispan cache, so the
+ * throttle rate applies to all the Camel applications using the same cache.
+ */
+public class InfinispanRemoteThrottleStateRepository extends LeasedThrottleStateRepository implements CamelContextAware {
+    private final String cacheName;
+    private final Supplier<RemoteCache<String, Long>> cache;
+
+    private CamelContext camelContext;
+    private InfinispanRemoteConfiguration configuration;
+    private InfinispanRemoteManager manager;
+
+    public InfinispanRemoteThrottleStateRepository(String cacheName) {
+        this.cacheName = cacheName;
+        this.cache = Suppliers.memorize(() -> getCacheWithFlags(manager, cacheName, Flag.FORCE_RETURN_VALUE));
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+
+        if (this.configuration == null) {
+            this.configuration = new InfinispanRemoteConfiguration();
+        }
+
+        this.manager = new InfinispanRemoteManager(configuration);
+        this.manager.setCamelContext(getCamelContext());
+        this.manager.start();
+    }
+
+    @Override
+    protected void doShutdown() throws Exception {
+        this.manager.shutdown();
+        super.doShutdown();
+    }
+
+    @Override
+    protected long addAndGet(String name, int delta, long timeToLiveMillis) {
+        RemoteCache<String, Long> remoteCache = cache.get();
+        while (true) {
+            MetadataValue<Long> current = remoteCache.getWithMetadata(name);
+            if (current == null) {
+                if (remoteCache.putIfAbsent(name, (long) delta, timeToLiveMillis, TimeUnit.MILLISECONDS) == null) {
+                    return delta;
+                }
+            } else {
+                long answer = current.getValue() + delta;
+                if (remoteCache.replaceWithVersion(name, answer, current.getVersion(), timeToLiveMillis,
+                        TimeUnit.MILLISECONDS, 0, TimeUnit.MILLISECONDS)) {
+                    return answer;
+                }
+            }
+            // another Camel application updated the counter in the meantime
+        }
+    }
+
+    @Override
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    @Override
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    public String getCacheName() {
+        return this.cacheName;
+    }
+
+    public InfinispanRemoteConfiguration getConfiguration() {
+        return configuration;
+    }
+
+    public void setConfiguration(InfinispanRemoteConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    public InfinispanRemoteManager getManager() {
+        return manager;
+    }
+
+    public void setManager(InfinispanRemoteManager manager) {
+        this.manager = manager;
+    }
+
+    public RemoteCacheManager getCacheContainer() {
+        return configuration != null ? configuration.getCacheContainer() : null;
+    }
+
+    public void setCacheContainer(RemoteCacheManager cacheContainer) {
+        if (this.configuration == null) {
+            this.configuration = new InfinispanRemoteConfiguration();
+        }
+
+        this.configuration.setCacheContainer(cacheContainer);
+    }
+}
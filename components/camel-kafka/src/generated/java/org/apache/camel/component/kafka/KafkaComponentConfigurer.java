@@ -40,6 +40,9 @@ public class KafkaComponentConfigurer extends PropertyConfigurerSupport implemen
         case "autoOffsetReset": getOrCreateConfiguration(target).setAutoOffsetReset(property(camelContext, java.lang.String.class, value)); return true;
         case "autowiredenabled":
         case "autowiredEnabled": target.setAutowiredEnabled(property(camelContext, boolean.class, value)); return true;
+        case "batching": getOrCreateConfiguration(target).setBatching(property(camelContext, boolean.class, value)); return true;
+        case "batchingintervalms":
+        case "batchingIntervalMs": getOrCreateConfiguration(target).setBatchingIntervalMs(property(camelContext, java.lang.Long.class, value)); return true;
         case "batchwithindividualheaders":
         case "batchWithIndividualHeaders": getOrCreateConfiguration(target).setBatchWithIndividualHeaders(property(camelContext, boolean.class, value)); return true;
         case "breakonfirsterror":
@@ -119,6 +122,8 @@ public class KafkaComponentConfigurer extends PropertyConfigurerSupport implemen
         case "lingerMs": getOrCreateConfiguration(target).setLingerMs(property(camelContext, java.lang.Integer.class, value)); return true;
         case "maxblockms":
         case "maxBlockMs": getOrCreateConfiguration(target).setMaxBlockMs(property(camelContext, java.lang.Integer.class, value)); return true;
+        case "maxinflightrecords":
+        case "maxInFlightRecords": getOrCreateConfiguration(target).setMaxInFlightRecords(property(camelContext, int.class, value)); return true;
         case "maxinflightrequest":
         case "maxInFlightRequest": getOrCreateConfiguration(target).setMaxInFlightRequest(property(camelContext, java.lang.Integer.class, value)); return true;
         case "maxpartitionfetchbytes":
@@ -150,6 +155,10 @@ public class KafkaComponentConfigurer extends PropertyConfigurerSupport implemen
         case "pollOnError": getOrCreateConfiguration(target).setPollOnError(property(camelContext, org.apache.camel.component.kafka.PollOnError.class, value)); return true;
         case "polltimeoutms":
         case "pollTimeoutMs": getOrCreateConfiguration(target).setPollTimeoutMs(property(camelContext, java.lang.Long.class, value)); return true;
+        case "processingorder":
+        case "processingOrder": getOrCreateConfiguration(target).setProcessingOrder(property(camelContext, org.apache.camel.component.kafka.ProcessingOrder.class, value)); return true;
+        case "processingthreads":
+        case "processingThreads": getOrCreateConfiguration(target).setProcessingThreads(property(camelContext, int.class, value)); return true;
         case "producerbatchsize":
         case "producerBatchSize": getOrCreateConfiguration(target).setProducerBatchSize(property(camelContext, java.lang.Integer.class, value)); return true;
         case "queuebufferingmaxmessages":
@@ -262,6 +271,9 @@ public class KafkaComponentConfigurer extends PropertyConfigurerSupport implemen
         case "autoOffsetReset": return java.lang.String.class;
         case "autowiredenabled":
         case "autowiredEnabled": return boolean.class;
+        case "batching": return boolean.class;
+        case "batchingintervalms":
+        case "batchingIntervalMs": return java.lang.Long.class;
         case "batchwithindividualheaders":
         case "batchWithIndividualHeaders": return boolean.class;
         case "breakonfirsterror":
@@ -341,6 +353,8 @@ public class KafkaComponentConfigurer extends PropertyConfigurerSupport implemen
         case "lingerMs": return java.lang.Integer.class;
         case "maxblockms":
         case "maxBlockMs": return java.lang.Integer.class;
+        case "maxinflightrecords":
+        case "maxInFlightRecords": return int.class;
         case "maxinflightrequest":
         case "maxInFlightRequest": return java.lang.Integer.class;
         case "maxpartitionfetchbytes":
@@ -372,6 +386,10 @@ public class KafkaComponentConfigurer extends PropertyConfigurerSupport implemen
         case "pollOnError": return org.apache.camel.component.kafka.PollOnError.class;
         case "polltimeoutms":
         case "pollTimeoutMs": return java.lang.Long.class;
+        case "processingorder":
+        case "processingOrder": return org.apache.camel.component.kafka.ProcessingOrder.class;
+        case "processingthreads":
+        case "processingThreads": return int.class;
         case "producerbatchsize":
         case "producerBatchSize": return java.lang.Integer.class;
         case "queuebufferingmaxmessages":
@@ -480,6 +498,9 @@ public class KafkaComponentConfigurer extends PropertyConfigurerSupport implemen
         case "autoOffsetReset": return getOrCreateConfiguration(target).getAutoOffsetReset();
         case "autowiredenabled":
         case "autowiredEnabled": return target.isAutowiredEnabled();
+        case "batching": return getOrCreateConfiguration(target).isBatching();
+        case "batchingintervalms":
+        case "batchingIntervalMs": return getOrCreateConfiguration(target).getBatchingIntervalMs();
         case "batchwithindividualheaders":
         case "batchWithIndividualHeaders": return getOrCreateConfiguration(target).isBatchWithIndividualHeaders();
         case "breakonfirsterror":
@@ -559,6 +580,8 @@ public class KafkaComponentConfigurer extends PropertyConfigurerSupport implemen
         case "lingerMs": return getOrCreateConfiguration(target).getLingerMs();
         case "maxblockms":
         case "maxBlockMs": return getOrCreateConfiguration(target).getMaxBlockMs();
+        case "maxinflightrecords":
+        case "maxInFlightRecords": return getOrCreateConfiguration(target).getMaxInFlightRecords();
         case "maxinflightrequest":
         case "maxInFlightRequest": return getOrCreateConfiguration(target).getMaxInFlightRequest();
         case "maxpartitionfetchbytes":
@@ -590,6 +613,10 @@ public class KafkaComponentConfigurer extends PropertyConfigurerSupport implemen
         case "pollOnError": return getOrCreateConfiguration(target).getPollOnError();
         case "polltimeoutms":
         case "pollTimeoutMs": return getOrCreateConfiguration(target).getPollTimeoutMs();
+        case "processingorder":
+        case "processingOrder": return getOrCreateConfiguration(target).getProcessingOrder();
+        case "processingthreads":
+        case "processingThreads": return getOrCreateConfiguration(target).getProcessingThreads();
         case "producerbatchsize":
         case "producerBatchSize": return getOrCreateConfiguration(target).getProducerBatchSize();
         case "queuebufferingmaxmessages":
@@ -31,6 +31,9 @@ public class KafkaEndpointConfigurer extends PropertyConfigurerSupport implement
         case "autoCommitIntervalMs": target.getConfiguration().setAutoCommitIntervalMs(property(camelContext, java.lang.Integer.class, value)); return true;
         case "autooffsetreset":
         case "autoOffsetReset": target.getConfiguration().setAutoOffsetReset(property(camelContext, java.lang.String.class, value)); return true;
+        case "batching": target.getConfiguration().setBatching(property(camelContext, boolean.class, value)); return true;
+        case "batchingintervalms":
+        case "batchingIntervalMs": target.getConfiguration().setBatchingIntervalMs(property(camelContext, java.lang.Long.class, value)); return true;
         case "batchwithindividualheaders":
         case "batchWithIndividualHeaders": target.getConfiguration().setBatchWithIndividualHeaders(property(camelContext, boolean.class, value)); return true;
         case "breakonfirsterror":
@@ -109,6 +112,8 @@ public class KafkaEndpointConfigurer extends PropertyConfigurerSupport implement
         case "lingerMs": target.getConfiguration().setLingerMs(property(camelContext, java.lang.Integer.class, value)); return true;
         case "maxblockms":
         case "maxBlockMs": target.getConfiguration().setMaxBlockMs(property(camelContext, java.lang.Integer.class, value)); return true;
+        case "maxinflightrecords":
+        case "maxInFlightRecords": target.getConfiguration().setMaxInFlightRecords(property(camelContext, int.class, value)); return true;
         case "maxinflightrequest":
         case "maxInFlightRequest": target.getConfiguration().setMaxInFlightRequest(property(camelContext, java.lang.Integer.class, value)); return true;
         case "maxpartitionfetchbytes":
@@ -138,6 +143,10 @@ public class KafkaEndpointConfigurer extends PropertyConfigurerSupport implement
         case "pollOnError": target.getConfiguration().setPollOnError(property(camelContext, org.apache.camel.component.kafka.PollOnError.class, value)); return true;
         case "polltimeoutms":
         case "pollTimeoutMs": target.getConfiguration().setPollTimeoutMs(property(camelContext, java.lang.Long.class, value)); return true;
+        case "processingorder":
+        case "processingOrder": target.getConfiguration().setProcessingOrder(property(camelContext, org.apache.camel.component.kafka.ProcessingOrder.class, value)); return true;
+        case "processingthreads":
+        case "processingThreads": target.getConfiguration().setProcessingThreads(property(camelContext, int.class, value)); return true;
         case "producerbatchsize":
         case "producerBatchSize": target.getConfiguration().setProducerBatchSize(property(camelContext, java.lang.Integer.class, value)); return true;
         case "queuebufferingmaxmessages":
@@ -237,6 +246,9 @@ public class KafkaEndpointConfigurer extends PropertyConfigurerSupport implement
         case "autoCommitIntervalMs": return java.lang.Integer.class;
         case "autooffsetreset":
         case "autoOffsetReset": return java.lang.String.class;
+        case "batching": return boolean.class;
+        case "batchingintervalms":
+        case "batchingIntervalMs": return java.lang.Long.class;
         case "batchwithindividualheaders":
         case "batchWithIndividualHeaders": return boolean.class;
         case "breakonfirsterror":
@@ -315,6 +327,8 @@ public class KafkaEndpointConfigurer extends PropertyConfigurerSupport implement
         case "lingerMs": return java.lang.Integer.class;
         case "maxblockms":
         case "maxBlockMs": return java.lang.Integer.class;
+        case "maxinflightrecords":
+        case "maxInFlightRecords": return int.class;
         case "maxinflightrequest":
         case "maxInFlightRequest": return java.lang.Integer.class;
         case "maxpartitionfetchbytes":
@@ -344,6 +358,10 @@ public class KafkaEndpointConfigurer extends PropertyConfigurerSupport implement
         case "pollOnError": return org.apache.camel.component.kafka.PollOnError.class;
         case "polltimeoutms":
         case "pollTimeoutMs": return java.lang.Long.class;
+        case "processingorder":
+        case "processingOrder": return org.apache.camel.component.kafka.ProcessingOrder.class;
+        case "processingthreads":
+        case "processingThreads": return int.class;
         case "producerbatchsize":
         case "producerBatchSize": return java.lang.Integer.class;
         case "queuebufferingmaxmessages":
@@ -444,6 +462,9 @@ public class KafkaEndpointConfigurer extends PropertyConfigurerSupport implement
         case "autoCommitIntervalMs": return target.getConfiguration().getAutoCommitIntervalMs();
         case "autooffsetreset":
         case "autoOffsetReset": return target.getConfiguration().getAutoOffsetReset();
+        case "batching": return target.getConfiguration().isBatching();
+        case "batchingintervalms":
+        case "batchingIntervalMs": return target.getConfiguration().getBatchingIntervalMs();
         case "batchwithindividualheaders":
         case "batchWithIndividualHeaders": return target.getConfiguration().isBatchWithIndividualHeaders();
         case "breakonfirsterror":
@@ -522,6 +543,8 @@ public class KafkaEndpointConfigurer extends PropertyConfigurerSupport implement
         case "lingerMs": return target.getConfiguration().getLingerMs();
         case "maxblockms":
         case "maxBlockMs": return target.getConfiguration().getMaxBlockMs();
+        case "maxinflightrecords":
+        case "maxInFlightRecords": return target.getConfiguration().getMaxInFlightRecords();
         case "maxinflightrequest":
         case "maxInFlightRequest": return target.getConfiguration().getMaxInFlightRequest();
         case "maxpartitionfetchbytes":
@@ -551,6 +574,10 @@ public class KafkaEndpointConfigurer extends PropertyConfigurerSupport implement
         case "pollOnError": return target.getConfiguration().getPollOnError();
         case "polltimeoutms":
         case "pollTimeoutMs": return target.getConfiguration().getPollTimeoutMs();
+        case "processingorder":
+        case "processingOrder": return target.getConfiguration().getProcessingOrder();
+        case "processingthreads":
+        case "processingThreads": return target.getConfiguration().getProcessingThreads();
         case "producerbatchsize":
         case "producerBatchSize": return target.getConfiguration().getProducerBatchSize();
         case "queuebufferingmaxmessages":
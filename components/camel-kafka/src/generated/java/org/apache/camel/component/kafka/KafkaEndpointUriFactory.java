@@ -21,13 +21,15 @@ public class KafkaEndpointUriFactory extends org.apache.camel.support.component.
     private static final Set<String> SECRET_PROPERTY_NAMES;
     private static final Set<String> MULTI_VALUE_PREFIXES;
     static {
-        Set<String> props = new HashSet<>(103);
+        Set<String> props = new HashSet<>(108);
         props.add("additionalProperties");
         props.add("allowManualCommit");
         props.add("autoCommitEnable");
         props.add("autoCommitIntervalMs");
         props.add("autoOffsetReset");
         props.add("batchWithIndividualHeaders");
+        props.add("batching");
+        props.add("batchingIntervalMs");
         props.add("breakOnFirstError");
         props.add("bridgeErrorHandler");
         props.add("brokers");
@@ -67,6 +69,7 @@ public class KafkaEndpointUriFactory extends org.apache.camel.support.component.
         props.add("lazyStartProducer");
         props.add("lingerMs");
         props.add("maxBlockMs");
+        props.add("maxInFlightRecords");
         props.add("maxInFlightRequest");
         props.add("maxPartitionFetchBytes");
         props.add("maxPollIntervalMs");
@@ -82,6 +85,8 @@ public class KafkaEndpointUriFactory extends org.apache.camel.support.component.
         props.add("partitioner");
         props.add("pollOnError");
         props.add("pollTimeoutMs");
+        props.add("processingOrder");
+        props.add("processingThreads");
         props.add("producerBatchSize");
         props.add("queueBufferingMaxMessages");
         props.add("receiveBufferBytes");
@@ -145,6 +145,16 @@ public class KafkaConfiguration implements Cloneable, HeaderFilterStrategyAware
     private PollOnError pollOnError = PollOnError.ERROR_HANDLER;
     @UriParam(label = "consumer", defaultValue = "5000", javaType = "java.time.Duration")
     private Long commitTimeoutMs = 5000L;
+    @UriParam(label = "consumer")
+    private int processingThreads;
+    @UriParam(label = "consumer", defaultValue = "KEY")
+    private ProcessingOrder processingOrder = ProcessingOrder.KEY;
+    @UriParam(label = "consumer", defaultValue = "1000")
+    private int maxInFlightRecords = 1000;
+    @UriParam(label = "consumer")
+    private boolean batching;
+    @UriParam(label = "consumer", javaType = "java.time.Duration")
+    private Long batchingIntervalMs;
     @UriParam(label = "consumer,advanced", defaultValue = "read_uncommitted", enums = "read_uncommitted,read_committed")
     private String isolationLevel;
 
@@ -456,7 +466,10 @@ public class KafkaConfiguration implements Cloneable, HeaderFilterStrategyAware
         addPropertyIfNotEmpty(props, ConsumerConfig.INTERCEPTOR_CLASSES_CONFIG, getInterceptorClasses());
         addPropertyIfNotEmpty(props, ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, getAutoOffsetReset());
         addPropertyIfNotEmpty(props, ConsumerConfig.CONNECTIONS_MAX_IDLE_MS_CONFIG, getConnectionMaxIdleMs());
-        addPropertyIfNotEmpty(props, ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, getAutoCommitEnable());
+        // when processing the records in parallel or in batches then the offsets are committed by the consumer once
+        // the records have completed, as the kafka auto commit would commit records that are still being processed
+        addPropertyIfNotEmpty(props, ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG,
+                getAutoCommitEnable() && getProcessingThreads() == 0 && !isBatching());
         addPropertyIfNotEmpty(props, ConsumerConfig.PARTITION_ASSIGNMENT_STRATEGY_CONFIG, getPartitionAssignor());
         addPropertyIfNotEmpty(props, ConsumerConfig.RECEIVE_BUFFER_CONFIG, getReceiveBufferBytes());
         addPropertyIfNotEmpty(props, ConsumerConfig.REQUEST_TIMEOUT_MS_CONFIG, getConsumerRequestTimeoutMs());
@@ -825,6 +838,80 @@ public class KafkaConfiguration implements Cloneable, HeaderFilterStrategyAware
         this.breakOnFirstError = breakOnFirstError;
     }
 
+    public int getProcessingThreads() {
+        return processingThreads;
+    }
+
+    /**
+     * The number of threads used for processing the records of a poll in parallel. By default the records are
+     * processed one by one on the consumer thread, which bounds the throughput of a consumer by the time it takes to
+     * route a record. When processing in parallel the order of the records is still kept per key or per partition,
+     * see the processingOrder option, and the offsets are committed up till the last record before which all the
+     * records have completed. Use autoCommitIntervalMs to control how often the offsets are committed. This cannot be
+     * used together with allowManualCommit.
+     */
+    public void setProcessingThreads(int processingThreads) {
+        this.processingThreads = processingThreads;
+    }
+
+    public ProcessingOrder getProcessingOrder() {
+        return processingOrder;
+    }
+
+    /**
+     * The order to keep when processing the records in parallel (see the processingThreads option). KEY processes the
+     * records with the same key in order, and records with different keys in parallel (records without a key are
+     * ordered per partition). PARTITION processes the records of a partition in order, and the partitions in
+     * parallel.
+     */
+    public void setProcessingOrder(ProcessingOrder processingOrder) {
+        this.processingOrder = processingOrder;
+    }
+
+    public int getMaxInFlightRecords() {
+        return maxInFlightRecords;
+    }
+
+    /**
+     * The maximum number of records that are being processed in parallel (see the processingThreads option) before
+     * the consumer pauses fetching from its partitions. Fetching is resumed when records have completed. As the
+     * records of a poll are always dispatched, the limit can be exceeded by up to the number of records of a poll
+     * (maxPollRecords).
+     */
+    public void setMaxInFlightRecords(int maxInFlightRecords) {
+        this.maxInFlightRecords = maxInFlightRecords;
+    }
+
+    public boolean isBatching() {
+        return batching;
+    }
+
+    /**
+     * Whether to route the records of a poll as a batch, with one exchange per batch instead of one exchange per
+     * record. The message body is then a java.util.List with an exchange per record, which holds the record value as
+     * its body and the record metadata as its headers. A batch holds up to maxPollRecords records, and the offsets of
+     * the batch are committed once the batch exchange has completed. When allowManualCommit is enabled then the batch
+     * exchange has a KafkaManualCommit header that commits all the records of the batch. When breakOnFirstError is
+     * enabled and the batch fails then the consumer seeks back to the first record of the batch. This cannot be used
+     * together with processingThreads.
+     */
+    public void setBatching(boolean batching) {
+        this.batching = batching;
+    }
+
+    public Long getBatchingIntervalMs() {
+        return batchingIntervalMs;
+    }
+
+    /**
+     * The maximum time to wait for a batch to fill up when batching is enabled. By default a batch holds the records
+     * of a single poll. When this option is set, the records of consecutive polls are collected until there are
+     * maxPollRecords records, or the interval has elapsed since the first record of the batch was received.
+     */
+    public void setBatchingIntervalMs(Long batchingIntervalMs) {
+        this.batchingIntervalMs = batchingIntervalMs;
+    }
+
     public String getBrokers() {
         return brokers;
     }
@@ -51,6 +51,7 @@ public class KafkaConsumer extends DefaultConsumer
     private static final Logger LOG = LoggerFactory.getLogger(KafkaConsumer.class);
 
     protected ExecutorService executor;
+    protected ExecutorService processingExecutor;
     private final KafkaEndpoint endpoint;
     private KafkaConsumerHealthCheck consumerHealthCheck;
     private WritableHealthCheckRepository healthCheckRepository;
@@ -85,6 +86,14 @@ public class KafkaConsumer extends DefaultConsumer
         this.consumerListener = consumerListener;
     }
 
+    /**
+     * The thread pool used for processing the records in parallel, or null if the records are processed on the
+     * consumer threads
+     */
+    public ExecutorService getProcessingExecutorService() {
+        return processingExecutor;
+    }
+
     @Override
     protected void doBuild() throws Exception {
         super.doBuild();
@@ -121,6 +130,25 @@ public class KafkaConsumer extends DefaultConsumer
     protected void doStart() throws Exception {
         LOG.info("Starting Kafka consumer on topic: {} with breakOnFirstError: {}", endpoint.getConfiguration().getTopic(),
                 endpoint.getConfiguration().isBreakOnFirstError());
+
+        if (endpoint.getConfiguration().getProcessingThreads() > 0) {
+            // the records are then committed by the consumer threads, and not from the routes
+            if (endpoint.getConfiguration().isAllowManualCommit()) {
+                throw new IllegalArgumentException("The allowManualCommit option cannot be used with processingThreads");
+            }
+            if (consumerListener != null) {
+                throw new IllegalArgumentException("A consumer listener cannot be used with processingThreads");
+            }
+        }
+        if (endpoint.getConfiguration().isBatching()) {
+            if (endpoint.getConfiguration().getProcessingThreads() > 0) {
+                throw new IllegalArgumentException("The batching option cannot be used with processingThreads");
+            }
+            if (consumerListener != null) {
+                throw new IllegalArgumentException("A consumer listener cannot be used with batching");
+            }
+        }
+
         super.doStart();
 
         // health-check is optional so discover and resolve
@@ -146,6 +174,10 @@ public class KafkaConsumer extends DefaultConsumer
             }
         }
 
+        if (endpoint.getConfiguration().getProcessingThreads() > 0) {
+            processingExecutor = endpoint.createProcessingExecutor();
+        }
+
         executor = endpoint.createExecutor();
 
         String topic = endpoint.getConfiguration().getTopic();
@@ -206,6 +238,12 @@ public class KafkaConsumer extends DefaultConsumer
         tasks.clear();
         executor = null;
 
+        if (processingExecutor != null) {
+            // the consumer threads have waited for the records in progress to complete
+            getEndpoint().getCamelContext().getExecutorServiceManager().shutdownNow(processingExecutor);
+            processingExecutor = null;
+        }
+
         if (stopOffsetRepo) {
             StateRepository<String, String> repo = endpoint.getConfiguration().getOffsetRepository();
             LOG.debug("Stopping OffsetRepository: {}", repo);
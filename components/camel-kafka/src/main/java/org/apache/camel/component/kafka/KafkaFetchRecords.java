@@ -25,11 +25,15 @@ import java.util.regex.Pattern;
 
 import org.apache.camel.component.kafka.consumer.CommitManager;
 import org.apache.camel.component.kafka.consumer.CommitManagers;
+import org.apache.camel.component.kafka.consumer.WatermarkCommitManager;
 import org.apache.camel.component.kafka.consumer.errorhandler.KafkaConsumerListener;
 import org.apache.camel.component.kafka.consumer.errorhandler.KafkaErrorStrategies;
 import org.apache.camel.component.kafka.consumer.support.KafkaRecordProcessorFacade;
 import org.apache.camel.component.kafka.consumer.support.ProcessingResult;
+import org.apache.camel.component.kafka.consumer.support.RecordProcessorFacade;
+import org.apache.camel.component.kafka.consumer.support.batching.KafkaRecordBatchingProcessorFacade;
 import org.apache.camel.component.kafka.consumer.support.classic.ClassicRebalanceListener;
+import org.apache.camel.component.kafka.consumer.support.parallel.KafkaRecordParallelProcessorFacade;
 import org.apache.camel.component.kafka.consumer.support.resume.ResumeRebalanceListener;
 import org.apache.camel.support.BridgeExceptionHandlerToErrorHandler;
 import org.apache.camel.support.task.ForegroundTask;
@@ -298,6 +302,7 @@ public class KafkaFetchRecords implements Runnable {
 
     protected void startPolling() {
         long partitionLastOffset = -1;
+        RecordProcessorFacade recordProcessorFacade = null;
 
         try {
             /*
@@ -312,8 +317,7 @@ public class KafkaFetchRecords implements Runnable {
                 LOG.trace("Polling {} from {} with timeout: {}", threadId, getPrintableTopic(), pollTimeoutMs);
             }
 
-            KafkaRecordProcessorFacade recordProcessorFacade = new KafkaRecordProcessorFacade(
-                    kafkaConsumer, threadId, commitManager, consumerListener);
+            recordProcessorFacade = createRecordProcessorFacade();
 
             Duration pollDuration = Duration.ofMillis(pollTimeoutMs);
             ProcessingResult lastResult = null;
@@ -338,6 +342,8 @@ public class KafkaFetchRecords implements Runnable {
 
             }
 
+            recordProcessorFacade.stopProcessing();
+
             if (!isConnected()) {
                 LOG.debug("Not reconnecting, check whether to auto-commit or not ...");
                 commitManager.commit();
@@ -369,6 +375,9 @@ public class KafkaFetchRecords implements Runnable {
 
             pollExceptionStrategy.handle(partitionLastOffset, e);
         } finally {
+            if (recordProcessorFacade != null) {
+                recordProcessorFacade.stopProcessing();
+            }
             // only close if not retry
             if (!pollExceptionStrategy.canContinue()) {
                 safeUnsubscribe();
@@ -378,6 +387,18 @@ public class KafkaFetchRecords implements Runnable {
         }
     }
 
+    private RecordProcessorFacade createRecordProcessorFacade() {
+        if (kafkaConsumer.getEndpoint().getConfiguration().getProcessingThreads() > 0) {
+            return new KafkaRecordParallelProcessorFacade(
+                    kafkaConsumer, consumer, threadId, (WatermarkCommitManager) commitManager);
+        }
+        if (kafkaConsumer.getEndpoint().getConfiguration().isBatching()) {
+            return new KafkaRecordBatchingProcessorFacade(kafkaConsumer, consumer, threadId, commitManager);
+        }
+
+        return new KafkaRecordProcessorFacade(kafkaConsumer, threadId, commitManager, consumerListener);
+    }
+
     private void updateTaskState() {
         switch (state) {
             case PAUSE_REQUESTED:
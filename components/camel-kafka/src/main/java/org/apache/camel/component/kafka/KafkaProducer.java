@@ -23,6 +23,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
@@ -30,7 +31,11 @@ import java.util.concurrent.Future;
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.Exchange;
 import org.apache.camel.Message;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
 import org.apache.camel.component.kafka.producer.support.DelegatingCallback;
+import org.apache.camel.component.kafka.producer.support.KafkaProducerBatchStatistics;
 import org.apache.camel.component.kafka.producer.support.KafkaProducerCallBack;
 import org.apache.camel.component.kafka.producer.support.KafkaProducerMetadataCallBack;
 import org.apache.camel.component.kafka.producer.support.KeyValueHolderIterator;
@@ -60,6 +65,7 @@ import org.slf4j.LoggerFactory;
 
 import static org.apache.camel.component.kafka.producer.support.ProducerUtil.tryConvertToSerializedType;
 
+@ManagedResource(description = "Kafka Producer")
 public class KafkaProducer extends DefaultAsyncProducer {
 
     private static final Logger LOG = LoggerFactory.getLogger(KafkaProducer.class);
@@ -78,6 +84,7 @@ public class KafkaProducer extends DefaultAsyncProducer {
     private final String endpointTopic;
     private final Integer configPartitionKey;
     private final String configKey;
+    private final KafkaProducerBatchStatistics batchStatistics = new KafkaProducerBatchStatistics();
 
     public KafkaProducer(KafkaEndpoint endpoint) {
         super(endpoint);
@@ -145,6 +152,48 @@ public class KafkaProducer extends DefaultAsyncProducer {
         this.kafkaProducer = kafkaProducer;
     }
 
+    /**
+     * Statistics of the batches sent, which is when the message body is a list or iterator of records
+     */
+    public KafkaProducerBatchStatistics getBatchStatistics() {
+        return batchStatistics;
+    }
+
+    @ManagedAttribute(description = "Number of batches sent, when the message body is a list or iterator of records")
+    public long getBatchCount() {
+        return batchStatistics.getBatchCount();
+    }
+
+    @ManagedAttribute(description = "Number of records sent in batches")
+    public long getBatchRecordCount() {
+        return batchStatistics.getRecordCount();
+    }
+
+    @ManagedAttribute(description = "Number of records of the last batch")
+    public int getLastBatchSize() {
+        return batchStatistics.getLastBatchSize();
+    }
+
+    @ManagedAttribute(description = "Time in millis until all the records of the last batch were acknowledged")
+    public long getLastBatchLatency() {
+        return batchStatistics.getLastBatchLatency();
+    }
+
+    @ManagedAttribute(description = "Mean time in millis until all the records of a batch were acknowledged")
+    public long getMeanBatchLatency() {
+        return batchStatistics.getMeanLatency();
+    }
+
+    @ManagedAttribute(description = "Max time in millis until all the records of a batch were acknowledged")
+    public long getMaxBatchLatency() {
+        return batchStatistics.getMaxLatency();
+    }
+
+    @ManagedOperation(description = "Resets the batch statistics")
+    public void resetBatchStatistics() {
+        batchStatistics.reset();
+    }
+
     public ExecutorService getWorkerPool() {
         return workerPool;
     }
@@ -400,37 +449,16 @@ public class KafkaProducer extends DefaultAsyncProducer {
         postProcessMetadata(exchange, future);
     }
 
-    private void processIterableSync(Exchange exchange, Message message) throws ExecutionException, InterruptedException {
-        List<KeyValueHolder<Object, Future<RecordMetadata>>> futures = new ArrayList<>();
-
-        Iterator<KeyValueHolder<Object, ProducerRecord<Object, Object>>> recordIterable
-                = createRecordIterable(exchange, message);
-
-        // This sets an empty metadata for the very first message on the batch
-        List<RecordMetadata> recordMetadata = new ArrayList<>();
-        if (configuration.isRecordMetadata()) {
-            exchange.getMessage().setHeader(KafkaConstants.KAFKA_RECORDMETA, recordMetadata);
-        }
+    private void processIterableSync(Exchange exchange, Message message) throws InterruptedException {
+        // all the records are sent without waiting for each of them, and then wait once until all are acknowledged
+        final CountDownLatch latch = new CountDownLatch(1);
+        final KafkaProducerCallBack producerCallBack = new KafkaProducerCallBack(
+                exchange, doneSync -> latch.countDown(), workerPool, configuration.isRecordMetadata(), batchStatistics);
 
-        while (recordIterable.hasNext()) {
-            KeyValueHolder<Object, ProducerRecord<Object, Object>> exchangeRecord = recordIterable.next();
-            ProducerRecord<Object, Object> rec = exchangeRecord.getValue();
-
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("Sending message to topic: {}, partition: {}, key: {}", rec.topic(), rec.partition(), rec.key());
-            }
+        processIterableAsync(exchange, producerCallBack, message);
 
-            futures.add(new KeyValueHolder<>(exchangeRecord.getKey(), kafkaProducer.send(rec)));
-        }
-
-        postProcessMetadata(futures, recordMetadata);
-    }
-
-    private void postProcessMetadata(
-            List<KeyValueHolder<Object, Future<RecordMetadata>>> futures, List<RecordMetadata> metadataList)
-            throws InterruptedException, ExecutionException {
-        for (KeyValueHolder<Object, Future<RecordMetadata>> f : futures) {
-            metadataList.addAll(postProcessMetadata(f.getKey(), f.getValue()));
+        if (!producerCallBack.allSent()) {
+            latch.await();
         }
     }
 
@@ -452,11 +480,12 @@ public class KafkaProducer extends DefaultAsyncProducer {
 
     @Override
     public boolean process(Exchange exchange, AsyncCallback callback) {
-        final KafkaProducerCallBack producerCallBack
-                = new KafkaProducerCallBack(exchange, callback, workerPool, configuration.isRecordMetadata());
-
         Message message = exchange.getMessage();
         Object body = message.getBody();
+        boolean iterable = isIterable(body);
+
+        final KafkaProducerCallBack producerCallBack = new KafkaProducerCallBack(
+                exchange, callback, workerPool, configuration.isRecordMetadata(), iterable ? batchStatistics : null);
 
         if (transactionId != null) {
             startKafkaTransaction(exchange);
@@ -464,7 +493,7 @@ public class KafkaProducer extends DefaultAsyncProducer {
 
         try {
             // is the message body a list or something that contains multiple values
-            if (isIterable(body)) {
+            if (iterable) {
                 processIterableAsync(exchange, producerCallBack, message);
             } else {
                 final ProducerRecord<Object, Object> record = createRecord(exchange, message);
@@ -482,6 +511,7 @@ public class KafkaProducer extends DefaultAsyncProducer {
     }
 
     private void processIterableAsync(Exchange exchange, KafkaProducerCallBack producerCallBack, Message message) {
+        // the records are created one by one while sending, so a large iterator is not materialized
         final Iterator<KeyValueHolder<Object, ProducerRecord<Object, Object>>> c = createRecordIterable(exchange, message);
 
         while (c.hasNext()) {
@@ -33,6 +33,21 @@ public final class CommitManagers {
             Consumer<?, ?> consumer, KafkaConsumer kafkaConsumer, String threadId, String printableTopic) {
         KafkaConfiguration configuration = kafkaConsumer.getEndpoint().getConfiguration();
 
+        if (configuration.getProcessingThreads() > 0) {
+            CommitManager delegate;
+            if (configuration.getOffsetRepository() != null) {
+                delegate = new CommitToOffsetManager(consumer, kafkaConsumer, threadId, printableTopic);
+            } else if (configuration.isAutoCommitEnable()) {
+                // the kafka auto commit is turned off when processing in parallel, so commit the offsets instead
+                delegate = new SyncCommitManager(consumer, kafkaConsumer, threadId, printableTopic);
+            } else {
+                delegate = new NoopCommitManager(consumer, kafkaConsumer, threadId, printableTopic);
+            }
+            LOG.debug("Using a watermark commit manager for parallel processing, wrapping {}",
+                    delegate.getClass().getSimpleName());
+            return new WatermarkCommitManager(consumer, delegate);
+        }
+
         if (configuration.isAllowManualCommit()) {
             LOG.debug("Allowing manual commit management");
             KafkaManualCommitFactory manualCommitFactory = kafkaConsumer.getEndpoint().getKafkaManualCommitFactory();
@@ -54,6 +69,11 @@ public final class CommitManagers {
                 LOG.debug("Using a commit-to-offset manager for commit management");
                 return new CommitToOffsetManager(consumer, kafkaConsumer, threadId, printableTopic);
             }
+            if (configuration.isBatching() && configuration.isAutoCommitEnable()) {
+                // the kafka auto commit is turned off when batching, so commit the offsets once a batch has completed
+                LOG.debug("Using a sync commit manager for committing the batches");
+                return new SyncCommitManager(consumer, kafkaConsumer, threadId, printableTopic);
+            }
         }
 
         LOG.debug("Using a NO-OP commit manager with auto-commit enabled on the Kafka consumer");
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.camel.component.kafka.consumer;
+
+import java.util.TreeSet;
+
+import static org.apache.camel.component.kafka.consumer.AbstractCommitManager.START_OFFSET;
+
+/**
+ * Keeps track of the records of a partition which are being processed, to know up till which offset all the records
+ * have completed (the watermark), when the records may complete out of order.
+ * <p/>
+ * A watermark only covers the records dispatched since the partition was assigned, or since the consumer was seeked
+ * back, which is told apart by its generation.
+ */
+final class OffsetWatermark {
+    private final long generation;
+    private final TreeSet<Long> inProgress = new TreeSet<>();
+    private long lastDispatched = START_OFFSET;
+    private long lastCommitted = START_OFFSET;
+
+    OffsetWatermark(long generation) {
+        this.generation = generation;
+    }
+
+    long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Records that the record at the given offset has been dispatched
+     *
+     * @return <tt>false</tt> if the offset is not after the last dispatched offset, which means the consumer has been
+     *         seeked back and a new watermark must be started
+     */
+    synchronized boolean dispatched(long offset) {
+        if (offset <= lastDispatched) {
+            return false;
+        }
+        lastDispatched = offset;
+        inProgress.add(offset);
+        return true;
+    }
+
+    synchronized void completed(long offset) {
+        inProgress.remove(offset);
+    }
+
+    /**
+     * The last offset before which all the dispatched records have completed, or START_OFFSET if there is none
+     */
+    synchronized long getWatermark() {
+        if (inProgress.isEmpty()) {
+            return lastDispatched;
+        }
+        return Math.min(inProgress.first() - 1, lastDispatched);
+    }
+
+    synchronized long getLastCommitted() {
+        return lastCommitted;
+    }
+
+    synchronized void committed(long offset) {
+        lastCommitted = offset;
+    }
+
+    synchronized int inProgressCount() {
+        return inProgress.size();
+    }
+}
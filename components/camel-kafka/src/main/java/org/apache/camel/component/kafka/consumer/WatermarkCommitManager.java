@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.camel.component.kafka.consumer;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.Exchange;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.apache.camel.component.kafka.consumer.AbstractCommitManager.START_OFFSET;
+
+/**
+ * A commit manager for when the records are processed in parallel, and therefore may complete out of order. The offsets
+ * recorded by the processing threads are tracked per partition, and only the offset up till which all the dispatched
+ * records have completed (the watermark) is handed over to the wrapped commit manager for committing.
+ * <p/>
+ * The commit methods must be called from the thread polling the Kafka consumer, as the Kafka consumer is not thread
+ * safe, whereas the offsets can be recorded from any thread.
+ * <p/>
+ * The watermark of a partition starts over when the consumer is seeked back, and is dropped when the partition is
+ * revoked. The records which were dispatched before then belong to an older generation, and their offsets are ignored.
+ */
+public class WatermarkCommitManager implements CommitManager {
+    private static final Logger LOG = LoggerFactory.getLogger(WatermarkCommitManager.class);
+
+    private final Consumer<?, ?> consumer;
+    private final CommitManager delegate;
+    private final Map<TopicPartition, OffsetWatermark> watermarks = new ConcurrentHashMap<>();
+    private final AtomicLong generations = new AtomicLong();
+
+    public WatermarkCommitManager(Consumer<?, ?> consumer, CommitManager delegate) {
+        this.consumer = consumer;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public KafkaManualCommit getManualCommit(
+            Exchange exchange, TopicPartition partition, ConsumerRecord<Object, Object> record) {
+        return delegate.getManualCommit(exchange, partition, record);
+    }
+
+    /**
+     * Records that the record at the given offset has been dispatched for processing
+     *
+     * @param  partition the partition of the record
+     * @param  offset    the offset of the record
+     * @return           the generation of the watermark of the partition which tracks the record
+     */
+    public long recordDispatched(TopicPartition partition, long offset) {
+        OffsetWatermark watermark = watermarks.computeIfAbsent(partition, this::newWatermark);
+        if (!watermark.dispatched(offset)) {
+            // the consumer has been seeked back (such as after an error), so start over from this offset
+            LOG.debug("Starting a new watermark [topic: {} partition: {} offset: {}] with {} records still in progress",
+                    partition.topic(), partition.partition(), offset, watermark.inProgressCount());
+            watermark = newWatermark(partition);
+            watermark.dispatched(offset);
+            watermarks.put(partition, watermark);
+        }
+        return watermark.getGeneration();
+    }
+
+    /**
+     * Records that the record at the given offset has completed
+     *
+     * @param partition           the partition of the record
+     * @param partitionLastOffset the offset of the record
+     */
+    @Override
+    public void recordOffset(TopicPartition partition, long partitionLastOffset) {
+        OffsetWatermark watermark = watermarks.get(partition);
+        if (watermark != null) {
+            watermark.completed(partitionLastOffset);
+        }
+    }
+
+    /**
+     * Records that the record at the given offset has completed, unless the watermark it was dispatched with has been
+     * dropped since
+     *
+     * @param partition  the partition of the record
+     * @param offset     the offset of the record
+     * @param generation the generation returned when the record was dispatched
+     */
+    public void recordCompleted(TopicPartition partition, long offset, long generation) {
+        OffsetWatermark watermark = watermarks.get(partition);
+        if (watermark != null && watermark.getGeneration() == generation) {
+            watermark.completed(offset);
+        }
+    }
+
+    /**
+     * Whether the watermark a record was dispatched with is still current, which is not the case when its partition
+     * has been revoked or the consumer has been seeked back since
+     *
+     * @param partition  the partition of the record
+     * @param generation the generation returned when the record was dispatched
+     */
+    public boolean isCurrent(TopicPartition partition, long generation) {
+        OffsetWatermark watermark = watermarks.get(partition);
+        return watermark != null && watermark.getGeneration() == generation;
+    }
+
+    /**
+     * Commits the watermark of a partition which is revoked, and forgets about the records in progress
+     *
+     * @param partition the partition
+     */
+    public void revoke(TopicPartition partition) {
+        commit(partition);
+        watermarks.remove(partition);
+    }
+
+    /**
+     * Gets the last offset of the partition before which all the dispatched records have completed
+     *
+     * @param  partition the partition
+     * @return           the offset, or {@link AbstractCommitManager#START_OFFSET} if no records have completed
+     */
+    public long getWatermark(TopicPartition partition) {
+        OffsetWatermark watermark = watermarks.get(partition);
+        return watermark != null ? watermark.getWatermark() : START_OFFSET;
+    }
+
+    /**
+     * Commits the watermarks of all the partitions assigned to the consumer
+     */
+    @Override
+    public void commit() {
+        Set<TopicPartition> assignment = consumer.assignment();
+        // forget about the partitions that were revoked
+        watermarks.keySet().retainAll(assignment);
+        for (TopicPartition partition : watermarks.keySet()) {
+            commit(partition);
+        }
+    }
+
+    @Override
+    public void commit(TopicPartition partition) {
+        OffsetWatermark watermark = watermarks.get(partition);
+        if (watermark == null) {
+            return;
+        }
+
+        long offset = watermark.getWatermark();
+        if (offset == START_OFFSET || offset <= watermark.getLastCommitted()) {
+            return;
+        }
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Committing watermark [topic: {} partition: {} offset: {}] with {} records still in progress",
+                    partition.topic(), partition.partition(), offset, watermark.inProgressCount());
+        }
+        delegate.recordOffset(partition, offset);
+        delegate.commit(partition);
+        watermark.committed(offset);
+    }
+
+    private OffsetWatermark newWatermark(TopicPartition partition) {
+        return new OffsetWatermark(generations.incrementAndGet());
+    }
+
+    @Override
+    public void forceCommit(TopicPartition partition, long partitionLastOffset) {
+        delegate.forceCommit(partition, partitionLastOffset);
+    }
+}
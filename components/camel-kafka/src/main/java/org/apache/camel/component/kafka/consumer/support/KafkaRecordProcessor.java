@@ -81,6 +81,16 @@ public class KafkaRecordProcessor {
                         headerDeserializer.deserialize(header.key(), header.value())));
     }
 
+    /**
+     * Sets up the message of the exchange from the given record: the record value as body, and the record metadata
+     * and the record headers (which are not filtered out) as headers.
+     */
+    public void setupExchange(Exchange exchange, ConsumerRecord<Object, Object> record) {
+        setupExchangeMessage(exchange.getMessage(), record);
+
+        propagateHeaders(record, exchange);
+    }
+
     public ProcessingResult processExchange(
             Exchange exchange, TopicPartition partition, boolean partitionHasNext,
             boolean recordHasNext, ConsumerRecord<Object, Object> record, ProcessingResult lastResult,
@@ -88,9 +98,7 @@ public class KafkaRecordProcessor {
 
         Message message = exchange.getMessage();
 
-        setupExchangeMessage(message, record);
-
-        propagateHeaders(record, exchange);
+        setupExchange(exchange, record);
 
         // if not auto commit then we have additional information on the exchange
         if (!autoCommitEnabled) {
@@ -27,7 +27,7 @@ public final class ProcessingResult {
     private final long partitionLastOffset;
     private final boolean failed;
 
-    ProcessingResult(boolean breakOnErrorHit, long partitionLastOffset, boolean failed) {
+    public ProcessingResult(boolean breakOnErrorHit, long partitionLastOffset, boolean failed) {
         this.breakOnErrorHit = breakOnErrorHit;
         this.partitionLastOffset = partitionLastOffset;
         this.failed = failed;
@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.camel.component.kafka.consumer.support;
+
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+
+/**
+ * Processes the records polled by a Kafka consumer thread
+ */
+public interface RecordProcessorFacade {
+
+    /**
+     * Processes the records of a poll
+     *
+     * @param  allRecords             the records of the poll
+     * @param  resultFromPreviousPoll the result of processing the previous poll, or null on the first poll
+     * @return                        the result of the processing
+     */
+    ProcessingResult processPolledRecords(
+            ConsumerRecords<Object, Object> allRecords, ProcessingResult resultFromPreviousPoll);
+
+    /**
+     * Called on the consumer thread when it stops polling, to complete the records that are still being processed.
+     */
+    default void stopProcessing() {
+        // noop
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.kafka.consumer.support.batching;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.apache.camel.component.kafka.KafkaConfiguration;
+import org.apache.camel.component.kafka.KafkaConstants;
+import org.apache.camel.component.kafka.KafkaConsumer;
+import org.apache.camel.component.kafka.consumer.AbstractCommitManager;
+import org.apache.camel.component.kafka.consumer.CommitManager;
+import org.apache.camel.component.kafka.consumer.KafkaManualCommit;
+import org.apache.camel.component.kafka.consumer.support.KafkaRecordProcessor;
+import org.apache.camel.component.kafka.consumer.support.ProcessingResult;
+import org.apache.camel.component.kafka.consumer.support.RecordProcessorFacade;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Routes the polled records in batches, with one exchange per batch. The body of the batch exchange is a list with an
+ * exchange per record, and the offsets of a batch are committed once the batch exchange has completed.
+ * <p/>
+ * By default a batch holds the records of a single poll. When a batching interval is configured, then the records of
+ * consecutive polls are collected until there are enough records for a batch, or the interval has elapsed.
+ */
+public class KafkaRecordBatchingProcessorFacade implements RecordProcessorFacade {
+    private static final Logger LOG = LoggerFactory.getLogger(KafkaRecordBatchingProcessorFacade.class);
+
+    // the default of the max.poll.records setting of the kafka consumer
+    private static final int DEFAULT_MAX_RECORDS = 500;
+
+    private final KafkaConsumer camelKafkaConsumer;
+    private final Consumer<?, ?> consumer;
+    private final String threadId;
+    private final CommitManager commitManager;
+    private final KafkaRecordProcessor kafkaRecordProcessor;
+    private final boolean allowManualCommit;
+    private final boolean breakOnFirstError;
+    private final int maxRecords;
+    private final long intervalMs;
+
+    // the records collected for the next batch, only accessed from the consumer thread
+    private final List<ConsumerRecord<Object, Object>> pending = new ArrayList<>();
+    private long pendingSince;
+
+    public KafkaRecordBatchingProcessorFacade(KafkaConsumer camelKafkaConsumer, Consumer<?, ?> consumer, String threadId,
+                                              CommitManager commitManager) {
+        this.camelKafkaConsumer = camelKafkaConsumer;
+        this.consumer = consumer;
+        this.threadId = threadId;
+        this.commitManager = commitManager;
+
+        KafkaConfiguration configuration = camelKafkaConsumer.getEndpoint().getConfiguration();
+        this.kafkaRecordProcessor
+                = new KafkaRecordProcessor(configuration, camelKafkaConsumer.getProcessor(), commitManager);
+        this.allowManualCommit = configuration.isAllowManualCommit();
+        this.breakOnFirstError = configuration.isBreakOnFirstError();
+        Integer maxPollRecords = configuration.getMaxPollRecords();
+        this.maxRecords = maxPollRecords != null ? Math.max(1, maxPollRecords) : DEFAULT_MAX_RECORDS;
+        Long batchingIntervalMs = configuration.getBatchingIntervalMs();
+        this.intervalMs = batchingIntervalMs != null ? batchingIntervalMs : 0;
+    }
+
+    private boolean isStopping() {
+        return camelKafkaConsumer.isStopping();
+    }
+
+    @Override
+    public ProcessingResult processPolledRecords(
+            ConsumerRecords<Object, Object> allRecords, ProcessingResult resultFromPreviousPoll) {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Last poll on thread {} resulted on {} records to process", threadId, allRecords.count());
+        }
+
+        if (!pending.isEmpty()) {
+            // the records of partitions revoked since they were polled are consumed again by the new owner
+            Set<TopicPartition> assignment = consumer.assignment();
+            pending.removeIf(record -> !assignment.contains(new TopicPartition(record.topic(), record.partition())));
+        }
+        for (TopicPartition partition : allRecords.partitions()) {
+            List<ConsumerRecord<Object, Object>> records = allRecords.records(partition);
+            if (pending.isEmpty() && !records.isEmpty()) {
+                pendingSince = System.currentTimeMillis();
+            }
+            pending.addAll(records);
+        }
+
+        while (isBatchReady() && !isStopping()) {
+            List<ConsumerRecord<Object, Object>> batchRecords = pending.subList(0, Math.min(maxRecords, pending.size()));
+            List<ConsumerRecord<Object, Object>> batch = new ArrayList<>(batchRecords);
+            batchRecords.clear();
+
+            if (!processBatch(batch)) {
+                // resume from the failed batch, the records collected after it are polled again as well
+                batch.addAll(pending);
+                pending.clear();
+                seekBack(batch, true);
+                return new ProcessingResult(true, AbstractCommitManager.START_OFFSET, true);
+            }
+            pendingSince = System.currentTimeMillis();
+        }
+
+        return ProcessingResult.newUnprocessed();
+    }
+
+    private boolean isBatchReady() {
+        if (pending.isEmpty()) {
+            return false;
+        }
+        return pending.size() >= maxRecords || System.currentTimeMillis() - pendingSince >= intervalMs;
+    }
+
+    /**
+     * Routes the batch, and commits the offsets of the batch when it has completed
+     *
+     * @return false if the batch failed and the consumer should break out, true otherwise
+     */
+    private boolean processBatch(List<ConsumerRecord<Object, Object>> batch) {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Processing a batch of {} records on thread {}", batch.size(), threadId);
+        }
+
+        Exchange exchange = camelKafkaConsumer.createExchange(false);
+
+        List<Exchange> exchanges = new ArrayList<>(batch.size());
+        Map<TopicPartition, ConsumerRecord<Object, Object>> lastRecords = new LinkedHashMap<>();
+        for (ConsumerRecord<Object, Object> record : batch) {
+            Exchange recordExchange = camelKafkaConsumer.createExchange(false);
+            kafkaRecordProcessor.setupExchange(recordExchange, record);
+            exchanges.add(recordExchange);
+            lastRecords.put(new TopicPartition(record.topic(), record.partition()), record);
+        }
+
+        Message message = exchange.getMessage();
+        message.setBody(exchanges);
+
+        if (allowManualCommit) {
+            // allow Camel users to commit the batch, which commits the last record of each partition in the batch
+            List<KafkaManualCommit> manualCommits = new ArrayList<>(lastRecords.size());
+            lastRecords.forEach(
+                    (partition, record) -> manualCommits.add(commitManager.getManualCommit(exchange, partition, record)));
+            KafkaManualCommit manual = () -> manualCommits.forEach(KafkaManualCommit::commit);
+            message.setHeader(KafkaConstants.MANUAL_COMMIT, manual);
+        }
+
+        try {
+            camelKafkaConsumer.getProcessor().process(exchange);
+        } catch (Exception e) {
+            exchange.setException(e);
+        }
+
+        boolean success = true;
+        if (exchange.getException() != null) {
+            if (breakOnFirstError) {
+                // we are failing and we should break out
+                LOG.warn("Error during processing a batch of {} records from {}. Will seek the consumer back to the batch"
+                         + " and start polling again.",
+                        batch.size(), lastRecords.keySet(), exchange.getException());
+                success = false;
+            } else {
+                // will handle/log the exception and then continue to the next batch
+                camelKafkaConsumer.getExceptionHandler().handleException("Error during processing", exchange,
+                        exchange.getException());
+            }
+        }
+
+        if (success) {
+            lastRecords.forEach((partition, record) -> {
+                commitManager.recordOffset(partition, record.offset());
+                commitManager.commit(partition);
+            });
+        }
+
+        camelKafkaConsumer.releaseExchange(exchange, false);
+        return success;
+    }
+
+    /**
+     * Seeks the consumer back to the first of the given records of each partition, so they are polled again, and the
+     * position of the consumer does not include them when committing.
+     */
+    private void seekBack(List<ConsumerRecord<Object, Object>> records, boolean forceCommit) {
+        Map<TopicPartition, Long> firstOffsets = new LinkedHashMap<>();
+        for (ConsumerRecord<Object, Object> record : records) {
+            firstOffsets.putIfAbsent(new TopicPartition(record.topic(), record.partition()), record.offset());
+        }
+
+        firstOffsets.forEach((partition, offset) -> {
+            if (forceCommit) {
+                // force commit, so we resume at the batch that failed when reconnecting
+                commitManager.forceCommit(partition, offset - 1);
+            }
+            consumer.seek(partition, offset);
+        });
+    }
+
+    @Override
+    public void stopProcessing() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        LOG.debug("Dropping the {} records collected for the next batch on thread {}", pending.size(), threadId);
+        try {
+            seekBack(pending, false);
+        } catch (Exception e) {
+            LOG.debug("Error seeking back to the records collected for the next batch: {}", e.getMessage(), e);
+        }
+        pending.clear();
+    }
+}
@@ -21,6 +21,7 @@ import java.util.Collection;
 
 import org.apache.camel.component.kafka.KafkaConfiguration;
 import org.apache.camel.component.kafka.consumer.CommitManager;
+import org.apache.camel.component.kafka.consumer.WatermarkCommitManager;
 import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
 import org.apache.kafka.common.TopicPartition;
@@ -50,8 +51,11 @@ public class ClassicRebalanceListener implements ConsumerRebalanceListener {
         for (TopicPartition partition : partitions) {
             LOG.debug("onPartitionsRevoked: {} from {}", threadId, partition.topic());
 
-            // only commit offsets if the component has control
-            if (!configuration.getAutoCommitEnable()) {
+            if (commitManager instanceof WatermarkCommitManager) {
+                // the records of the partition which are still in progress are no longer committed by this consumer
+                ((WatermarkCommitManager) commitManager).revoke(partition);
+            } else if (!configuration.getAutoCommitEnable() || configuration.isBatching()) {
+                // only commit offsets if the component has control (which it has when processing in batches)
                 commitManager.commit(partition);
             }
         }
@@ -0,0 +1,314 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.camel.component.kafka.consumer.support.parallel;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.component.kafka.KafkaConfiguration;
+import org.apache.camel.component.kafka.KafkaConsumer;
+import org.apache.camel.component.kafka.ProcessingOrder;
+import org.apache.camel.component.kafka.consumer.AbstractCommitManager;
+import org.apache.camel.component.kafka.consumer.WatermarkCommitManager;
+import org.apache.camel.component.kafka.consumer.support.KafkaRecordProcessor;
+import org.apache.camel.component.kafka.consumer.support.ProcessingResult;
+import org.apache.camel.component.kafka.consumer.support.RecordProcessorFacade;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Processes the records of a poll in parallel on the processing thread pool of the consumer, while keeping the order
+ * of the records per key or per partition.
+ * <p/>
+ * The records with the same order key are queued, and only one of them is processed at any time. As the records
+ * complete out of order, the offsets are committed up till the watermark of each partition, which is tracked by the
+ * {@link WatermarkCommitManager}. When too many records are in progress, then the consumer pauses fetching from its
+ * partitions until records have completed.
+ */
+public class KafkaRecordParallelProcessorFacade implements RecordProcessorFacade {
+    private static final Logger LOG = LoggerFactory.getLogger(KafkaRecordParallelProcessorFacade.class);
+
+    private final KafkaConsumer camelKafkaConsumer;
+    private final Consumer<?, ?> consumer;
+    private final String threadId;
+    private final WatermarkCommitManager commitManager;
+    private final KafkaRecordProcessor kafkaRecordProcessor;
+    private final ExecutorService executorService;
+    private final ProcessingOrder processingOrder;
+    private final int maxInFlightRecords;
+    private final long commitIntervalMs;
+    private final long pollTimeoutMs;
+    private final long shutdownTimeout;
+
+    // the records waiting for a record with the same order key to complete, guarded by the lock
+    private final Map<Object, Deque<Runnable>> waiting = new HashMap<>();
+    private final Lock lock = new ReentrantLock();
+    private final Condition completed = lock.newCondition();
+    private int inFlight;
+
+    // only accessed from the consumer thread
+    private final Set<TopicPartition> pausedPartitions = new HashSet<>();
+    private long lastCommit;
+    private boolean stopped;
+
+    private volatile boolean breakOnErrorHit;
+
+    public KafkaRecordParallelProcessorFacade(KafkaConsumer camelKafkaConsumer, Consumer<?, ?> consumer, String threadId,
+                                              WatermarkCommitManager commitManager) {
+        this.camelKafkaConsumer = camelKafkaConsumer;
+        this.consumer = consumer;
+        this.threadId = threadId;
+        this.commitManager = commitManager;
+
+        KafkaConfiguration configuration = camelKafkaConsumer.getEndpoint().getConfiguration();
+        this.kafkaRecordProcessor
+                = new KafkaRecordProcessor(configuration, camelKafkaConsumer.getProcessor(), commitManager);
+        this.executorService = camelKafkaConsumer.getProcessingExecutorService();
+        this.processingOrder = configuration.getProcessingOrder();
+        this.maxInFlightRecords = Math.max(1, configuration.getMaxInFlightRecords());
+        Integer autoCommitIntervalMs = configuration.getAutoCommitIntervalMs();
+        this.commitIntervalMs = autoCommitIntervalMs != null ? autoCommitIntervalMs : 0;
+        this.pollTimeoutMs = configuration.getPollTimeoutMs();
+        this.shutdownTimeout = configuration.getShutdownTimeout();
+        this.lastCommit = System.currentTimeMillis();
+    }
+
+    private boolean isStopping() {
+        return camelKafkaConsumer.isStopping();
+    }
+
+    @Override
+    public ProcessingResult processPolledRecords(
+            ConsumerRecords<Object, Object> allRecords, ProcessingResult resultFromPreviousPoll) {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Last poll on thread {} resulted on {} records to process", threadId, allRecords.count());
+        }
+
+        for (TopicPartition partition : allRecords.partitions()) {
+            List<ConsumerRecord<Object, Object>> records = allRecords.records(partition);
+            for (ConsumerRecord<Object, Object> record : records) {
+                if (breakOnErrorHit || isStopping()) {
+                    // the records not dispatched are not committed, and are therefore polled again
+                    break;
+                }
+                long generation = commitManager.recordDispatched(partition, record.offset());
+                dispatch(orderKey(partition, record), () -> processRecord(partition, record, generation));
+            }
+        }
+
+        if (getInFlight() >= maxInFlightRecords) {
+            // stop fetching more records, and give the processing threads a chance to catch up
+            pauseFetching();
+            awaitInFlight(maxInFlightRecords - 1, pollTimeoutMs);
+        }
+        if (getInFlight() < maxInFlightRecords) {
+            resumeFetching();
+        }
+
+        if (breakOnErrorHit) {
+            LOG.warn("Error during processing on thread {}. Waiting for the records in progress to complete before"
+                     + " committing and polling again from the offset of the failed record",
+                    threadId);
+            awaitInFlight(0, shutdownTimeout);
+            commitManager.commit();
+            return new ProcessingResult(true, AbstractCommitManager.START_OFFSET, true);
+        }
+
+        long now = System.currentTimeMillis();
+        if (now - lastCommit >= commitIntervalMs) {
+            commitManager.commit();
+            lastCommit = now;
+        }
+
+        return ProcessingResult.newUnprocessed();
+    }
+
+    @Override
+    public void stopProcessing() {
+        if (stopped) {
+            return;
+        }
+        stopped = true;
+
+        LOG.debug("Waiting up to {} millis for the {} records in progress on thread {} to complete", shutdownTimeout,
+                getInFlight(), threadId);
+        if (!awaitInFlight(0, shutdownTimeout)) {
+            LOG.warn("The processing of {} records did not complete within {} millis. Those records are not committed",
+                    getInFlight(), shutdownTimeout);
+        }
+
+        try {
+            commitManager.commit();
+        } catch (Exception e) {
+            LOG.warn("Error committing the offsets of the completed records on thread {} due to: {}", threadId,
+                    e.getMessage(), e);
+        }
+    }
+
+    private Object orderKey(TopicPartition partition, ConsumerRecord<Object, Object> record) {
+        Object key = record.key();
+        if (processingOrder == ProcessingOrder.PARTITION || key == null) {
+            return partition;
+        }
+        if (key instanceof byte[]) {
+            // arrays do not implement equals and hashCode by content
+            key = ByteBuffer.wrap((byte[]) key);
+        }
+        return List.of(partition, key);
+    }
+
+    private void dispatch(Object orderKey, Runnable task) {
+        lock.lock();
+        try {
+            inFlight++;
+            Deque<Runnable> queue = waiting.get(orderKey);
+            if (queue != null) {
+                // a record with the same key is in progress, so this record is run after it
+                queue.add(task);
+                return;
+            }
+            waiting.put(orderKey, new ArrayDeque<>());
+        } finally {
+            lock.unlock();
+        }
+
+        executorService.execute(() -> runInOrder(orderKey, task));
+    }
+
+    private void runInOrder(Object orderKey, Runnable task) {
+        Runnable next = task;
+        while (next != null) {
+            try {
+                next.run();
+            } catch (Exception e) {
+                LOG.warn("Error processing record on thread {} due to: {}. The record is left uncommitted.", threadId,
+                        e.getMessage(), e);
+            }
+
+            lock.lock();
+            try {
+                inFlight--;
+                completed.signalAll();
+                next = waiting.get(orderKey).poll();
+                if (next == null) {
+                    waiting.remove(orderKey);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void processRecord(TopicPartition partition, ConsumerRecord<Object, Object> record, long generation) {
+        if (breakOnErrorHit || !commitManager.isCurrent(partition, generation)) {
+            // the record is polled again after the consumer has reconnected, or by the consumer the partition has
+            // been assigned to
+            return;
+        }
+
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Partition = {}, offset = {}, key = {}, value = {}", record.partition(),
+                    record.offset(), record.key(), record.value());
+        }
+
+        Exchange exchange = camelKafkaConsumer.createExchange(false);
+        try {
+            // the records of a poll are processed independently, so there is no previous result to carry over,
+            // which also ensures the record processor does not commit from this thread
+            ProcessingResult result = kafkaRecordProcessor.processExchange(exchange, partition, true, true, record,
+                    ProcessingResult.newUnprocessed(), camelKafkaConsumer.getExceptionHandler());
+
+            if (result.isBreakOnErrorHit()) {
+                // leave the record in progress, so the watermark of its partition stays before it
+                breakOnErrorHit = true;
+            } else {
+                commitManager.recordCompleted(partition, record.offset(), generation);
+            }
+        } finally {
+            camelKafkaConsumer.releaseExchange(exchange, false);
+        }
+    }
+
+    private int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean awaitInFlight(int max, long timeoutMs) {
+        lock.lock();
+        try {
+            long nanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+            while (inFlight > max) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = completed.awaitNanos(nanos);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void pauseFetching() {
+        Set<TopicPartition> partitions = new HashSet<>(consumer.assignment());
+        partitions.removeAll(consumer.paused());
+        if (!partitions.isEmpty()) {
+            LOG.debug("Pausing {} partitions on thread {} as {} records are in progress", partitions.size(), threadId,
+                    maxInFlightRecords);
+            consumer.pause(partitions);
+            pausedPartitions.addAll(partitions);
+        }
+    }
+
+    private void resumeFetching() {
+        // do not resume when the consumer itself is being suspended, which also pauses the partitions
+        if (pausedPartitions.isEmpty() || camelKafkaConsumer.isSuspendingOrSuspended()) {
+            return;
+        }
+
+        Set<TopicPartition> partitions = new HashSet<>(pausedPartitions);
+        partitions.retainAll(consumer.assignment());
+        LOG.debug("Resuming {} partitions on thread {}", partitions.size(), threadId);
+        consumer.resume(partitions);
+        pausedPartitions.clear();
+    }
+}
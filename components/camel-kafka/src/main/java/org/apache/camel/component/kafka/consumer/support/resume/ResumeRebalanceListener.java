@@ -21,6 +21,7 @@ import java.util.Collection;
 
 import org.apache.camel.component.kafka.KafkaConfiguration;
 import org.apache.camel.component.kafka.consumer.CommitManager;
+import org.apache.camel.component.kafka.consumer.WatermarkCommitManager;
 import org.apache.camel.component.kafka.consumer.support.classic.ClassicRebalanceListener;
 import org.apache.camel.resume.ResumeStrategy;
 import org.apache.kafka.clients.consumer.Consumer;
@@ -52,8 +53,11 @@ public class ResumeRebalanceListener implements ConsumerRebalanceListener {
         for (TopicPartition partition : partitions) {
             LOG.debug("onPartitionsRevoked: {} from {}", threadId, partition.topic());
 
-            // only commit offsets if the component has control
-            if (!configuration.getAutoCommitEnable()) {
+            if (commitManager instanceof WatermarkCommitManager) {
+                // the records of the partition which are still in progress are no longer committed by this consumer
+                ((WatermarkCommitManager) commitManager).revoke(partition);
+            } else if (!configuration.getAutoCommitEnable()) {
+                // only commit offsets if the component has control
                 commitManager.commit(partition);
             }
         }
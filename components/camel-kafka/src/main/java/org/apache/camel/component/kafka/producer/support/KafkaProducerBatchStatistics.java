@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.kafka.producer.support;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of the batches sent by the producer, which is when the message body is a list or iterator of records. A
+ * batch is completed when all its records have been acknowledged, or have failed.
+ */
+public final class KafkaProducerBatchStatistics {
+
+    private final LongAdder batchCount = new LongAdder();
+    private final LongAdder recordCount = new LongAdder();
+    private final LongAdder totalLatency = new LongAdder();
+    private final AtomicLong maxLatency = new AtomicLong();
+    private volatile int lastBatchSize;
+    private volatile long lastBatchLatency;
+
+    /**
+     * Records a completed batch
+     *
+     * @param size    the number of records of the batch
+     * @param latency the time in millis from sending the first record until all the records were acknowledged
+     */
+    public void onBatchCompleted(int size, long latency) {
+        batchCount.increment();
+        recordCount.add(size);
+        totalLatency.add(latency);
+        maxLatency.accumulateAndGet(latency, Math::max);
+        lastBatchSize = size;
+        lastBatchLatency = latency;
+    }
+
+    /**
+     * The number of completed batches
+     */
+    public long getBatchCount() {
+        return batchCount.sum();
+    }
+
+    /**
+     * The number of records of the completed batches
+     */
+    public long getRecordCount() {
+        return recordCount.sum();
+    }
+
+    /**
+     * The mean latency in millis of the completed batches
+     */
+    public long getMeanLatency() {
+        long count = batchCount.sum();
+        return count == 0 ? 0 : totalLatency.sum() / count;
+    }
+
+    /**
+     * The max latency in millis of the completed batches
+     */
+    public long getMaxLatency() {
+        return maxLatency.get();
+    }
+
+    /**
+     * The number of records of the last completed batch
+     */
+    public int getLastBatchSize() {
+        return lastBatchSize;
+    }
+
+    /**
+     * The latency in millis of the last completed batch
+     */
+    public long getLastBatchLatency() {
+        return lastBatchLatency;
+    }
+
+    public void reset() {
+        batchCount.reset();
+        recordCount.reset();
+        totalLatency.reset();
+        maxLatency.set(0);
+        lastBatchSize = 0;
+        lastBatchLatency = 0;
+    }
+}
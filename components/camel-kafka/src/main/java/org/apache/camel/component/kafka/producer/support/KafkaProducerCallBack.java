@@ -17,9 +17,11 @@
 package org.apache.camel.component.kafka.producer.support;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.util.ObjectHelper;
@@ -36,20 +38,32 @@ public final class KafkaProducerCallBack implements Callback {
 
     private final Object body;
     private final AsyncCallback callback;
-    private final LongAdder count = new LongAdder();
+    // the records in flight, plus one until all the records have been sent
+    private final AtomicInteger count = new AtomicInteger(1);
     private final ExecutorService workerPool;
     private final boolean record;
-    private final List<RecordMetadata> recordMetadataList = new ArrayList<>();
+    // failures can be reported on the sending thread, while the acknowledgements are on the kafka producer thread
+    private final List<RecordMetadata> recordMetadataList = Collections.synchronizedList(new ArrayList<>());
+    private final KafkaProducerBatchStatistics statistics;
+    private final long startTime;
+    // only updated while sending, and read once all the records have been sent
+    private int sent;
 
     public KafkaProducerCallBack(Object body, AsyncCallback callback, ExecutorService workerPool,
                                  boolean record) {
+        this(body, callback, workerPool, record, null);
+    }
+
+    public KafkaProducerCallBack(Object body, AsyncCallback callback, ExecutorService workerPool,
+                                 boolean record, KafkaProducerBatchStatistics statistics) {
         this.body = body;
         this.callback = callback;
         // The worker pool should be created for both sync and async modes, so checking it
         // is merely a safeguard
         this.workerPool = ObjectHelper.notNull(workerPool, "workerPool");
         this.record = record;
-        count.increment();
+        this.statistics = statistics;
+        this.startTime = statistics != null ? System.nanoTime() : 0;
 
         if (record) {
             setRecordMetadata(body, recordMetadataList);
@@ -57,13 +71,14 @@ public final class KafkaProducerCallBack implements Callback {
     }
 
     public void increment() {
-        count.increment();
+        sent++;
+        count.incrementAndGet();
     }
 
     public boolean allSent() {
-        count.decrement();
-        if (count.intValue() == 0) {
+        if (count.decrementAndGet() == 0) {
             LOG.trace("All messages sent, continue routing.");
+            onCompleted();
             // was able to get all the work done while queuing the requests
             callback.done(true);
 
@@ -81,8 +96,8 @@ public final class KafkaProducerCallBack implements Callback {
             recordMetadataList.add(recordMetadata);
         }
 
-        count.decrement();
-        if (count.intValue() == 0) {
+        if (count.decrementAndGet() == 0) {
+            onCompleted();
             // use worker pool to continue routing the exchange
             // as this thread is from Kafka Callback and should not be used
             // by Camel routing
@@ -90,6 +105,12 @@ public final class KafkaProducerCallBack implements Callback {
         }
     }
 
+    private void onCompleted() {
+        if (statistics != null) {
+            statistics.onBatchCompleted(sent, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        }
+    }
+
     private void doContinueRouting() {
         LOG.trace("All messages sent, continue routing (within thread).");
         callback.done(false);
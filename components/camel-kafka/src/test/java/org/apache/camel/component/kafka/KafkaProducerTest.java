@@ -362,6 +362,7 @@ public class KafkaProducerTest {
 
     @Test
     public void processSendsMessageWithListOfExchangesWithOverrideTopicHeaderOnEveryExchange() throws Exception {
+        mockSendWithCallback();
         endpoint.getConfiguration().setTopic("someTopic");
         Mockito.when(exchange.getIn()).thenReturn(in);
         Mockito.when(exchange.getMessage()).thenReturn(in);
@@ -386,10 +387,14 @@ public class KafkaProducerTest {
         verifySendMessages(Arrays.asList("overridenTopic1", "overridenTopic2", "overridenTopic3"), null);
         assertRecordMetadataExists(3);
         assertRecordMetadataExistsForEachAggregatedExchange();
+        assertEquals(1, producer.getBatchStatistics().getBatchCount());
+        assertEquals(3, producer.getBatchStatistics().getRecordCount());
+        assertEquals(3, producer.getBatchStatistics().getLastBatchSize());
     }
 
     @Test
     public void processSendsMessageWithListOfMessagesWithOverrideTopicHeaderOnEveryExchange() throws Exception {
+        mockSendWithCallback();
         endpoint.getConfiguration().setTopic("someTopic");
         Mockito.when(exchange.getIn()).thenReturn(in);
         Mockito.when(exchange.getMessage()).thenReturn(in);
@@ -419,6 +424,7 @@ public class KafkaProducerTest {
 
     @Test
     public void processSendsMessageWithListOfExchangesWithIndividualHeaders() throws Exception {
+        mockSendWithCallback();
         endpoint.getConfiguration().setBatchWithIndividualHeaders(true);
         endpoint.getConfiguration().setTopic("someTopic");
         Mockito.when(exchange.getIn()).thenReturn(in);
@@ -450,6 +456,7 @@ public class KafkaProducerTest {
 
     @Test
     public void processSendsMessageWithListOfMessagesWithIndividualHeaders() throws Exception {
+        mockSendWithCallback();
         endpoint.getConfiguration().setBatchWithIndividualHeaders(true);
         endpoint.getConfiguration().setTopic("someTopic");
         Mockito.when(exchange.getIn()).thenReturn(in);
@@ -510,10 +517,21 @@ public class KafkaProducerTest {
         assertEquals(topic, captor.getValue().topic());
     }
 
+    @SuppressWarnings({ "unchecked" })
+    private void mockSendWithCallback() {
+        // the records of a list are sent with a callback, which acknowledges them straight away
+        Mockito.when(producer.getKafkaProducer().send(any(ProducerRecord.class), any(Callback.class)))
+                .thenAnswer(invocation -> {
+                    invocation.getArgument(1, Callback.class).onCompletion(new RecordMetadata(null, 0, 0, 0, 0, 0), null);
+                    return null;
+                });
+    }
+
     @SuppressWarnings({ "unchecked", "rawtypes" })
     protected void verifySendMessages(final List<String> expectedTopics, final List<String> expectedIndividualHeaderValues) {
         final ArgumentCaptor<ProducerRecord> captor = ArgumentCaptor.forClass(ProducerRecord.class);
-        Mockito.verify(producer.getKafkaProducer(), Mockito.atLeast(expectedTopics.size())).send(captor.capture());
+        Mockito.verify(producer.getKafkaProducer(), Mockito.atLeast(expectedTopics.size())).send(captor.capture(),
+                any(Callback.class));
         final List<ProducerRecord> records = captor.getAllValues();
         final List<String> actualTopics
                 = records.stream().map(ProducerRecord::topic).collect(Collectors.toList());
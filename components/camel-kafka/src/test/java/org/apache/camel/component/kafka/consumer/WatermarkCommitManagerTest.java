@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.kafka.consumer;
+
+import java.util.Set;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WatermarkCommitManagerTest {
+    private final TopicPartition partition = new TopicPartition("topic1", 1);
+    private Consumer<?, ?> consumer;
+    private CommitManager delegate;
+    private WatermarkCommitManager commitManager;
+
+    @BeforeEach
+    void setup() {
+        consumer = mock(Consumer.class);
+        when(consumer.assignment()).thenReturn(Set.of(partition));
+        delegate = mock(CommitManager.class);
+        commitManager = new WatermarkCommitManager(consumer, delegate);
+    }
+
+    @Test
+    @DisplayName("Tests whether the watermark only moves past contiguous completed offsets")
+    void watermarkOutOfOrder() {
+        for (long offset = 10; offset < 15; offset++) {
+            commitManager.recordDispatched(partition, offset);
+        }
+        assertEquals(9, commitManager.getWatermark(partition));
+
+        commitManager.recordOffset(partition, 12);
+        commitManager.recordOffset(partition, 11);
+        assertEquals(9, commitManager.getWatermark(partition), "Offset 10 is still in progress");
+
+        commitManager.recordOffset(partition, 10);
+        assertEquals(12, commitManager.getWatermark(partition));
+
+        commitManager.recordOffset(partition, 14);
+        assertEquals(12, commitManager.getWatermark(partition), "Offset 13 is still in progress");
+
+        commitManager.recordOffset(partition, 13);
+        assertEquals(14, commitManager.getWatermark(partition));
+    }
+
+    @Test
+    @DisplayName("Tests whether the watermark is handed over to the wrapped commit manager only when it moves")
+    void commitWatermark() {
+        commitManager.recordDispatched(partition, 0);
+        commitManager.recordDispatched(partition, 1);
+        commitManager.commit();
+        verify(delegate, never()).commit(partition);
+
+        commitManager.recordOffset(partition, 1);
+        commitManager.commit();
+        verify(delegate, never()).commit(partition);
+
+        commitManager.recordOffset(partition, 0);
+        commitManager.commit();
+        verify(delegate).recordOffset(partition, 1);
+        verify(delegate).commit(partition);
+
+        // nothing new to commit
+        commitManager.commit();
+        verify(delegate).commit(partition);
+    }
+
+    @Test
+    @DisplayName("Tests whether the watermark starts over when the consumer is seeked back")
+    void seekBack() {
+        commitManager.recordDispatched(partition, 5);
+        commitManager.recordOffset(partition, 5);
+        commitManager.commit();
+        verify(delegate).recordOffset(partition, 5);
+
+        commitManager.recordDispatched(partition, 3);
+        commitManager.recordOffset(partition, 3);
+        assertEquals(3, commitManager.getWatermark(partition));
+        commitManager.commit();
+        verify(delegate).recordOffset(partition, 3);
+    }
+
+    @Test
+    @DisplayName("Tests whether the records dispatched before a seek back no longer hold back the watermark")
+    void seekBackDropsRecordsInProgress() {
+        long generation = commitManager.recordDispatched(partition, 5);
+        commitManager.recordDispatched(partition, 6);
+        commitManager.recordDispatched(partition, 7);
+        commitManager.recordCompleted(partition, 5, generation);
+        assertEquals(5, commitManager.getWatermark(partition));
+
+        // polled again from the record after the last committed one, which has been skipped
+        long next = commitManager.recordDispatched(partition, 6);
+        assertNotEquals(generation, next);
+        assertFalse(commitManager.isCurrent(partition, generation));
+
+        // a record of the previous generation still completing must not move the new watermark
+        commitManager.recordCompleted(partition, 6, generation);
+        assertEquals(5, commitManager.getWatermark(partition));
+
+        commitManager.recordCompleted(partition, 6, next);
+        assertEquals(6, commitManager.getWatermark(partition), "Offset 7 is no longer in progress");
+    }
+
+    @Test
+    @DisplayName("Tests whether a revoked partition is committed and then forgotten")
+    void revoke() {
+        long generation = commitManager.recordDispatched(partition, 0);
+        commitManager.recordDispatched(partition, 1);
+        commitManager.recordCompleted(partition, 0, generation);
+
+        commitManager.revoke(partition);
+        verify(delegate).recordOffset(partition, 0);
+        verify(delegate).commit(partition);
+        assertFalse(commitManager.isCurrent(partition, generation));
+
+        // the record still in progress completes after the partition was revoked
+        commitManager.recordCompleted(partition, 1, generation);
+        assertEquals(AbstractCommitManager.START_OFFSET, commitManager.getWatermark(partition));
+        commitManager.commit();
+        verify(delegate, never()).recordOffset(partition, 1);
+    }
+
+    @Test
+    @DisplayName("Tests whether revoked partitions are no longer committed")
+    void revokedPartition() {
+        commitManager.recordDispatched(partition, 0);
+        commitManager.recordOffset(partition, 0);
+
+        when(consumer.assignment()).thenReturn(Set.of());
+        commitManager.commit();
+        verify(delegate, never()).recordOffset(any(), anyLong());
+        assertEquals(AbstractCommitManager.START_OFFSET, commitManager.getWatermark(partition));
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.kafka.consumer.support.batching;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.component.kafka.KafkaConfiguration;
+import org.apache.camel.component.kafka.KafkaConstants;
+import org.apache.camel.component.kafka.KafkaConsumer;
+import org.apache.camel.component.kafka.KafkaEndpoint;
+import org.apache.camel.component.kafka.consumer.CommitManager;
+import org.apache.camel.component.kafka.consumer.KafkaManualCommit;
+import org.apache.camel.component.kafka.consumer.support.ProcessingResult;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.spi.ExceptionHandler;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class KafkaRecordBatchingProcessorFacadeTest {
+    private final TopicPartition partition0 = new TopicPartition("topic1", 0);
+    private final TopicPartition partition1 = new TopicPartition("topic1", 1);
+    private final List<List<Exchange>> batches = new ArrayList<>();
+    private final KafkaConfiguration configuration = new KafkaConfiguration();
+    private CamelContext context;
+    private KafkaConsumer camelKafkaConsumer;
+    private Consumer<?, ?> consumer;
+    private CommitManager commitManager;
+    private RuntimeException failure;
+
+    @BeforeEach
+    void setup() {
+        context = new DefaultCamelContext();
+        context.start();
+
+        configuration.setBatching(true);
+        KafkaEndpoint endpoint = mock(KafkaEndpoint.class);
+        when(endpoint.getConfiguration()).thenReturn(configuration);
+
+        camelKafkaConsumer = mock(KafkaConsumer.class);
+        when(camelKafkaConsumer.getEndpoint()).thenReturn(endpoint);
+        when(camelKafkaConsumer.createExchange(false)).thenAnswer(invocation -> new DefaultExchange(context));
+        when(camelKafkaConsumer.getExceptionHandler()).thenReturn(mock(ExceptionHandler.class));
+        when(camelKafkaConsumer.getProcessor()).thenReturn(exchange -> {
+            batches.add(exchange.getMessage().getBody(List.class));
+            KafkaManualCommit manual = exchange.getMessage().getHeader(KafkaConstants.MANUAL_COMMIT, KafkaManualCommit.class);
+            if (manual != null) {
+                manual.commit();
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        });
+
+        consumer = mock(Consumer.class);
+        when(consumer.assignment()).thenReturn(Set.of(partition0, partition1));
+        commitManager = mock(CommitManager.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.stop();
+    }
+
+    private KafkaRecordBatchingProcessorFacade createFacade() {
+        return new KafkaRecordBatchingProcessorFacade(camelKafkaConsumer, consumer, "thread1", commitManager);
+    }
+
+    private static ConsumerRecords<Object, Object> poll(TopicPartition partition, long fromOffset, int count) {
+        Map<TopicPartition, List<ConsumerRecord<Object, Object>>> records = new LinkedHashMap<>();
+        List<ConsumerRecord<Object, Object>> partitionRecords = new ArrayList<>();
+        for (long offset = fromOffset; offset < fromOffset + count; offset++) {
+            partitionRecords.add(
+                    new ConsumerRecord<>(partition.topic(), partition.partition(), offset, "key", "value" + offset));
+        }
+        records.put(partition, partitionRecords);
+        return new ConsumerRecords<>(records);
+    }
+
+    private static List<Object> bodies(List<Exchange> batch) {
+        return batch.stream().map(exchange -> exchange.getMessage().getBody()).collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Tests whether the records of a poll are routed as one batch, and committed once the batch completed")
+    void batchPerPoll() {
+        KafkaRecordBatchingProcessorFacade facade = createFacade();
+
+        Map<TopicPartition, List<ConsumerRecord<Object, Object>>> records = new LinkedHashMap<>();
+        records.put(partition0, poll(partition0, 10, 2).records(partition0));
+        records.put(partition1, poll(partition1, 20, 1).records(partition1));
+        ProcessingResult result = facade.processPolledRecords(new ConsumerRecords<>(records), null);
+
+        assertFalse(result.isBreakOnErrorHit());
+        assertEquals(1, batches.size());
+        assertEquals(List.of("value10", "value11", "value20"), bodies(batches.get(0)));
+        assertEquals(11L, batches.get(0).get(1).getMessage().getHeader(KafkaConstants.OFFSET));
+        assertEquals(1, batches.get(0).get(2).getMessage().getHeader(KafkaConstants.PARTITION));
+
+        verify(commitManager).recordOffset(partition0, 11);
+        verify(commitManager).commit(partition0);
+        verify(commitManager).recordOffset(partition1, 20);
+        verify(commitManager).commit(partition1);
+    }
+
+    @Test
+    @DisplayName("Tests whether the records of consecutive polls are collected up till the max poll records")
+    void batchingInterval() {
+        configuration.setMaxPollRecords(4);
+        configuration.setBatchingIntervalMs(60000L);
+        KafkaRecordBatchingProcessorFacade facade = createFacade();
+
+        facade.processPolledRecords(poll(partition0, 0, 3), null);
+        assertTrue(batches.isEmpty(), "The batch is not full yet");
+
+        facade.processPolledRecords(poll(partition0, 3, 3), null);
+        assertEquals(1, batches.size());
+        assertEquals(List.of("value0", "value1", "value2", "value3"), bodies(batches.get(0)));
+        verify(commitManager).recordOffset(partition0, 3);
+
+        // the collected records are not committed, and polled again
+        facade.stopProcessing();
+        verify(consumer).seek(partition0, 4);
+        verify(commitManager, never()).recordOffset(partition0, 5);
+    }
+
+    @Test
+    @DisplayName("Tests whether the consumer breaks out and seeks back to a failed batch")
+    void breakOnFirstError() {
+        configuration.setBreakOnFirstError(true);
+        failure = new IllegalStateException("Forced");
+        KafkaRecordBatchingProcessorFacade facade = createFacade();
+
+        ProcessingResult result = facade.processPolledRecords(poll(partition0, 5, 3), null);
+
+        assertTrue(result.isBreakOnErrorHit());
+        verify(commitManager, never()).recordOffset(any(), anyLong());
+        verify(commitManager).forceCommit(partition0, 4);
+        verify(consumer).seek(partition0, 5);
+    }
+
+    @Test
+    @DisplayName("Tests whether the manual commit of a batch commits the last record of each partition")
+    void manualCommit() {
+        configuration.setAllowManualCommit(true);
+        KafkaManualCommit manual = mock(KafkaManualCommit.class);
+        when(commitManager.getManualCommit(any(), eq(partition0), any())).thenReturn(manual);
+        KafkaRecordBatchingProcessorFacade facade = createFacade();
+
+        facade.processPolledRecords(poll(partition0, 0, 3), null);
+
+        verify(commitManager).getManualCommit(any(), eq(partition0), any());
+        verify(manual).commit();
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.kafka.consumer.support.parallel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.component.kafka.KafkaConfiguration;
+import org.apache.camel.component.kafka.KafkaConstants;
+import org.apache.camel.component.kafka.KafkaConsumer;
+import org.apache.camel.component.kafka.KafkaEndpoint;
+import org.apache.camel.component.kafka.consumer.AbstractCommitManager;
+import org.apache.camel.component.kafka.consumer.CommitManager;
+import org.apache.camel.component.kafka.consumer.WatermarkCommitManager;
+import org.apache.camel.component.kafka.consumer.support.ProcessingResult;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.spi.ExceptionHandler;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class KafkaRecordParallelProcessorFacadeTest {
+    private final TopicPartition partition0 = new TopicPartition("topic1", 0);
+    private final TopicPartition partition1 = new TopicPartition("topic1", 1);
+    private final List<ConsumerRecord<?, ?>> processed = Collections.synchronizedList(new ArrayList<>());
+    private final KafkaConfiguration configuration = new KafkaConfiguration();
+    private CamelContext context;
+    private ExecutorService executorService;
+    private KafkaConsumer camelKafkaConsumer;
+    private Consumer<?, ?> consumer;
+    private CommitManager delegate;
+    private WatermarkCommitManager commitManager;
+    private volatile CountDownLatch blocked;
+    private volatile long failingOffset = -1;
+
+    @BeforeEach
+    void setup() {
+        context = new DefaultCamelContext();
+        context.start();
+
+        configuration.setProcessingThreads(4);
+        configuration.setAutoCommitIntervalMs(60000);
+        configuration.setPollTimeoutMs(5000L);
+        KafkaEndpoint endpoint = mock(KafkaEndpoint.class);
+        when(endpoint.getConfiguration()).thenReturn(configuration);
+
+        executorService = Executors.newFixedThreadPool(4);
+        camelKafkaConsumer = mock(KafkaConsumer.class);
+        when(camelKafkaConsumer.getEndpoint()).thenReturn(endpoint);
+        when(camelKafkaConsumer.getProcessingExecutorService()).thenReturn(executorService);
+        when(camelKafkaConsumer.createExchange(false)).thenAnswer(invocation -> new DefaultExchange(context));
+        when(camelKafkaConsumer.getExceptionHandler()).thenReturn(mock(ExceptionHandler.class));
+        when(camelKafkaConsumer.getProcessor()).thenReturn(exchange -> {
+            CountDownLatch latch = blocked;
+            if (latch != null) {
+                latch.await(10, TimeUnit.SECONDS);
+            }
+            // give the records of other keys a chance to overtake
+            Thread.sleep(ThreadLocalRandom.current().nextInt(5));
+
+            long offset = exchange.getMessage().getHeader(KafkaConstants.OFFSET, Long.class);
+            processed.add(new ConsumerRecord<>(
+                    exchange.getMessage().getHeader(KafkaConstants.TOPIC, String.class),
+                    exchange.getMessage().getHeader(KafkaConstants.PARTITION, Integer.class), offset,
+                    exchange.getMessage().getHeader(KafkaConstants.KEY), exchange.getMessage().getBody()));
+            if (offset == failingOffset) {
+                throw new IllegalStateException("Forced");
+            }
+        });
+
+        consumer = mock(Consumer.class);
+        when(consumer.assignment()).thenReturn(Set.of(partition0, partition1));
+        when(consumer.paused()).thenReturn(Set.of());
+        delegate = mock(CommitManager.class);
+        commitManager = new WatermarkCommitManager(consumer, delegate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+        context.stop();
+    }
+
+    private KafkaRecordParallelProcessorFacade createFacade() {
+        return new KafkaRecordParallelProcessorFacade(camelKafkaConsumer, consumer, "thread1", commitManager);
+    }
+
+    private static ConsumerRecords<Object, Object> poll(TopicPartition partition, long fromOffset, String... keys) {
+        Map<TopicPartition, List<ConsumerRecord<Object, Object>>> records = new LinkedHashMap<>();
+        List<ConsumerRecord<Object, Object>> partitionRecords = new ArrayList<>();
+        for (int i = 0; i < keys.length; i++) {
+            long offset = fromOffset + i;
+            partitionRecords.add(
+                    new ConsumerRecord<>(partition.topic(), partition.partition(), offset, keys[i], "value" + offset));
+        }
+        records.put(partition, partitionRecords);
+        return new ConsumerRecords<>(records);
+    }
+
+    private List<Long> offsetsOf(Object key) {
+        synchronized (processed) {
+            return processed.stream().filter(r -> key.equals(r.key())).map(ConsumerRecord::offset)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Tests whether the records with the same key are processed in order, and committed up till the watermark")
+    void orderedPerKey() {
+        KafkaRecordParallelProcessorFacade facade = createFacade();
+
+        String[] keys = new String[40];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "key" + (i % 4);
+        }
+        ProcessingResult result = facade.processPolledRecords(poll(partition0, 100, keys), null);
+        assertFalse(result.isBreakOnErrorHit());
+
+        facade.stopProcessing();
+
+        assertEquals(40, processed.size());
+        for (int k = 0; k < 4; k++) {
+            List<Long> offsets = offsetsOf("key" + k);
+            assertEquals(10, offsets.size());
+            for (int i = 1; i < offsets.size(); i++) {
+                assertTrue(offsets.get(i - 1) < offsets.get(i), "Records of key" + k + " out of order: " + offsets);
+            }
+        }
+        verify(delegate).recordOffset(partition0, 139);
+        verify(delegate).commit(partition0);
+    }
+
+    @Test
+    @DisplayName("Tests whether the partitions are paused while too many records are in flight, and resumed after")
+    void maxInFlightPausing() {
+        configuration.setMaxInFlightRecords(2);
+        configuration.setPollTimeoutMs(100L);
+        blocked = new CountDownLatch(1);
+        KafkaRecordParallelProcessorFacade facade = createFacade();
+
+        facade.processPolledRecords(poll(partition0, 0, "a", "b", "c"), null);
+        verify(consumer).pause(Set.of(partition0, partition1));
+        verify(consumer, never()).resume(any());
+        assertEquals(AbstractCommitManager.START_OFFSET, commitManager.getWatermark(partition0),
+                "No records have completed yet");
+
+        blocked.countDown();
+        facade.processPolledRecords(poll(partition0, 3), null);
+        verify(consumer).resume(Set.of(partition0, partition1));
+
+        facade.stopProcessing();
+        assertEquals(3, processed.size());
+        verify(delegate).recordOffset(partition0, 2);
+    }
+
+    @Test
+    @DisplayName("Tests whether the watermark stays before the failed record, and starts over when polled again")
+    void breakOnFirstError() {
+        configuration.setBreakOnFirstError(true);
+        configuration.setMaxInFlightRecords(1);
+        failingOffset = 6;
+        KafkaRecordParallelProcessorFacade facade = createFacade();
+
+        ProcessingResult result = facade.processPolledRecords(poll(partition0, 5, "a", "a", "a", "a"), null);
+
+        assertTrue(result.isBreakOnErrorHit());
+        assertEquals(List.of(5L, 6L), offsetsOf("a"), "The records after the failed record are skipped");
+        verify(delegate).recordOffset(partition0, 5);
+        verify(delegate, never()).recordOffset(partition0, 6);
+
+        // the consumer reconnects and polls again from the failed record, but gets fewer records this time
+        failingOffset = -1;
+        facade = createFacade();
+        facade.processPolledRecords(poll(partition0, 6, "a", "a"), null);
+        facade.stopProcessing();
+
+        assertEquals(7, commitManager.getWatermark(partition0), "The skipped records are no longer in progress");
+        verify(delegate).recordOffset(partition0, 7);
+    }
+
+    @Test
+    @DisplayName("Tests whether the records of a revoked partition are neither processed nor committed")
+    void revokedPartition() {
+        blocked = new CountDownLatch(1);
+        KafkaRecordParallelProcessorFacade facade = createFacade();
+
+        facade.processPolledRecords(poll(partition1, 0, "a", "a", "a"), null);
+        commitManager.revoke(partition1);
+        blocked.countDown();
+        facade.stopProcessing();
+
+        assertTrue(processed.size() <= 1, "Only the record in progress when revoked completes: " + processed);
+        verify(delegate, never()).recordOffset(any(), anyLong());
+    }
+}
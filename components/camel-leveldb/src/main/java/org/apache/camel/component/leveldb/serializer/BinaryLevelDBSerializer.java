@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.leveldb.serializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.support.DefaultExchangeHolder;
+import org.apache.camel.support.DefaultExchangeHolderBinaryCodec;
+import org.apache.camel.util.ClassLoadingAwareObjectInputStream;
+
+/**
+ * Serializer which stores the keys as UTF-8 and the exchanges using the compact
+ * {@link DefaultExchangeHolderBinaryCodec}, instead of Java serialization. Exchanges stored using Java serialization
+ * can still be deserialized.
+ */
+public class BinaryLevelDBSerializer extends AbstractLevelDBSerializer {
+
+    @Override
+    public byte[] serializeKey(String key) throws IOException {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String deserializeKey(byte[] buffer) throws IOException {
+        return new String(buffer, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public byte[] serializeExchange(CamelContext camelContext, Exchange exchange, boolean allowSerializedHeaders)
+            throws IOException {
+        return serializeExchange(exchange, allowSerializedHeaders, DefaultExchangeHolderBinaryCodec::encode);
+    }
+
+    @Override
+    public Exchange deserializeExchange(CamelContext camelContext, byte[] buffer) throws IOException {
+        final ClassLoader classLoader = camelContext.getApplicationContextClassLoader();
+        return deserializeExchange(camelContext, buffer, b -> {
+            try {
+                if (DefaultExchangeHolderBinaryCodec.isBinaryEncoded(b)) {
+                    return DefaultExchangeHolderBinaryCodec.decode(b, classLoader);
+                }
+                try (ObjectInputStream ois = new ClassLoadingAwareObjectInputStream(classLoader, new ByteArrayInputStream(b))) {
+                    return (DefaultExchangeHolder) ois.readObject();
+                }
+            } catch (ClassNotFoundException e) {
+                throw new IOException("Cannot deserialize exchange", e);
+            }
+        });
+    }
+}
@@ -53,6 +53,8 @@ public final class MicrometerConstants {
     public static final String DEFAULT_CAMEL_ROUTES_ADDED = "CamelRoutesAdded";
     public static final String DEFAULT_CAMEL_ROUTES_RUNNING = "CamelRoutesRunning";
     public static final String DEFAULT_CAMEL_ROUTES_EXCHANGES_INFLIGHT = "CamelExchangesInflight";
+    public static final String DEFAULT_CAMEL_ROUTE_LATENCY_METER_NAME = "CamelRouteLatency";
+    public static final String DEFAULT_CAMEL_PROCESSOR_LATENCY_METER_NAME = "CamelProcessorLatency";
 
     public static final String ROUTE_ID_TAG = "routeId";
     public static final String ROUTE_DESCRIPTION_TAG = "routeDescription";
@@ -60,6 +62,7 @@ public final class MicrometerConstants {
     public static final String FAILED_TAG = "failed";
     public static final String CAMEL_CONTEXT_TAG = "camelContext";
     public static final String EVENT_TYPE_TAG = "eventType";
+    public static final String PERCENTILE_TAG = "phi";
     public static final String METRICS_REGISTRY_NAME = "metricsRegistry";
 
     public static final String SERVICE_NAME = "serviceName";
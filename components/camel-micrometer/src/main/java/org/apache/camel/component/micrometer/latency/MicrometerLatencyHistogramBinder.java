@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.micrometer.latency;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.StartupListener;
+import org.apache.camel.component.micrometer.MicrometerUtils;
+import org.apache.camel.spi.LatencyHistogram;
+import org.apache.camel.spi.LatencyHistogramRegistry;
+import org.apache.camel.support.CamelContextHelper;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.ObjectHelper;
+
+import static org.apache.camel.component.micrometer.MicrometerConstants.CAMEL_CONTEXT_TAG;
+import static org.apache.camel.component.micrometer.MicrometerConstants.DEFAULT_CAMEL_PROCESSOR_LATENCY_METER_NAME;
+import static org.apache.camel.component.micrometer.MicrometerConstants.DEFAULT_CAMEL_ROUTE_LATENCY_METER_NAME;
+import static org.apache.camel.component.micrometer.MicrometerConstants.METRICS_REGISTRY_NAME;
+import static org.apache.camel.component.micrometer.MicrometerConstants.NODE_ID_TAG;
+import static org.apache.camel.component.micrometer.MicrometerConstants.PERCENTILE_TAG;
+import static org.apache.camel.component.micrometer.MicrometerConstants.ROUTE_ID_TAG;
+
+/**
+ * Exposes the {@link LatencyHistogram}s from the {@link LatencyHistogramRegistry} as Micrometer meters.
+ * <p/>
+ * Each route and processor histogram is exposed as a count, a max, and a gauge per percentile, which are computed
+ * from the histogram when the meters are read. The meters are bound when the {@link CamelContext} has been started.
+ * Routes which are added later can be bound by calling {@link #bindMeters()}.
+ */
+public class MicrometerLatencyHistogramBinder extends ServiceSupport implements CamelContextAware, StartupListener {
+
+    private CamelContext camelContext;
+    private MeterRegistry meterRegistry;
+    private double[] percentiles = { 0.5, 0.9, 0.99, 0.999 };
+
+    @Override
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    @Override
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    public MeterRegistry getMeterRegistry() {
+        return meterRegistry;
+    }
+
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public double[] getPercentiles() {
+        return percentiles;
+    }
+
+    /**
+     * The percentiles to expose, between 0 and 1, such as 0.999 for p999.
+     */
+    public void setPercentiles(double[] percentiles) {
+        this.percentiles = percentiles;
+    }
+
+    @Override
+    public void onCamelContextStarted(CamelContext context, boolean alreadyStarted) throws Exception {
+        bindMeters();
+    }
+
+    /**
+     * Binds the meters of the histograms which have not been bound already.
+     */
+    public void bindMeters() {
+        LatencyHistogramRegistry registry = CamelContextHelper.getLatencyHistogramRegistry(camelContext);
+        if (registry == null) {
+            return;
+        }
+        // micrometer returns the existing meter if a meter with the same name and tags is already registered
+        for (String routeId : registry.getRouteIds()) {
+            LatencyHistogram route = registry.getRouteHistogram(routeId);
+            if (route != null) {
+                bindMeters(DEFAULT_CAMEL_ROUTE_LATENCY_METER_NAME, route,
+                        Tags.of(CAMEL_CONTEXT_TAG, camelContext.getName(), ROUTE_ID_TAG, routeId));
+            }
+            for (Map.Entry<String, LatencyHistogram> entry : registry.getProcessorHistograms(routeId).entrySet()) {
+                bindMeters(DEFAULT_CAMEL_PROCESSOR_LATENCY_METER_NAME, entry.getValue(),
+                        Tags.of(CAMEL_CONTEXT_TAG, camelContext.getName(), ROUTE_ID_TAG, routeId,
+                                NODE_ID_TAG, entry.getKey()));
+            }
+        }
+    }
+
+    private void bindMeters(String name, LatencyHistogram histogram, Tags tags) {
+        FunctionCounter.builder(name + ".count", histogram, LatencyHistogram::getCount)
+                .tags(tags)
+                .description("Number of recorded latencies")
+                .register(meterRegistry);
+        TimeGauge.builder(name + ".max", histogram, TimeUnit.NANOSECONDS, LatencyHistogram::getMax)
+                .tags(tags)
+                .description("Highest recorded latency")
+                .register(meterRegistry);
+        for (double percentile : percentiles) {
+            TimeGauge.builder(name + ".percentile", histogram, TimeUnit.NANOSECONDS,
+                    h -> h.getValueAtPercentile(percentile * 100))
+                    .tags(tags.and(PERCENTILE_TAG, String.valueOf(percentile)))
+                    .description("Latency at the percentile")
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ObjectHelper.notNull(camelContext, "CamelContext", this);
+        if (meterRegistry == null) {
+            meterRegistry = MicrometerUtils.getOrCreateMeterRegistry(camelContext.getRegistry(), METRICS_REGISTRY_NAME);
+        }
+        // binds the meters when camel has been started, or at once if camel is already started
+        camelContext.addStartupListener(this);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.redis.processor.throttle;
+
+import java.util.Collections;
+
+import org.apache.camel.support.processor.throttle.LeasedThrottleStateRepository;
+import org.redisson.Redisson;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.LongCodec;
+import org.redisson.config.Config;
+
+/**
+ * {@link org.apache.camel.spi.ThrottleStateRepository} using Redis as store, so the throttle rate applies to all the
+ * Camel applications using the same repository name.
+ */
+public class RedisThrottleStateRepository extends LeasedThrottleStateRepository {
+
+    // adds to the counter and sets its time to live when created, as one atomic operation
+    private static final String ADD_AND_GET_SCRIPT = "local answer = redis.call('incrby', KEYS[1], ARGV[1]) "
+                                                     + "if answer == tonumber(ARGV[1]) then "
+                                                     + "redis.call('pexpire', KEYS[1], ARGV[2]) "
+                                                     + "end "
+                                                     + "return answer";
+
+    private String endpoint;
+    private String repositoryName;
+    private RedissonClient redisson;
+    private boolean shutdownRedisson;
+
+    public RedisThrottleStateRepository() {
+    }
+
+    public RedisThrottleStateRepository(final String repositoryName, final String endpoint) {
+        this.repositoryName = repositoryName;
+        this.endpoint = endpoint;
+    }
+
+    public RedisThrottleStateRepository(final String repositoryName, final RedissonClient redisson) {
+        this.repositoryName = repositoryName;
+        this.redisson = redisson;
+    }
+
+    @Override
+    protected long addAndGet(String name, int delta, long timeToLiveMillis) {
+        RScript script = redisson.getScript(LongCodec.INSTANCE);
+        Long answer = script.eval(RScript.Mode.READ_WRITE, ADD_AND_GET_SCRIPT, RScript.ReturnType.INTEGER,
+                Collections.singletonList(repositoryName + ":" + name), (long) delta, timeToLiveMillis);
+        return answer;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public void setEndpoint(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public String getRepositoryName() {
+        return repositoryName;
+    }
+
+    public void setRepositoryName(String repositoryName) {
+        this.repositoryName = repositoryName;
+    }
+
+    public RedissonClient getRedisson() {
+        return redisson;
+    }
+
+    public void setRedisson(RedissonClient redisson) {
+        this.redisson = redisson;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (redisson == null) {
+            Config config = new Config();
+            config.useSingleServer().setAddress(String.format("redis://%s", endpoint));
+            redisson = Redisson.create(config);
+            shutdownRedisson = true;
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+        if (redisson != null && shutdownRedisson) {
+            redisson.shutdown();
+            redisson = null;
+        }
+    }
+}
@@ -0,0 +1,383 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.util.ObjectHelper;
+
+/**
+ * A bounded lock-free {@link BlockingQueue} backed by a pre-allocated ring buffer.
+ * <p/>
+ * Producers and consumers claim slots by advancing the tail and head counters with compare-and-set, and each slot
+ * carries a sequence number telling whether it is free for the current lap of the producers, or holds an element for
+ * the current lap of the consumers. Any number of producers and consumers can therefore offer and poll without taking
+ * a lock. A lock is only used to park threads that have to wait because the queue is empty or full, and producers and
+ * consumers only signal when there are threads waiting.
+ * <p/>
+ * Removing an arbitrary element (such as when a producer gives up waiting for a reply) leaves a marker in its slot,
+ * which is skipped by the consumers.
+ *
+ * @param <E> Element type, usually {@link org.apache.camel.Exchange}
+ */
+public class RingBufferBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+    private static final Object REMOVED = new Object();
+
+    private final int capacity;
+    private final int slots;
+    private final AtomicReferenceArray<Object> buffer;
+    private final AtomicLongArray sequences;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicInteger removed = new AtomicInteger();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final AtomicInteger waitingConsumers = new AtomicInteger();
+    private final AtomicInteger waitingProducers = new AtomicInteger();
+
+    public RingBufferBlockingQueue(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive, was: " + capacity);
+        }
+        this.capacity = capacity;
+        // the sequence numbers cannot tell a published slot from a free slot with a single slot
+        this.slots = Math.max(2, capacity);
+        this.buffer = new AtomicReferenceArray<>(slots);
+        this.sequences = new AtomicLongArray(slots);
+        for (int i = 0; i < slots; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public boolean offer(E e) {
+        ObjectHelper.notNull(e, "element");
+        if (!enqueue(e)) {
+            return false;
+        }
+        if (waitingConsumers.get() > 0) {
+            signal(notEmpty);
+        }
+        return true;
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        ObjectHelper.notNull(e, "element");
+        if (offer(e)) {
+            return;
+        }
+        lock.lockInterruptibly();
+        try {
+            waitingProducers.incrementAndGet();
+            try {
+                while (!offer(e)) {
+                    notFull.await();
+                }
+            } finally {
+                waitingProducers.decrementAndGet();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        ObjectHelper.notNull(e, "element");
+        if (offer(e)) {
+            return true;
+        }
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            waitingProducers.incrementAndGet();
+            try {
+                while (!offer(e)) {
+                    if (nanos <= 0) {
+                        return false;
+                    }
+                    nanos = notFull.awaitNanos(nanos);
+                }
+                return true;
+            } finally {
+                waitingProducers.decrementAndGet();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E poll() {
+        E answer = dequeue();
+        if (answer != null && waitingProducers.get() > 0) {
+            signal(notFull);
+        }
+        return answer;
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        E answer = poll();
+        if (answer != null) {
+            return answer;
+        }
+        lock.lockInterruptibly();
+        try {
+            waitingConsumers.incrementAndGet();
+            try {
+                while ((answer = poll()) == null) {
+                    notEmpty.await();
+                }
+                return answer;
+            } finally {
+                waitingConsumers.decrementAndGet();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        E answer = poll();
+        if (answer != null) {
+            return answer;
+        }
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            waitingConsumers.incrementAndGet();
+            try {
+                while ((answer = poll()) == null) {
+                    if (nanos <= 0) {
+                        return null;
+                    }
+                    nanos = notEmpty.awaitNanos(nanos);
+                }
+                return answer;
+            } finally {
+                waitingConsumers.decrementAndGet();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        long t = tail.get();
+        for (long pos = head.get(); pos < t; pos++) {
+            int index = index(pos);
+            if (sequences.get(index) == pos + 1) {
+                Object e = buffer.get(index);
+                // skip over removed elements
+                if (e != null && e != REMOVED) {
+                    return (E) e;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int size() {
+        long t = tail.get();
+        long h = head.get();
+        long size = t - h - removed.get();
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return capacity - size();
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        ObjectHelper.notNull(c, "collection");
+        if (c == this) {
+            throw new IllegalArgumentException("Cannot drain to itself");
+        }
+        int n = 0;
+        E e;
+        while (n < maxElements && (e = dequeue()) != null) {
+            c.add(e);
+            n++;
+        }
+        if (n > 0 && waitingProducers.get() > 0) {
+            signal(notFull);
+        }
+        return n;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        long t = tail.get();
+        for (long pos = head.get(); pos < t; pos++) {
+            int index = index(pos);
+            if (sequences.get(index) == pos + 1) {
+                Object e = buffer.get(index);
+                if (e != null && e != REMOVED && o.equals(e) && buffer.compareAndSet(index, e, REMOVED)) {
+                    removed.incrementAndGet();
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns an iterator over a snapshot of the elements in the queue.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterator<E> iterator() {
+        List<E> snapshot = new ArrayList<>();
+        long t = tail.get();
+        for (long pos = head.get(); pos < t; pos++) {
+            int index = index(pos);
+            if (sequences.get(index) == pos + 1) {
+                Object e = buffer.get(index);
+                if (e != null && e != REMOVED) {
+                    snapshot.add((E) e);
+                }
+            }
+        }
+        Iterator<E> it = snapshot.iterator();
+        return new Iterator<>() {
+            private E last;
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public E next() {
+                last = it.next();
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                if (last == null) {
+                    throw new IllegalStateException();
+                }
+                RingBufferBlockingQueue.this.remove(last);
+                last = null;
+            }
+        };
+    }
+
+    private boolean enqueue(E e) {
+        long pos = tail.get();
+        while (true) {
+            int index = index(pos);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (slots != capacity && pos - head.get() >= capacity) {
+                    return false;
+                }
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    buffer.set(index, e);
+                    // publish the element to the consumers
+                    sequences.set(index, pos + 1);
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                // the slot still holds an element from the previous lap so the queue is full
+                return false;
+            } else {
+                pos = tail.get();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private E dequeue() {
+        while (true) {
+            long pos = head.get();
+            Object e = null;
+            while (true) {
+                int index = index(pos);
+                long diff = sequences.get(index) - (pos + 1);
+                if (diff == 0) {
+                    if (head.compareAndSet(pos, pos + 1)) {
+                        e = buffer.getAndSet(index, null);
+                        // release the slot to the producers of the next lap
+                        sequences.set(index, pos + slots);
+                        break;
+                    }
+                    pos = head.get();
+                } else if (diff < 0) {
+                    // the slot has not been published yet so the queue is empty
+                    return null;
+                } else {
+                    pos = head.get();
+                }
+            }
+            if (e != REMOVED) {
+                return (E) e;
+            }
+            removed.decrementAndGet();
+        }
+    }
+
+    private int index(long pos) {
+        return (int) (pos % slots);
+    }
+
+    private void signal(Condition condition) {
+        lock.lock();
+        try {
+            condition.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -16,7 +16,9 @@
  */
 package org.apache.camel.component.seda;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.BlockingDeque;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
@@ -49,15 +51,19 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
     private static final Logger LOG = LoggerFactory.getLogger(SedaConsumer.class);
 
     private final AtomicInteger taskCount = new AtomicInteger();
+    // exchanges drained from the queue which have not yet been processed
+    private final AtomicInteger batchPending = new AtomicInteger();
     private volatile CountDownLatch latch;
     private volatile boolean shutdownPending;
     private volatile boolean forceShutdown;
     private ExecutorService executor;
     private final int pollTimeout;
+    private final int maxMessagesPerPoll;
 
     public SedaConsumer(SedaEndpoint endpoint, Processor processor) {
         super(endpoint, processor);
         this.pollTimeout = endpoint.getPollTimeout();
+        this.maxMessagesPerPoll = Math.max(1, endpoint.getMaxMessagesPerPoll());
     }
 
     @Override
@@ -79,7 +85,7 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
         if (getEndpoint().isPurgeWhenStopping()) {
             getEndpoint().purgeQueue();
         }
-        return getEndpoint().getQueue().size();
+        return getEndpoint().getQueue().size() + batchPending.get();
     }
 
     @Override
@@ -136,6 +142,7 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
 
     protected void doRun() {
         BlockingQueue<Exchange> queue = getEndpoint().getQueue();
+        List<Exchange> batch = maxMessagesPerPoll > 1 ? new ArrayList<>(maxMessagesPerPoll) : null;
         // loop while we are allowed, or if we are stopping loop until the queue is empty
         while (queue != null && isRunAllowed()) {
 
@@ -179,20 +186,31 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
                             exchange);
                 }
                 if (exchange != null) {
-                    try {
-                        // prepare the exchange before sending to consumer
-                        Exchange newExchange = prepareExchange(exchange);
-                        // process the exchange
-                        sendToConsumers(newExchange);
-                        // copy result back
-                        ExchangeHelper.copyResults(exchange, newExchange);
-                        // log exception if an exception occurred and was not handled
-                        if (exchange.getException() != null) {
-                            getExceptionHandler().handleException("Error processing exchange", exchange,
-                                    exchange.getException());
+                    if (batch != null) {
+                        // take the exchanges that are ready as well, without waiting for more to arrive
+                        batch.add(exchange);
+                        queue.drainTo(batch, maxMessagesPerPoll - 1);
+                        batchPending.addAndGet(batch.size());
+                        LOG.trace("Drained {} exchanges from queue {}", batch.size(), ObjectHelper.getIdentityHashCode(queue));
+                        int index = 0;
+                        try {
+                            while (index < batch.size()) {
+                                if (!isRunAllowed() || isSuspending() || isSuspended()) {
+                                    // we are stopping or suspending so leave the rest of the batch on the queue
+                                    returnToQueue(queue, batch.subList(index, batch.size()));
+                                    index = batch.size();
+                                    break;
+                                }
+                                exchange = batch.get(index++);
+                                batchPending.decrementAndGet();
+                                processPolledExchange(exchange);
+                            }
+                        } finally {
+                            batchPending.addAndGet(index - batch.size());
+                            batch.clear();
                         }
-                    } catch (Exception e) {
-                        getExceptionHandler().handleException("Error processing exchange", exchange, e);
+                    } else {
+                        processPolledExchange(exchange);
                     }
                 } else if (shutdownPending && queue.isEmpty()) {
                     LOG.trace("Shutdown is pending, so this consumer thread is breaking out because the task queue is empty.");
@@ -212,6 +230,52 @@ public class SedaConsumer extends DefaultConsumer implements Runnable, ShutdownA
         }
     }
 
+    private void returnToQueue(BlockingQueue<Exchange> queue, List<Exchange> remainder) {
+        LOG.debug("Returning {} exchanges to the queue as the consumer is stopping or suspending", remainder.size());
+        if (queue instanceof BlockingDeque) {
+            // put them back at the head of the queue in the same order
+            BlockingDeque<Exchange> deque = (BlockingDeque<Exchange>) queue;
+            for (int i = remainder.size() - 1; i >= 0; i--) {
+                Exchange exchange = remainder.get(i);
+                if (!deque.offerFirst(exchange)) {
+                    processRemainder(exchange);
+                }
+                batchPending.decrementAndGet();
+            }
+        } else {
+            for (Exchange exchange : remainder) {
+                if (!queue.offer(exchange)) {
+                    processRemainder(exchange);
+                }
+                batchPending.decrementAndGet();
+            }
+        }
+    }
+
+    private void processRemainder(Exchange exchange) {
+        // the queue is full, so the exchange must be processed as it cannot be returned
+        LOG.debug("Queue is full, so processing exchange {} which could not be returned to the queue", exchange);
+        processPolledExchange(exchange);
+    }
+
+    private void processPolledExchange(Exchange exchange) {
+        try {
+            // prepare the exchange before sending to consumer
+            Exchange newExchange = prepareExchange(exchange);
+            // process the exchange
+            sendToConsumers(newExchange);
+            // copy result back
+            ExchangeHelper.copyResults(exchange, newExchange);
+            // log exception if an exception occurred and was not handled
+            if (exchange.getException() != null) {
+                getExceptionHandler().handleException("Error processing exchange", exchange,
+                        exchange.getException());
+            }
+        } catch (Exception e) {
+            getExceptionHandler().handleException("Error processing exchange", exchange, e);
+        }
+    }
+
     /**
      * Strategy to prepare exchange for being processed by this consumer
      *
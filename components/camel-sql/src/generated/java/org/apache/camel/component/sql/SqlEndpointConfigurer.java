@@ -36,6 +36,11 @@ public class SqlEndpointConfigurer extends PropertyConfigurerSupport implements
         case "breakBatchOnConsumeFail": target.setBreakBatchOnConsumeFail(property(camelContext, boolean.class, value)); return true;
         case "bridgeerrorhandler":
         case "bridgeErrorHandler": target.setBridgeErrorHandler(property(camelContext, boolean.class, value)); return true;
+        case "coalesce": target.setCoalesce(property(camelContext, boolean.class, value)); return true;
+        case "coalescesize":
+        case "coalesceSize": target.setCoalesceSize(property(camelContext, int.class, value)); return true;
+        case "coalescetimeout":
+        case "coalesceTimeout": target.setCoalesceTimeout(property(camelContext, long.class, value)); return true;
         case "datasource":
         case "dataSource": target.setDataSource(property(camelContext, javax.sql.DataSource.class, value)); return true;
         case "delay": target.setDelay(property(camelContext, long.class, value)); return true;
@@ -45,6 +50,8 @@ public class SqlEndpointConfigurer extends PropertyConfigurerSupport implements
         case "exchangePattern": target.setExchangePattern(property(camelContext, org.apache.camel.ExchangePattern.class, value)); return true;
         case "expectedupdatecount":
         case "expectedUpdateCount": target.setExpectedUpdateCount(property(camelContext, int.class, value)); return true;
+        case "fetchsize":
+        case "fetchSize": target.setFetchSize(property(camelContext, int.class, value)); return true;
         case "greedy": target.setGreedy(property(camelContext, boolean.class, value)); return true;
         case "initialdelay":
         case "initialDelay": target.setInitialDelay(property(camelContext, long.class, value)); return true;
@@ -130,6 +137,11 @@ public class SqlEndpointConfigurer extends PropertyConfigurerSupport implements
         case "breakBatchOnConsumeFail": return boolean.class;
         case "bridgeerrorhandler":
         case "bridgeErrorHandler": return boolean.class;
+        case "coalesce": return boolean.class;
+        case "coalescesize":
+        case "coalesceSize": return int.class;
+        case "coalescetimeout":
+        case "coalesceTimeout": return long.class;
         case "datasource":
         case "dataSource": return javax.sql.DataSource.class;
         case "delay": return long.class;
@@ -139,6 +151,8 @@ public class SqlEndpointConfigurer extends PropertyConfigurerSupport implements
         case "exchangePattern": return org.apache.camel.ExchangePattern.class;
         case "expectedupdatecount":
         case "expectedUpdateCount": return int.class;
+        case "fetchsize":
+        case "fetchSize": return int.class;
         case "greedy": return boolean.class;
         case "initialdelay":
         case "initialDelay": return long.class;
@@ -220,6 +234,11 @@ public class SqlEndpointConfigurer extends PropertyConfigurerSupport implements
         case "breakBatchOnConsumeFail": return target.isBreakBatchOnConsumeFail();
         case "bridgeerrorhandler":
         case "bridgeErrorHandler": return target.isBridgeErrorHandler();
+        case "coalesce": return target.isCoalesce();
+        case "coalescesize":
+        case "coalesceSize": return target.getCoalesceSize();
+        case "coalescetimeout":
+        case "coalesceTimeout": return target.getCoalesceTimeout();
         case "datasource":
         case "dataSource": return target.getDataSource();
         case "delay": return target.getDelay();
@@ -229,6 +248,8 @@ public class SqlEndpointConfigurer extends PropertyConfigurerSupport implements
         case "exchangePattern": return target.getExchangePattern();
         case "expectedupdatecount":
         case "expectedUpdateCount": return target.getExpectedUpdateCount();
+        case "fetchsize":
+        case "fetchSize": return target.getFetchSize();
         case "greedy": return target.isGreedy();
         case "initialdelay":
         case "initialDelay": return target.getInitialDelay();
@@ -21,7 +21,7 @@ public class SqlEndpointUriFactory extends org.apache.camel.support.component.En
     private static final Set<String> SECRET_PROPERTY_NAMES;
     private static final Set<String> MULTI_VALUE_PREFIXES;
     static {
-        Set<String> props = new HashSet<>(46);
+        Set<String> props = new HashSet<>(50);
         props.add("allowNamedParameters");
         props.add("alwaysPopulateStatement");
         props.add("backoffErrorThreshold");
@@ -30,11 +30,15 @@ public class SqlEndpointUriFactory extends org.apache.camel.support.component.En
         props.add("batch");
         props.add("breakBatchOnConsumeFail");
         props.add("bridgeErrorHandler");
+        props.add("coalesce");
+        props.add("coalesceSize");
+        props.add("coalesceTimeout");
         props.add("dataSource");
         props.add("delay");
         props.add("exceptionHandler");
         props.add("exchangePattern");
         props.add("expectedUpdateCount");
+        props.add("fetchSize");
         props.add("greedy");
         props.add("initialDelay");
         props.add("lazyStartProducer");
@@ -51,6 +51,19 @@ public abstract class DefaultSqlEndpoint extends DefaultPollingEndpoint {
     private boolean transacted;
     @UriParam(label = "producer", description = "Enables or disables batch mode")
     private boolean batch;
+    @UriParam(label = "producer",
+              description = "Whether to coalesce the exchanges which use the same SQL statement into JDBC batches. Each exchange provides the parameters"
+                            + " of a single statement, and is completed with its own update count once its batch has been executed. A batch is executed"
+                            + " when coalesceSize exchanges have been collected, or coalesceTimeout has elapsed since its first exchange was collected."
+                            + " This cannot be combined with the batch option.")
+    private boolean coalesce;
+    @UriParam(label = "producer", defaultValue = "100",
+              description = "The maximum number of exchanges to coalesce into a single JDBC batch, when coalesce is enabled.")
+    private int coalesceSize = 100;
+    @UriParam(label = "producer", defaultValue = "10",
+              description = "The time in millis to wait for more exchanges to coalesce into a JDBC batch, after its first exchange was collected,"
+                            + " when coalesce is enabled.")
+    private long coalesceTimeout = 10;
     @UriParam(label = "consumer", description = "Sets the maximum number of messages to poll")
     private int maxMessagesPerPoll;
     @UriParam(label = "consumer,advanced",
@@ -106,6 +119,11 @@ public abstract class DefaultSqlEndpoint extends DefaultPollingEndpoint {
               description = "If set greater than zero, then Camel will use this count value of parameters to replace instead of"
                             + " querying via JDBC metadata API. This is useful if the JDBC vendor could not return correct parameters count, then user may override instead.")
     private int parametersCount;
+    @UriParam(label = "advanced",
+              description = "If set greater than zero, then the JDBC driver is hinted to fetch this number of rows from the database in each round trip."
+                            + " This is useful with outputType=StreamList to only keep a limited number of rows in memory while streaming a large result."
+                            + " Notice some JDBC drivers only stream the result when the connection is not in auto commit mode.")
+    private int fetchSize;
     @UriParam(label = "producer",
               description = "If set, will ignore the results of the SQL query and use the existing IN message as the OUT message for the continuation of processing")
     private boolean noop;
@@ -166,6 +184,45 @@ public abstract class DefaultSqlEndpoint extends DefaultPollingEndpoint {
         this.batch = batch;
     }
 
+    public boolean isCoalesce() {
+        return coalesce;
+    }
+
+    /**
+     * Whether to coalesce the exchanges which use the same SQL statement into JDBC batches. Each exchange provides the
+     * parameters of a single statement, and is completed with its own update count once its batch has been executed. A
+     * batch is executed when coalesceSize exchanges have been collected, or coalesceTimeout has elapsed since its first
+     * exchange was collected.
+     * <p/>
+     * This cannot be combined with the batch option.
+     */
+    public void setCoalesce(boolean coalesce) {
+        this.coalesce = coalesce;
+    }
+
+    public int getCoalesceSize() {
+        return coalesceSize;
+    }
+
+    /**
+     * The maximum number of exchanges to coalesce into a single JDBC batch, when coalesce is enabled.
+     */
+    public void setCoalesceSize(int coalesceSize) {
+        this.coalesceSize = coalesceSize;
+    }
+
+    public long getCoalesceTimeout() {
+        return coalesceTimeout;
+    }
+
+    /**
+     * The time in millis to wait for more exchanges to coalesce into a JDBC batch, after its first exchange was
+     * collected, when coalesce is enabled.
+     */
+    public void setCoalesceTimeout(long coalesceTimeout) {
+        this.coalesceTimeout = coalesceTimeout;
+    }
+
     public int getMaxMessagesPerPoll() {
         return maxMessagesPerPoll;
     }
@@ -317,6 +374,21 @@ public abstract class DefaultSqlEndpoint extends DefaultPollingEndpoint {
         this.parametersCount = parametersCount;
     }
 
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * If set greater than zero, then the JDBC driver is hinted to fetch this number of rows from the database in each
+     * round trip. This is useful with outputType=StreamList to only keep a limited number of rows in memory while
+     * streaming a large result.
+     * <p/>
+     * Notice some JDBC drivers only stream the result when the connection is not in auto commit mode.
+     */
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
     public boolean isNoop() {
         return noop;
     }
@@ -505,7 +577,7 @@ public abstract class DefaultSqlEndpoint extends DefaultPollingEndpoint {
     @SuppressWarnings("unchecked")
     public ResultSetIterator queryForStreamList(Connection connection, Statement statement, ResultSet rs) throws SQLException {
         if (outputClass == null) {
-            RowMapper rowMapper = new ColumnMapRowMapper();
+            RowMapper<Map<String, Object>> rowMapper = new ResultSetRowMapper();
             return new ResultSetIterator(connection, statement, rs, rowMapper);
         } else {
             Class<?> outputClzz = getCamelContext().getClassResolver().resolveClass(outputClass);
@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.sql;
+
+import java.io.Serializable;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+
+/**
+ * A {@link RowMapper} which maps each row of a {@link ResultSet} to a {@link Map} of the column names and values, in
+ * the same way as the Spring {@link org.springframework.jdbc.core.ColumnMapRowMapper}.
+ * <p/>
+ * The column names are only looked up once per result set, and shared by all the rows, which only hold the column
+ * values. This keeps the memory and cpu overhead per row low when streaming large results with
+ * outputType=StreamList. The rows are modifiable, and a row is copied into a map of its own on its first modification.
+ * <p/>
+ * A mapper must only be used for a single result set.
+ */
+public class ResultSetRowMapper implements RowMapper<Map<String, Object>> {
+
+    private Columns columns;
+
+    @Override
+    public Map<String, Object> mapRow(ResultSet rs, int rowNum) throws SQLException {
+        if (columns == null) {
+            columns = new Columns(rs.getMetaData());
+        }
+        Object[] values = new Object[columns.names.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = JdbcUtils.getResultSetValue(rs, columns.indexes[i]);
+        }
+        return new Row(columns, values);
+    }
+
+    private static final class Columns implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        // the unique column names, and the jdbc index of each of them
+        private final String[] names;
+        private final int[] indexes;
+        private final Map<String, Integer> positions;
+
+        private Columns(ResultSetMetaData metaData) throws SQLException {
+            int count = metaData.getColumnCount();
+            // the last column wins if the result has several columns with the same name
+            LinkedCaseInsensitiveMap<Integer> lookup = new LinkedCaseInsensitiveMap<>(count);
+            for (int i = 1; i <= count; i++) {
+                lookup.put(JdbcUtils.lookupColumnName(metaData, i), i);
+            }
+            names = new String[lookup.size()];
+            indexes = new int[lookup.size()];
+            positions = new LinkedCaseInsensitiveMap<>(lookup.size());
+            int position = 0;
+            for (Map.Entry<String, Integer> entry : lookup.entrySet()) {
+                names[position] = entry.getKey();
+                indexes[position] = entry.getValue();
+                positions.put(entry.getKey(), position);
+                position++;
+            }
+        }
+
+        private int positionOf(Object key) {
+            Integer position = key instanceof String ? positions.get(key) : null;
+            return position != null ? position : -1;
+        }
+    }
+
+    private static final class Row extends AbstractMap<String, Object> implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final Columns columns;
+        private final Object[] values;
+        private Map<String, Object> copy;
+
+        private Row(Columns columns, Object[] values) {
+            this.columns = columns;
+            this.values = values;
+        }
+
+        @Override
+        public int size() {
+            return copy != null ? copy.size() : values.length;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return copy != null ? copy.containsKey(key) : columns.positionOf(key) != -1;
+        }
+
+        @Override
+        public Object get(Object key) {
+            if (copy != null) {
+                return copy.get(key);
+            }
+            int position = columns.positionOf(key);
+            return position != -1 ? values[position] : null;
+        }
+
+        @Override
+        public Object put(String key, Object value) {
+            return modifiable().put(key, value);
+        }
+
+        @Override
+        public Object remove(Object key) {
+            return modifiable().remove(key);
+        }
+
+        @Override
+        public void clear() {
+            modifiable().clear();
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            if (copy != null) {
+                return copy.entrySet();
+            }
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new Iterator<>() {
+                        private int position;
+
+                        @Override
+                        public boolean hasNext() {
+                            return position < values.length;
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            Entry<String, Object> entry
+                                    = new SimpleImmutableEntry<>(columns.names[position], values[position]);
+                            position++;
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return values.length;
+                }
+            };
+        }
+
+        private Map<String, Object> modifiable() {
+            if (copy == null) {
+                Map<String, Object> answer = new LinkedCaseInsensitiveMap<>(values.length);
+                for (int i = 0; i < values.length; i++) {
+                    answer.put(columns.names[i], values[i]);
+                }
+                copy = answer;
+            }
+            return copy;
+        }
+    }
+}
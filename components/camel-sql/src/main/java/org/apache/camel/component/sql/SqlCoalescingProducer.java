@@ -0,0 +1,415 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.sql;
+
+import java.sql.BatchUpdateException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.Exchange;
+import org.apache.camel.support.DefaultAsyncProducer;
+import org.apache.camel.support.ResourceHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+
+/**
+ * A producer which coalesces the exchanges which use the same SQL statement into JDBC batches.
+ * <p/>
+ * Each exchange provides the parameters of a single statement. A batch is executed by the thread which sent its last
+ * exchange when the coalesce size is reached, or by a thread of the producer when the coalesce timeout has elapsed
+ * since its first exchange was collected. Each exchange is completed with its own update count, and when the batch
+ * fails only the exchanges whose statement failed are completed with the failure.
+ * <p/>
+ * The other exchanges of the batch continue routing on a worker pool of the producer, so the thread which executed the
+ * batch does not route them one after the other. As the exchanges only get an update count, the options which output
+ * a result, and queries which select rows or retrieve generated keys, are not supported.
+ */
+public class SqlCoalescingProducer extends DefaultAsyncProducer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SqlCoalescingProducer.class);
+
+    private final String query;
+    private String resolvedQuery;
+    private final JdbcTemplate jdbcTemplate;
+    private final SqlPrepareStatementStrategy sqlPrepareStatementStrategy;
+    private final boolean alwaysPopulateStatement;
+    private final boolean useMessageBodyForSql;
+    private final int coalesceSize;
+    private final long coalesceTimeout;
+    private int parametersCount;
+    // the batches being collected by their prepared query
+    private final Map<String, Batch> batches = new HashMap<>();
+    private ScheduledExecutorService scheduler;
+    private ExecutorService workerPool;
+
+    public SqlCoalescingProducer(SqlEndpoint endpoint, String query, JdbcTemplate jdbcTemplate,
+                                 SqlPrepareStatementStrategy sqlPrepareStatementStrategy,
+                                 boolean alwaysPopulateStatement, boolean useMessageBodyForSql,
+                                 int coalesceSize, long coalesceTimeout) {
+        super(endpoint);
+        this.jdbcTemplate = jdbcTemplate;
+        this.sqlPrepareStatementStrategy = sqlPrepareStatementStrategy;
+        this.query = query;
+        this.alwaysPopulateStatement = alwaysPopulateStatement;
+        this.useMessageBodyForSql = useMessageBodyForSql;
+        this.coalesceSize = coalesceSize;
+        this.coalesceTimeout = coalesceTimeout;
+    }
+
+    @Override
+    public SqlEndpoint getEndpoint() {
+        return (SqlEndpoint) super.getEndpoint();
+    }
+
+    @Override
+    protected void doInit() throws Exception {
+        super.doInit();
+
+        if (ResourceHelper.isClasspathUri(query)) {
+            String placeholder = getEndpoint().isUsePlaceholder() ? getEndpoint().getPlaceholder() : null;
+            resolvedQuery = SqlHelper.resolveQuery(getEndpoint().getCamelContext(), query, placeholder);
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+
+        if (!ResourceHelper.isClasspathUri(query)) {
+            String placeholder = getEndpoint().isUsePlaceholder() ? getEndpoint().getPlaceholder() : null;
+            resolvedQuery = SqlHelper.resolveQuery(getEndpoint().getCamelContext(), query, placeholder);
+        }
+        validateOptions();
+
+        if (scheduler == null) {
+            scheduler = getEndpoint().getCamelContext().getExecutorServiceManager()
+                    .newDefaultScheduledThreadPool(this, "SqlCoalescingProducer");
+        }
+        if (workerPool == null) {
+            workerPool = getEndpoint().getCamelContext().getExecutorServiceManager()
+                    .newDefaultThreadPool(this, "SqlCoalescingProducerWorker");
+        }
+    }
+
+    private void validateOptions() {
+        SqlEndpoint endpoint = getEndpoint();
+        if (endpoint.isNoop()) {
+            throw new IllegalArgumentException("The coalesce and noop options cannot be combined");
+        }
+        if (endpoint.getOutputHeader() != null) {
+            throw new IllegalArgumentException("The coalesce and outputHeader options cannot be combined");
+        }
+        if (endpoint.getOutputType() != SqlOutputType.SelectList || endpoint.getOutputClass() != null) {
+            throw new IllegalArgumentException("The coalesce option cannot be combined with outputType or outputClass");
+        }
+        if (!useMessageBodyForSql && isSelect(resolvedQuery)) {
+            throw new IllegalArgumentException("Cannot coalesce the select query: " + resolvedQuery);
+        }
+    }
+
+    private static boolean isSelect(String sql) {
+        if (sql == null) {
+            return false;
+        }
+        int start = 0;
+        while (start < sql.length() && Character.isWhitespace(sql.charAt(start))) {
+            start++;
+        }
+        return sql.regionMatches(true, start, "select", 0, 6);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        // execute the batches still being collected, so their exchanges are completed
+        List<Batch> pending;
+        synchronized (batches) {
+            pending = new ArrayList<>(batches.values());
+            batches.clear();
+        }
+        for (Batch batch : pending) {
+            if (batch.timeout != null) {
+                batch.timeout.cancel(false);
+            }
+            execute(batch, null);
+        }
+
+        if (scheduler != null) {
+            getEndpoint().getCamelContext().getExecutorServiceManager().shutdown(scheduler);
+            scheduler = null;
+        }
+        if (workerPool != null) {
+            // let the exchanges of the last batches continue routing
+            getEndpoint().getCamelContext().getExecutorServiceManager().shutdown(workerPool);
+            workerPool = null;
+        }
+
+        super.doStop();
+    }
+
+    @Override
+    public boolean process(Exchange exchange, AsyncCallback callback) {
+        Batch full = null;
+        try {
+            if (exchange.isTransacted()) {
+                throw new IllegalStateException(
+                        "Cannot coalesce transacted exchanges as the JDBC batches are executed outside of their transactions");
+            }
+
+            final String sql;
+            if (useMessageBodyForSql) {
+                sql = exchange.getIn().getBody(String.class);
+            } else {
+                String queryHeader = exchange.getIn().getHeader(SqlConstants.SQL_QUERY, String.class);
+                sql = queryHeader != null ? queryHeader : resolvedQuery;
+            }
+            if (isSelect(sql)) {
+                throw new IllegalArgumentException("Cannot coalesce the select query: " + sql);
+            }
+            if (exchange.getIn().getHeader(SqlConstants.SQL_RETRIEVE_GENERATED_KEYS, false, Boolean.class)) {
+                throw new IllegalArgumentException("Cannot retrieve the generated keys of coalesced statements");
+            }
+            final String preparedQuery
+                    = sqlPrepareStatementStrategy.prepareQuery(sql, getEndpoint().isAllowNamedParameters(), exchange);
+
+            synchronized (batches) {
+                Batch batch = batches.get(preparedQuery);
+                if (batch == null) {
+                    batch = new Batch(preparedQuery);
+                    batches.put(preparedQuery, batch);
+                    if (coalesceSize > 1) {
+                        Batch timedOut = batch;
+                        batch.timeout = scheduler.schedule(() -> onTimeout(timedOut), coalesceTimeout, TimeUnit.MILLISECONDS);
+                    }
+                }
+                // the queries of a batch may name their parameters differently, so each entry keeps its own
+                batch.entries.add(new Entry(exchange, callback, sql));
+                if (batch.entries.size() >= coalesceSize) {
+                    batches.remove(preparedQuery);
+                    full = batch;
+                }
+            }
+        } catch (Exception e) {
+            exchange.setException(e);
+            callback.done(true);
+            return true;
+        }
+
+        if (full != null) {
+            if (full.timeout != null) {
+                full.timeout.cancel(false);
+            }
+            execute(full, exchange);
+            return true;
+        }
+        return false;
+    }
+
+    private void onTimeout(Batch batch) {
+        synchronized (batches) {
+            if (batches.get(batch.preparedQuery) != batch) {
+                // the batch was full and is executed by the thread which completed it
+                return;
+            }
+            batches.remove(batch.preparedQuery);
+        }
+        execute(batch, null);
+    }
+
+    /**
+     * Executes the batch and completes its exchanges. The given exchange, if any, is completed synchronously, and the
+     * other exchanges continue routing on the worker pool.
+     */
+    private void execute(Batch batch, Exchange syncExchange) {
+        List<Entry> entries = batch.entries;
+        while (!entries.isEmpty()) {
+            LOG.trace("Executing batch of {} statements: {}", entries.size(), batch.preparedQuery);
+            List<Entry> remaining;
+            try {
+                remaining = executeBatch(batch, entries);
+            } catch (Exception e) {
+                // the batch could not be executed at all
+                for (Entry entry : entries) {
+                    if (!entry.executed && entry.exchange.getException() == null) {
+                        entry.exchange.setException(e);
+                    }
+                }
+                remaining = Collections.emptyList();
+            }
+
+            // complete the exchanges once the connection has been released
+            for (Entry entry : entries) {
+                if (!remaining.contains(entry)) {
+                    if (entry.exchange == syncExchange) {
+                        entry.callback.done(true);
+                    } else {
+                        continueRouting(entry);
+                    }
+                }
+            }
+            entries = remaining;
+        }
+    }
+
+    private void continueRouting(Entry entry) {
+        ExecutorService pool = workerPool;
+        if (pool != null) {
+            try {
+                pool.execute(() -> entry.callback.done(false));
+                return;
+            } catch (RejectedExecutionException e) {
+                LOG.debug("Worker pool rejected the completion of {}, completing it on the current thread",
+                        entry.exchange.getExchangeId());
+            }
+        }
+        entry.callback.done(false);
+    }
+
+    /**
+     * Executes the statements of the entries in a single JDBC batch.
+     *
+     * @return the entries which the JDBC driver did not execute because of a failure, and which should be executed in
+     *         a batch of their own.
+     */
+    private List<Entry> executeBatch(Batch batch, List<Entry> entries) {
+        PreparedStatementCreator statementCreator = con -> con.prepareStatement(batch.preparedQuery);
+        return jdbcTemplate.execute(statementCreator, new PreparedStatementCallback<List<Entry>>() {
+            public List<Entry> doInPreparedStatement(PreparedStatement ps) throws SQLException {
+                int expected;
+                if (parametersCount > 0) {
+                    expected = parametersCount;
+                } else {
+                    expected = ps.getParameterMetaData() != null ? ps.getParameterMetaData().getParameterCount() : 0;
+                }
+
+                List<Entry> added = new ArrayList<>(entries.size());
+                for (Entry entry : entries) {
+                    try {
+                        populateStatement(ps, entry.exchange, entry.sql, batch.preparedQuery, expected);
+                        ps.addBatch();
+                        added.add(entry);
+                    } catch (Exception e) {
+                        // only fail the exchange which could not be added to the batch
+                        ps.clearParameters();
+                        entry.exchange.setException(e);
+                    }
+                }
+                if (added.isEmpty()) {
+                    return Collections.emptyList();
+                }
+
+                int[] updateCounts;
+                try {
+                    updateCounts = ps.executeBatch();
+                } catch (BatchUpdateException e) {
+                    return onBatchUpdateException(added, e);
+                }
+                for (int i = 0; i < added.size(); i++) {
+                    added.get(i).setUpdateCount(updateCounts[i]);
+                }
+                return Collections.emptyList();
+            }
+        });
+    }
+
+    private List<Entry> onBatchUpdateException(List<Entry> added, BatchUpdateException e) {
+        int[] updateCounts = e.getUpdateCounts() != null ? e.getUpdateCounts() : new int[0];
+        for (int i = 0; i < added.size(); i++) {
+            Entry entry = added.get(i);
+            if (i < updateCounts.length) {
+                // the driver continued after the failure, and reports the outcome of every statement
+                if (updateCounts[i] == Statement.EXECUTE_FAILED) {
+                    entry.executed = true;
+                    entry.exchange.setException(e);
+                } else {
+                    entry.setUpdateCount(updateCounts[i]);
+                }
+            } else if (i == updateCounts.length) {
+                // the driver stopped at the failed statement
+                entry.executed = true;
+                entry.exchange.setException(e);
+            } else {
+                LOG.debug("Executing {} statements again which were not executed because of a failed statement in their batch",
+                        added.size() - i);
+                return new ArrayList<>(added.subList(i, added.size()));
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    private void populateStatement(PreparedStatement ps, Exchange exchange, String sql, String preparedQuery, int expected)
+            throws SQLException {
+        // only populate if really needed
+        if (alwaysPopulateStatement || expected > 0) {
+            Object value;
+            if (useMessageBodyForSql) {
+                value = exchange.getIn().getHeader(SqlConstants.SQL_PARAMETERS);
+            } else {
+                value = exchange.getIn().getBody();
+            }
+            Iterator<?> i = sqlPrepareStatementStrategy.createPopulateIterator(sql, preparedQuery, expected, exchange, value);
+            sqlPrepareStatementStrategy.populateStatement(ps, i, expected);
+        }
+    }
+
+    public void setParametersCount(int parametersCount) {
+        this.parametersCount = parametersCount;
+    }
+
+    private static final class Batch {
+        private final String preparedQuery;
+        private final List<Entry> entries = new ArrayList<>();
+        private ScheduledFuture<?> timeout;
+
+        private Batch(String preparedQuery) {
+            this.preparedQuery = preparedQuery;
+        }
+    }
+
+    private static final class Entry {
+        private final Exchange exchange;
+        private final AsyncCallback callback;
+        private final String sql;
+        private boolean executed;
+
+        private Entry(Exchange exchange, AsyncCallback callback, String sql) {
+            this.exchange = exchange;
+            this.callback = callback;
+            this.sql = sql;
+        }
+
+        private void setUpdateCount(int updateCount) {
+            executed = true;
+            exchange.getIn().setHeader(SqlConstants.SQL_UPDATE_COUNT, updateCount);
+        }
+    }
+}
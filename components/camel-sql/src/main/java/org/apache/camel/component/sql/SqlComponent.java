@@ -107,6 +107,9 @@ public class SqlComponent extends DefaultComponent {
 
         // create template
         JdbcTemplate jdbcTemplate = new JdbcTemplate(ds);
+        if (endpoint.getFetchSize() > 0) {
+            jdbcTemplate.setFetchSize(endpoint.getFetchSize());
+        }
         Map<String, Object> templateOptions = PropertiesHelper.extractProperties(parameters, "template.");
         PropertyBindingSupport.bindProperties(getCamelContext(), jdbcTemplate, templateOptions);
 
@@ -69,6 +69,16 @@ public class SqlEndpoint extends DefaultSqlEndpoint {
     public Producer createProducer() throws Exception {
         SqlPrepareStatementStrategy prepareStrategy = getPrepareStatementStrategy() != null
                 ? getPrepareStatementStrategy() : new DefaultSqlPrepareStatementStrategy(getSeparator());
+        if (isCoalesce()) {
+            if (isBatch()) {
+                throw new IllegalArgumentException("The batch and coalesce options cannot be combined");
+            }
+            SqlCoalescingProducer result = new SqlCoalescingProducer(
+                    this, query, getJdbcTemplate(), prepareStrategy, isAlwaysPopulateStatement(), isUseMessageBodyForSql(),
+                    getCoalesceSize(), getCoalesceTimeout());
+            result.setParametersCount(getParametersCount());
+            return result;
+        }
         SqlProducer result = new SqlProducer(
                 this, query, getJdbcTemplate(), prepareStrategy, isBatch(),
                 isAlwaysPopulateStatement(), isUseMessageBodyForSql());
@@ -219,6 +219,10 @@ public class SqlProducer extends DefaultProducer {
         try {
             con = jdbcTemplate.getDataSource().getConnection();
             ps = statementCreator.createPreparedStatement(con);
+            // the statement is not created by the jdbcTemplate so apply its fetch size ourselves
+            if (jdbcTemplate.getFetchSize() != -1) {
+                ps.setFetchSize(jdbcTemplate.getFetchSize());
+            }
             ResultSetIterator iterator = null;
 
             populateStatement(ps, exchange, sql, preparedQuery);
@@ -0,0 +1,36 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregate.jdbc;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.apache.camel.support.DefaultExchangeHolder;
+import org.apache.camel.support.DefaultExchangeHolderBinaryCodec;
+
+/**
+ * A {@link JdbcCamelCodec} which encodes the exchanges using the compact {@link DefaultExchangeHolderBinaryCodec}
+ * instead of Java serialization. Exchanges stored using Java serialization (before switching codec) can still be
+ * decoded.
+ */
+public class BinaryJdbcCamelCodec extends JdbcCamelCodec {
+
+    @Override
+    protected void encode(DefaultExchangeHolder holder, OutputStream bytesOut) throws IOException {
+        DefaultExchangeHolderBinaryCodec.encode(holder, bytesOut);
+    }
+}
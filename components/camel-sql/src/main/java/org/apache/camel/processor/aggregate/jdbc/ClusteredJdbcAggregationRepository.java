@@ -66,6 +66,15 @@ public class ClusteredJdbcAggregationRepository extends JdbcAggregationRepositor
         this.setDataSource(dataSource);
     }
 
+    @Override
+    protected void doInit() throws Exception {
+        super.doInit();
+
+        if (isWriteBehind()) {
+            throw new IllegalArgumentException("WriteBehind is not supported by " + getClass().getSimpleName());
+        }
+    }
+
     @Override
     public void remove(final CamelContext camelContext, final String correlationId, final Exchange exchange) {
         transactionTemplate.execute(new TransactionCallbackWithoutResult() {
@@ -22,11 +22,16 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import javax.sql.DataSource;
 
@@ -42,6 +47,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.core.Constants;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.support.AbstractLobCreatingPreparedStatementCallback;
 import org.springframework.jdbc.support.lob.DefaultLobHandler;
@@ -59,6 +65,9 @@ import org.springframework.transaction.support.TransactionTemplate;
  * JDBC based {@link org.apache.camel.spi.AggregationRepository} JdbcAggregationRepository will only preserve any
  * Serializable compatible data types. If a data type is not such a type its dropped and a WARN is logged. And it only
  * persists the Message body and the Message headers. The Exchange properties are not persisted.
+ * <p/>
+ * When write behind is enabled, then the open aggregated exchanges are kept in memory, and the changes are written to
+ * the database in batches in the background, see {@link #setWriteBehind(boolean)}.
  */
 public class JdbcAggregationRepository extends ServiceSupport
         implements RecoverableAggregationRepository, OptimisticLockingAggregationRepository {
@@ -94,6 +103,19 @@ public class JdbcAggregationRepository extends ServiceSupport
     private String deadLetterUri;
     private List<String> headersToStoreAsText;
     private boolean storeBodyAsText;
+    private boolean writeBehind;
+    private long writeBehindInterval = 100;
+    private int writeBehindBatchSize = 1000;
+
+    // write behind state
+    private final Map<String, WriteBehindEntry> writeBehindCache = new ConcurrentHashMap<>();
+    // the key the current thread did not find in the database, which the aggregator then usually adds
+    private final ThreadLocal<String> writeBehindMissedKey = new ThreadLocal<>();
+    private final Set<String> writeBehindDirtyKeys = ConcurrentHashMap.newKeySet();
+    private final Set<String> writeBehindPersistedKeys = ConcurrentHashMap.newKeySet();
+    private final Lock writeBehindLock = new ReentrantLock();
+    private volatile CamelContext writeBehindCamelContext;
+    private volatile ScheduledExecutorService writeBehindExecutor;
 
     /**
      * Creates an aggregation repository
@@ -150,6 +172,9 @@ public class JdbcAggregationRepository extends ServiceSupport
 
     @Override
     public Exchange add(final CamelContext camelContext, final String correlationId, final Exchange exchange) {
+        if (writeBehind) {
+            return addWriteBehind(camelContext, correlationId, exchange);
+        }
         return transactionTemplate.execute(new TransactionCallback<Exchange>() {
 
             public Exchange doInTransaction(TransactionStatus status) {
@@ -334,6 +359,12 @@ public class JdbcAggregationRepository extends ServiceSupport
     @Override
     public Exchange get(final CamelContext camelContext, final String correlationId) {
         final String key = correlationId;
+        if (writeBehind) {
+            WriteBehindEntry entry = getWriteBehindEntry(camelContext, key);
+            Exchange result = entry.isAbsent() ? null : entry.copyExchange();
+            LOG.debug("Getting key {} -> {}", key, result);
+            return result;
+        }
         Exchange result = get(key, getRepositoryName(), camelContext);
         LOG.debug("Getting key {} -> {}", key, result);
         return result;
@@ -376,6 +407,10 @@ public class JdbcAggregationRepository extends ServiceSupport
 
     @Override
     public void remove(final CamelContext camelContext, final String correlationId, final Exchange exchange) {
+        if (writeBehind) {
+            removeWriteBehind(camelContext, correlationId, exchange);
+            return;
+        }
         transactionTemplate.execute(new TransactionCallbackWithoutResult() {
             protected void doInTransactionWithoutResult(TransactionStatus status) {
                 final String key = correlationId;
@@ -397,6 +432,245 @@ public class JdbcAggregationRepository extends ServiceSupport
         });
     }
 
+    private Exchange addWriteBehind(final CamelContext camelContext, final String key, final Exchange exchange) {
+        LOG.debug("Adding exchange with key {} (write behind)", key);
+        startWriteBehindTask(camelContext);
+
+        // load existing exchange from the database (if any) before updating in memory,
+        // which has usually already been done by get
+        if (!key.equals(writeBehindMissedKey.get())) {
+            getWriteBehindEntry(camelContext, key);
+        }
+        writeBehindMissedKey.remove();
+
+        // keep the exchange in the same form as it is stored in the database, and marshal it only once
+        final byte[] data;
+        final Exchange persisted;
+        try {
+            data = codec.marshallExchange(exchange, allowSerializedHeaders);
+            persisted = codec.unmarshallExchange(camelContext, data);
+        } catch (Exception e) {
+            throw new RuntimeException("Error adding to repository " + repositoryName + " with key " + key, e);
+        }
+
+        final Exchange[] result = new Exchange[1];
+        writeBehindCache.compute(key, (k, entry) -> {
+            long version = 1L;
+            if (entry != null) {
+                Long versionLong = exchange.getProperty(VERSION_PROPERTY, Long.class);
+                if (versionLong == null) {
+                    LOG.debug("Race while inserting record with key {}", key);
+                    throw new OptimisticLockingException();
+                } else if (versionLong != entry.version) {
+                    // Found stale version while updating record
+                    throw new OptimisticLockingException();
+                }
+                if (isReturnOldExchange()) {
+                    result[0] = entry.copyExchange();
+                }
+                version = entry.version + 1;
+            }
+            return new WriteBehindEntry(persisted, data, version);
+        });
+        writeBehindDirtyKeys.add(key);
+        return result[0];
+    }
+
+    private WriteBehindEntry getWriteBehindEntry(final CamelContext camelContext, final String key) {
+        WriteBehindEntry entry = writeBehindCache.get(key);
+        if (entry == null) {
+            final Exchange existing = get(key, getRepositoryName(), camelContext);
+            if (existing != null) {
+                writeBehindPersistedKeys.add(key);
+                final long version = existing.getProperty(VERSION_PROPERTY, Long.class);
+                entry = writeBehindCache.computeIfAbsent(key, k -> new WriteBehindEntry(existing, null, version));
+            } else {
+                // remember that the key is not in the database, so adding it does not query the database again,
+                // but only for this thread as a group which completes on its first exchange is never added nor removed
+                writeBehindMissedKey.set(key);
+                entry = WriteBehindEntry.ABSENT;
+            }
+        }
+        return entry;
+    }
+
+    private void removeWriteBehind(final CamelContext camelContext, final String key, final Exchange exchange) {
+        final String confirmKey = exchange.getExchangeId();
+        final long version = exchange.getProperty(VERSION_PROPERTY, Long.class);
+
+        // the completed exchange must be stored in the database before returning, so it can be recovered
+        writeBehindLock.lock();
+        try {
+            transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+                protected void doInTransactionWithoutResult(TransactionStatus status) {
+                    try {
+                        LOG.debug("Removing key {} (write behind)", key);
+
+                        // the version in the database may be older, as the latest changes may not have been written yet
+                        jdbcTemplate.update("DELETE FROM " + getRepositoryName() + " WHERE " + ID + " = ?", key);
+
+                        insert(camelContext, confirmKey, exchange, getRepositoryNameCompleted(), version);
+                        LOG.debug("Removed key {}", key);
+
+                    } catch (Exception e) {
+                        throw new RuntimeException("Error removing key " + key + " from repository " + repositoryName, e);
+                    }
+                }
+            });
+            writeBehindCache.remove(key);
+            writeBehindDirtyKeys.remove(key);
+            writeBehindPersistedKeys.remove(key);
+        } finally {
+            writeBehindLock.unlock();
+        }
+    }
+
+    private void startWriteBehindTask(CamelContext camelContext) {
+        if (writeBehindExecutor == null) {
+            doStartWriteBehindTask(camelContext);
+        }
+    }
+
+    private synchronized void doStartWriteBehindTask(CamelContext camelContext) {
+        if (writeBehindExecutor == null) {
+            writeBehindCamelContext = camelContext;
+            ScheduledExecutorService executor = camelContext.getExecutorServiceManager()
+                    .newSingleThreadScheduledExecutor(this, "JdbcAggregationRepositoryWriteBehind");
+            executor.scheduleWithFixedDelay(this::flushWriteBehind, writeBehindInterval, writeBehindInterval,
+                    TimeUnit.MILLISECONDS);
+            writeBehindExecutor = executor;
+        }
+    }
+
+    /**
+     * Writes the changes which has not yet been written to the database, when write behind is enabled.
+     */
+    public void flushWriteBehind() {
+        if (writeBehindDirtyKeys.isEmpty()) {
+            return;
+        }
+
+        writeBehindLock.lock();
+        try {
+            final List<Map.Entry<String, WriteBehindEntry>> inserts = new ArrayList<>();
+            final List<Map.Entry<String, WriteBehindEntry>> updates = new ArrayList<>();
+            for (String key : writeBehindDirtyKeys) {
+                writeBehindDirtyKeys.remove(key);
+                WriteBehindEntry entry = writeBehindCache.get(key);
+                if (entry != null) {
+                    if (writeBehindPersistedKeys.contains(key)) {
+                        updates.add(Map.entry(key, entry));
+                    } else {
+                        inserts.add(Map.entry(key, entry));
+                    }
+                }
+            }
+            if (inserts.isEmpty() && updates.isEmpty()) {
+                return;
+            }
+
+            try {
+                transactionTemplate.execute(new TransactionCallbackWithoutResult() {
+                    protected void doInTransactionWithoutResult(TransactionStatus status) {
+                        LOG.debug("Writing {} inserts and {} updates to repository {}", inserts.size(), updates.size(),
+                                repositoryName);
+                        LobCreator lobCreator = getLobHandler().getLobCreator();
+                        try {
+                            if (!inserts.isEmpty()) {
+                                jdbcTemplate.batchUpdate(createWriteBehindSql(true), inserts, writeBehindBatchSize,
+                                        writeBehindSetter(lobCreator));
+                            }
+                            if (!updates.isEmpty()) {
+                                jdbcTemplate.batchUpdate(createWriteBehindSql(false), updates, writeBehindBatchSize,
+                                        writeBehindSetter(lobCreator));
+                            }
+                        } finally {
+                            lobCreator.close();
+                        }
+                    }
+                });
+                for (Map.Entry<String, WriteBehindEntry> entry : inserts) {
+                    writeBehindPersistedKeys.add(entry.getKey());
+                }
+            } catch (Exception e) {
+                // write again on next attempt
+                for (Map.Entry<String, WriteBehindEntry> entry : inserts) {
+                    writeBehindDirtyKeys.add(entry.getKey());
+                }
+                for (Map.Entry<String, WriteBehindEntry> entry : updates) {
+                    writeBehindDirtyKeys.add(entry.getKey());
+                }
+                LOG.warn("Error writing to repository {} due to {}. This exception is ignored and will be retried.",
+                        repositoryName, e.getMessage(), e);
+            }
+        } finally {
+            writeBehindLock.unlock();
+        }
+    }
+
+    private String createWriteBehindSql(boolean insert) {
+        List<String> columns = new ArrayList<>();
+        if (storeBodyAsText) {
+            columns.add(BODY);
+        }
+        if (hasHeadersToStoreAsText()) {
+            columns.addAll(headersToStoreAsText);
+        }
+
+        // the parameters are in the same order for insert and update (exchange, version, text columns and id)
+        StringBuilder queryBuilder = new StringBuilder();
+        if (insert) {
+            queryBuilder.append("INSERT INTO ").append(getRepositoryName())
+                    .append('(').append(EXCHANGE)
+                    .append(", ").append(VERSION);
+            for (String column : columns) {
+                queryBuilder.append(", ").append(column);
+            }
+            queryBuilder.append(", ").append(ID).append(") VALUES (?, ?");
+            for (int i = 0; i < columns.size(); i++) {
+                queryBuilder.append(", ?");
+            }
+            queryBuilder.append(", ?)");
+        } else {
+            queryBuilder.append("UPDATE ").append(getRepositoryName())
+                    .append(" SET ").append(EXCHANGE).append(" = ?")
+                    .append(", ").append(VERSION).append(" = ?");
+            for (String column : columns) {
+                queryBuilder.append(", ").append(column).append(" = ?");
+            }
+            queryBuilder.append(" WHERE ").append(ID).append(" = ?");
+        }
+        return queryBuilder.toString();
+    }
+
+    private ParameterizedPreparedStatementSetter<Map.Entry<String, WriteBehindEntry>> writeBehindSetter(
+            final LobCreator lobCreator) {
+        return (ps, entry) -> {
+            final Exchange exchange = entry.getValue().exchange;
+            byte[] data = entry.getValue().data;
+            if (data == null) {
+                try {
+                    data = codec.marshallExchange(exchange, allowSerializedHeaders);
+                } catch (IOException e) {
+                    throw new SQLException("Error marshalling exchange with key " + entry.getKey(), e);
+                }
+            }
+            int totalParameterIndex = 0;
+            lobCreator.setBlobAsBytes(ps, ++totalParameterIndex, data);
+            ps.setLong(++totalParameterIndex, entry.getValue().version);
+            if (storeBodyAsText) {
+                ps.setString(++totalParameterIndex, exchange.getIn().getBody(String.class));
+            }
+            if (hasHeadersToStoreAsText()) {
+                for (String headerName : headersToStoreAsText) {
+                    String headerValue = exchange.getIn().getHeader(headerName, String.class);
+                    ps.setString(++totalParameterIndex, headerValue);
+                }
+            }
+            ps.setString(++totalParameterIndex, entry.getKey());
+        };
+    }
+
     @Override
     public void confirm(final CamelContext camelContext, final String exchangeId) {
         confirmWithResult(camelContext, exchangeId);
@@ -422,7 +696,12 @@ public class JdbcAggregationRepository extends ServiceSupport
 
     @Override
     public Set<String> getKeys() {
-        return getKeys(getRepositoryName());
+        Set<String> keys = getKeys(getRepositoryName());
+        if (writeBehind) {
+            // include the keys which has not yet been written to the database
+            keys.addAll(writeBehindCache.keySet());
+        }
+        return keys;
     }
 
     @Override
@@ -564,6 +843,48 @@ public class JdbcAggregationRepository extends ServiceSupport
         this.storeBodyAsText = storeBodyAsText;
     }
 
+    public boolean isWriteBehind() {
+        return writeBehind;
+    }
+
+    /**
+     * Whether to keep the open aggregated exchanges in memory, and write the changes to the database in batches in the
+     * background (write behind). This avoids database roundtrips for every message being aggregated, and when the same
+     * aggregated exchange is updated many times between the writes, then only its latest state is written.
+     * <p/>
+     * The completed exchanges are still written to the database immediately, so they can be recovered. However, the
+     * changes to the open aggregated exchanges which has not yet been written to the database are lost if the JVM
+     * crashes. This option is not supported when the database is shared by multiple Camel applications (clustering).
+     * <p/>
+     * This option is by default false.
+     */
+    public void setWriteBehind(boolean writeBehind) {
+        this.writeBehind = writeBehind;
+    }
+
+    public long getWriteBehindInterval() {
+        return writeBehindInterval;
+    }
+
+    /**
+     * The interval in millis between writing the changes to the database, when write behind is enabled. The default is
+     * 100 millis.
+     */
+    public void setWriteBehindInterval(long writeBehindInterval) {
+        this.writeBehindInterval = writeBehindInterval;
+    }
+
+    public int getWriteBehindBatchSize() {
+        return writeBehindBatchSize;
+    }
+
+    /**
+     * The maximum number of statements in a JDBC batch, when write behind is enabled. The default is 1000.
+     */
+    public void setWriteBehindBatchSize(int writeBehindBatchSize) {
+        this.writeBehindBatchSize = writeBehindBatchSize;
+    }
+
     public boolean isAllowSerializedHeaders() {
         return allowSerializedHeaders;
     }
@@ -672,7 +993,51 @@ public class JdbcAggregationRepository extends ServiceSupport
 
     @Override
     protected void doStop() throws Exception {
-        // noop
+        if (writeBehindExecutor != null) {
+            writeBehindCamelContext.getExecutorServiceManager().shutdown(writeBehindExecutor);
+            writeBehindExecutor = null;
+        }
+        if (writeBehind) {
+            // write the remaining changes before stopping
+            flushWriteBehind();
+            writeBehindCache.clear();
+            writeBehindPersistedKeys.clear();
+        }
+    }
+
+    /**
+     * The number of aggregated exchanges kept in memory, when write behind is enabled
+     */
+    int getWriteBehindCacheSize() {
+        return writeBehindCache.size();
+    }
+
+    /**
+     * An aggregated exchange kept in memory with its version, when write behind is enabled.
+     */
+    private static final class WriteBehindEntry {
+        // marker for a key which is not in the database, which is never kept in the cache
+        private static final WriteBehindEntry ABSENT = new WriteBehindEntry(null, null, 0L);
+
+        private final Exchange exchange;
+        private final byte[] data;
+        private final long version;
+
+        WriteBehindEntry(Exchange exchange, byte[] data, long version) {
+            this.exchange = exchange;
+            this.data = data;
+            this.version = version;
+        }
+
+        boolean isAbsent() {
+            return this == ABSENT;
+        }
+
+        Exchange copyExchange() {
+            Exchange answer = exchange.copy();
+            answer.setProperty(VERSION_PROPERTY, version);
+            return answer;
+        }
     }
 
 }
@@ -23,6 +23,7 @@ import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
+import java.io.PushbackInputStream;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Endpoint;
@@ -30,11 +31,15 @@ import org.apache.camel.Exchange;
 import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.support.DefaultExchange;
 import org.apache.camel.support.DefaultExchangeHolder;
+import org.apache.camel.support.DefaultExchangeHolderBinaryCodec;
 import org.apache.camel.util.ClassLoadingAwareObjectInputStream;
 import org.apache.camel.util.IOHelper;
 
 /**
  * Adapted from HawtDBCamelCodec
+ * <p/>
+ * The exchanges are encoded using Java serialization. Exchanges encoded by {@link BinaryJdbcCamelCodec} can be decoded
+ * as well.
  */
 public class JdbcCamelCodec {
 
@@ -93,14 +98,22 @@ public class JdbcCamelCodec {
         return answer;
     }
 
-    private void encode(Object object, OutputStream bytesOut) throws IOException {
+    protected void encode(DefaultExchangeHolder holder, OutputStream bytesOut) throws IOException {
         try (ObjectOutputStream objectOut = new ObjectOutputStream(bytesOut)) {
-            objectOut.writeObject(object);
+            objectOut.writeObject(holder);
         }
     }
 
-    private DefaultExchangeHolder decode(CamelContext camelContext, InputStream bytesIn)
+    protected DefaultExchangeHolder decode(CamelContext camelContext, InputStream inputStream)
             throws IOException, ClassNotFoundException {
+        // detect the format from the first bytes
+        PushbackInputStream bytesIn = new PushbackInputStream(inputStream, 2);
+        byte[] header = bytesIn.readNBytes(2);
+        bytesIn.unread(header);
+        if (DefaultExchangeHolderBinaryCodec.isBinaryEncoded(header)) {
+            return DefaultExchangeHolderBinaryCodec.decode(bytesIn, camelContext.getApplicationContextClassLoader());
+        }
+
         ObjectInputStream objectIn = null;
         Object obj = null;
         try {
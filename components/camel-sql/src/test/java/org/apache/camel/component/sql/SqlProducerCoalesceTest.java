@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.sql;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Producer;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.test.junit5.CamelTestSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import static org.apache.camel.test.junit5.TestSupport.assertIsInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SqlProducerCoalesceTest extends CamelTestSupport {
+
+    private EmbeddedDatabase db;
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testCoalesce() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(3);
+
+        CompletableFuture<Exchange> first = send("direct:start", Arrays.asList(6, "abc", "def"));
+        CompletableFuture<Exchange> second = send("direct:start", Arrays.asList(7, "ghi", "jkl"));
+        CompletableFuture<Exchange> third = send("direct:start", Arrays.asList(8, "mno", "pqr"));
+
+        mock.assertIsSatisfied();
+
+        for (CompletableFuture<Exchange> future : List.of(first, second, third)) {
+            Exchange exchange = future.get();
+            assertNull(exchange.getException());
+            assertEquals(1, exchange.getMessage().getHeader(SqlConstants.SQL_UPDATE_COUNT));
+        }
+        assertEquals("abc", jdbcTemplate.queryForObject("select project from projects where id = 6", String.class));
+        assertEquals("jkl", jdbcTemplate.queryForObject("select license from projects where id = 7", String.class));
+        assertEquals("mno", jdbcTemplate.queryForObject("select project from projects where id = 8", String.class));
+    }
+
+    @Test
+    public void testCoalesceTimeout() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(1);
+
+        Exchange exchange = send("direct:timeout", Arrays.asList(6, "abc", "def")).get();
+
+        mock.assertIsSatisfied();
+        assertNull(exchange.getException());
+        assertEquals(1, exchange.getMessage().getHeader(SqlConstants.SQL_UPDATE_COUNT));
+        assertEquals("abc", jdbcTemplate.queryForObject("select project from projects where id = 6", String.class));
+    }
+
+    @Test
+    public void testFailedStatement() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(2);
+
+        CompletableFuture<Exchange> first = send("direct:start", Arrays.asList(6, "abc", "def"));
+        // the project with id 1 already exists
+        CompletableFuture<Exchange> failed = send("direct:start", Arrays.asList(1, "ghi", "jkl"));
+        CompletableFuture<Exchange> third = send("direct:start", Arrays.asList(8, "mno", "pqr"));
+
+        mock.assertIsSatisfied();
+
+        assertNotNull(failed.get().getException());
+        for (CompletableFuture<Exchange> future : List.of(first, third)) {
+            Exchange exchange = future.get();
+            assertNull(exchange.getException());
+            assertEquals(1, exchange.getMessage().getHeader(SqlConstants.SQL_UPDATE_COUNT));
+        }
+        assertEquals("Camel", jdbcTemplate.queryForObject("select project from projects where id = 1", String.class));
+        assertEquals("abc", jdbcTemplate.queryForObject("select project from projects where id = 6", String.class));
+        assertEquals("mno", jdbcTemplate.queryForObject("select project from projects where id = 8", String.class));
+    }
+
+    @Test
+    public void testCoalescedExchangesContinueOnWorkerPool() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(3);
+
+        send("direct:start", Arrays.asList(6, "abc", "def"));
+        send("direct:start", Arrays.asList(7, "ghi", "jkl"));
+        send("direct:start", Arrays.asList(8, "mno", "pqr"));
+
+        mock.assertIsSatisfied();
+
+        // only the exchange which completed the batch continues on the thread which executed it
+        long onWorkerPool = mock.getExchanges().stream()
+                .map(exchange -> exchange.getMessage().getHeader("thread", String.class))
+                .filter(thread -> thread.contains("SqlCoalescingProducerWorker"))
+                .count();
+        assertEquals(2, onWorkerPool);
+    }
+
+    @Test
+    public void testGeneratedKeysNotSupported() throws Exception {
+        Exchange exchange = template.request("direct:start", e -> {
+            e.getIn().setBody(Arrays.asList(6, "abc", "def"));
+            e.getIn().setHeader(SqlConstants.SQL_RETRIEVE_GENERATED_KEYS, true);
+        });
+
+        assertIsInstanceOf(IllegalArgumentException.class, exchange.getException());
+    }
+
+    @Test
+    public void testUnsupportedOptions() throws Exception {
+        for (String uri : List.of(
+                "sql:insert into projects values (#, #, #)?coalesce=true&noop=true",
+                "sql:insert into projects values (#, #, #)?coalesce=true&outputHeader=foo",
+                "sql:insert into projects values (#, #, #)?coalesce=true&outputType=SelectOne",
+                "sql:select * from projects where id = #?coalesce=true")) {
+            Producer producer = context.getEndpoint(uri).createProducer();
+            assertThrows(IllegalArgumentException.class, producer::start, uri);
+        }
+    }
+
+    @Test
+    public void testCoalesceDifferentlyNamedParameters() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(3);
+
+        // both queries prepare the same statement, and are therefore coalesced into the same batch
+        CompletableFuture<Exchange> first = template.asyncSend("direct:start", exchange -> {
+            exchange.getIn().setHeader(SqlConstants.SQL_QUERY, "insert into projects values (:?a, :?b, :?c)");
+            exchange.getIn().setBody(Map.of("a", 6, "b", "abc", "c", "def"));
+        });
+        CompletableFuture<Exchange> second = template.asyncSend("direct:start", exchange -> {
+            exchange.getIn().setHeader(SqlConstants.SQL_QUERY, "insert into projects values (:?id, :?name, :?lic)");
+            exchange.getIn().setBody(Map.of("id", 7, "name", "ghi", "lic", "jkl"));
+        });
+        template.sendBody("direct:start", Arrays.asList(8, "mno", "pqr"));
+
+        mock.assertIsSatisfied();
+
+        assertNull(first.get().getException());
+        assertNull(second.get().getException());
+        assertEquals("abc", jdbcTemplate.queryForObject("select project from projects where id = 6", String.class));
+        assertEquals("ghi", jdbcTemplate.queryForObject("select project from projects where id = 7", String.class));
+        assertEquals("jkl", jdbcTemplate.queryForObject("select license from projects where id = 7", String.class));
+    }
+
+    private CompletableFuture<Exchange> send(String uri, List<?> body) {
+        return template.asyncSend(uri, exchange -> exchange.getIn().setBody(body));
+    }
+
+    @Override
+    @BeforeEach
+    public void setUp() throws Exception {
+        db = new EmbeddedDatabaseBuilder()
+                .setName(getClass().getSimpleName())
+                .setType(EmbeddedDatabaseType.H2)
+                .addScript("sql/createAndPopulateDatabase.sql").build();
+
+        jdbcTemplate = new JdbcTemplate(db);
+
+        super.setUp();
+    }
+
+    @Override
+    @AfterEach
+    public void tearDown() throws Exception {
+        super.tearDown();
+
+        if (db != null) {
+            db.shutdown();
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            public void configure() {
+                getContext().getComponent("sql", SqlComponent.class).setDataSource(db);
+
+                errorHandler(noErrorHandler());
+
+                from("direct:start")
+                        .to("sql:insert into projects values (#, #, #)?coalesce=true&coalesceSize=3&coalesceTimeout=60000")
+                        .process(e -> e.getMessage().setHeader("thread", Thread.currentThread().getName()))
+                        .to("mock:result");
+
+                from("direct:timeout")
+                        .to("sql:insert into projects values (#, #, #)?coalesce=true&coalesceTimeout=10")
+                        .to("mock:result");
+            }
+        };
+    }
+
+}
@@ -16,9 +16,16 @@
  */
 package org.apache.camel.component.sql;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
+import javax.sql.DataSource;
+
 import org.apache.camel.builder.RouteBuilder;
 import org.apache.camel.component.mock.MockEndpoint;
 import org.apache.camel.test.junit5.CamelTestSupport;
@@ -31,10 +38,18 @@ import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class SqlProducerOutputTypeStreamListTest extends CamelTestSupport {
 
     private EmbeddedDatabase db;
+    private final List<PreparedStatement> statements = new ArrayList<>();
 
     @Override
     @BeforeEach
@@ -105,6 +120,44 @@ public class SqlProducerOutputTypeStreamListTest extends CamelTestSupport {
         assertThat(resultBodyAt(mock, 2), instanceOf(ProjectModel.class));
     }
 
+    @Test
+    public void testSplitWithFetchSize() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(3);
+
+        template.sendBody("direct:withSplitFetchSize", "testmsg");
+
+        mock.assertIsSatisfied();
+        // the statement is created by the producer and not by the jdbc template
+        assertEquals(1, statements.size());
+        verify(statements.get(0)).setFetchSize(2);
+
+        Map<?, ?> row = mock.assertExchangeReceived(1).getIn().getBody(Map.class);
+        assertEquals(3, row.size());
+        assertEquals("AMQ", row.get("PROJECT"));
+        assertEquals("AMQ", row.get("project"));
+        assertEquals("ASF", row.get("LICENSE"));
+    }
+
+    /**
+     * A data source whose connections spy on the statements they prepare
+     */
+    private DataSource spyingDataSource() throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenAnswer(invocation -> {
+            Connection target = db.getConnection();
+            Connection connection = mock(Connection.class, delegatesTo(target));
+            doAnswer(prepare -> {
+                PreparedStatement statement = target.prepareStatement(prepare.getArgument(0));
+                PreparedStatement spy = mock(PreparedStatement.class, delegatesTo(statement));
+                statements.add(spy);
+                return spy;
+            }).when(connection).prepareStatement(anyString());
+            return connection;
+        });
+        return dataSource;
+    }
+
     private Object resultBodyAt(MockEndpoint result, int index) {
         return result.assertExchangeReceived(index).getIn().getBody();
     }
@@ -112,8 +165,9 @@ public class SqlProducerOutputTypeStreamListTest extends CamelTestSupport {
     @Override
     protected RouteBuilder createRouteBuilder() {
         return new RouteBuilder() {
-            public void configure() {
+            public void configure() throws Exception {
                 getContext().getComponent("sql", SqlComponent.class).setDataSource(db);
+                getContext().getRegistry().bind("spyingDataSource", spyingDataSource());
 
                 from("direct:start")
                         .to("sql:select * from projects order by id?outputType=StreamList")
@@ -135,6 +189,13 @@ public class SqlProducerOutputTypeStreamListTest extends CamelTestSupport {
                         .to("log:row")
                         .to("mock:result")
                         .end();
+
+                from("direct:withSplitFetchSize")
+                        .to("sql:select * from projects order by id?outputType=StreamList&fetchSize=2"
+                            + "&dataSource=#spyingDataSource")
+                        .split(body()).streaming()
+                        .to("mock:result")
+                        .end();
             }
         };
     }
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregate.jdbc;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class JdbcAggregateWriteBehindTest extends AbstractJdbcAggregationTestSupport {
+
+    @Override
+    void configureJdbcAggregationRepository() {
+        repo.setWriteBehind(true);
+        repo.setWriteBehindInterval(50);
+    }
+
+    @Test
+    public void testWriteBehindAggregate() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:aggregated");
+        mock.expectedBodiesReceivedInAnyOrder("ABCDE", "FGHIJ", "KLMNO");
+
+        String[] ids = { "1", "2", "3" };
+        for (int i = 0; i < 15; i++) {
+            String body = String.valueOf((char) ('A' + i));
+            template.sendBodyAndHeader("direct:start", body, "id", ids[i / 5]);
+        }
+
+        MockEndpoint.assertIsSatisfied(context);
+
+        // all completed and confirmed
+        assertEquals(0, rowCount(repo.getRepositoryName()));
+        assertEquals(0, rowCount(repo.getRepositoryNameCompleted()));
+        assertEquals(0, repo.getKeys().size());
+    }
+
+    @Test
+    public void testWriteBehindFlushAndReload() throws Exception {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("counter:1");
+        exchange = repoAddAndGet("foo", exchange);
+        assertEquals(1L, exchange.getProperty(JdbcAggregationRepository.VERSION_PROPERTY));
+
+        // not yet written to the database
+        assertEquals(1, repo.getKeys().size());
+
+        exchange.getIn().setBody("counter:2");
+        exchange = repoAddAndGet("foo", exchange);
+        assertEquals(2L, exchange.getProperty(JdbcAggregationRepository.VERSION_PROPERTY));
+
+        repo.flushWriteBehind();
+        assertEquals(1, rowCount(repo.getRepositoryName()));
+
+        exchange.getIn().setBody("counter:3");
+        repo.add(context, "foo", exchange);
+
+        // stopping writes the remaining changes
+        repo.stop();
+        repo.start();
+
+        Exchange actual = repo.get(context, "foo");
+        assertNotNull(actual);
+        assertEquals("counter:3", actual.getIn().getBody());
+        assertEquals(3L, actual.getProperty(JdbcAggregationRepository.VERSION_PROPERTY));
+
+        repo.remove(context, "foo", actual);
+        assertNull(repo.get(context, "foo"));
+        assertEquals(0, rowCount(repo.getRepositoryName()));
+        assertEquals(1, rowCount(repo.getRepositoryNameCompleted()));
+        assertNotNull(repo.recover(context, actual.getExchangeId()));
+    }
+
+    @Test
+    public void testWriteBehindKeepsPersistedForm() throws Exception {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("counter:1");
+        exchange.getIn().setHeader("foo", "bar");
+        exchange.setProperty("foo", "bar");
+        exchange = repoAddAndGet("foo", exchange);
+
+        // the same as when the exchange is read from the database, where only the aggregation properties are stored
+        assertEquals("counter:1", exchange.getIn().getBody());
+        assertEquals("bar", exchange.getIn().getHeader("foo"));
+        assertNull(exchange.getProperty("foo"));
+    }
+
+    @Test
+    public void testWriteBehindCompletesOnFirstExchange() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:single");
+        mock.expectedMessageCount(10);
+
+        for (int i = 0; i < 10; i++) {
+            template.sendBodyAndHeader("direct:single", "A", "id", "single-" + i);
+        }
+
+        MockEndpoint.assertIsSatisfied(context);
+
+        // the groups were neither added nor removed, so nothing is kept in memory for them
+        assertEquals(0, repo.getWriteBehindCacheSize());
+        assertEquals(0, repo.getKeys().size());
+    }
+
+    private int rowCount(String table) {
+        return repo.jdbcTemplate.queryForObject("SELECT COUNT(1) FROM " + table, Integer.class);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:start")
+                        .aggregate(header("id"), new MyAggregationStrategy())
+                        .completionSize(5).aggregationRepository(repo)
+                        .to("mock:aggregated");
+
+                from("direct:single")
+                        .aggregate(header("id"), new MyAggregationStrategy())
+                        .completionSize(1).aggregationRepository(repo)
+                        .to("mock:single");
+            }
+        };
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregate.jdbc;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.camel.support.DefaultExchangeHolderBinaryCodec;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JdbcExchangeBinarySerializationTest extends JdbcExchangeSerializationTest {
+
+    @Override
+    void configureJdbcAggregationRepository() {
+        repo.setJdbcCamelCodec(new BinaryJdbcCamelCodec());
+    }
+
+    @Test
+    public void testDecodeJavaSerialization() throws Exception {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("Hello World");
+        exchange.getIn().setHeader("number", 123);
+
+        byte[] serialized = new JdbcCamelCodec().marshallExchange(exchange, false);
+        byte[] binary = new BinaryJdbcCamelCodec().marshallExchange(exchange, false);
+        assertFalse(DefaultExchangeHolderBinaryCodec.isBinaryEncoded(serialized));
+        assertTrue(DefaultExchangeHolderBinaryCodec.isBinaryEncoded(binary));
+
+        // both codecs can decode both formats
+        for (JdbcCamelCodec codec : new JdbcCamelCodec[] { new JdbcCamelCodec(), new BinaryJdbcCamelCodec() }) {
+            for (byte[] data : new byte[][] { serialized, binary }) {
+                Exchange actual = codec.unmarshallExchange(context, data);
+                assertEquals("Hello World", actual.getIn().getBody());
+                assertEquals(123, actual.getIn().getHeader("number"));
+            }
+        }
+    }
+}
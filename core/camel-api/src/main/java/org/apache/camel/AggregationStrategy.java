@@ -109,6 +109,23 @@ public interface AggregationStrategy {
         return false;
     }
 
+    /**
+     * Indicates if this aggregation strategy must aggregate the exchanges in the same order as they were sent, when
+     * using parallel processing with the Multicast, Recipient List, and Splitter EIPs.
+     * <p/>
+     * If <tt>true</tt> (default) then an exchange that completes early is held back until all the exchanges sent before
+     * it have been aggregated. If <tt>false</tt> then the exchanges are aggregated as soon as they complete, so a slow
+     * exchange does not hold back the aggregation of the exchanges sent after it.
+     * <p/>
+     * This has no effect in streaming mode, which always aggregates the exchanges in the order they complete.
+     *
+     * @return <tt>true</tt> if the exchanges must be aggregated in the order they were sent, or <tt>false</tt> to
+     *         aggregate the exchanges in the order they complete.
+     */
+    default boolean isOrderSensitive() {
+        return true;
+    }
+
     /**
      * The aggregated {@link Exchange} has completed
      *
@@ -58,6 +58,15 @@ public interface InternalProcessor extends AsyncProcessor {
 
     void addRouteInflightRepositoryAdvice(InflightRepository inflightRepository, String routeId);
 
+    /**
+     * Adds an advice which records the processing time into the given latency histogram.
+     *
+     * @param histogram the histogram
+     */
+    default void addRouteLatencyHistogramAdvice(LatencyHistogram histogram) {
+        // noop
+    }
+
     void addRouteLifecycleAdvice();
 
     void addManagementInterceptStrategy(ManagementInterceptStrategy.InstrumentationProcessor processor);
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spi;
+
+/**
+ * A lock-free latency histogram which records latencies in nanos into buckets of bounded relative error, so the
+ * percentiles such as p99 and p999 can be computed without keeping the individual latencies.
+ */
+public interface LatencyHistogram {
+
+    /**
+     * Records the given latency
+     *
+     * @param nanos the latency in nanos
+     */
+    void record(long nanos);
+
+    /**
+     * Number of recorded latencies
+     */
+    long getCount();
+
+    /**
+     * The lowest recorded latency in nanos, or <tt>0</tt> if nothing has been recorded
+     */
+    long getMin();
+
+    /**
+     * The highest recorded latency in nanos, or <tt>0</tt> if nothing has been recorded
+     */
+    long getMax();
+
+    /**
+     * The mean of the recorded latencies in nanos, or <tt>0</tt> if nothing has been recorded
+     */
+    double getMean();
+
+    /**
+     * The latency in nanos at the given percentile, such as <tt>99.9</tt> for p999. The returned value is the upper
+     * bound of the bucket which holds the percentile, and is therefore accurate within the bucket resolution.
+     *
+     * @param  percentile the percentile between <tt>0</tt> and <tt>100</tt>
+     * @return            the latency in nanos, or <tt>0</tt> if nothing has been recorded
+     */
+    long getValueAtPercentile(double percentile);
+
+    /**
+     * Resets the histogram
+     */
+    void reset();
+
+}
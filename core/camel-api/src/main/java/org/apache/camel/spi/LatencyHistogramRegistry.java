@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spi;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.camel.Service;
+
+/**
+ * Registry of the {@link LatencyHistogram}s which records the processing time of each route and of each processor in
+ * the routes.
+ * <p/>
+ * The latency histograms are enabled by adding a registry as a service to the {@link org.apache.camel.CamelContext}, or
+ * by binding a registry in the {@link Registry}, before the routes are created. This does not require JMX, and has a
+ * lower overhead than the per processor statistics from the Camel management.
+ */
+public interface LatencyHistogramRegistry extends Service {
+
+    /**
+     * Gets or creates the histogram which records the latency of the given route
+     *
+     * @param  routeId the route id
+     * @return         the histogram
+     */
+    LatencyHistogram getOrCreateRouteHistogram(String routeId);
+
+    /**
+     * Gets or creates the histogram which records the latency of the given processor. The processors are identified by
+     * their node id, which is the auto generated id when no id has been assigned in the route.
+     *
+     * @param  routeId     the route id
+     * @param  processorId the processor (node) id
+     * @return             the histogram
+     */
+    LatencyHistogram getOrCreateProcessorHistogram(String routeId, String processorId);
+
+    /**
+     * The ids of the routes which have histograms
+     */
+    Set<String> getRouteIds();
+
+    /**
+     * Gets the histogram of the given route
+     *
+     * @param  routeId the route id
+     * @return         the histogram, or <tt>null</tt> if the route has no histogram
+     */
+    LatencyHistogram getRouteHistogram(String routeId);
+
+    /**
+     * Gets the histograms of the processors in the given route
+     *
+     * @param  routeId the route id
+     * @return         the histograms keyed by processor id, in the order they were created
+     */
+    Map<String, LatencyHistogram> getProcessorHistograms(String routeId);
+
+    /**
+     * Resets all the histograms
+     */
+    void reset();
+
+}
@@ -17,6 +17,7 @@
 package org.apache.camel.spi;
 
 import java.io.File;
+import java.nio.ByteBuffer;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.StaticService;
@@ -186,6 +187,59 @@ public interface StreamCachingStrategy extends StaticService {
 
     String getSpoolCipher();
 
+    /**
+     * Enables spooling to off-heap memory, which keeps the spooled streams in pooled direct {@link ByteBuffer}s instead
+     * of temporary files. When the off-heap arena is exhausted then the streams are spooled to disk as usual.
+     * <p/>
+     * Spooling must be enabled (see {@link #setSpoolEnabled(boolean)}) for this to take effect. The spool cipher is not
+     * in use for streams kept in off-heap memory.
+     * <p/>
+     * <b>Notice:</b> This cannot be changed at runtime.
+     *
+     * Default is disabled.
+     */
+    void setSpoolOffHeapEnabled(boolean spoolOffHeapEnabled);
+
+    /**
+     * Is spooling to off-heap memory enabled.
+     */
+    boolean isSpoolOffHeapEnabled();
+
+    /**
+     * Sets the maximum number of bytes of off-heap memory (the arena) to use for spooling.
+     * <p/>
+     * The default size is 64mb.
+     */
+    void setSpoolOffHeapArenaSize(long size);
+
+    long getSpoolOffHeapArenaSize();
+
+    /**
+     * Number of bytes of the off-heap arena which is currently in use by spooled streams.
+     */
+    long getSpoolOffHeapArenaUsed();
+
+    /**
+     * Number of times a stream could not be kept in off-heap memory because the arena was exhausted, and was spooled to
+     * disk instead.
+     */
+    long getSpoolOffHeapOverflowCounter();
+
+    /**
+     * Acquires a buffer from the off-heap arena.
+     *
+     * @return the buffer ready for writing, or <tt>null</tt> if off-heap spooling is not enabled or the arena is
+     *         exhausted
+     */
+    ByteBuffer acquireOffHeapBuffer();
+
+    /**
+     * Releases a buffer which was acquired from the off-heap arena, so it can be reused.
+     *
+     * @param buffer the buffer
+     */
+    void releaseOffHeapBuffer(ByteBuffer buffer);
+
     /**
      * Whether to remove the temporary directory when stopping.
      * <p/>
@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spi;
+
+import org.apache.camel.Service;
+
+/**
+ * Access to a repository which keeps track of the permits handed out by the
+ * <a href="http://camel.apache.org/throttler.html">Throttler</a> EIP.
+ * <p/>
+ * The default repository keeps the permits in memory, which means the throttle rate applies to each Camel application
+ * on its own. A repository backed by a store shared across several Camel applications can be used to enforce the
+ * throttle rate cluster wide.
+ */
+public interface ThrottleStateRepository extends Service {
+
+    /**
+     * Attempts to acquire a permit for the given key.
+     *
+     * @param  key                  the correlation key, which is a default key if the throttler is not grouped
+     * @param  maxRequestsPerPeriod the maximum number of permits within the time period
+     * @param  timePeriodMillis     the time period in millis
+     * @return                      <tt>0</tt> if a permit was acquired, otherwise the delay in nanos before a permit may
+     *                              be available
+     */
+    long tryAcquire(String key, int maxRequestsPerPeriod, long timePeriodMillis);
+
+}
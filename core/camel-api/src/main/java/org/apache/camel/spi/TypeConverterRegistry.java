@@ -60,6 +60,25 @@ public interface TypeConverterRegistry extends StaticService, CamelContextAware
          */
         long getFailedCounter();
 
+        /**
+         * Number of conversions where a call site type converter reused the type converter it remembered from a
+         * previous conversion
+         *
+         * @see TypeConverterRegistry#createCallSiteTypeConverter()
+         */
+        default long getCallSiteHitCounter() {
+            return 0;
+        }
+
+        /**
+         * Number of conversions where a call site type converter had to look up the type converter in the registry
+         *
+         * @see TypeConverterRegistry#createCallSiteTypeConverter()
+         */
+        default long getCallSiteMissCounter() {
+            return 0;
+        }
+
         /**
          * Reset the counters
          */
@@ -129,6 +148,20 @@ public interface TypeConverterRegistry extends StaticService, CamelContextAware
      */
     TypeConverter lookup(Class<?> toType, Class<?> fromType);
 
+    /**
+     * Creates a type converter to be used by a single call site, such as a processor or an expression, which keeps
+     * converting values of the same type to the same target type.
+     * <p/>
+     * The returned type converter remembers the last from/to types and the type converter found for them (an inline
+     * cache), so repeated conversions of the same types can skip the lookup in the registry. Conversions of other
+     * types are delegated to the registry as usual.
+     *
+     * @return the type converter for the call site
+     */
+    default TypeConverter createCallSiteTypeConverter() {
+        return getCamelContext().getTypeConverter();
+    }
+
     /**
      * Sets the injector to be used for creating new instances during type conversions.
      *
@@ -43,6 +43,7 @@ import org.apache.camel.spi.CamelInternalProcessorAdvice;
 import org.apache.camel.spi.Debugger;
 import org.apache.camel.spi.InflightRepository;
 import org.apache.camel.spi.InternalProcessor;
+import org.apache.camel.spi.LatencyHistogram;
 import org.apache.camel.spi.ManagementInterceptStrategy.InstrumentationProcessor;
 import org.apache.camel.spi.MessageHistoryFactory;
 import org.apache.camel.spi.PooledObjectFactory;
@@ -188,6 +189,11 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor implements In
         addAdvice(new CamelInternalProcessor.RouteInflightRepositoryAdvice(camelContext.getInflightRepository(), routeId));
     }
 
+    @Override
+    public void addRouteLatencyHistogramAdvice(LatencyHistogram histogram) {
+        addAdvice(new CamelInternalProcessor.LatencyHistogramAdvice(histogram));
+    }
+
     @Override
     public void addRouteLifecycleAdvice() {
         addAdvice(new CamelInternalProcessor.RouteLifecycleAdvice());
@@ -1047,6 +1053,30 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor implements In
         }
     }
 
+    /**
+     * Advice which records the processing time into a {@link LatencyHistogram}
+     */
+    public static class LatencyHistogramAdvice implements CamelInternalProcessorAdvice<Long> {
+
+        private final LatencyHistogram histogram;
+
+        public LatencyHistogramAdvice(LatencyHistogram histogram) {
+            this.histogram = histogram;
+        }
+
+        @Override
+        public Long before(Exchange exchange) throws Exception {
+            return System.nanoTime();
+        }
+
+        @Override
+        public void after(Exchange exchange, Long start) throws Exception {
+            if (start != null) {
+                histogram.record(System.nanoTime() - start);
+            }
+        }
+    }
+
     /**
      * Advice for tracing
      */
@@ -21,6 +21,8 @@ import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -103,7 +105,13 @@ public class DefaultAsyncProcessorAwaitManager extends ServiceSupport implements
                 blockedCounter.incrementAndGet();
             }
             inflight.put(exchange, new AwaitThreadEntry(Thread.currentThread(), exchange, latch));
-            latch.await();
+            if (Thread.currentThread() instanceof ForkJoinWorkerThread) {
+                // let the fork join pool compensate with a spare thread while this thread is blocked,
+                // as the callback may be waiting for a free thread in the same pool
+                ForkJoinPool.managedBlock(new LatchBlocker(latch));
+            } else {
+                latch.await();
+            }
             if (LOG.isTraceEnabled()) {
                 LOG.trace("Asynchronous callback received, will continue routing exchangeId: {} -> {}",
                         exchange.getExchangeId(), exchange);
@@ -390,4 +398,24 @@ public class DefaultAsyncProcessorAwaitManager extends ServiceSupport implements
         }
     }
 
+    private static final class LatchBlocker implements ForkJoinPool.ManagedBlocker {
+
+        private final CountDownLatch latch;
+
+        private LatchBlocker(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public boolean block() throws InterruptedException {
+            latch.await();
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return latch.getCount() <= 0;
+        }
+    }
+
 }
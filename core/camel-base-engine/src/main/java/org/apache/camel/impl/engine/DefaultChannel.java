@@ -36,10 +36,12 @@ import org.apache.camel.impl.debugger.BacklogTracer;
 import org.apache.camel.spi.Debugger;
 import org.apache.camel.spi.ErrorHandlerRedeliveryCustomizer;
 import org.apache.camel.spi.InterceptStrategy;
+import org.apache.camel.spi.LatencyHistogramRegistry;
 import org.apache.camel.spi.ManagementInterceptStrategy;
 import org.apache.camel.spi.MessageHistoryFactory;
 import org.apache.camel.spi.Tracer;
 import org.apache.camel.spi.WrapAwareProcessor;
+import org.apache.camel.support.CamelContextHelper;
 import org.apache.camel.support.OrderedComparator;
 import org.apache.camel.support.service.ServiceHelper;
 import org.slf4j.Logger;
@@ -238,6 +240,13 @@ public class DefaultChannel extends CamelInternalProcessor implements Channel {
             addAdvice(new DelayerAdvice(route.getDelayer()));
         }
 
+        LatencyHistogramRegistry latencyHistograms = CamelContextHelper.getLatencyHistogramRegistry(camelContext);
+        if (latencyHistograms != null && targetOutputDef.getId() != null) {
+            // add last so the histogram records the time spent in the processor only
+            addAdvice(new LatencyHistogramAdvice(
+                    latencyHistograms.getOrCreateProcessorHistogram(route.getRouteId(), targetOutputDef.getId())));
+        }
+
         // sets the delegate to our wrapped output
         output = target;
     }
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.camel.spi.LatencyHistogram;
+import org.apache.camel.spi.LatencyHistogramRegistry;
+import org.apache.camel.support.service.ServiceSupport;
+
+/**
+ * Default {@link LatencyHistogramRegistry} which keeps a {@link DefaultLatencyHistogram} per route and per processor.
+ */
+public class DefaultLatencyHistogramRegistry extends ServiceSupport implements LatencyHistogramRegistry {
+
+    private final ConcurrentMap<String, RouteHistograms> routes = new ConcurrentHashMap<>();
+
+    @Override
+    public LatencyHistogram getOrCreateRouteHistogram(String routeId) {
+        return routes.computeIfAbsent(routeId, k -> new RouteHistograms()).route;
+    }
+
+    @Override
+    public LatencyHistogram getOrCreateProcessorHistogram(String routeId, String processorId) {
+        RouteHistograms histograms = routes.computeIfAbsent(routeId, k -> new RouteHistograms());
+        synchronized (histograms.processors) {
+            return histograms.processors.computeIfAbsent(processorId, k -> createHistogram());
+        }
+    }
+
+    @Override
+    public Set<String> getRouteIds() {
+        return Collections.unmodifiableSet(new TreeSet<>(routes.keySet()));
+    }
+
+    @Override
+    public LatencyHistogram getRouteHistogram(String routeId) {
+        RouteHistograms histograms = routes.get(routeId);
+        return histograms != null ? histograms.route : null;
+    }
+
+    @Override
+    public Map<String, LatencyHistogram> getProcessorHistograms(String routeId) {
+        RouteHistograms histograms = routes.get(routeId);
+        if (histograms == null) {
+            return Collections.emptyMap();
+        }
+        synchronized (histograms.processors) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(histograms.processors));
+        }
+    }
+
+    @Override
+    public void reset() {
+        for (String routeId : routes.keySet()) {
+            routes.get(routeId).route.reset();
+            for (LatencyHistogram histogram : getProcessorHistograms(routeId).values()) {
+                histogram.reset();
+            }
+        }
+    }
+
+    /**
+     * Creates a new histogram, which can be overridden to use another implementation
+     */
+    protected LatencyHistogram createHistogram() {
+        return new DefaultLatencyHistogram();
+    }
+
+    private final class RouteHistograms {
+        private final LatencyHistogram route = createHistogram();
+        private final Map<String, LatencyHistogram> processors = new LinkedHashMap<>();
+    }
+}
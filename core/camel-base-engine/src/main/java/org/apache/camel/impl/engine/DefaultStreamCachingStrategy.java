@@ -19,8 +19,13 @@ package org.apache.camel.impl.engine;
 import java.io.File;
 import java.lang.management.ManagementFactory;
 import java.lang.management.MemoryMXBean;
+import java.nio.ByteBuffer;
 import java.util.LinkedHashSet;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.CamelContextAware;
@@ -41,6 +46,8 @@ import org.slf4j.LoggerFactory;
 public class DefaultStreamCachingStrategy extends ServiceSupport implements CamelContextAware, StreamCachingStrategy {
 
     private static final Logger LOG = LoggerFactory.getLogger(DefaultStreamCachingStrategy.class);
+    // size of the buffers in the off-heap arena
+    private static final int OFF_HEAP_BUFFER_SIZE = 64 * 1024;
 
     private CamelContext camelContext;
     private boolean enabled;
@@ -53,6 +60,11 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
     private String spoolCipher;
     private int bufferSize = IOHelper.DEFAULT_BUFFER_SIZE;
     private boolean removeSpoolDirectoryWhenStopping = true;
+    private boolean spoolOffHeapEnabled;
+    private long spoolOffHeapArenaSize = 64 * 1024 * 1024;
+    private final Queue<ByteBuffer> offHeapBuffers = new ConcurrentLinkedQueue<>();
+    private final AtomicLong offHeapUsed = new AtomicLong();
+    private final LongAdder offHeapOverflowCounter = new LongAdder();
     private final UtilizationStatistics statistics = new UtilizationStatistics();
     private final Set<SpoolRule> spoolRules = new LinkedHashSet<>();
     private boolean anySpoolRules;
@@ -162,6 +174,68 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
         this.removeSpoolDirectoryWhenStopping = removeSpoolDirectoryWhenStopping;
     }
 
+    @Override
+    public boolean isSpoolOffHeapEnabled() {
+        return spoolOffHeapEnabled;
+    }
+
+    @Override
+    public void setSpoolOffHeapEnabled(boolean spoolOffHeapEnabled) {
+        this.spoolOffHeapEnabled = spoolOffHeapEnabled;
+    }
+
+    @Override
+    public long getSpoolOffHeapArenaSize() {
+        return spoolOffHeapArenaSize;
+    }
+
+    @Override
+    public void setSpoolOffHeapArenaSize(long spoolOffHeapArenaSize) {
+        this.spoolOffHeapArenaSize = spoolOffHeapArenaSize;
+    }
+
+    @Override
+    public long getSpoolOffHeapArenaUsed() {
+        return offHeapUsed.get();
+    }
+
+    @Override
+    public long getSpoolOffHeapOverflowCounter() {
+        return offHeapOverflowCounter.longValue();
+    }
+
+    @Override
+    public ByteBuffer acquireOffHeapBuffer() {
+        if (!spoolOffHeapEnabled) {
+            return null;
+        }
+        // reserve room in the arena
+        long used;
+        do {
+            used = offHeapUsed.get();
+            if (used + OFF_HEAP_BUFFER_SIZE > spoolOffHeapArenaSize) {
+                LOG.trace("Off-heap arena exhausted ({} of {} bytes in use)", used, spoolOffHeapArenaSize);
+                offHeapOverflowCounter.increment();
+                return null;
+            }
+        } while (!offHeapUsed.compareAndSet(used, used + OFF_HEAP_BUFFER_SIZE));
+
+        ByteBuffer answer = offHeapBuffers.poll();
+        if (answer == null) {
+            answer = ByteBuffer.allocateDirect(OFF_HEAP_BUFFER_SIZE);
+        }
+        answer.clear();
+        return answer;
+    }
+
+    @Override
+    public void releaseOffHeapBuffer(ByteBuffer buffer) {
+        if (buffer != null) {
+            offHeapBuffers.offer(buffer);
+            offHeapUsed.addAndGet(-OFF_HEAP_BUFFER_SIZE);
+        }
+    }
+
     @Override
     public boolean isAnySpoolRules() {
         return anySpoolRules;
@@ -289,6 +363,11 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
                     "SpoolHeapMemoryWatermarkThreshold must not be higher than 99, was: " + spoolUsedHeapMemoryThreshold);
         }
 
+        if (spoolOffHeapEnabled && spoolOffHeapArenaSize < OFF_HEAP_BUFFER_SIZE) {
+            throw new IllegalArgumentException(
+                    "SpoolOffHeapArenaSize must be at least " + OFF_HEAP_BUFFER_SIZE + " bytes, was: " + spoolOffHeapArenaSize);
+        }
+
         // if we can overflow to disk then make sure directory exists / is created
         if (spoolEnabled && (spoolThreshold > 0 || spoolUsedHeapMemoryThreshold > 0)) {
             if (spoolDirectory == null && spoolDirectoryName == null) {
@@ -335,7 +414,10 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
 
         LOG.debug("StreamCaching configuration {}", this);
 
-        if (spoolDirectory != null) {
+        if (spoolDirectory != null && spoolOffHeapEnabled) {
+            LOG.info("StreamCaching in use with off-heap arena: {}K, spool directory: {} and rules: {}",
+                    spoolOffHeapArenaSize >> 10, spoolDirectory.getPath(), spoolRules);
+        } else if (spoolDirectory != null) {
             LOG.info("StreamCaching in use with spool directory: {} and rules: {}", spoolDirectory.getPath(), spoolRules);
         } else if (!spoolRules.isEmpty()) {
             LOG.info("StreamCaching in use with rules: {}", spoolRules);
@@ -357,6 +439,10 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
         }
 
         statistics.reset();
+
+        // the pooled buffers are freed by the garbage collector
+        offHeapBuffers.clear();
+        offHeapOverflowCounter.reset();
     }
 
     private boolean isSpoolRemovable() {
@@ -370,6 +456,8 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
                + ", spoolDirectory=" + spoolDirectory
                + ", spoolCipher=" + spoolCipher
                + ", spoolThreshold=" + spoolThreshold
+               + ", spoolOffHeapEnabled=" + spoolOffHeapEnabled
+               + ", spoolOffHeapArenaSize=" + spoolOffHeapArenaSize
                + ", spoolUsedHeapMemoryThreshold=" + spoolUsedHeapMemoryThreshold
                + ", bufferSize=" + bufferSize
                + ", anySpoolRules=" + anySpoolRules + "]";
@@ -0,0 +1,366 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.lang.ref.WeakReference;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.Exchange;
+import org.apache.camel.spi.InflightRepository;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An {@link org.apache.camel.spi.InflightRepository} for high throughput which keeps the counters in {@link LongAdder}s
+ * and only records a subset of the inflight exchanges for browsing.
+ * <p/>
+ * When browsing is enabled then an exchange is recorded if it is sampled (one in every <tt>sampleRate</tt> exchanges),
+ * or if it is still inflight after the <tt>ageThreshold</tt>. For the latter each thread remembers the most recent
+ * exchanges it has added in a small ring, without any locking, and a timer checks the rings from time to time and
+ * records the exchanges which are older than the threshold and still inflight. The rings only hold weak references,
+ * so the completed exchanges can be garbage collected. Completing an exchange
+ * decrements the counters and removes the exchange from the recorded exchanges, if it was recorded.
+ * <p/>
+ * As only a subset is recorded, browsing shows the sampled exchanges and the exchanges which have been inflight for a
+ * long time, which are the ones of interest when looking for slow or stuck exchanges. An exchange is only found by age
+ * as long as the thread which added it has not added more exchanges than fit in its ring since, which is the case when
+ * the thread is blocked by the exchange.
+ * <p/>
+ * To use this repository then bind it as a bean in the registry, which Camel Main picks up as the inflight repository,
+ * or set it with {@link CamelContext#setInflightRepository(InflightRepository)} before the
+ * context is started. Browsing must be enabled on the repository itself with
+ * {@link #setInflightBrowseEnabled(boolean)}.
+ */
+public class SamplingInflightRepository extends ServiceSupport implements InflightRepository, CamelContextAware {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SamplingInflightRepository.class);
+
+    private static final int RECENT_SIZE = 128;
+
+    private final LongAdder size = new LongAdder();
+    private final ConcurrentMap<String, LongAdder> routeCount = new ConcurrentHashMap<>();
+    private final Map<Exchange, Entry> recorded = new ConcurrentHashMap<>();
+    private final Queue<RecentExchanges> recents = new ConcurrentLinkedQueue<>();
+    private volatile ThreadLocal<RecentExchanges> recent;
+    private CamelContext camelContext;
+    private volatile ScheduledExecutorService timer;
+    private volatile boolean inflightExchangeEnabled;
+    private int sampleRate = 100;
+    private long ageThreshold = 1000;
+
+    @Override
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    @Override
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Records one in every number of exchanges for browsing, chosen at random. Setting this to 1 records every exchange,
+     * and 0 disables sampling.
+     * <p/>
+     * Is by default 100.
+     */
+    public void setSampleRate(int sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public long getAgeThreshold() {
+        return ageThreshold;
+    }
+
+    /**
+     * Records the exchanges which are still inflight after this number of millis for browsing. Setting this to 0
+     * disables recording by age.
+     * <p/>
+     * Is by default 1000.
+     */
+    public void setAgeThreshold(long ageThreshold) {
+        this.ageThreshold = ageThreshold;
+    }
+
+    @Override
+    public void add(Exchange exchange) {
+        size.increment();
+
+        if (inflightExchangeEnabled) {
+            if (sampleRate > 0 && (sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0)) {
+                recorded.put(exchange, new Entry(exchange, false));
+            } else if (timer != null) {
+                recent.get().add(exchange);
+            }
+        }
+    }
+
+    @Override
+    public void remove(Exchange exchange) {
+        size.decrement();
+
+        if (inflightExchangeEnabled) {
+            recorded.remove(exchange);
+        }
+    }
+
+    @Override
+    public void add(Exchange exchange, String routeId) {
+        LongAdder existing = routeCount.get(routeId);
+        if (existing != null) {
+            existing.increment();
+        }
+    }
+
+    @Override
+    public void remove(Exchange exchange, String routeId) {
+        LongAdder existing = routeCount.get(routeId);
+        if (existing != null) {
+            existing.decrement();
+        }
+    }
+
+    @Override
+    public int size() {
+        return size.intValue();
+    }
+
+    @Override
+    public void addRoute(String routeId) {
+        routeCount.putIfAbsent(routeId, new LongAdder());
+    }
+
+    @Override
+    public void removeRoute(String routeId) {
+        routeCount.remove(routeId);
+    }
+
+    @Override
+    public int size(String routeId) {
+        LongAdder existing = routeCount.get(routeId);
+        return existing != null ? existing.intValue() : 0;
+    }
+
+    @Override
+    public boolean isInflightBrowseEnabled() {
+        return inflightExchangeEnabled;
+    }
+
+    @Override
+    public void setInflightBrowseEnabled(boolean inflightBrowseEnabled) {
+        this.inflightExchangeEnabled = inflightBrowseEnabled;
+        if (!inflightBrowseEnabled) {
+            recorded.clear();
+        }
+    }
+
+    @Override
+    public Collection<InflightExchange> browse() {
+        return browse(null, -1, false);
+    }
+
+    @Override
+    public Collection<InflightExchange> browse(String fromRouteId) {
+        return browse(fromRouteId, -1, false);
+    }
+
+    @Override
+    public Collection<InflightExchange> browse(int limit, boolean sortByLongestDuration) {
+        return browse(null, limit, sortByLongestDuration);
+    }
+
+    @Override
+    public Collection<InflightExchange> browse(String fromRouteId, int limit, boolean sortByLongestDuration) {
+        if (!inflightExchangeEnabled) {
+            return Collections.emptyList();
+        }
+
+        Stream<Exchange> values = recordedExchanges(fromRouteId);
+        if (sortByLongestDuration) {
+            values = values.sorted(Comparator.comparingLong(Exchange::getCreated));
+        } else {
+            values = values.sorted(Comparator.comparing(Exchange::getExchangeId));
+        }
+        if (limit > 0) {
+            values = values.limit(limit);
+        }
+
+        List<InflightExchange> answer
+                = values.map(DefaultInflightRepository.InflightExchangeEntry::new).collect(Collectors.toList());
+        return Collections.unmodifiableCollection(answer);
+    }
+
+    @Override
+    public InflightExchange oldest(String fromRouteId) {
+        if (!inflightExchangeEnabled) {
+            return null;
+        }
+
+        return recordedExchanges(fromRouteId)
+                .min(Comparator.comparingLong(Exchange::getCreated))
+                .map(DefaultInflightRepository.InflightExchangeEntry::new)
+                .orElse(null);
+    }
+
+    /**
+     * The recorded exchanges which are still inflight, removing the completed exchanges along the way.
+     */
+    private Stream<Exchange> recordedExchanges(String fromRouteId) {
+        purge();
+        Stream<Exchange> values = recorded.values().stream().filter(Entry::isInflight).map(e -> e.exchange);
+        if (fromRouteId != null) {
+            values = values.filter(e -> fromRouteId.equals(e.getFromRouteId()));
+        }
+        return values;
+    }
+
+    private void purge() {
+        recorded.values().removeIf(e -> !e.isInflight());
+    }
+
+    private RecentExchanges createRecentExchanges() {
+        RecentExchanges answer = new RecentExchanges(Thread.currentThread());
+        recents.add(answer);
+        return answer;
+    }
+
+    /**
+     * Records the recent exchanges of every thread which are older than the age threshold and still inflight.
+     */
+    private void recordByAge() {
+        long now = System.currentTimeMillis();
+        Iterator<RecentExchanges> it = recents.iterator();
+        while (it.hasNext()) {
+            RecentExchanges exchanges = it.next();
+            Thread owner = exchanges.owner.get();
+            if (owner == null || !owner.isAlive()) {
+                it.remove();
+                continue;
+            }
+            for (int i = 0; i < RECENT_SIZE; i++) {
+                WeakReference<Exchange> ref = exchanges.exchanges.get(i);
+                Exchange exchange = ref != null ? ref.get() : null;
+                if (exchange != null) {
+                    Entry entry = new Entry(exchange, true);
+                    if (entry.isInflight() && now - entry.created >= ageThreshold) {
+                        recorded.putIfAbsent(exchange, entry);
+                    }
+                }
+            }
+        }
+        purge();
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (ageThreshold > 0) {
+            ObjectHelper.notNull(camelContext, "camelContext", this);
+            // the rings of the threads are forgotten when stopped, so the threads must create new ones
+            recent = ThreadLocal.withInitial(this::createRecentExchanges);
+            long period = Math.max(1, ageThreshold / 4);
+            timer = camelContext.getExecutorServiceManager().newSingleThreadScheduledExecutor(this,
+                    "SamplingInflightRepository");
+            timer.scheduleWithFixedDelay(this::recordByAge, period, period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (timer != null) {
+            camelContext.getExecutorServiceManager().shutdownNow(timer);
+            timer = null;
+        }
+        int count = size();
+        if (count > 0) {
+            LOG.warn("Shutting down while there are still {} inflight exchanges.", count);
+        } else {
+            LOG.debug("Shutting down with no inflight exchanges.");
+        }
+        routeCount.clear();
+        recorded.clear();
+        recents.clear();
+    }
+
+    /**
+     * An exchange which may be recorded for browsing.
+     */
+    private static final class Entry {
+        private final Exchange exchange;
+        private final long created;
+        private final boolean byAge;
+
+        Entry(Exchange exchange, boolean byAge) {
+            this.exchange = exchange;
+            this.created = exchange.getCreated();
+            this.byAge = byAge;
+        }
+
+        /**
+         * Whether the exchange is still inflight, which is not the case if it is a pooled exchange which has been
+         * released or reused since. Otherwise the entry is removed when the exchange is removed from the repository.
+         * <p/>
+         * An exchange found by age is only known from the ring of its thread, which may still hold it after it is
+         * completed, so it must also still have a unit of work. This is always set by then, as the exchange is older than the age
+         * threshold, whereas a sampled exchange is added before its unit of work is set.
+         */
+        boolean isInflight() {
+            return created > 0 && exchange.getCreated() == created && (!byAge || exchange.getUnitOfWork() != null);
+        }
+    }
+
+    /**
+     * The most recent exchanges added by a thread, which is only written by that thread.
+     */
+    private static final class RecentExchanges {
+        private final WeakReference<Thread> owner;
+        private final AtomicReferenceArray<WeakReference<Exchange>> exchanges = new AtomicReferenceArray<>(RECENT_SIZE);
+        private int index;
+
+        RecentExchanges(Thread owner) {
+            this.owner = new WeakReference<>(owner);
+        }
+
+        void add(Exchange exchange) {
+            exchanges.lazySet(index, new WeakReference<>(exchange));
+            index = (index + 1) % RECENT_SIZE;
+        }
+    }
+}
@@ -0,0 +1,470 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.StaticService;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.ReactiveExecutor;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.concurrent.NamedThreadLocal;
+import org.apache.camel.util.concurrent.ThreadHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link ReactiveExecutor} which uses work-stealing deques (fork-join style) across a bounded set of carrier threads.
+ * <p/>
+ * With the {@link DefaultReactiveExecutor} then tasks are always executed by the thread that scheduled them, such as
+ * the callback thread of an asynchronous component, which means a burst of work on a single thread cannot be helped by
+ * idle cores. This executor hands over tasks that are scheduled from outside the routing of an exchange (such as from
+ * the callback thread of an asynchronous component, or when a carrier thread has completed a task) to the carrier
+ * threads, which steal work from each other when idle. Tasks that are scheduled while routing an exchange are executed
+ * by the same thread, in the same way as the {@link DefaultReactiveExecutor}, which also means that consumers that
+ * route exchanges synchronously are not affected.
+ * <p/>
+ * The tasks handed over from the same thread are executed in the same order as they were scheduled, one at a time,
+ * and the tasks they schedule are executed by the same carrier thread. Tasks are only handed over when there are idle
+ * carrier threads (or when previous tasks from the same thread are still pending), otherwise they are executed by the
+ * calling thread.
+ * The tasks scheduled with {@link #scheduleSync(Runnable)} and {@link #scheduleQueue(Runnable)} (used for transacted
+ * exchanges), and the tasks they schedule, are never handed over to the carrier threads.
+ * <p/>
+ * This executor is intended for routes that uses many asynchronous components (such as netty, vertx or kafka), where
+ * the continuation of the exchanges can benefit from being spread across all the CPU cores. The carrier threads should
+ * not be blocked for a long time, so blocking calls should be done from threads of a thread pool.
+ */
+@ManagedResource(description = "Managed WorkStealingReactiveExecutor")
+public class WorkStealingReactiveExecutor extends ServiceSupport implements ReactiveExecutor, StaticService, CamelContextAware {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WorkStealingReactiveExecutor.class);
+
+    private CamelContext camelContext;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private String threadName = "ReactiveExecutor";
+    private volatile ForkJoinPool pool;
+
+    // use for statistics so we have insights at runtime
+    private boolean statisticsEnabled;
+    private final AtomicInteger createdWorkers = new AtomicInteger();
+    private final AtomicInteger createdCarriers = new AtomicInteger();
+    private final LongAdder runningWorkers = new LongAdder();
+    private final LongAdder pendingTasks = new LongAdder();
+    private final LongAdder offloadedTasks = new LongAdder();
+
+    private final NamedThreadLocal<Worker> workers = new NamedThreadLocal<>("CamelReactiveWorker", () -> {
+        int number = createdWorkers.incrementAndGet();
+        return new Worker(number, WorkStealingReactiveExecutor.this);
+    });
+
+    @Override
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    @Override
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Number of carrier threads. Is by default the number of available processors.
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+
+    /**
+     * The name to use for the carrier threads, which is resolved using the thread name pattern from the
+     * {@link org.apache.camel.spi.ExecutorServiceManager}.
+     */
+    public void setThreadName(String threadName) {
+        this.threadName = threadName;
+    }
+
+    @Override
+    public void schedule(Runnable runnable) {
+        Worker worker = workers.get();
+        ForkJoinPool fjp = pool;
+        if (fjp != null && worker.isOffload(fjp)) {
+            offload(fjp, worker.handover(), runnable);
+        } else {
+            worker.schedule(runnable, false, false, false);
+        }
+    }
+
+    @Override
+    public void scheduleMain(Runnable runnable) {
+        workers.get().schedule(runnable, true, true, false);
+    }
+
+    @Override
+    public void scheduleSync(Runnable runnable) {
+        workers.get().schedule(runnable, false, true, true);
+    }
+
+    @Override
+    public void scheduleQueue(Runnable runnable) {
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("ScheduleQueue: {}", runnable);
+        }
+        workers.get().queue.add(runnable);
+    }
+
+    @Override
+    public boolean executeFromQueue() {
+        return workers.get().executeFromQueue();
+    }
+
+    private void offload(ForkJoinPool fjp, Handover handover, Runnable runnable) {
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Offloading reactive work to carrier threads: {}", runnable);
+        }
+        if (statisticsEnabled) {
+            offloadedTasks.increment();
+        }
+        handover.tasks.add(runnable);
+        if (handover.scheduled.compareAndSet(false, true)) {
+            fjp.execute(new HandoverTask(handover));
+        }
+    }
+
+    @Override
+    @ManagedAttribute(description = "Whether statistics is enabled")
+    public boolean isStatisticsEnabled() {
+        return statisticsEnabled;
+    }
+
+    @Override
+    public void setStatisticsEnabled(boolean statisticsEnabled) {
+        this.statisticsEnabled = statisticsEnabled;
+    }
+
+    @ManagedAttribute(description = "Number of created workers")
+    public int getCreatedWorkers() {
+        return createdWorkers.get();
+    }
+
+    @ManagedAttribute(description = "Number of running workers")
+    public int getRunningWorkers() {
+        return runningWorkers.intValue();
+    }
+
+    @ManagedAttribute(description = "Number of pending tasks")
+    public int getPendingTasks() {
+        int answer = pendingTasks.intValue();
+        ForkJoinPool fjp = pool;
+        if (fjp != null) {
+            answer += (int) (fjp.getQueuedTaskCount() + fjp.getQueuedSubmissionCount());
+        }
+        return answer;
+    }
+
+    @ManagedAttribute(description = "Number of carrier threads")
+    public int getParallelismLevel() {
+        return parallelism;
+    }
+
+    @ManagedAttribute(description = "Number of created carrier threads")
+    public int getCreatedCarriers() {
+        return createdCarriers.get();
+    }
+
+    @ManagedAttribute(description = "Number of carrier threads that are currently executing tasks")
+    public int getActiveCarriers() {
+        ForkJoinPool fjp = pool;
+        return fjp != null ? fjp.getActiveThreadCount() : 0;
+    }
+
+    @ManagedAttribute(description = "Number of tasks handed over to the carrier threads")
+    public long getOffloadedTasks() {
+        return offloadedTasks.longValue();
+    }
+
+    @ManagedAttribute(description = "Number of tasks stolen by carrier threads from the deque of another carrier thread")
+    public long getStealCount() {
+        ForkJoinPool fjp = pool;
+        return fjp != null ? fjp.getStealCount() : 0;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be a positive number, was: " + parallelism);
+        }
+        if (pool == null) {
+            pool = new ForkJoinPool(parallelism, this::newCarrierThread, null, true);
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (LOG.isDebugEnabled() && statisticsEnabled) {
+            LOG.debug(
+                    "Stopping WorkStealingReactiveExecutor [createdWorkers: {}, runningWorkers: {}, pendingTasks: {}, offloadedTasks: {}, stealCount: {}]",
+                    getCreatedWorkers(), getRunningWorkers(), getPendingTasks(), getOffloadedTasks(), getStealCount());
+        }
+        ForkJoinPool fjp = pool;
+        pool = null;
+        if (fjp != null) {
+            // let the carrier threads complete the pending tasks
+            fjp.shutdown();
+            if (!fjp.awaitTermination(10, TimeUnit.SECONDS)) {
+                LOG.warn("Timeout waiting for carrier threads to complete {} pending tasks",
+                        fjp.getQueuedTaskCount() + fjp.getQueuedSubmissionCount());
+                fjp.shutdownNow();
+            }
+        }
+    }
+
+    @Override
+    protected void doShutdown() throws Exception {
+        workers.remove();
+    }
+
+    @Override
+    public String toString() {
+        return "camel-reactive-executor-work-stealing";
+    }
+
+    private ForkJoinWorkerThread newCarrierThread(ForkJoinPool fjp) {
+        ForkJoinWorkerThread answer = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(fjp);
+        String name;
+        if (camelContext != null) {
+            name = camelContext.getExecutorServiceManager().resolveThreadName(threadName);
+        } else {
+            name = ThreadHelper.resolveThreadName(ThreadHelper.DEFAULT_PATTERN, threadName);
+        }
+        answer.setName(name);
+        createdCarriers.incrementAndGet();
+        return answer;
+    }
+
+    /**
+     * The tasks handed over from a thread, which are executed in order by one carrier thread at a time.
+     */
+    private static final class Handover {
+
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+    }
+
+    /**
+     * Task executed by the carrier threads, which runs the handed over tasks using the worker of the carrier thread.
+     */
+    private final class HandoverTask extends ForkJoinTask<Void> {
+
+        // max number of tasks to execute before letting other tasks run on this carrier thread
+        private static final int BATCH_SIZE = 64;
+
+        private final Handover handover;
+
+        HandoverTask(Handover handover) {
+            this.handover = handover;
+        }
+
+        @Override
+        public Void getRawResult() {
+            return null;
+        }
+
+        @Override
+        protected void setRawResult(Void value) {
+            // noop
+        }
+
+        @Override
+        protected boolean exec() {
+            Worker worker = workers.get();
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                Runnable polled = handover.tasks.poll();
+                if (polled == null) {
+                    handover.scheduled.set(false);
+                    // a task may have been added before the flag was cleared
+                    if (handover.tasks.isEmpty() || !handover.scheduled.compareAndSet(false, true)) {
+                        return true;
+                    }
+                    continue;
+                }
+                worker.schedule(polled, false, false, false);
+            }
+            // there are more tasks so continue later, which lets idle carriers steal this task
+            new HandoverTask(handover).fork();
+            return true;
+        }
+    }
+
+    private static class Worker {
+
+        private final int number;
+        private final WorkStealingReactiveExecutor executor;
+        private final boolean stats;
+        private volatile Deque<Runnable> queue = new ArrayDeque<>();
+        private volatile Deque<Deque<Runnable>> back;
+        private volatile boolean running;
+        // tasks must be executed by this thread (sync or transacted)
+        private int pinned;
+        private Handover handover;
+
+        public Worker(int number, WorkStealingReactiveExecutor executor) {
+            this.number = number;
+            this.executor = executor;
+            this.stats = executor != null && executor.isStatisticsEnabled();
+        }
+
+        /**
+         * Whether the task should be handed over to the carrier threads instead of being executed by this thread.
+         */
+        boolean isOffload(ForkJoinPool fjp) {
+            if (running || pinned > 0) {
+                // tasks scheduled while routing an exchange are executed by this thread
+                return false;
+            }
+            if (handover != null && handover.scheduled.get()) {
+                // previous tasks are still pending on the carrier threads, so we must keep the order
+                return true;
+            }
+            // only hand over to carriers that are idle, otherwise this thread may wait (or block)
+            // for the carriers, and then its better to execute the task by this thread
+            return fjp.getActiveThreadCount() < fjp.getParallelism();
+        }
+
+        Handover handover() {
+            if (handover == null) {
+                handover = new Handover();
+            }
+            return handover;
+        }
+
+        void schedule(Runnable runnable, boolean first, boolean main, boolean sync) {
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Schedule [first={}, main={}, sync={}]: {}", first, main, sync, runnable);
+            }
+            if (main) {
+                if (!queue.isEmpty()) {
+                    if (back == null) {
+                        back = new ArrayDeque<>();
+                    }
+                    back.push(queue);
+                    queue = new ArrayDeque<>();
+                }
+            }
+            if (first) {
+                queue.addFirst(runnable);
+            } else {
+                queue.addLast(runnable);
+            }
+            if (stats) {
+                executor.pendingTasks.increment();
+            }
+            if (!running || sync) {
+                boolean wasRunning = running;
+                running = true;
+                if (sync) {
+                    pinned++;
+                }
+                if (stats) {
+                    executor.runningWorkers.increment();
+                }
+                try {
+                    for (;;) {
+                        final Runnable polled = queue.pollFirst();
+                        if (polled == null) {
+                            if (back != null && !back.isEmpty()) {
+                                queue = back.pollFirst();
+                                continue;
+                            } else {
+                                break;
+                            }
+                        }
+                        try {
+                            if (stats) {
+                                executor.pendingTasks.decrement();
+                            }
+                            if (LOG.isTraceEnabled()) {
+                                LOG.trace("Worker #{} running: {}", number, polled);
+                            }
+                            polled.run();
+                        } catch (Throwable t) {
+                            LOG.warn("Error executing reactive work due to {}. This exception is ignored.",
+                                    t.getMessage(), t);
+                        }
+                    }
+                } finally {
+                    running = wasRunning;
+                    if (sync) {
+                        pinned--;
+                    }
+                    if (stats) {
+                        executor.runningWorkers.decrement();
+                    }
+                }
+            } else {
+                if (LOG.isTraceEnabled()) {
+                    LOG.trace("Queuing reactive work: {}", runnable);
+                }
+            }
+        }
+
+        boolean executeFromQueue() {
+            final Runnable polled = queue != null ? queue.pollFirst() : null;
+            if (polled == null) {
+                return false;
+            }
+            pinned++;
+            try {
+                if (stats) {
+                    executor.pendingTasks.decrement();
+                }
+                if (LOG.isTraceEnabled()) {
+                    LOG.trace("Running: {}", polled);
+                }
+                polled.run();
+            } catch (Throwable t) {
+                // should not happen
+                LOG.warn("Error executing reactive work due to {}. This exception is ignored.", t.getMessage(), t);
+            } finally {
+                pinned--;
+            }
+            return true;
+        }
+
+    }
+
+}
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.converter;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.NoTypeConversionAvailableException;
+import org.apache.camel.TypeConversionException;
+import org.apache.camel.TypeConverter;
+
+/**
+ * A {@link TypeConverter} used by a single call site (such as a processor or an expression) which remembers the type
+ * converter found for the last from/to types it converted (an inline cache).
+ * <p/>
+ * A call site usually keeps converting the same type of value to the same type, in which case the remembered type
+ * converter is invoked directly instead of going through the checks and lookups of the type converter registry. When
+ * other types are converted then the type converter for the new types is looked up and remembered instead. Conversions
+ * which cannot be done by a plain type converter (such as using fallback type converters), and the common conversions
+ * which the registry has optimized, are delegated to the registry.
+ *
+ * @see CoreTypeConverterRegistry#createCallSiteTypeConverter()
+ */
+final class CallSiteTypeConverter implements TypeConverter {
+
+    private final CoreTypeConverterRegistry registry;
+    private volatile Entry entry;
+
+    CallSiteTypeConverter(CoreTypeConverterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean allowNull() {
+        return false;
+    }
+
+    @Override
+    public <T> T convertTo(Class<T> type, Object value) throws TypeConversionException {
+        return convertTo(type, null, value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T convertTo(Class<T> type, Exchange exchange, Object value) throws TypeConversionException {
+        if (type.isInstance(value)) {
+            return (T) value;
+        } else if (value != null && !CoreTypeConverterRegistry.isOptimizedConversion(type, value.getClass())) {
+            Object answer = doConvertTo(type, exchange, value);
+            if (answer != MISS_VALUE) {
+                return (T) answer;
+            }
+        }
+        return registry.convertTo(type, exchange, value);
+    }
+
+    @Override
+    public <T> T mandatoryConvertTo(Class<T> type, Object value)
+            throws TypeConversionException, NoTypeConversionAvailableException {
+        return mandatoryConvertTo(type, null, value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T mandatoryConvertTo(Class<T> type, Exchange exchange, Object value)
+            throws TypeConversionException, NoTypeConversionAvailableException {
+        if (type.isInstance(value)) {
+            return (T) value;
+        } else if (value != null && !CoreTypeConverterRegistry.isOptimizedConversion(type, value.getClass())) {
+            Object answer = doConvertTo(type, exchange, value);
+            if (answer != MISS_VALUE && answer != null) {
+                return (T) answer;
+            }
+        }
+        return registry.mandatoryConvertTo(type, exchange, value);
+    }
+
+    @Override
+    public <T> T tryConvertTo(Class<T> type, Object value) {
+        return registry.tryConvertTo(type, value);
+    }
+
+    @Override
+    public <T> T tryConvertTo(Class<T> type, Exchange exchange, Object value) {
+        return registry.tryConvertTo(type, exchange, value);
+    }
+
+    /**
+     * Converts the value using the remembered type converter
+     *
+     * @return the converted value, or {@link TypeConverter#MISS_VALUE} if the registry should be used instead
+     */
+    private Object doConvertTo(Class<?> type, Exchange exchange, Object value) {
+        final boolean statisticsEnabled = registry.statistics.isStatisticsEnabled();
+        final Class<?> fromType = value.getClass();
+        final int version = registry.version.get();
+
+        Entry current = entry;
+        if (current == null || current.toType != type || current.fromType != fromType || current.version != version) {
+            // the types have changed (or converters have been added or removed) so find the converter to remember
+            current = new Entry(type, fromType, registry.findCallSiteTypeConverter(type, fromType), version);
+            entry = current;
+            if (statisticsEnabled) {
+                registry.callSiteMissCounter.increment();
+            }
+        } else if (statisticsEnabled && current.converter != null) {
+            registry.callSiteHitCounter.increment();
+        }
+
+        TypeConverter converter = current.converter;
+        if (converter == null) {
+            return MISS_VALUE;
+        }
+
+        Object answer;
+        try {
+            answer = converter.convertTo(type, exchange, value);
+        } catch (Exception e) {
+            if (statisticsEnabled) {
+                registry.attemptCounter.increment();
+                registry.failedCounter.increment();
+            }
+            throw registry.wrapConversionException(exchange, type, value, e);
+        }
+        if (answer == MISS_VALUE || answer == null && !converter.allowNull()) {
+            // let the registry try harder
+            return MISS_VALUE;
+        }
+        if (statisticsEnabled) {
+            registry.attemptCounter.increment();
+            registry.hitCounter.increment();
+        }
+        return answer;
+    }
+
+    @Override
+    public String toString() {
+        Entry current = entry;
+        return "CallSiteTypeConverter[" + (current != null ? current.fromType.getName() + " -> " + current.toType.getName() : "")
+               + "]";
+    }
+
+    private static final class Entry {
+        private final Class<?> toType;
+        private final Class<?> fromType;
+        private final TypeConverter converter;
+        private final int version;
+
+        Entry(Class<?> toType, Class<?> fromType, TypeConverter converter, int version) {
+            this.toType = toType;
+            this.fromType = fromType;
+            this.converter = converter;
+            this.version = version;
+        }
+    }
+}
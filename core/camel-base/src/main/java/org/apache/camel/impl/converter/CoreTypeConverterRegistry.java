@@ -72,6 +72,10 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
     protected final LongAdder missCounter = new LongAdder();
     protected final LongAdder hitCounter = new LongAdder();
     protected final LongAdder failedCounter = new LongAdder();
+    protected final LongAdder callSiteHitCounter = new LongAdder();
+    protected final LongAdder callSiteMissCounter = new LongAdder();
+    // changed whenever converters are added or removed so call site type converters can discard what they remember
+    protected final AtomicInteger version = new AtomicInteger();
 
     protected TypeConverterExists typeConverterExists = TypeConverterExists.Ignore;
     protected LoggingLevel typeConverterExistsLoggingLevel = LoggingLevel.DEBUG;
@@ -364,16 +368,7 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
             if (tryConvert) {
                 return null;
             }
-
-            // if its a ExecutionException then we have rethrow it as its not due to failed conversion
-            // this is special for FutureTypeConverter
-            boolean execution = ObjectHelper.getException(ExecutionException.class, e) != null
-                    || ObjectHelper.getException(CamelExecutionException.class, e) != null;
-            if (execution) {
-                throw CamelExecutionException.wrapCamelExecutionException(exchange, e);
-            }
-            // error occurred during type conversion
-            throw createTypeConversionException(exchange, type, value, e);
+            throw wrapConversionException(exchange, type, value, e);
         }
         if (answer == TypeConverter.MISS_VALUE) {
             // Could not find suitable conversion
@@ -535,6 +530,41 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
         return typeMappings.get(toType, fromType);
     }
 
+    @Override
+    public TypeConverter createCallSiteTypeConverter() {
+        return new CallSiteTypeConverter(this);
+    }
+
+    /**
+     * Whether the conversion is one of the common conversions optimized in {@link #convertTo(Class, Exchange, Object)}
+     */
+    static boolean isOptimizedConversion(Class<?> toType, Class<?> fromType) {
+        if (toType == boolean.class || toType == Boolean.class && fromType == String.class || toType.isEnum()) {
+            return true;
+        } else if (toType.isPrimitive()) {
+            return fromType == Integer.class || fromType == Long.class;
+        } else if (toType == String.class) {
+            return fromType.isPrimitive() || fromType == Boolean.class || fromType == Integer.class || fromType == Long.class;
+        }
+        return false;
+    }
+
+    /**
+     * Finds the type converter to remember at a call site for converting from the given type, or <tt>null</tt> if
+     * the conversion is not a plain lookup (such as primitive types, or using fallback type converters).
+     */
+    TypeConverter findCallSiteTypeConverter(Class<?> toType, Class<?> fromType) {
+        // same order as when converting, bulk converters first
+        for (BulkTypeConverters bulk : bulkTypeConverters) {
+            TypeConverter converter = bulk.lookup(toType, fromType);
+            if (converter != null) {
+                return converter;
+            }
+        }
+        TypeConverter converter = getOrFindTypeConverter(toType, fromType);
+        return converter != MISS_CONVERTER ? converter : null;
+    }
+
     @Override
     public void addBulkTypeConverters(BulkTypeConverters bulkTypeConverters) {
         // guard against adding duplicates
@@ -546,6 +576,7 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
                 this.bulkTypeConverters.add(bulkTypeConverters);
             }
             sumBulkTypeConverters += bulkTypeConverters.size();
+            version.incrementAndGet();
         }
     }
 
@@ -556,6 +587,7 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
         if (converter == MISS_CONVERTER) {
             // we have previously attempted to convert but missed so add this converter
             typeMappings.put(toType, fromType, typeConverter);
+            version.incrementAndGet();
             return;
         }
 
@@ -583,13 +615,16 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
 
             if (add) {
                 typeMappings.put(toType, fromType, typeConverter);
+                version.incrementAndGet();
             }
         }
     }
 
     public boolean removeTypeConverter(Class<?> toType, Class<?> fromType) {
         LOG.trace("Removing type converter from: {} to: {}", fromType, toType);
-        return typeMappings.remove(toType, fromType);
+        boolean removed = typeMappings.remove(toType, fromType);
+        version.incrementAndGet();
+        return removed;
     }
 
     @Override
@@ -603,6 +638,7 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
         // add in top of fallback as the toString() fallback will nearly always be able to convert
         // the last one which is add to the FallbackTypeConverter will be called at the first place
         fallbackConverters.add(0, new FallbackTypeConverter(typeConverter, canPromote));
+        version.incrementAndGet();
     }
 
     public TypeConverter lookup(Class<?> toType, Class<?> fromType) {
@@ -683,6 +719,18 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
         return null;
     }
 
+    protected RuntimeException wrapConversionException(Exchange exchange, Class<?> type, Object value, Exception e) {
+        // if its a ExecutionException then we have rethrow it as its not due to failed conversion
+        // this is special for FutureTypeConverter
+        boolean execution = ObjectHelper.getException(ExecutionException.class, e) != null
+                || ObjectHelper.getException(CamelExecutionException.class, e) != null;
+        if (execution) {
+            return CamelExecutionException.wrapCamelExecutionException(exchange, e);
+        }
+        // error occurred during type conversion
+        return createTypeConversionException(exchange, type, value, e);
+    }
+
     protected TypeConversionException createTypeConversionException(
             Exchange exchange, Class<?> type, Object value, Throwable cause) {
         if (cause instanceof TypeConversionException) {
@@ -742,6 +790,7 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
         }
 
         typeMappings.clear();
+        version.incrementAndGet();
         statistics.reset();
     }
 
@@ -777,6 +826,16 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
             return failedCounter.longValue();
         }
 
+        @Override
+        public long getCallSiteHitCounter() {
+            return callSiteHitCounter.longValue();
+        }
+
+        @Override
+        public long getCallSiteMissCounter() {
+            return callSiteMissCounter.longValue();
+        }
+
         @Override
         public void reset() {
             noopCounter.reset();
@@ -784,6 +843,8 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
             hitCounter.reset();
             missCounter.reset();
             failedCounter.reset();
+            callSiteHitCounter.reset();
+            callSiteMissCounter.reset();
         }
 
         @Override
@@ -798,8 +859,10 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
 
         @Override
         public String toString() {
-            return String.format("TypeConverterRegistry utilization[noop=%s, attempts=%s, hits=%s, misses=%s, failures=%s]",
-                    getNoopCounter(), getAttemptCounter(), getHitCounter(), getMissCounter(), getFailedCounter());
+            return String.format(
+                    "TypeConverterRegistry utilization[noop=%s, attempts=%s, hits=%s, misses=%s, failures=%s, callSiteHits=%s, callSiteMisses=%s]",
+                    getNoopCounter(), getAttemptCounter(), getHitCounter(), getMissCounter(), getFailedCounter(),
+                    getCallSiteHitCounter(), getCallSiteMissCounter());
         }
     }
 
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.console;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.camel.spi.LatencyHistogram;
+import org.apache.camel.spi.LatencyHistogramRegistry;
+import org.apache.camel.spi.annotations.DevConsole;
+import org.apache.camel.support.CamelContextHelper;
+import org.apache.camel.support.PatternHelper;
+import org.apache.camel.support.console.AbstractDevConsole;
+import org.apache.camel.util.json.JsonObject;
+
+@DevConsole("latency")
+public class LatencyDevConsole extends AbstractDevConsole {
+
+    /**
+     * Filters the routes matching by route id
+     */
+    public static final String FILTER = "filter";
+
+    public LatencyDevConsole() {
+        super("camel", "latency", "Latency", "Display latency percentiles of routes and processors");
+    }
+
+    @Override
+    protected String doCallText(Map<String, Object> options) {
+        String filter = (String) options.get(FILTER);
+
+        StringBuilder sb = new StringBuilder();
+
+        LatencyHistogramRegistry registry = CamelContextHelper.getLatencyHistogramRegistry(getCamelContext());
+        sb.append(String.format("\n    Enabled: %s", registry != null));
+        if (registry != null) {
+            for (String routeId : registry.getRouteIds()) {
+                if (!accept(routeId, filter)) {
+                    continue;
+                }
+                LatencyHistogram route = registry.getRouteHistogram(routeId);
+                if (route != null) {
+                    sb.append(String.format("\n    Route: %s%s", routeId, toText(route)));
+                }
+                for (Map.Entry<String, LatencyHistogram> entry : registry.getProcessorHistograms(routeId).entrySet()) {
+                    sb.append(String.format("\n        Processor: %s%s", entry.getKey(), toText(entry.getValue())));
+                }
+            }
+        }
+
+        return sb.toString();
+    }
+
+    @Override
+    protected JsonObject doCallJson(Map<String, Object> options) {
+        String filter = (String) options.get(FILTER);
+
+        JsonObject root = new JsonObject();
+
+        LatencyHistogramRegistry registry = CamelContextHelper.getLatencyHistogramRegistry(getCamelContext());
+        root.put("enabled", registry != null);
+        if (registry != null) {
+            final List<JsonObject> list = new ArrayList<>();
+            for (String routeId : registry.getRouteIds()) {
+                if (!accept(routeId, filter)) {
+                    continue;
+                }
+                JsonObject jo = new JsonObject();
+                jo.put("routeId", routeId);
+                LatencyHistogram route = registry.getRouteHistogram(routeId);
+                if (route != null) {
+                    jo.put("latency", toJson(route));
+                }
+                final List<JsonObject> processors = new ArrayList<>();
+                for (Map.Entry<String, LatencyHistogram> entry : registry.getProcessorHistograms(routeId).entrySet()) {
+                    JsonObject po = new JsonObject();
+                    po.put("processorId", entry.getKey());
+                    po.put("latency", toJson(entry.getValue()));
+                    processors.add(po);
+                }
+                jo.put("processors", processors);
+                list.add(jo);
+            }
+            root.put("routes", list);
+        }
+
+        return root;
+    }
+
+    private static boolean accept(String routeId, String filter) {
+        if (filter == null || filter.isBlank()) {
+            return true;
+        }
+        return PatternHelper.matchPattern(routeId, filter);
+    }
+
+    private static String toText(LatencyHistogram histogram) {
+        return String.format(" (count: %s min: %s mean: %s p50: %s p90: %s p99: %s p999: %s max: %s)",
+                histogram.getCount(), toMillis(histogram.getMin()), toMillis((long) histogram.getMean()),
+                toMillis(histogram.getValueAtPercentile(50)), toMillis(histogram.getValueAtPercentile(90)),
+                toMillis(histogram.getValueAtPercentile(99)), toMillis(histogram.getValueAtPercentile(99.9)),
+                toMillis(histogram.getMax()));
+    }
+
+    private static String toMillis(long nanos) {
+        return String.format("%.3fms", nanos / 1_000_000d);
+    }
+
+    private static JsonObject toJson(LatencyHistogram histogram) {
+        // the latencies are in nanos
+        JsonObject jo = new JsonObject();
+        jo.put("count", histogram.getCount());
+        jo.put("min", histogram.getMin());
+        jo.put("mean", histogram.getMean());
+        jo.put("max", histogram.getMax());
+        jo.put("p50", histogram.getValueAtPercentile(50));
+        jo.put("p90", histogram.getValueAtPercentile(90));
+        jo.put("p99", histogram.getValueAtPercentile(99));
+        jo.put("p999", histogram.getValueAtPercentile(99.9));
+        return jo;
+    }
+}
@@ -44,6 +44,8 @@ public class TypeConverterConsole extends AbstractDevConsole {
             sb.append(String.format("\n    Miss: %s", reg.getStatistics().getMissCounter()));
             sb.append(String.format("\n    Failed: %s", reg.getStatistics().getFailedCounter()));
             sb.append(String.format("\n    Noop: %s", reg.getStatistics().getNoopCounter()));
+            sb.append(String.format("\n    Call Site Hit: %s", reg.getStatistics().getCallSiteHitCounter()));
+            sb.append(String.format("\n    Call Site Miss: %s", reg.getStatistics().getCallSiteMissCounter()));
         }
 
         return sb.toString();
@@ -65,6 +67,8 @@ public class TypeConverterConsole extends AbstractDevConsole {
             props.put("missCounter", reg.getStatistics().getAttemptCounter());
             props.put("failedCounter", reg.getStatistics().getFailedCounter());
             props.put("noopCounter", reg.getStatistics().getNoopCounter());
+            props.put("callSiteHitCounter", reg.getStatistics().getCallSiteHitCounter());
+            props.put("callSiteMissCounter", reg.getStatistics().getCallSiteMissCounter());
         }
 
         return root;
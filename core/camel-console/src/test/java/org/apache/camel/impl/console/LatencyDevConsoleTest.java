@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.console;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.ExtendedCamelContext;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.console.DevConsole;
+import org.apache.camel.impl.engine.DefaultLatencyHistogramRegistry;
+import org.apache.camel.util.json.JsonObject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class LatencyDevConsoleTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.getRegistry().bind("latency", new DefaultLatencyHistogramRegistry());
+        return context;
+    }
+
+    @Test
+    public void testLatencyText() throws Exception {
+        template.sendBody("direct:start", "Hello World");
+
+        DevConsole con = context.adapt(ExtendedCamelContext.class).getDevConsoleResolver().resolveDevConsole("latency");
+        Assertions.assertNotNull(con);
+        Assertions.assertEquals("camel", con.getGroup());
+        Assertions.assertEquals("latency", con.getId());
+
+        String out = (String) con.call(DevConsole.MediaType.TEXT);
+        Assertions.assertNotNull(out);
+        log.info(out);
+        Assertions.assertTrue(out.contains("Route: myRoute (count: 1"));
+        Assertions.assertTrue(out.contains("Processor: result (count: 1"));
+    }
+
+    @Test
+    public void testLatencyJson() throws Exception {
+        template.sendBody("direct:start", "Hello World");
+
+        DevConsole con = context.adapt(ExtendedCamelContext.class).getDevConsoleResolver().resolveDevConsole("latency");
+        Assertions.assertNotNull(con);
+
+        JsonObject out = (JsonObject) con.call(DevConsole.MediaType.JSON);
+        Assertions.assertNotNull(out);
+        Assertions.assertTrue(out.getBoolean("enabled"));
+        JsonObject route = (JsonObject) out.getCollection("routes").iterator().next();
+        Assertions.assertEquals("myRoute", route.getString("routeId"));
+        JsonObject latency = route.getMap("latency");
+        Assertions.assertEquals(1L, latency.getLong("count").longValue());
+        JsonObject processor = (JsonObject) route.getCollection("processors").iterator().next();
+        Assertions.assertEquals("result", processor.getString("processorId"));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").routeId("myRoute")
+                        .to("mock:result").id("result");
+            }
+        };
+    }
+}
@@ -34,6 +34,7 @@ import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.Expression;
 import org.apache.camel.InvalidPayloadException;
 import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.TypeConverter;
 import org.apache.camel.spi.ClassResolver;
 import org.apache.camel.spi.ExchangeFormatter;
 import org.apache.camel.spi.Language;
@@ -663,6 +664,7 @@ public final class SimpleExpressionBuilder {
     public static Expression mandatoryBodyOgnlExpression(final String name, final String ognl) {
         return new ExpressionAdapter() {
             private ClassResolver classResolver;
+            private TypeConverter converter;
             private Expression exp;
             private Language bean;
 
@@ -677,7 +679,7 @@ public final class SimpleExpressionBuilder {
                 }
                 Object body;
                 try {
-                    body = exchange.getIn().getMandatoryBody(type);
+                    body = MessageHelper.getMandatoryBody(exchange.getIn(), type, converter);
                 } catch (InvalidPayloadException e) {
                     throw CamelExecutionException.wrapCamelExecutionException(exchange, e);
                 }
@@ -689,6 +691,7 @@ public final class SimpleExpressionBuilder {
             @Override
             public void init(CamelContext context) {
                 classResolver = context.getClassResolver();
+                converter = context.getTypeConverterRegistry().createCallSiteTypeConverter();
                 exp = ExpressionBuilder.simpleExpression(name);
                 exp.init(context);
                 bean = context.resolveLanguage("bean");
@@ -707,6 +710,7 @@ public final class SimpleExpressionBuilder {
     public static Expression mandatoryBodyExpression(final String name) {
         return new ExpressionAdapter() {
             private ClassResolver classResolver;
+            private TypeConverter converter;
             private Expression exp;
 
             @Override
@@ -719,7 +723,7 @@ public final class SimpleExpressionBuilder {
                     throw CamelExecutionException.wrapCamelExecutionException(exchange, e);
                 }
                 try {
-                    return exchange.getIn().getMandatoryBody(type);
+                    return MessageHelper.getMandatoryBody(exchange.getIn(), type, converter);
                 } catch (InvalidPayloadException e) {
                     throw CamelExecutionException.wrapCamelExecutionException(exchange, e);
                 }
@@ -728,6 +732,7 @@ public final class SimpleExpressionBuilder {
             @Override
             public void init(CamelContext context) {
                 classResolver = context.getClassResolver();
+                converter = context.getTypeConverterRegistry().createCallSiteTypeConverter();
                 exp = ExpressionBuilder.simpleExpression(name);
                 exp.init(context);
             }
@@ -746,6 +751,7 @@ public final class SimpleExpressionBuilder {
     public static Expression bodyOgnlExpression(final String name, final String ognl) {
         return new ExpressionAdapter() {
             private ClassResolver classResolver;
+            private TypeConverter converter;
             private Expression exp;
             private Language bean;
 
@@ -758,7 +764,7 @@ public final class SimpleExpressionBuilder {
                 } catch (ClassNotFoundException e) {
                     throw CamelExecutionException.wrapCamelExecutionException(exchange, e);
                 }
-                Object body = exchange.getIn().getBody(type);
+                Object body = MessageHelper.getBody(exchange.getIn(), type, converter);
                 if (body != null) {
                     // ognl is able to evaluate method name if it contains nested functions
                     // so we should not eager evaluate ognl as a string
@@ -773,6 +779,7 @@ public final class SimpleExpressionBuilder {
             @Override
             public void init(CamelContext context) {
                 classResolver = context.getClassResolver();
+                converter = context.getTypeConverterRegistry().createCallSiteTypeConverter();
                 exp = ExpressionBuilder.simpleExpression(name);
                 exp.init(context);
                 bean = context.resolveLanguage("bean");
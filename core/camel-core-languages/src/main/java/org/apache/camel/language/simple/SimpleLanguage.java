@@ -16,7 +16,9 @@
  */
 package org.apache.camel.language.simple;
 
+import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.Expression;
@@ -49,10 +51,14 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
     private static final String CACHE_KEY_PREFIX = "@SIMPLE@";
 
     boolean allowEscape = true;
+    private boolean compilePredicates;
 
     // use caches to avoid re-parsing the same expressions over and over again
     private Map<String, Expression> cacheExpression;
     private Map<String, Predicate> cachePredicate;
+    // the most recent predicates that has been compiled (fully or partially), bounded as the caches
+    private Set<String> compiledPredicates;
+    private Set<String> interpretedPredicates;
 
     /**
      * Default constructor.
@@ -68,11 +74,50 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
             if (maxSize > 0) {
                 cacheExpression = LRUCacheFactory.newLRUCache(16, maxSize, false);
                 cachePredicate = LRUCacheFactory.newLRUCache(16, maxSize, false);
+                compiledPredicates = Collections.newSetFromMap(LRUCacheFactory.newLRUCache(16, maxSize, false));
+                interpretedPredicates = Collections.newSetFromMap(LRUCacheFactory.newLRUCache(16, maxSize, false));
                 LOG.debug("Simple language predicate/expression cache size: {}", maxSize);
             } else {
                 LOG.debug("Simple language disabled predicate/expression cache");
             }
         }
+        if (getCamelContext() != null) {
+            String s = getCamelContext().getGlobalOption(Exchange.SIMPLE_COMPILE_PREDICATES);
+            if (s != null) {
+                compilePredicates = Boolean.parseBoolean(s);
+            }
+        }
+    }
+
+    public boolean isCompilePredicates() {
+        return compilePredicates;
+    }
+
+    /**
+     * Whether to compile predicates into a tree of predicates created up front, which avoids evaluating the operators
+     * as expressions and converting their results on every evaluation. Any part of a predicate which cannot be
+     * compiled is interpreted as usual.
+     * <p/>
+     * This can also be enabled with the global option {@link Exchange#SIMPLE_COMPILE_PREDICATES}.
+     */
+    public void setCompilePredicates(boolean compilePredicates) {
+        this.compilePredicates = compilePredicates;
+    }
+
+    /**
+     * The most recent predicates which have been fully compiled, up to the maximum simple cache size.
+     */
+    public Set<String> getCompiledPredicates() {
+        return compiledPredicates != null ? Collections.unmodifiableSet(compiledPredicates) : Collections.emptySet();
+    }
+
+    /**
+     * The most recent predicates where some parts could not be compiled, and are interpreted instead, up to the maximum
+     * simple cache size.
+     */
+    public Set<String> getInterpretedPredicates() {
+        return interpretedPredicates != null
+                ? Collections.unmodifiableSet(interpretedPredicates) : Collections.emptySet();
     }
 
     @Override
@@ -92,6 +137,12 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
             }
             cachePredicate.clear();
         }
+        if (compilePredicates && compiledPredicates != null) {
+            LOG.debug("Simple language compiled {} predicates fully and {} predicates partially",
+                    compiledPredicates.size(), interpretedPredicates.size());
+            compiledPredicates.clear();
+            interpretedPredicates.clear();
+        }
         if (cacheExpression instanceof LRUCache) {
             if (LOG.isDebugEnabled()) {
                 LRUCache cache = (LRUCache) cacheExpression;
@@ -139,7 +190,11 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
             // using the expression cache here with the predicate parser is okay
             SimplePredicateParser parser
                     = new SimplePredicateParser(getCamelContext(), expression, allowEscape, cacheExpression);
-            answer = parser.parsePredicate();
+            if (compilePredicates) {
+                answer = doCompilePredicate(parser, expression);
+            } else {
+                answer = parser.parsePredicate();
+            }
 
             if (cachePredicate != null && answer != null) {
                 cachePredicate.put(key, answer);
@@ -149,6 +204,24 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
         return answer;
     }
 
+    private Predicate doCompilePredicate(SimplePredicateParser parser, String expression) {
+        SimplePredicateCompiler compiler = new SimplePredicateCompiler(getCamelContext(), expression);
+        Predicate answer = parser.parseCompiledPredicate(compiler);
+        if (compiler.isCompiled()) {
+            LOG.debug("Compiled simple predicate: {}", expression);
+            if (compiledPredicates != null) {
+                compiledPredicates.add(expression);
+            }
+        } else {
+            LOG.debug("Compiled simple predicate: {} except for the interpreted parts: {}", expression,
+                    compiler.getInterpretedNodes());
+            if (interpretedPredicates != null) {
+                interpretedPredicates.add(expression);
+            }
+        }
+        return answer;
+    }
+
     @Override
     public Predicate createPredicate(String expression, Object[] properties) {
         boolean trim = property(boolean.class, properties, 1, true);
@@ -0,0 +1,337 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.simple;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.Predicate;
+import org.apache.camel.language.simple.ast.BinaryExpression;
+import org.apache.camel.language.simple.ast.BooleanExpression;
+import org.apache.camel.language.simple.ast.CompositeNodes;
+import org.apache.camel.language.simple.ast.DoubleQuoteStart;
+import org.apache.camel.language.simple.ast.LiteralExpression;
+import org.apache.camel.language.simple.ast.LiteralNode;
+import org.apache.camel.language.simple.ast.LogicalExpression;
+import org.apache.camel.language.simple.ast.NullExpression;
+import org.apache.camel.language.simple.ast.NumericExpression;
+import org.apache.camel.language.simple.ast.SimpleFunctionStart;
+import org.apache.camel.language.simple.ast.SimpleNode;
+import org.apache.camel.language.simple.ast.SingleQuoteStart;
+import org.apache.camel.language.simple.types.BinaryOperatorType;
+import org.apache.camel.language.simple.types.LogicalOperatorType;
+import org.apache.camel.support.ExpressionAdapter;
+import org.apache.camel.support.ExpressionToPredicateAdapter;
+import org.apache.camel.support.ObjectHelper;
+import org.apache.camel.support.builder.ExpressionBuilder;
+import org.apache.camel.support.builder.PredicateBuilder;
+import org.apache.camel.support.builder.ValueBuilder;
+import org.apache.camel.util.StringHelper;
+
+/**
+ * Compiles the AST of a simple predicate into a tree of predicates which are created once, instead of the expressions
+ * created by the AST nodes which evaluate the operators as expressions and convert their results back and forth
+ * between boolean and objects on every evaluation.
+ * <p/>
+ * Logical and binary operators are compiled into short-circuiting predicates, and when the right hand side of the
+ * regex, in, range and is operators is a constant, then the pattern, the list of values, the range, and the class is
+ * resolved when compiling. Plain header lookups such as <tt>${header.foo}</tt> are compiled into direct header lookups.
+ * Any node which cannot be compiled falls back to the interpreted expression of the node, and is reported by
+ * {@link #getInterpretedNodes()}.
+ */
+public class SimplePredicateCompiler {
+
+    // this is special for the range operator where you define the range as from..to (where from and to are numbers)
+    private static final Pattern RANGE_PATTERN = Pattern.compile("^(\\d+)(\\.\\.)(\\d+)$");
+    private static final Pattern HEADER_NAME_PATTERN = Pattern.compile("^[\\w\\-]+$");
+    private static final String[] HEADER_PREFIXES = { "in.headers", "in.header", "headers", "header" };
+    private static final Object NO_CONSTANT = new Object();
+
+    private final CamelContext camelContext;
+    private final String expression;
+    private final List<SimpleNode> interpretedNodes = new ArrayList<>();
+
+    public SimplePredicateCompiler(CamelContext camelContext, String expression) {
+        this.camelContext = camelContext;
+        this.expression = expression;
+    }
+
+    /**
+     * Compiles the nodes, which are combined using logical and, the same as the interpreted predicate.
+     */
+    public Predicate compile(List<SimpleNode> nodes) {
+        List<Predicate> predicates = new ArrayList<>(nodes.size());
+        for (SimpleNode node : nodes) {
+            Predicate predicate = compilePredicate(node);
+            if (predicate != null) {
+                predicates.add(predicate);
+            }
+        }
+        final Predicate answer;
+        if (predicates.isEmpty()) {
+            // return a false predicate as response as there was nothing to parse
+            answer = PredicateBuilder.constant(false);
+        } else if (predicates.size() == 1) {
+            answer = predicates.get(0);
+        } else {
+            answer = PredicateBuilder.and(predicates);
+        }
+
+        return new Predicate() {
+            @Override
+            public boolean matches(Exchange exchange) {
+                return answer.matches(exchange);
+            }
+
+            @Override
+            public void init(CamelContext context) {
+                answer.initPredicate(context);
+            }
+
+            @Override
+            public String toString() {
+                return expression;
+            }
+        };
+    }
+
+    /**
+     * The nodes which could not be compiled, and are evaluated by their interpreted expressions.
+     */
+    public List<SimpleNode> getInterpretedNodes() {
+        return Collections.unmodifiableList(interpretedNodes);
+    }
+
+    /**
+     * Whether every node of the predicate was compiled.
+     */
+    public boolean isCompiled() {
+        return interpretedNodes.isEmpty();
+    }
+
+    private Predicate compilePredicate(SimpleNode node) {
+        if (node instanceof LogicalExpression) {
+            LogicalExpression logical = (LogicalExpression) node;
+            Predicate left = compilePredicate(logical.getLeft());
+            Predicate right = compilePredicate(logical.getRight());
+            if (logical.getOperator() == LogicalOperatorType.AND) {
+                return PredicateBuilder.and(left, right);
+            } else if (logical.getOperator() == LogicalOperatorType.OR) {
+                return PredicateBuilder.or(left, right);
+            }
+        } else if (node instanceof BinaryExpression) {
+            Predicate answer = compileBinary((BinaryExpression) node);
+            if (answer != null) {
+                return answer;
+            }
+        } else if (node instanceof BooleanExpression) {
+            return PredicateBuilder.constant("true".equals(node.getToken().getText()));
+        } else if (isValueNode(node)) {
+            Expression exp = compileValue(node);
+            return exp != null ? ExpressionToPredicateAdapter.toPredicate(exp) : null;
+        }
+
+        return interpreted(node);
+    }
+
+    private Predicate compileBinary(BinaryExpression binary) {
+        if (!isValueNode(binary.getLeft()) || !isValueNode(binary.getRight())) {
+            return null;
+        }
+        Expression left = compileValue(binary.getLeft());
+        Expression right = compileValue(binary.getRight());
+        BinaryOperatorType operator = binary.getOperator();
+
+        if (operator == BinaryOperatorType.EQ) {
+            return PredicateBuilder.isEqualTo(left, right);
+        } else if (operator == BinaryOperatorType.EQ_IGNORE) {
+            return PredicateBuilder.isEqualToIgnoreCase(left, right);
+        } else if (operator == BinaryOperatorType.GT) {
+            return PredicateBuilder.isGreaterThan(left, right);
+        } else if (operator == BinaryOperatorType.GTE) {
+            return PredicateBuilder.isGreaterThanOrEqualTo(left, right);
+        } else if (operator == BinaryOperatorType.LT) {
+            return PredicateBuilder.isLessThan(left, right);
+        } else if (operator == BinaryOperatorType.LTE) {
+            return PredicateBuilder.isLessThanOrEqualTo(left, right);
+        } else if (operator == BinaryOperatorType.NOT_EQ) {
+            return PredicateBuilder.isNotEqualTo(left, right);
+        } else if (operator == BinaryOperatorType.NOT_EQ_IGNORE) {
+            return PredicateBuilder.not(PredicateBuilder.isEqualToIgnoreCase(left, right));
+        } else if (operator == BinaryOperatorType.CONTAINS) {
+            return PredicateBuilder.contains(left, right);
+        } else if (operator == BinaryOperatorType.NOT_CONTAINS) {
+            return PredicateBuilder.not(PredicateBuilder.contains(left, right));
+        } else if (operator == BinaryOperatorType.CONTAINS_IGNORECASE) {
+            return PredicateBuilder.containsIgnoreCase(left, right);
+        } else if (operator == BinaryOperatorType.NOT_CONTAINS_IGNORECASE) {
+            return PredicateBuilder.not(PredicateBuilder.containsIgnoreCase(left, right));
+        } else if (operator == BinaryOperatorType.STARTS_WITH) {
+            return PredicateBuilder.startsWith(left, right);
+        } else if (operator == BinaryOperatorType.ENDS_WITH) {
+            return PredicateBuilder.endsWith(left, right);
+        }
+
+        // the remaining operators can only be compiled when their right hand side is a constant
+        Object constant = constantValue(binary.getRight());
+        if (constant == NO_CONSTANT || constant == null) {
+            return null;
+        }
+        Predicate answer = null;
+        if (operator == BinaryOperatorType.REGEX || operator == BinaryOperatorType.NOT_REGEX) {
+            answer = PredicateBuilder.regex(left, constant.toString());
+        } else if (operator == BinaryOperatorType.IN || operator == BinaryOperatorType.NOT_IN) {
+            List<Object> values = new ArrayList<>();
+            Iterator<?> it = ObjectHelper.createIterator(constant);
+            while (it.hasNext()) {
+                values.add(it.next());
+            }
+            answer = new ValueBuilder(left).in(values.toArray());
+        } else if (operator == BinaryOperatorType.RANGE || operator == BinaryOperatorType.NOT_RANGE) {
+            Matcher matcher = RANGE_PATTERN.matcher(constant.toString());
+            if (matcher.matches()) {
+                Expression from = ExpressionBuilder.constantExpression(matcher.group(1));
+                Expression to = ExpressionBuilder.constantExpression(matcher.group(3));
+                answer = PredicateBuilder.and(PredicateBuilder.isGreaterThanOrEqualTo(left, from),
+                        PredicateBuilder.isLessThanOrEqualTo(left, to));
+            }
+        } else if (operator == BinaryOperatorType.IS || operator == BinaryOperatorType.NOT_IS) {
+            String name = constant.toString();
+            // an unknown class is reported by the interpreted expression when evaluated
+            Class<?> type = "null".equals(name) ? null : camelContext.getClassResolver().resolveClass(name);
+            if (type != null) {
+                answer = PredicateBuilder.isInstanceOf(left, type);
+            }
+        }
+        if (answer != null && (operator == BinaryOperatorType.NOT_REGEX || operator == BinaryOperatorType.NOT_IN
+                || operator == BinaryOperatorType.NOT_RANGE || operator == BinaryOperatorType.NOT_IS)) {
+            answer = PredicateBuilder.not(answer);
+        }
+        return answer;
+    }
+
+    private Expression compileValue(SimpleNode node) {
+        String header = headerName(node);
+        if (header != null) {
+            return headerExpression(header);
+        }
+        // functions, quoted text, numbers and null are evaluated by the expressions created by the nodes
+        return node.createExpression(camelContext, expression);
+    }
+
+    private Predicate interpreted(SimpleNode node) {
+        interpretedNodes.add(node);
+        Expression exp = node.createExpression(camelContext, expression);
+        return exp != null ? ExpressionToPredicateAdapter.toPredicate(exp) : null;
+    }
+
+    private static boolean isValueNode(SimpleNode node) {
+        return node instanceof SimpleFunctionStart || node instanceof LiteralExpression
+                || node instanceof SingleQuoteStart || node instanceof DoubleQuoteStart
+                || node instanceof NumericExpression || node instanceof NullExpression
+                || node instanceof BooleanExpression;
+    }
+
+    /**
+     * The constant value of the node, which is text, a number or null, or {@link #NO_CONSTANT} if the node is not a
+     * constant
+     */
+    private static Object constantValue(SimpleNode node) {
+        if (node instanceof NumericExpression) {
+            return ((NumericExpression) node).getNumber();
+        } else if (node instanceof NullExpression) {
+            return null;
+        } else if (node instanceof LiteralExpression) {
+            return ((LiteralExpression) node).getText();
+        }
+        CompositeNodes block = null;
+        if (node instanceof SingleQuoteStart) {
+            block = ((SingleQuoteStart) node).getBlock();
+        } else if (node instanceof DoubleQuoteStart) {
+            block = ((DoubleQuoteStart) node).getBlock();
+        }
+        if (block == null) {
+            return NO_CONSTANT;
+        }
+        StringBuilder sb = new StringBuilder();
+        for (SimpleNode child : block.getChildren()) {
+            if (!(child instanceof LiteralNode)) {
+                // quoted text with embedded functions
+                return NO_CONSTANT;
+            }
+            sb.append(((LiteralNode) child).getText());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * The name of the header if the node is a plain header function such as <tt>${header.foo}</tt> or
+     * <tt>${header[foo]}</tt>, or null for any other node.
+     */
+    private static String headerName(SimpleNode node) {
+        if (!(node instanceof SimpleFunctionStart)) {
+            return null;
+        }
+        List<SimpleNode> children = ((SimpleFunctionStart) node).getBlock().getChildren();
+        if (children.size() != 1 || !(children.get(0) instanceof LiteralNode)) {
+            return null;
+        }
+        String function = ((LiteralNode) children.get(0)).getText();
+        for (String prefix : HEADER_PREFIXES) {
+            if (function.startsWith(prefix)) {
+                String key = function.substring(prefix.length());
+                if (key.startsWith(".")) {
+                    key = key.substring(1);
+                } else if (key.startsWith("[") && key.endsWith("]")) {
+                    key = key.substring(1, key.length() - 1);
+                } else {
+                    // such as headerAs(...) or headers
+                    return null;
+                }
+                key = StringHelper.removeLeadingAndEndingQuotes(key);
+                return HEADER_NAME_PATTERN.matcher(key).matches() ? key : null;
+            }
+        }
+        return null;
+    }
+
+    private static Expression headerExpression(final String name) {
+        return new ExpressionAdapter() {
+            @Override
+            public Object evaluate(Exchange exchange) {
+                Object header = exchange.getIn().getHeader(name);
+                if (header == null) {
+                    // fall back on a property
+                    header = exchange.getProperty(name);
+                }
+                return header;
+            }
+
+            @Override
+            public String toString() {
+                return "header(" + name + ")";
+            }
+        };
+    }
+}
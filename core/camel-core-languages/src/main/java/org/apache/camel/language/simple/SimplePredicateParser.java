@@ -83,6 +83,23 @@ public class SimplePredicateParser extends BaseSimpleParser {
         }
     }
 
+    /**
+     * Parses the predicate and compiles the AST using the given compiler, instead of creating the interpreted
+     * predicate.
+     */
+    public Predicate parseCompiledPredicate(SimplePredicateCompiler compiler) {
+        try {
+            parseTokens();
+            return compiler.compile(nodes);
+        } catch (SimpleParserException e) {
+            // catch parser exception and turn that into a syntax exceptions
+            throw new SimpleIllegalSyntaxException(expression, e.getIndex(), e.getMessage(), e);
+        } catch (Exception e) {
+            // include exception in rethrown exception
+            throw new SimpleIllegalSyntaxException(expression, -1, e.getMessage(), e);
+        }
+    }
+
     public String parseCode() {
         try {
             parseTokens();
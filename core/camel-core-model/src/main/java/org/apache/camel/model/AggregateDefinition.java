@@ -90,6 +90,9 @@ public class AggregateDefinition extends OutputDefinition<AggregateDefinition>
     @Metadata(javaType = "java.lang.Boolean")
     private String optimisticLocking;
     @XmlAttribute
+    @Metadata(label = "advanced", javaType = "java.lang.Integer")
+    private String lockStripes;
+    @XmlAttribute
     @Metadata(label = "advanced", javaType = "java.util.concurrent.ExecutorService")
     private String executorService;
     @XmlAttribute
@@ -455,6 +458,14 @@ public class AggregateDefinition extends OutputDefinition<AggregateDefinition>
         this.optimisticLocking = optimisticLocking;
     }
 
+    public String getLockStripes() {
+        return lockStripes;
+    }
+
+    public void setLockStripes(String lockStripes) {
+        this.lockStripes = lockStripes;
+    }
+
     public String getParallelProcessing() {
         return parallelProcessing;
     }
@@ -954,6 +965,28 @@ public class AggregateDefinition extends OutputDefinition<AggregateDefinition>
         return this;
     }
 
+    /**
+     * Number of locks to stripe the correlation keys over, which allows exchanges with different correlation keys to be
+     * aggregated in parallel, while exchanges with the same correlation key are still aggregated one at a time. By
+     * default, a single lock is used which means all exchanges are aggregated one at a time. This cannot be used
+     * together with optimistic locking, completionFromBatchConsumer or completionOnNewCorrelationGroup.
+     */
+    public AggregateDefinition lockStripes(int lockStripes) {
+        setLockStripes(Integer.toString(lockStripes));
+        return this;
+    }
+
+    /**
+     * Number of locks to stripe the correlation keys over, which allows exchanges with different correlation keys to be
+     * aggregated in parallel, while exchanges with the same correlation key are still aggregated one at a time. By
+     * default, a single lock is used which means all exchanges are aggregated one at a time. This cannot be used
+     * together with optimistic locking, completionFromBatchConsumer or completionOnNewCorrelationGroup.
+     */
+    public AggregateDefinition lockStripes(String lockStripes) {
+        setLockStripes(lockStripes);
+        return this;
+    }
+
     /**
      * Allows to configure retry settings when using optimistic locking.
      */
@@ -73,6 +73,9 @@ public class SplitDefinition extends OutputExpressionNode implements ExecutorSer
     @Metadata(label = "advanced", javaType = "java.time.Duration", defaultValue = "0")
     private String timeout;
     @XmlAttribute
+    @Metadata(label = "advanced", javaType = "java.lang.Integer")
+    private String maxInflightExchanges;
+    @XmlAttribute
     @Metadata(label = "advanced", javaType = "java.util.concurrent.ExecutorService")
     private String executorService;
     @XmlAttribute
@@ -442,6 +445,37 @@ public class SplitDefinition extends OutputExpressionNode implements ExecutorSer
         return this;
     }
 
+    /**
+     * Sets the maximum number of split messages that can be in-flight at the same time, when using parallel
+     * processing. When the limit is reached then the Splitter stops pulling new messages from the iterator until some
+     * of the in-flight messages have completed and been aggregated. This allows to split very large or infinite
+     * payloads in streaming mode with bounded memory usage.
+     * <p/>
+     * The default value is 0 which means no limit.
+     *
+     * @param  maxInflightExchanges the maximum number of in-flight split messages
+     * @return                      the builder
+     */
+    public SplitDefinition maxInflightExchanges(int maxInflightExchanges) {
+        return maxInflightExchanges(Integer.toString(maxInflightExchanges));
+    }
+
+    /**
+     * Sets the maximum number of split messages that can be in-flight at the same time, when using parallel
+     * processing. When the limit is reached then the Splitter stops pulling new messages from the iterator until some
+     * of the in-flight messages have completed and been aggregated. This allows to split very large or infinite
+     * payloads in streaming mode with bounded memory usage.
+     * <p/>
+     * The default value is 0 which means no limit.
+     *
+     * @param  maxInflightExchanges the maximum number of in-flight split messages
+     * @return                      the builder
+     */
+    public SplitDefinition maxInflightExchanges(String maxInflightExchanges) {
+        setMaxInflightExchanges(maxInflightExchanges);
+        return this;
+    }
+
     /**
      * Shares the {@link org.apache.camel.spi.UnitOfWork} with the parent and each of the sub messages. Splitter will by
      * default not share unit of work between the parent exchange and each split exchange. This means each split
@@ -600,6 +634,14 @@ public class SplitDefinition extends OutputExpressionNode implements ExecutorSer
         this.timeout = timeout;
     }
 
+    public String getMaxInflightExchanges() {
+        return maxInflightExchanges;
+    }
+
+    public void setMaxInflightExchanges(String maxInflightExchanges) {
+        this.maxInflightExchanges = maxInflightExchanges;
+    }
+
     public String getOnPrepare() {
         return onPrepare;
     }
@@ -60,6 +60,9 @@ public class ThreadPoolProfileDefinition extends OptionalIdentifiedDefinition<Th
     @Metadata(label = "advanced", javaType = "org.apache.camel.util.concurrent.ThreadPoolRejectedPolicy",
               enums = "Abort,CallerRuns,DiscardOldest,Discard")
     private String rejectedPolicy;
+    @XmlAttribute
+    @Metadata(label = "advanced", javaType = "java.lang.Boolean")
+    private String virtualThreads;
 
     public ThreadPoolProfileDefinition() {
     }
@@ -138,6 +141,15 @@ public class ThreadPoolProfileDefinition extends OptionalIdentifiedDefinition<Th
         return this;
     }
 
+    public ThreadPoolProfileDefinition virtualThreads(boolean virtualThreads) {
+        return virtualThreads(Boolean.toString(virtualThreads));
+    }
+
+    public ThreadPoolProfileDefinition virtualThreads(String virtualThreads) {
+        setVirtualThreads(virtualThreads);
+        return this;
+    }
+
     public String getDefaultProfile() {
         return defaultProfile;
     }
@@ -230,4 +242,16 @@ public class ThreadPoolProfileDefinition extends OptionalIdentifiedDefinition<Th
         this.rejectedPolicy = rejectedPolicy;
     }
 
+    public String getVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Whether to use virtual threads instead of a pool of platform threads, which starts a new virtual thread per task.
+     * This requires Java 21 or newer, and when not supported by the JVM then a pool of platform threads is used.
+     */
+    public void setVirtualThreads(String virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
 }
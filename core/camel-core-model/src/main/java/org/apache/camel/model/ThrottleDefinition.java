@@ -30,6 +30,7 @@ import org.apache.camel.Expression;
 import org.apache.camel.builder.ExpressionBuilder;
 import org.apache.camel.model.language.ExpressionDefinition;
 import org.apache.camel.spi.Metadata;
+import org.apache.camel.spi.ThrottleStateRepository;
 
 /**
  * Controls the rate at which messages are passed to the next node in the route
@@ -42,6 +43,8 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
 
     @XmlTransient
     private ExecutorService executorServiceBean;
+    @XmlTransient
+    private ThrottleStateRepository stateRepositoryBean;
 
     @XmlElement(name = "correlationExpression")
     private ExpressionSubElementDefinition correlationExpression;
@@ -60,6 +63,9 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
     @XmlAttribute
     @Metadata(label = "advanced", javaType = "java.lang.Boolean")
     private String rejectExecution;
+    @XmlAttribute
+    @Metadata(label = "advanced", javaType = "org.apache.camel.spi.ThrottleStateRepository")
+    private String stateRepository;
 
     public ThrottleDefinition() {
     }
@@ -251,6 +257,30 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
         return this;
     }
 
+    /**
+     * To use a custom repository to keep track of the permits, such as a repository shared by several Camel
+     * applications to throttle cluster wide.
+     *
+     * @param  stateRepository the reference id of the repository
+     * @return                 the builder
+     */
+    public ThrottleDefinition stateRepository(String stateRepository) {
+        setStateRepository(stateRepository);
+        return this;
+    }
+
+    /**
+     * To use a custom repository to keep track of the permits, such as a repository shared by several Camel
+     * applications to throttle cluster wide.
+     *
+     * @param  stateRepository the repository
+     * @return                 the builder
+     */
+    public ThrottleDefinition stateRepository(ThrottleStateRepository stateRepository) {
+        this.stateRepositoryBean = stateRepository;
+        return this;
+    }
+
     /**
      * To use a custom thread pool (ScheduledExecutorService) by the throttler.
      *
@@ -329,6 +359,18 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
         this.rejectExecution = rejectExecution;
     }
 
+    public ThrottleStateRepository getStateRepositoryBean() {
+        return stateRepositoryBean;
+    }
+
+    public String getStateRepository() {
+        return stateRepository;
+    }
+
+    public void setStateRepository(String stateRepository) {
+        this.stateRepository = stateRepository;
+    }
+
     /**
      * The expression used to calculate the correlation key to use for throttle grouping. The Exchange which has the
      * same correlation key is throttled together.
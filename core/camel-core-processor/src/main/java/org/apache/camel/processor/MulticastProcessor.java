@@ -18,7 +18,9 @@ package org.apache.camel.processor;
 
 import java.io.Closeable;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -30,7 +32,9 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -138,6 +142,67 @@ public class MulticastProcessor extends AsyncProcessorSupport
 
     }
 
+    /**
+     * Statistics of the time taken to process the sub exchanges sent to a branch of the multicast.
+     */
+    public static final class BranchStatistics {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalTime = new LongAdder();
+        private final AtomicLong minTime = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicLong maxTime = new AtomicLong();
+
+        void record(long nanos) {
+            count.increment();
+            totalTime.add(nanos);
+            minTime.accumulateAndGet(nanos, Math::min);
+            maxTime.accumulateAndGet(nanos, Math::max);
+        }
+
+        void reset() {
+            count.reset();
+            totalTime.reset();
+            minTime.set(Long.MAX_VALUE);
+            maxTime.set(0);
+        }
+
+        /**
+         * Number of sub exchanges which has completed
+         */
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * Minimum processing time in millis
+         */
+        public long getMinTime() {
+            long min = minTime.get();
+            return min == Long.MAX_VALUE ? 0 : TimeUnit.NANOSECONDS.toMillis(min);
+        }
+
+        /**
+         * Maximum processing time in millis
+         */
+        public long getMaxTime() {
+            return TimeUnit.NANOSECONDS.toMillis(maxTime.get());
+        }
+
+        /**
+         * Mean processing time in millis
+         */
+        public long getMeanTime() {
+            long total = count.sum();
+            return total == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalTime.sum() / total);
+        }
+
+        /**
+         * Total processing time in millis
+         */
+        public long getTotalTime() {
+            return TimeUnit.NANOSECONDS.toMillis(totalTime.sum());
+        }
+    }
+
     private final class Scheduler implements Executor {
 
         @Override
@@ -167,6 +232,11 @@ public class MulticastProcessor extends AsyncProcessorSupport
     private ExecutorService aggregateExecutorService;
     private boolean shutdownAggregateExecutorService;
     private final long timeout;
+    private int maxInflightExchanges;
+    private final AtomicInteger bufferedResults = new AtomicInteger();
+    private final AtomicInteger maxBufferedResults = new AtomicInteger();
+    private BranchStatistics[] branchStatistics = new BranchStatistics[0];
+    private boolean statisticsEnabled;
     private final ConcurrentMap<Processor, Processor> errorHandlers = new ConcurrentHashMap<>();
     private final boolean shareUnitOfWork;
 
@@ -271,6 +341,13 @@ public class MulticastProcessor extends AsyncProcessorSupport
         Object dummy5 = new DefaultProcessorExchangePair(0, null, null, null);
         LOG.trace("Loaded {}", dummy5.getClass().getName());
 
+        int size = processors != null ? processors.size() : 0;
+        BranchStatistics[] stats = new BranchStatistics[size];
+        for (int i = 0; i < size; i++) {
+            stats[i] = new BranchStatistics();
+        }
+        branchStatistics = stats;
+
         ServiceHelper.buildService(processorExchangeFactory);
     }
 
@@ -382,10 +459,15 @@ public class MulticastProcessor extends AsyncProcessorSupport
         final AtomicInteger nbAggregated = new AtomicInteger();
         final AtomicBoolean allSent = new AtomicBoolean();
         final AtomicBoolean done = new AtomicBoolean();
+        final AtomicBoolean paused = new AtomicBoolean();
+        final AtomicInteger buffered = new AtomicInteger();
+        // the indexes of the sub exchanges which has been aggregated, used for timeout only (guarded by lock)
+        final BitSet aggregated;
         final Map<String, String> mdc;
 
         private MulticastTask() {
             // used for eager classloading
+            this.aggregated = null;
             this.original = null;
             this.pairs = null;
             this.callback = null;
@@ -399,6 +481,7 @@ public class MulticastProcessor extends AsyncProcessorSupport
             this.pairs = pairs;
             this.callback = callback;
             this.iterator = pairs.iterator();
+            this.aggregated = timeout > 0 ? new BitSet() : null;
             if (timeout > 0) {
                 schedule(aggregateExecutorService, this::timeout, timeout, TimeUnit.MILLISECONDS);
             }
@@ -410,10 +493,13 @@ public class MulticastProcessor extends AsyncProcessorSupport
             } else {
                 this.mdc = null;
             }
+            // only aggregate in the same order as the exchanges was sent when the aggregation strategy requires so,
+            // otherwise a slow sub exchange would hold back the aggregation of all the sub exchanges sent after it
+            boolean ordered = isOrderedAggregation(original);
             if (capacity > 0) {
-                this.completion = new AsyncCompletionService<>(scheduler, !isStreaming(), lock, capacity);
+                this.completion = new AsyncCompletionService<>(scheduler, ordered, lock, capacity);
             } else {
-                this.completion = new AsyncCompletionService<>(scheduler, !isStreaming(), lock);
+                this.completion = new AsyncCompletionService<>(scheduler, ordered, lock);
             }
         }
 
@@ -436,10 +522,20 @@ public class MulticastProcessor extends AsyncProcessorSupport
                     Exchange exchange;
                     while (!done.get() && (exchange = completion.poll()) != null) {
                         doAggregate(result, exchange, original);
+                        if (aggregated != null) {
+                            Integer index = getExchangeIndex(exchange);
+                            if (index != null) {
+                                aggregated.set(index);
+                            }
+                        }
                         if (nbAggregated.incrementAndGet() >= nbExchangeSent.get() && allSent.get()) {
                             doDone(result.get(), true);
                         }
                     }
+                    if (!done.get()) {
+                        // the remaining are completed exchanges waiting for an exchange sent before them
+                        updateBuffered(completion.size());
+                    }
                 } catch (Throwable e) {
                     original.setException(e);
                     // and do the done work
@@ -450,22 +546,56 @@ public class MulticastProcessor extends AsyncProcessorSupport
             }
         }
 
+        /**
+         * Whether the maximum number of sub exchanges which has been sent, but not yet aggregated, has been reached
+         */
+        protected boolean isInflightExceeded() {
+            return maxInflightExchanges > 0 && nbExchangeSent.get() - nbAggregated.get() >= maxInflightExchanges;
+        }
+
+        /**
+         * Continues sending sub exchanges, if the task was paused due to too many sub exchanges in flight, and some of
+         * them has been aggregated since.
+         */
+        protected void resumeIfPaused() {
+            while (paused.get() && !done.get() && !isInflightExceeded() && paused.compareAndSet(true, false)) {
+                // the task may have been resumed and paused again by another thread since we checked,
+                // and as no more sub exchanges can be sent while paused, then this check is accurate
+                if (!isInflightExceeded()) {
+                    schedule(this);
+                    return;
+                }
+                paused.set(true);
+            }
+        }
+
         protected void timeout() {
             Lock lock = this.lock;
             if (lock.tryLock()) {
                 try {
-                    while (nbAggregated.get() < nbExchangeSent.get()) {
-                        Exchange exchange = completion.pollUnordered();
-                        int index = exchange != null ? getExchangeIndex(exchange) : nbExchangeSent.get();
-                        while (nbAggregated.get() < index) {
-                            AggregationStrategy strategy = getAggregationStrategy(null);
-                            strategy.timeout(result.get() != null ? result.get() : original,
-                                    nbAggregated.getAndIncrement(), nbExchangeSent.get(), timeout);
-                        }
-                        if (exchange != null) {
+                    // the sub exchanges which has completed but not yet been aggregated, in the order they were sent
+                    List<Exchange> completed = new ArrayList<>();
+                    Exchange exchange;
+                    while ((exchange = completion.pollUnordered()) != null) {
+                        completed.add(exchange);
+                    }
+                    completed.sort(Comparator.comparingInt(MulticastProcessor.this::getExchangeIndex));
+                    Iterator<Exchange> it = completed.iterator();
+                    exchange = it.hasNext() ? it.next() : null;
+
+                    // the aggregation may not be in order, so aggregate or time out each index which is missing
+                    int total = nbExchangeSent.get();
+                    for (int index = aggregated.nextClearBit(0); index < total;
+                         index = aggregated.nextClearBit(index + 1)) {
+                        if (exchange != null && getExchangeIndex(exchange) == index) {
                             doAggregate(result, exchange, original);
-                            nbAggregated.incrementAndGet();
+                            exchange = it.hasNext() ? it.next() : null;
+                        } else {
+                            AggregationStrategy strategy = getAggregationStrategy(null);
+                            strategy.timeout(result.get() != null ? result.get() : original, index, total, timeout);
                         }
+                        aggregated.set(index);
+                        nbAggregated.incrementAndGet();
                     }
                     doDone(result.get(), true);
                 } catch (Throwable e) {
@@ -478,8 +608,31 @@ public class MulticastProcessor extends AsyncProcessorSupport
             }
         }
 
+        /**
+         * Updates the number of completed sub exchanges which are waiting to be aggregated, must be called while
+         * holding the lock
+         */
+        protected void updateBuffered(int size) {
+            int delta = size - buffered.getAndSet(size);
+            if (delta != 0) {
+                int total = bufferedResults.addAndGet(delta);
+                if (delta > 0) {
+                    maxBufferedResults.accumulateAndGet(total, Math::max);
+                }
+            }
+        }
+
         protected void doDone(Exchange exchange, boolean forceExhaust) {
             if (done.compareAndSet(false, true)) {
+                if (buffered.get() > 0) {
+                    Lock lock = this.lock;
+                    lock.lock();
+                    try {
+                        updateBuffered(0);
+                    } finally {
+                        lock.unlock();
+                    }
+                }
                 MulticastProcessor.this.doDone(original, exchange, pairs, callback, false, forceExhaust);
             }
         }
@@ -535,10 +688,15 @@ public class MulticastProcessor extends AsyncProcessorSupport
                 completion.submit(exchangeResult -> {
                     // compute time taken if sending to another endpoint
                     StopWatch watch = beforeSend(pair);
+                    BranchStatistics branch = getBranchStatistics(pair);
+                    long start = branch != null ? System.nanoTime() : 0;
 
                     AsyncProcessor async = AsyncProcessorConverterHelper.convert(pair.getProcessor());
                     async.process(exchange, doneSync -> {
                         afterSend(pair, watch);
+                        if (branch != null) {
+                            branch.record(System.nanoTime() - start);
+                        }
 
                         // Decide whether to continue with the multicast or not; similar logic to the Pipeline
                         // remember to test for stop on exception and aggregate before copying back results
@@ -571,12 +729,22 @@ public class MulticastProcessor extends AsyncProcessorSupport
                         // next step
                         if (hasNext && !isParallelProcessing()) {
                             schedule(this);
+                        } else if (maxInflightExchanges > 0) {
+                            resumeIfPaused();
                         }
                     });
                 });
                 // after submitting this pair then move on to the next pair (if in parallel mode)
                 if (hasNext && isParallelProcessing()) {
-                    schedule(this);
+                    if (isInflightExceeded()) {
+                        // too many sub exchanges in flight, so do not pull more pairs from the iterator
+                        // until some of them has been aggregated, which keeps memory usage flat when streaming
+                        paused.set(true);
+                        // some of them may have been aggregated in the meantime
+                        resumeIfPaused();
+                    } else {
+                        schedule(this);
+                    }
                 }
             } catch (Exception e) {
                 original.setException(e);
@@ -649,6 +817,8 @@ public class MulticastProcessor extends AsyncProcessorSupport
 
             // compute time taken if sending to another endpoint
             StopWatch watch = beforeSend(pair);
+            BranchStatistics branch = getBranchStatistics(pair);
+            long start = branch != null ? System.nanoTime() : 0;
 
             // use synchronous processing in transacted mode
             Processor sync = pair.getProcessor();
@@ -658,6 +828,9 @@ public class MulticastProcessor extends AsyncProcessorSupport
                 exchange.setException(e);
             } finally {
                 afterSend(pair, watch);
+                if (branch != null) {
+                    branch.record(System.nanoTime() - start);
+                }
             }
 
             // Decide whether to continue with the multicast or not; similar logic to the Pipeline
@@ -740,6 +913,33 @@ public class MulticastProcessor extends AsyncProcessorSupport
         return watch;
     }
 
+    private BranchStatistics getBranchStatistics(ProcessorExchangePair pair) {
+        if (!statisticsEnabled) {
+            return null;
+        }
+        BranchStatistics[] stats = branchStatistics;
+        int index = getBranchIndex(pair);
+        return index >= 0 && index < stats.length ? stats[index] : null;
+    }
+
+    /**
+     * Gets the index of the processor the given pair is sent to, which is used for keeping statistics per branch.
+     */
+    protected int getBranchIndex(ProcessorExchangePair pair) {
+        return pair.getIndex();
+    }
+
+    /**
+     * Whether the sub exchanges must be aggregated in the same order as they were sent
+     */
+    protected boolean isOrderedAggregation(Exchange exchange) {
+        if (isStreaming()) {
+            return false;
+        }
+        AggregationStrategy strategy = getAggregationStrategy(exchange);
+        return strategy == null || strategy.isOrderSensitive();
+    }
+
     protected void afterSend(ProcessorExchangePair pair, StopWatch watch) {
         // we are done with the exchange pair
         pair.done();
@@ -1260,6 +1460,69 @@ public class MulticastProcessor extends AsyncProcessorSupport
         return shareUnitOfWork;
     }
 
+    /**
+     * The maximum number of sub exchanges which can be in flight (sent but not yet aggregated) at the same time when
+     * using parallel processing. Zero or negative means no limit.
+     */
+    public int getMaxInflightExchanges() {
+        return maxInflightExchanges;
+    }
+
+    /**
+     * Sets the maximum number of sub exchanges which can be in flight (sent but not yet aggregated) at the same time
+     * when using parallel processing. When the limit is reached then no further sub exchanges are created until some of
+     * the sub exchanges has completed and been aggregated. Zero or negative means no limit.
+     */
+    public void setMaxInflightExchanges(int maxInflightExchanges) {
+        this.maxInflightExchanges = maxInflightExchanges;
+    }
+
+    /**
+     * Number of completed sub exchanges which are currently held back, waiting for the sub exchanges sent before them
+     * to complete, so they can be aggregated in order.
+     */
+    public int getBufferedResults() {
+        return bufferedResults.get();
+    }
+
+    /**
+     * The highest number of completed sub exchanges which has been held back at the same time, waiting for the sub
+     * exchanges sent before them to complete.
+     */
+    public int getMaxBufferedResults() {
+        return maxBufferedResults.get();
+    }
+
+    public boolean isStatisticsEnabled() {
+        return statisticsEnabled;
+    }
+
+    /**
+     * Whether to keep statistics of the time taken by the sub exchanges sent to each of the processors. This is
+     * disabled by default, and is enabled by JMX when the management statistics level is default or extended.
+     */
+    public void setStatisticsEnabled(boolean statisticsEnabled) {
+        this.statisticsEnabled = statisticsEnabled;
+    }
+
+    /**
+     * Statistics of the time taken by the sub exchanges sent to each of the processors, in the same order as the
+     * processors, when statistics is enabled.
+     */
+    public List<BranchStatistics> getBranchStatistics() {
+        return List.of(branchStatistics);
+    }
+
+    /**
+     * Reset the statistics
+     */
+    public void reset() {
+        maxBufferedResults.set(bufferedResults.get());
+        for (BranchStatistics stats : branchStatistics) {
+            stats.reset();
+        }
+    }
+
     public ExecutorService getAggregateExecutorService() {
         return aggregateExecutorService;
     }
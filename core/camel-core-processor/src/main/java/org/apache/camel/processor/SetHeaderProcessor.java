@@ -21,6 +21,7 @@ import org.apache.camel.Exchange;
 import org.apache.camel.Expression;
 import org.apache.camel.Message;
 import org.apache.camel.Traceable;
+import org.apache.camel.TypeConverter;
 import org.apache.camel.spi.IdAware;
 import org.apache.camel.spi.RouteIdAware;
 import org.apache.camel.support.AsyncProcessorSupport;
@@ -34,6 +35,7 @@ public class SetHeaderProcessor extends AsyncProcessorSupport implements Traceab
     private String routeId;
     private final Expression headerName;
     private final Expression expression;
+    private volatile TypeConverter converter;
 
     public SetHeaderProcessor(Expression headerName, Expression expression) {
         this.headerName = headerName;
@@ -55,7 +57,7 @@ public class SetHeaderProcessor extends AsyncProcessorSupport implements Traceab
 
             Message old = exchange.getMessage();
 
-            String key = headerName.evaluate(exchange, String.class);
+            String key = evaluateHeaderName(exchange);
             old.setHeader(key, newHeader);
 
         } catch (Throwable e) {
@@ -66,6 +68,20 @@ public class SetHeaderProcessor extends AsyncProcessorSupport implements Traceab
         return true;
     }
 
+    private String evaluateHeaderName(Exchange exchange) {
+        Object name = headerName.evaluate(exchange, Object.class);
+        if (name instanceof String) {
+            return (String) name;
+        }
+        // dynamic header names is often of the same type, so use a call site type converter
+        TypeConverter tc = converter;
+        if (tc == null) {
+            tc = exchange.getContext().getTypeConverterRegistry().createCallSiteTypeConverter();
+            converter = tc;
+        }
+        return tc.convertTo(String.class, exchange, name);
+    }
+
     @Override
     public String toString() {
         return id;
@@ -319,6 +319,12 @@ public class Splitter extends MulticastProcessor implements AsyncProcessor, Trac
         }
     }
 
+    @Override
+    protected int getBranchIndex(ProcessorExchangePair pair) {
+        // all the split messages are sent to the same processor
+        return 0;
+    }
+
     @Override
     protected Integer getExchangeIndex(Exchange exchange) {
         return exchange.getProperty(ExchangePropertyKey.SPLIT_INDEX, Integer.class);
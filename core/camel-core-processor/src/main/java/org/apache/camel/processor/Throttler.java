@@ -18,23 +18,24 @@ package org.apache.camel.processor;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.DelayQueue;
-import java.util.concurrent.Delayed;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
 import org.apache.camel.Exchange;
 import org.apache.camel.Expression;
 import org.apache.camel.RuntimeExchangeException;
 import org.apache.camel.Traceable;
 import org.apache.camel.spi.IdAware;
 import org.apache.camel.spi.RouteIdAware;
+import org.apache.camel.spi.ThrottleStateRepository;
 import org.apache.camel.support.AsyncProcessorSupport;
+import org.apache.camel.support.processor.throttle.MemoryThrottleStateRepository;
+import org.apache.camel.support.service.ServiceHelper;
 import org.apache.camel.util.ObjectHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -50,11 +51,13 @@ import org.slf4j.LoggerFactory;
  * This throttle implementation is thread-safe and is therefore safe to be used by multiple concurrent threads in a
  * single route.
  *
- * The throttling mechanism is a DelayQueue with maxRequestsPerPeriod permits on it. Each permit is set to be delayed by
- * timePeriodMillis (except when the throttler is initialized or the throttle rate increased, then there is no delay for
- * those permits). Callers trying to acquire a permit from the DelayQueue will block if necessary. The end result is a
- * rolling window of time. Where from the callers point of view in the last timePeriodMillis no more than
- * maxRequestsPerPeriod have been allowed to be acquired.
+ * The permits are kept in a {@link ThrottleStateRepository}, which by default is a
+ * {@link MemoryThrottleStateRepository} where each permit can be acquired again when timePeriodMillis has elapsed since
+ * it was last acquired. Callers which cannot acquire a permit will block (or are delayed asynchronously) for the delay
+ * returned by the repository. With the memory based repository, the blocked callers wait in line, in the order they
+ * arrived, for the next permit. The end result is a rolling window of time. Where from the callers point of view in the
+ * last timePeriodMillis no more than maxRequestsPerPeriod have been allowed to be acquired. A repository backed by a
+ * store shared across several Camel applications can be configured to apply the throttle rate cluster wide.
  */
 public class Throttler extends AsyncProcessorSupport implements Traceable, IdAware, RouteIdAware {
 
@@ -84,6 +87,8 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
     private boolean asyncDelayed;
     private boolean callerRunsWhenRejected = true;
     private Expression correlationExpression;
+    private ThrottleStateRepository stateRepository;
+    private boolean localStateRepository;
     private Map<String, ThrottlingState> states = new ConcurrentHashMap<>();
 
     public Throttler(final CamelContext camelContext, final Expression maxRequestsPerPeriodExpression,
@@ -129,9 +134,9 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
             ThrottlingState throttlingState = states.computeIfAbsent(key, ThrottlingState::new);
             throttlingState.calculateAndSetMaxRequestsPerPeriod(exchange);
 
-            ThrottlePermit permit = throttlingState.poll();
+            long delay = throttlingState.tryAcquire();
 
-            if (permit == null) {
+            if (delay > 0) {
                 if (isRejectExecution()) {
                     throw new ThrottlerRejectedExecutionException(
                             "Exceeded the max throttle rate of "
@@ -145,7 +150,7 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
                                     "Throttle rate exceeded but AsyncDelayed enabled, so queueing for async processing, exchangeId: {}",
                                     exchange.getExchangeId());
                         }
-                        return processAsynchronously(exchange, callback, throttlingState);
+                        return processAsynchronously(exchange, callback, delay);
                     }
 
                     // block waiting for a permit
@@ -154,11 +159,10 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
                     if (LOG.isTraceEnabled()) {
                         start = System.currentTimeMillis();
                     }
-                    permit = throttlingState.take();
+                    throttlingState.acquire(delay);
                     if (LOG.isTraceEnabled()) {
                         elapsed = System.currentTimeMillis() - start;
                     }
-                    throttlingState.enqueue(permit, exchange);
 
                     if (state == State.ASYNC) {
                         if (LOG.isTraceEnabled()) {
@@ -175,8 +179,6 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
                     }
                 }
             } else {
-                throttlingState.enqueue(permit, exchange);
-
                 if (state == State.ASYNC) {
                     if (LOG.isTraceEnabled()) {
                         long queuedTime = System.currentTimeMillis() - queuedStart;
@@ -214,18 +216,16 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
     }
 
     /**
-     * Delegate blocking on the DelayQueue to an asyncExecutor. Except if the executor rejects the submission and
+     * Delegate waiting for a permit to an asyncExecutor. Except if the executor rejects the submission and
      * isCallerRunsWhenRejected() is enabled, then this method will delegate back to process(), but not before changing
      * the exchange state to stop any recursion.
      */
-    protected boolean processAsynchronously(
-            final Exchange exchange, final AsyncCallback callback, ThrottlingState throttlingState) {
+    protected boolean processAsynchronously(final Exchange exchange, final AsyncCallback callback, long delay) {
         try {
             if (LOG.isTraceEnabled()) {
                 exchange.setProperty(PROPERTY_EXCHANGE_QUEUED_TIMESTAMP, System.currentTimeMillis());
             }
             exchange.setProperty(PROPERTY_EXCHANGE_STATE, State.ASYNC);
-            long delay = throttlingState.peek().getDelay(TimeUnit.NANOSECONDS);
             asyncExecutor.schedule(() -> process(exchange, callback), delay, TimeUnit.NANOSECONDS);
             return false;
         } catch (final RejectedExecutionException e) {
@@ -246,10 +246,17 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
         if (isAsyncDelayed()) {
             ObjectHelper.notNull(asyncExecutor, "executorService", this);
         }
+        if (stateRepository == null) {
+            stateRepository = new MemoryThrottleStateRepository();
+        }
+        localStateRepository = stateRepository instanceof MemoryThrottleStateRepository;
+        CamelContextAware.trySetCamelContext(stateRepository, camelContext);
+        ServiceHelper.startService(stateRepository);
     }
 
     @Override
     protected void doStop() throws Exception {
+        ServiceHelper.stopService(stateRepository);
     }
 
     @Override
@@ -263,59 +270,79 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
 
     private class ThrottlingState {
         private final String key;
-        private final DelayQueue<ThrottlePermit> delayQueue = new DelayQueue<>();
-        private final AtomicReference<ScheduledFuture<?>> cleanFuture = new AtomicReference<>();
+        // the callers blocked waiting for a permit, in the order they arrived
+        private final ReentrantLock waitQueue = new ReentrantLock(true);
         private volatile int throttleRate;
+        private volatile long lastUsed;
 
         ThrottlingState(String key) {
             this.key = key;
+            this.lastUsed = System.currentTimeMillis();
+            scheduleClean(cleanPeriodMillis);
         }
 
         public int getThrottleRate() {
             return throttleRate;
         }
 
-        public ThrottlePermit poll() {
-            return delayQueue.poll();
+        /**
+         * Attempts to acquire a permit, returning 0 if acquired or otherwise the delay in nanos before trying again.
+         */
+        public long tryAcquire() {
+            lastUsed = System.currentTimeMillis();
+            return stateRepository.tryAcquire(key, throttleRate, timePeriodMillis);
         }
 
-        public ThrottlePermit peek() {
-            return delayQueue.peek();
+        /**
+         * Blocks until a permit is acquired, starting with the given delay.
+         */
+        public void acquire(long delay) throws InterruptedException {
+            if (!localStateRepository) {
+                // the permits are handed out by a remote store, which can only be polled
+                waitForPermit(delay);
+                return;
+            }
+            // only the first caller in line waits for the next permit, so the permits are handed out fairly
+            waitQueue.lockInterruptibly();
+            try {
+                waitForPermit(tryAcquire());
+            } finally {
+                waitQueue.unlock();
+            }
         }
 
-        public ThrottlePermit take() throws InterruptedException {
-            return delayQueue.take();
+        private void waitForPermit(long delay) throws InterruptedException {
+            while (delay > 0) {
+                TimeUnit.NANOSECONDS.sleep(delay);
+                delay = tryAcquire();
+            }
         }
 
+        /**
+         * Removes the state once it has not been used within the clean period, which is checked only once per period
+         * instead of rescheduling for every message.
+         */
         public void clean() {
-            states.remove(key);
+            long idle = System.currentTimeMillis() - lastUsed;
+            if (idle >= cleanPeriodMillis) {
+                states.remove(key, this);
+            } else {
+                scheduleClean(cleanPeriodMillis - idle);
+            }
         }
 
-        /**
-         * Returns a permit to the DelayQueue, first resetting it's delay to be relative to now.
-         */
-        public void enqueue(final ThrottlePermit permit, final Exchange exchange) {
-            permit.setDelayMs(getTimePeriodMillis());
-            delayQueue.put(permit);
+        private void scheduleClean(long delay) {
             try {
-                ScheduledFuture<?> next = asyncExecutor.schedule(this::clean, cleanPeriodMillis, TimeUnit.MILLISECONDS);
-                ScheduledFuture<?> prev = cleanFuture.getAndSet(next);
-                if (prev != null) {
-                    prev.cancel(false);
-                }
-                // try and incur the least amount of overhead while releasing permits back to the queue
-                if (LOG.isTraceEnabled()) {
-                    LOG.trace("Permit released, for exchangeId: {}", exchange.getExchangeId());
-                }
+                asyncExecutor.schedule(this::clean, delay, TimeUnit.MILLISECONDS);
             } catch (RejectedExecutionException e) {
-                LOG.debug("Throttling queue cleaning rejected", e);
+                LOG.debug("Throttling state cleaning rejected", e);
             }
         }
 
         /**
          * Evaluates the maxRequestsPerPeriodExpression and adjusts the throttle rate up or down.
          */
-        public synchronized void calculateAndSetMaxRequestsPerPeriod(final Exchange exchange) throws Exception {
+        public void calculateAndSetMaxRequestsPerPeriod(final Exchange exchange) throws Exception {
             Integer newThrottle = maxRequestsPerPeriodExpression.evaluate(exchange, Integer.class);
 
             if (newThrottle != null && newThrottle < 0) {
@@ -328,75 +355,28 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
                         exchange);
             }
 
-            if (newThrottle != null) {
-                if (newThrottle != throttleRate) {
-                    // decrease
-                    if (throttleRate > newThrottle) {
-                        int delta = throttleRate - newThrottle;
-
-                        // discard any permits that are needed to decrease throttling
-                        while (delta > 0) {
-                            delayQueue.take();
-                            delta--;
-                            if (LOG.isTraceEnabled()) {
-                                LOG.trace("Permit discarded due to throttling rate decrease, triggered by ExchangeId: {}",
-                                        exchange.getExchangeId());
-                            }
-                        }
-                        if (LOG.isDebugEnabled()) {
-                            LOG.debug("Throttle rate decreased from {} to {}, triggered by ExchangeId: {}", throttleRate,
-                                    newThrottle, exchange.getExchangeId());
-                        }
-
-                        // increase
-                    } else if (newThrottle > throttleRate) {
-                        int delta = newThrottle - throttleRate;
-                        for (int i = 0; i < delta; i++) {
-                            delayQueue.put(new ThrottlePermit(-1));
-                        }
-                        if (throttleRate == 0) {
-                            if (LOG.isDebugEnabled()) {
-                                LOG.debug("Initial throttle rate set to {}, triggered by ExchangeId: {}", newThrottle,
-                                        exchange.getExchangeId());
-                            }
-                        } else {
-                            if (LOG.isDebugEnabled()) {
-                                LOG.debug("Throttle rate increase from {} to {}, triggered by ExchangeId: {}", throttleRate,
-                                        newThrottle, exchange.getExchangeId());
-                            }
-                        }
+            if (newThrottle != null && newThrottle != throttleRate) {
+                if (throttleRate == 0) {
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug("Initial throttle rate set to {}, triggered by ExchangeId: {}", newThrottle,
+                                exchange.getExchangeId());
+                    }
+                } else if (throttleRate > newThrottle) {
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug("Throttle rate decreased from {} to {}, triggered by ExchangeId: {}", throttleRate,
+                                newThrottle, exchange.getExchangeId());
+                    }
+                } else {
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug("Throttle rate increase from {} to {}, triggered by ExchangeId: {}", throttleRate,
+                                newThrottle, exchange.getExchangeId());
                     }
-                    throttleRate = newThrottle;
                 }
+                throttleRate = newThrottle;
             }
         }
     }
 
-    /**
-     * Permit that implements the Delayed interface needed by DelayQueue.
-     */
-    private static class ThrottlePermit implements Delayed {
-        private volatile long scheduledTime;
-
-        ThrottlePermit(final long delayMs) {
-            setDelayMs(delayMs);
-        }
-
-        public void setDelayMs(final long delayMs) {
-            this.scheduledTime = System.currentTimeMillis() + delayMs;
-        }
-
-        @Override
-        public long getDelay(final TimeUnit unit) {
-            return unit.convert(scheduledTime - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
-        }
-
-        @Override
-        public int compareTo(final Delayed o) {
-            return Long.compare(getDelay(TimeUnit.MILLISECONDS), o.getDelay(TimeUnit.MILLISECONDS));
-        }
-    }
-
     public boolean isRejectExecution() {
         return rejectExecution;
     }
@@ -405,6 +385,17 @@ public class Throttler extends AsyncProcessorSupport implements Traceable, IdAwa
         this.rejectExecution = rejectExecution;
     }
 
+    public ThrottleStateRepository getStateRepository() {
+        return stateRepository;
+    }
+
+    /**
+     * Sets the repository which keeps track of the permits, which by default is a memory based repository.
+     */
+    public void setStateRepository(ThrottleStateRepository stateRepository) {
+        this.stateRepository = stateRepository;
+    }
+
     public boolean isAsyncDelayed() {
         return asyncDelayed;
     }
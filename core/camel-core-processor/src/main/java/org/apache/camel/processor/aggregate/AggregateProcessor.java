@@ -99,6 +99,7 @@ public class AggregateProcessor extends AsyncProcessorSupport
 
     private static final Logger LOG = LoggerFactory.getLogger(AggregateProcessor.class);
     private volatile Lock lock;
+    private volatile Lock[] stripedLocks;
     private final AtomicBoolean aggregateRepositoryWarned = new AtomicBoolean();
     private final CamelContext camelContext;
     private final ReactiveExecutor reactiveExecutor;
@@ -229,6 +230,7 @@ public class AggregateProcessor extends AsyncProcessorSupport
     private Integer closeCorrelationKeyOnCompletion;
     private boolean parallelProcessing;
     private boolean optimisticLocking;
+    private int lockStripes;
 
     // different ways to have completion triggered
     private boolean eagerCheckCompletion;
@@ -402,13 +404,16 @@ public class AggregateProcessor extends AsyncProcessorSupport
         removeFlagCompleteAllGroupsInclusive(copy);
 
         List<Exchange> aggregated = null;
-        lock.lock();
+        // when using lock striping then forcing completion of all groups must be deferred until we have released the lock
+        AtomicBoolean completeAllGroups = stripedLocks != null ? new AtomicBoolean() : null;
+        Lock groupLock = getGroupLock(key);
+        groupLock.lock();
         try {
-            aggregated = doAggregation(key, copy);
+            aggregated = doAggregation(key, copy, completeAllGroups);
         } catch (CamelExchangeException e) {
             exchange.setException(e);
         } finally {
-            lock.unlock();
+            groupLock.unlock();
         }
 
         // we are completed so do that work outside the lock
@@ -417,6 +422,10 @@ public class AggregateProcessor extends AsyncProcessorSupport
             aggregated.forEach(agg -> onSubmitCompletion(key, agg));
         }
 
+        if (completeAllGroups != null && completeAllGroups.get()) {
+            forceCompletionOfAllGroups();
+        }
+
         // check for the special header to force completion of all groups (inclusive of the message)
         if (isCompleteAllGroupsInclusive(exchange)) {
             removeFlagCompleteAllGroupsInclusive(exchange);
@@ -464,17 +473,24 @@ public class AggregateProcessor extends AsyncProcessorSupport
      * <p/>
      * This method <b>must</b> be run synchronized as we cannot aggregate the same correlation key in parallel.
      * <p/>
+     * When using lock striping, then only the lock for the given correlation key is held, and therefore any request to
+     * force completion of all groups is signalled back using <tt>completeAllGroups</tt> so the caller can do this after
+     * the lock has been released.
+     * <p/>
      * The returned {@link Exchange} should be send downstream using the
      * {@link #onSubmitCompletion(String, org.apache.camel.Exchange)} method which sends out the aggregated and
      * completed {@link Exchange}.
      *
      * @param  key                                     the correlation key
      * @param  newExchange                             the exchange
+     * @param  completeAllGroups                       flag to signal completion of all groups when using lock striping,
+     *                                                 or <tt>null</tt> to force completion of all groups directly
      * @return                                         the aggregated exchange(s) which is complete, or <tt>null</tt> if
      *                                                 not yet complete
      * @throws org.apache.camel.CamelExchangeException is thrown if error aggregating
      */
-    private List<Exchange> doAggregation(String key, Exchange newExchange) throws CamelExchangeException {
+    private List<Exchange> doAggregation(String key, Exchange newExchange, AtomicBoolean completeAllGroups)
+            throws CamelExchangeException {
         LOG.trace("onAggregation +++ start +++ with correlation key: {}", key);
 
         List<Exchange> list = new ArrayList<>();
@@ -574,7 +590,11 @@ public class AggregateProcessor extends AsyncProcessorSupport
         // check for the special exchange property to force completion of all groups
         if (isCompleteAllGroups(answer)) {
             removeFlagCompleteAllGroups(answer);
-            forceCompletionOfAllGroups();
+            if (completeAllGroups != null) {
+                completeAllGroups.set(true);
+            } else {
+                forceCompletionOfAllGroups();
+            }
         } else if (isCompletionOnNewCorrelationGroup() && originalExchange == null) {
             // its a new group so force complete of all existing groups
             forceCompletionOfAllGroups();
@@ -1096,6 +1116,19 @@ public class AggregateProcessor extends AsyncProcessorSupport
         this.optimisticLocking = optimisticLocking;
     }
 
+    public int getLockStripes() {
+        return lockStripes;
+    }
+
+    /**
+     * Number of locks to stripe the correlation keys over, which allows exchanges with different correlation keys to be
+     * aggregated in parallel, while exchanges with the same correlation key are still aggregated one at a time. By
+     * default, a single lock is used which means all exchanges are aggregated one at a time.
+     */
+    public void setLockStripes(int lockStripes) {
+        this.lockStripes = lockStripes;
+    }
+
     public AggregationRepository getAggregationRepository() {
         return aggregationRepository;
     }
@@ -1255,7 +1288,8 @@ public class AggregateProcessor extends AsyncProcessorSupport
 
         private AggregationTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis) {
             // do NOT use locking on the timeout map as this aggregator has its own shared lock we will use instead
-            super(executor, requestMapPollTimeMillis, optimisticLocking);
+            // (however when using lock striping then there is no shared lock, and the timeout map must lock itself)
+            super(executor, requestMapPollTimeMillis, optimisticLocking || lockStripes > 1);
             addListener(this::onEviction);
         }
 
@@ -1287,20 +1321,26 @@ public class AggregateProcessor extends AsyncProcessorSupport
 
             // get the aggregated exchange
             boolean evictionStolen = false;
-            Exchange answer = aggregationRepository.get(camelContext, key);
-            if (answer == null) {
-                evictionStolen = true;
-            } else {
-                // indicate it was completed by timeout
-                answer.setProperty(ExchangePropertyKey.AGGREGATED_COMPLETED_BY, COMPLETED_BY_TIMEOUT);
-                try {
-                    answer = onCompletion(key, answer, answer, true, false);
-                    if (answer != null) {
-                        onSubmitCompletion(key, answer);
-                    }
-                } catch (OptimisticLockingAggregationRepository.OptimisticLockingException e) {
+            Lock groupLock = getGroupLock(key);
+            groupLock.lock();
+            try {
+                Exchange answer = aggregationRepository.get(camelContext, key);
+                if (answer == null) {
                     evictionStolen = true;
+                } else {
+                    // indicate it was completed by timeout
+                    answer.setProperty(ExchangePropertyKey.AGGREGATED_COMPLETED_BY, COMPLETED_BY_TIMEOUT);
+                    try {
+                        answer = onCompletion(key, answer, answer, true, false);
+                        if (answer != null) {
+                            onSubmitCompletion(key, answer);
+                        }
+                    } catch (OptimisticLockingAggregationRepository.OptimisticLockingException e) {
+                        evictionStolen = true;
+                    }
                 }
+            } finally {
+                groupLock.unlock();
             }
 
             if (optimisticLocking && evictionStolen) {
@@ -1336,21 +1376,27 @@ public class AggregateProcessor extends AsyncProcessorSupport
                 try {
                     for (String key : keys) {
                         boolean stolenInterval = false;
-                        Exchange exchange = aggregationRepository.get(camelContext, key);
-                        if (exchange == null) {
-                            stolenInterval = true;
-                        } else {
-                            LOG.trace("Completion interval triggered for correlation key: {}", key);
-                            // indicate it was completed by interval
-                            exchange.setProperty(ExchangePropertyKey.AGGREGATED_COMPLETED_BY, COMPLETED_BY_INTERVAL);
-                            try {
-                                Exchange answer = onCompletion(key, exchange, exchange, false, false);
-                                if (answer != null) {
-                                    onSubmitCompletion(key, answer);
-                                }
-                            } catch (OptimisticLockingAggregationRepository.OptimisticLockingException e) {
+                        Lock groupLock = getGroupLock(key);
+                        groupLock.lock();
+                        try {
+                            Exchange exchange = aggregationRepository.get(camelContext, key);
+                            if (exchange == null) {
                                 stolenInterval = true;
+                            } else {
+                                LOG.trace("Completion interval triggered for correlation key: {}", key);
+                                // indicate it was completed by interval
+                                exchange.setProperty(ExchangePropertyKey.AGGREGATED_COMPLETED_BY, COMPLETED_BY_INTERVAL);
+                                try {
+                                    Exchange answer = onCompletion(key, exchange, exchange, false, false);
+                                    if (answer != null) {
+                                        onSubmitCompletion(key, answer);
+                                    }
+                                } catch (OptimisticLockingAggregationRepository.OptimisticLockingException e) {
+                                    stolenInterval = true;
+                                }
                             }
+                        } finally {
+                            groupLock.unlock();
                         }
                         if (optimisticLocking && stolenInterval) {
                             LOG.debug(
@@ -1400,7 +1446,7 @@ public class AggregateProcessor extends AsyncProcessorSupport
                         LOG.info("We are shutting down so stop recovering");
                         return;
                     }
-                    lock.lock();
+                    lockAllGroups();
                     try {
                         // consider in progress if it was in progress before we did the scan, or currently after we did the scan
                         // its safer to consider it in progress than risk duplicates due both in progress + recovered
@@ -1476,7 +1522,7 @@ public class AggregateProcessor extends AsyncProcessorSupport
                             }
                         }
                     } finally {
-                        lock.unlock();
+                        unlockAllGroups();
                     }
                 }
             } finally {
@@ -1542,6 +1588,17 @@ public class AggregateProcessor extends AsyncProcessorSupport
             LOG.info("Optimistic locking is enabled");
         }
 
+        if (lockStripes > 1) {
+            if (optimisticLocking) {
+                throw new IllegalArgumentException("Only one of optimisticLocking or lockStripes can be used, not both.");
+            }
+            if (isCompletionFromBatchConsumer() || isCompletionOnNewCorrelationGroup()) {
+                throw new IllegalArgumentException(
+                        "Lock striping cannot be used together with completionFromBatchConsumer or completionOnNewCorrelationGroup"
+                                                   + " as these completions span across correlation groups");
+            }
+        }
+
         ServiceHelper.startService(aggregationStrategy, processor, aggregationRepository);
 
         // should we use recover checker
@@ -1625,11 +1682,61 @@ public class AggregateProcessor extends AsyncProcessorSupport
                         .newSingleThreadScheduledExecutor(this, AGGREGATE_OPTIMISTIC_LOCKING_EXECUTOR));
                 shutdownOptimisticLockingExecutorService = true;
             }
+        } else if (lockStripes > 1) {
+            // each stripe is guarding its own subset of the correlation groups, so there is no shared lock
+            Lock[] locks = new Lock[lockStripes];
+            for (int i = 0; i < lockStripes; i++) {
+                locks[i] = new ReentrantLock();
+            }
+            stripedLocks = locks;
+            lock = NoLock.INSTANCE;
+            LOG.info("Using lock striping with {} locks", lockStripes);
         } else {
             lock = new ReentrantLock();
         }
     }
 
+    /**
+     * Gets the lock to use for aggregating the given correlation group
+     */
+    private Lock getGroupLock(String key) {
+        Lock[] locks = stripedLocks;
+        if (locks != null) {
+            // spread the hash code so keys with similar hash codes are more likely to use different locks
+            int h = key.hashCode();
+            h ^= h >>> 16;
+            return locks[(h & 0x7fffffff) % locks.length];
+        }
+        return lock;
+    }
+
+    /**
+     * Acquires the lock(s) guarding all the correlation groups
+     */
+    private void lockAllGroups() {
+        lock.lock();
+        Lock[] locks = stripedLocks;
+        if (locks != null) {
+            // always lock in the same order
+            for (Lock l : locks) {
+                l.lock();
+            }
+        }
+    }
+
+    /**
+     * Releases the lock(s) guarding all the correlation groups
+     */
+    private void unlockAllGroups() {
+        Lock[] locks = stripedLocks;
+        if (locks != null) {
+            for (int i = locks.length - 1; i >= 0; i--) {
+                locks[i].unlock();
+            }
+        }
+        lock.unlock();
+    }
+
     @Override
     protected void doStop() throws Exception {
         // note: we cannot do doForceCompletionOnStop from this doStop method
@@ -1737,7 +1844,8 @@ public class AggregateProcessor extends AsyncProcessorSupport
         // must acquire the shared aggregation lock to be able to trigger force completion
         int total = 0;
 
-        lock.lock();
+        Lock groupLock = getGroupLock(key);
+        groupLock.lock();
         try {
             Exchange exchange = aggregationRepository.get(camelContext, key);
             if (exchange != null) {
@@ -1751,7 +1859,7 @@ public class AggregateProcessor extends AsyncProcessorSupport
                 }
             }
         } finally {
-            lock.unlock();
+            groupLock.unlock();
         }
         LOG.trace("Completed force completion of group {}", key);
 
@@ -1783,15 +1891,21 @@ public class AggregateProcessor extends AsyncProcessorSupport
             total = keys.size();
             try {
                 for (String key : keys) {
-                    Exchange exchange = aggregationRepository.get(camelContext, key);
-                    if (exchange != null) {
-                        LOG.trace("Force completion triggered for correlation key: {}", key);
-                        // indicate it was completed by a force completion request
-                        exchange.setProperty(ExchangePropertyKey.AGGREGATED_COMPLETED_BY, COMPLETED_BY_FORCE);
-                        Exchange answer = onCompletion(key, exchange, exchange, false, false);
-                        if (answer != null) {
-                            onSubmitCompletion(key, answer);
+                    Lock groupLock = getGroupLock(key);
+                    groupLock.lock();
+                    try {
+                        Exchange exchange = aggregationRepository.get(camelContext, key);
+                        if (exchange != null) {
+                            LOG.trace("Force completion triggered for correlation key: {}", key);
+                            // indicate it was completed by a force completion request
+                            exchange.setProperty(ExchangePropertyKey.AGGREGATED_COMPLETED_BY, COMPLETED_BY_FORCE);
+                            Exchange answer = onCompletion(key, exchange, exchange, false, false);
+                            if (answer != null) {
+                                onSubmitCompletion(key, answer);
+                            }
                         }
+                    } finally {
+                        groupLock.unlock();
                     }
                 }
             } finally {
@@ -1810,7 +1924,8 @@ public class AggregateProcessor extends AsyncProcessorSupport
         // must acquire the shared aggregation lock to be able to trigger force completion
         int total = 0;
 
-        lock.lock();
+        Lock groupLock = getGroupLock(key);
+        groupLock.lock();
         try {
             Exchange exchange = aggregationRepository.get(camelContext, key);
             if (exchange != null) {
@@ -1820,7 +1935,7 @@ public class AggregateProcessor extends AsyncProcessorSupport
                 onCompletion(key, exchange, exchange, false, true);
             }
         } finally {
-            lock.unlock();
+            groupLock.unlock();
         }
         LOG.trace("Completed force discarded of group {}", key);
 
@@ -1852,11 +1967,17 @@ public class AggregateProcessor extends AsyncProcessorSupport
             total = keys.size();
             try {
                 for (String key : keys) {
-                    Exchange exchange = aggregationRepository.get(camelContext, key);
-                    if (exchange != null) {
-                        LOG.trace("Force discarded triggered for correlation key: {}", key);
-                        // force discarding by setting aggregate failed as true
-                        onCompletion(key, exchange, exchange, false, true);
+                    Lock groupLock = getGroupLock(key);
+                    groupLock.lock();
+                    try {
+                        Exchange exchange = aggregationRepository.get(camelContext, key);
+                        if (exchange != null) {
+                            LOG.trace("Force discarded triggered for correlation key: {}", key);
+                            // force discarding by setting aggregate failed as true
+                            onCompletion(key, exchange, exchange, false, true);
+                        }
+                    } finally {
+                        groupLock.unlock();
                     }
                 }
             } finally {
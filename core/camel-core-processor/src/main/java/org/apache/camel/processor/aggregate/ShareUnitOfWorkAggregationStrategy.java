@@ -66,6 +66,11 @@ public final class ShareUnitOfWorkAggregationStrategy extends ServiceSupport imp
         return strategy.preComplete(oldExchange, newExchange);
     }
 
+    @Override
+    public boolean isOrderSensitive() {
+        return strategy.isOrderSensitive();
+    }
+
     @Override
     public void onCompletion(Exchange exchange) {
         strategy.onCompletion(exchange);
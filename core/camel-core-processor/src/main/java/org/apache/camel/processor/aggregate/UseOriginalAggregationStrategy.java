@@ -66,6 +66,12 @@ public class UseOriginalAggregationStrategy implements AggregationStrategy {
         return original != null ? original : oldExchange;
     }
 
+    @Override
+    public boolean isOrderSensitive() {
+        // the original exchange is the result regardless of the order
+        return false;
+    }
+
     protected Exception checkException(Exchange oldExchange, Exchange newExchange) {
         if (oldExchange == null) {
             return newExchange.getException();
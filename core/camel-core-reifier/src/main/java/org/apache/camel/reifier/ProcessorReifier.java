@@ -645,6 +645,10 @@ public abstract class ProcessorReifier<T extends ProcessorDefinition<?>> extends
 
         // force the creation of an id
         RouteDefinitionHelper.forceAssignIds(camelContext, definition);
+        if (child != null && CamelContextHelper.getLatencyHistogramRegistry(camelContext) != null) {
+            // the latency histogram of the child is keyed by its id
+            RouteDefinitionHelper.forceAssignIds(camelContext, child);
+        }
 
         // fix parent/child relationship. This will be the case of the routes
         // has been
@@ -45,10 +45,12 @@ import org.apache.camel.reifier.rest.RestBindingReifier;
 import org.apache.camel.spi.Contract;
 import org.apache.camel.spi.ErrorHandlerAware;
 import org.apache.camel.spi.InternalProcessor;
+import org.apache.camel.spi.LatencyHistogramRegistry;
 import org.apache.camel.spi.LifecycleStrategy;
 import org.apache.camel.spi.ManagementInterceptStrategy;
 import org.apache.camel.spi.RoutePolicy;
 import org.apache.camel.spi.RoutePolicyFactory;
+import org.apache.camel.support.CamelContextHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -280,6 +282,12 @@ public class RouteReifier extends ProcessorReifier<RouteDefinition> {
         // wrap in route inflight processor to track number of inflight exchanges for the route
         internal.addRouteInflightRepositoryAdvice(camelContext.getInflightRepository(), route.getRouteId());
 
+        // wrap in latency histogram processor if latency histograms are enabled
+        LatencyHistogramRegistry latencyHistograms = CamelContextHelper.getLatencyHistogramRegistry(camelContext);
+        if (latencyHistograms != null) {
+            internal.addRouteLatencyHistogramAdvice(latencyHistograms.getOrCreateRouteHistogram(route.getRouteId()));
+        }
+
         // wrap in JMX instrumentation processor that is used for performance stats
         ManagementInterceptStrategy managementInterceptStrategy = route.getManagementInterceptStrategy();
         if (managementInterceptStrategy != null) {
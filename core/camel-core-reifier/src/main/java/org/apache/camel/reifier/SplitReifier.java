@@ -55,6 +55,11 @@ public class SplitReifier extends ExpressionReifier<SplitDefinition> {
         if (timeout > 0 && !isParallelProcessing) {
             throw new IllegalArgumentException("Timeout is used but ParallelProcessing has not been enabled.");
         }
+        int maxInflightExchanges = parseInt(definition.getMaxInflightExchanges(), 0);
+        if (maxInflightExchanges > 0 && !isParallelProcessing) {
+            throw new IllegalArgumentException(
+                    "MaxInflightExchanges is used but ParallelProcessing has not been enabled.");
+        }
         Processor prepare = definition.getOnPrepareProcessor();
         if (prepare == null && definition.getOnPrepare() != null) {
             prepare = mandatoryLookup(definition.getOnPrepare(), Processor.class);
@@ -75,6 +80,7 @@ public class SplitReifier extends ExpressionReifier<SplitDefinition> {
                     threadPool, shutdownThreadPool, isStreaming, isStopOnException, timeout, prepare,
                     isShareUnitOfWork, isParallelAggregate);
         }
+        answer.setMaxInflightExchanges(maxInflightExchanges);
 
         return answer;
     }
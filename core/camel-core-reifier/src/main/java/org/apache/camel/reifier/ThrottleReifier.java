@@ -24,6 +24,7 @@ import org.apache.camel.Route;
 import org.apache.camel.model.ProcessorDefinition;
 import org.apache.camel.model.ThrottleDefinition;
 import org.apache.camel.processor.Throttler;
+import org.apache.camel.spi.ThrottleStateRepository;
 
 public class ThrottleReifier extends ExpressionReifier<ThrottleDefinition> {
 
@@ -59,6 +60,12 @@ public class ThrottleReifier extends ExpressionReifier<ThrottleDefinition> {
         // should be true by default
         answer.setCallerRunsWhenRejected(parseBoolean(definition.getCallerRunsWhenRejected(), true));
 
+        ThrottleStateRepository repository = definition.getStateRepositoryBean();
+        if (repository == null && definition.getStateRepository() != null) {
+            repository = mandatoryLookup(parseString(definition.getStateRepository()), ThrottleStateRepository.class);
+        }
+        answer.setStateRepository(repository);
+
         return answer;
     }
 
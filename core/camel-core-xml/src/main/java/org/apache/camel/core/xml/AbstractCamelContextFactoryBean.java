@@ -777,6 +777,14 @@ public abstract class AbstractCamelContextFactoryBean<T extends ModelCamelContex
         if (spoolCipher != null) {
             getContext().getStreamCachingStrategy().setSpoolCipher(spoolCipher);
         }
+        Boolean offHeap = CamelContextHelper.parseBoolean(getContext(), streamCaching.getSpoolOffHeapEnabled());
+        if (offHeap != null) {
+            getContext().getStreamCachingStrategy().setSpoolOffHeapEnabled(offHeap);
+        }
+        Long arenaSize = CamelContextHelper.parseLong(getContext(), streamCaching.getSpoolOffHeapArenaSize());
+        if (arenaSize != null) {
+            getContext().getStreamCachingStrategy().setSpoolOffHeapArenaSize(arenaSize);
+        }
         Boolean remove = CamelContextHelper.parseBoolean(getContext(), streamCaching.getRemoveSpoolDirectoryWhenStopping());
         if (remove != null) {
             getContext().getStreamCachingStrategy().setRemoveSpoolDirectoryWhenStopping(remove);
@@ -1353,6 +1361,7 @@ public abstract class AbstractCamelContextFactoryBean<T extends ModelCamelContex
         answer.setRejectedPolicy(
                 CamelContextHelper.parse(context, ThreadPoolRejectedPolicy.class, definition.getRejectedPolicy()));
         answer.setTimeUnit(CamelContextHelper.parse(context, TimeUnit.class, definition.getTimeUnit()));
+        answer.setVirtualThreads(CamelContextHelper.parseBoolean(context, definition.getVirtualThreads()));
         return answer;
     }
 
@@ -45,6 +45,12 @@ public class CamelStreamCachingStrategyDefinition extends IdentifiedType {
     @XmlAttribute
     private String spoolCipher;
     @XmlAttribute
+    @Metadata(defaultValue = "false", javaType = "java.lang.Boolean")
+    private String spoolOffHeapEnabled;
+    @XmlAttribute
+    @Metadata(defaultValue = "67108864", javaType = "java.lang.Long")
+    private String spoolOffHeapArenaSize;
+    @XmlAttribute
     @Metadata(defaultValue = "" + StreamCache.DEFAULT_SPOOL_THRESHOLD)
     private String spoolThreshold;
     @XmlAttribute
@@ -131,6 +137,33 @@ public class CamelStreamCachingStrategyDefinition extends IdentifiedType {
         this.spoolCipher = spoolCipher;
     }
 
+    public String getSpoolOffHeapEnabled() {
+        return spoolOffHeapEnabled;
+    }
+
+    /**
+     * To enable spooling to off-heap memory, which keeps large streams in pooled direct (off-heap) buffers instead of
+     * temporary files. When the off-heap arena is exhausted then the streams are spooled to disk.
+     * <p/>
+     * Spooling must be enabled for this to take effect. Default is false.
+     */
+    public void setSpoolOffHeapEnabled(String spoolOffHeapEnabled) {
+        this.spoolOffHeapEnabled = spoolOffHeapEnabled;
+    }
+
+    public String getSpoolOffHeapArenaSize() {
+        return spoolOffHeapArenaSize;
+    }
+
+    /**
+     * Maximum number of bytes of off-heap memory to use for spooling to off-heap memory.
+     * <p/>
+     * The default size is 64mb.
+     */
+    public void setSpoolOffHeapArenaSize(String spoolOffHeapArenaSize) {
+        this.spoolOffHeapArenaSize = spoolOffHeapArenaSize;
+    }
+
     public String getSpoolThreshold() {
         return spoolThreshold;
     }
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit test for scanning the sub directories in parallel
+ */
+public class FileConsumerParallelScanTest extends ContextTestSupport {
+
+    @Test
+    public void testParallelScan() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(40);
+
+        for (int i = 0; i < 10; i++) {
+            for (int j = 0; j < 4; j++) {
+                template.sendBodyAndHeader(fileUri("parallel/dir" + i + "/sub" + (j % 2)), "Hello " + i + "-" + j,
+                        Exchange.FILE_NAME, "hello" + j + ".txt");
+            }
+        }
+
+        context.getRouteController().startRoute("foo");
+
+        assertMockEndpointsSatisfied();
+
+        // all the files are gathered in a single poll and sorted
+        assertEquals(40, mock.getReceivedExchanges().get(0).getProperty(Exchange.BATCH_SIZE));
+        assertEquals("dir0/sub0/hello0.txt", mock.getReceivedExchanges().get(0).getIn().getHeader(Exchange.FILE_NAME));
+        assertEquals("dir9/sub1/hello3.txt", mock.getReceivedExchanges().get(39).getIn().getHeader(Exchange.FILE_NAME));
+    }
+
+    @Test
+    public void testParallelScanMaxMessagesPerPoll() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(20);
+        mock.allMessages().exchangeProperty(Exchange.BATCH_SIZE).isLessThanOrEqualTo(5);
+
+        for (int i = 0; i < 10; i++) {
+            for (int j = 0; j < 2; j++) {
+                template.sendBodyAndHeader(fileUri("limit/dir" + i), "Hello " + i + "-" + j, Exchange.FILE_NAME,
+                        "hello" + j + ".txt");
+            }
+        }
+
+        context.getRouteController().startRoute("limit");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            public void configure() throws Exception {
+                from(fileUri("parallel?initialDelay=0&delay=10&recursive=true&scanParallelism=4&sortBy=file:name"))
+                        .routeId("foo").noAutoStartup()
+                        .convertBodyTo(String.class).to("mock:result");
+
+                from(fileUri("limit?initialDelay=0&delay=10&recursive=true&scanParallelism=4&streamingScan=true"
+                             + "&maxMessagesPerPoll=5"))
+                        .routeId("limit").noAutoStartup()
+                        .convertBodyTo(String.class).to("mock:result");
+            }
+        };
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for streaming the directory entries when scanning for files
+ */
+public class FileConsumerStreamingScanTest extends ContextTestSupport {
+
+    @Test
+    public void testMaxMessagesPerPoll() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        // we should poll at most 2
+        mock.expectedMessageCount(3);
+        mock.message(0).exchangeProperty(Exchange.BATCH_SIZE).isEqualTo(2);
+        mock.message(1).exchangeProperty(Exchange.BATCH_SIZE).isEqualTo(2);
+        mock.message(2).exchangeProperty(Exchange.BATCH_SIZE).isEqualTo(1);
+
+        template.sendBodyAndHeader(fileUri("max"), "Bye World", Exchange.FILE_NAME, "bye.txt");
+        template.sendBodyAndHeader(fileUri("max"), "Hello World", Exchange.FILE_NAME, "hello.txt");
+        template.sendBodyAndHeader(fileUri("max"), "Godday World", Exchange.FILE_NAME, "godday.txt");
+
+        context.getRouteController().startRoute("max");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testRecursive() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceivedInAnyOrder("a", "a2", "a3", "b2");
+
+        template.sendBodyAndHeader(fileUri("recursive"), "a", Exchange.FILE_NAME, "a.txt");
+        template.sendBodyAndHeader(fileUri("recursive/foo"), "a2", Exchange.FILE_NAME, "a2.txt");
+        template.sendBodyAndHeader(fileUri("recursive/foo/bar"), "a3", Exchange.FILE_NAME, "a3.txt");
+        template.sendBodyAndHeader(fileUri("recursive/bar"), "b2", Exchange.FILE_NAME, "b2.txt");
+
+        context.getRouteController().startRoute("recursive");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testDoneFile() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived("Hello World");
+
+        template.sendBodyAndHeader(fileUri("done"), "Hello World", Exchange.FILE_NAME, "hello.txt");
+        template.sendBodyAndHeader(fileUri("done"), "", Exchange.FILE_NAME, "hello.txt.ready");
+        template.sendBodyAndHeader(fileUri("done"), "Bye World", Exchange.FILE_NAME, "bye.txt");
+
+        context.getRouteController().startRoute("done");
+
+        assertMockEndpointsSatisfied();
+
+        // the file without a done file must not be picked up
+        Thread.sleep(100);
+        mock.assertIsSatisfied();
+        assertFileExists(testFile("done/bye.txt"));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            public void configure() throws Exception {
+                from(fileUri("max?initialDelay=0&delay=10&streamingScan=true&maxMessagesPerPoll=2"))
+                        .routeId("max").noAutoStartup()
+                        .convertBodyTo(String.class).to("mock:result");
+
+                from(fileUri("recursive?initialDelay=0&delay=10&streamingScan=true&recursive=true"))
+                        .routeId("recursive").noAutoStartup()
+                        .convertBodyTo(String.class).to("mock:result");
+
+                from(fileUri("done?initialDelay=0&delay=10&streamingScan=true&doneFileName=${file:name}.ready"))
+                        .routeId("done").noAutoStartup()
+                        .convertBodyTo(String.class).to("mock:result");
+            }
+        };
+    }
+
+}
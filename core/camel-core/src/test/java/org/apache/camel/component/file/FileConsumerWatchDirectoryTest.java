@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.nio.file.Files;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for picking up files using the file system watch service, where the next poll is far away
+ */
+public class FileConsumerWatchDirectoryTest extends ContextTestSupport {
+
+    @Test
+    public void testWatchDirectory() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived("Hello World");
+
+        // write the file outside the directory and move it in, so it is complete when it is picked up
+        Files.write(testFile("hello.txt"), "Hello World".getBytes());
+        Files.move(testFile("hello.txt"), testFile("watch/hello.txt"));
+
+        assertMockEndpointsSatisfied();
+
+        // the next poll is far away so the files can only be picked up by watching the directories
+        mock.reset();
+        mock.expectedBodiesReceivedInAnyOrder("Bye World", "Hi World");
+
+        template.sendBodyAndHeader(fileUri("watch"), "Bye World", Exchange.FILE_NAME, "bye.txt");
+        template.sendBodyAndHeader(fileUri("watch/sub"), "Hi World", Exchange.FILE_NAME, "hi.txt");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testWatchDirectoryDoneFile() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(0);
+
+        template.sendBodyAndHeader(fileUri("done"), "Hello World", Exchange.FILE_NAME, "hello.txt");
+
+        // no done file yet
+        Thread.sleep(250);
+        assertMockEndpointsSatisfied();
+
+        mock.reset();
+        mock.expectedBodiesReceived("Hello World");
+
+        template.sendBodyAndHeader(fileUri("done"), "", Exchange.FILE_NAME, "hello.txt.ready");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from(fileUri("watch?initialDelay=0&delay=60000&watchDirectory=true&recursive=true"))
+                        .convertBodyTo(String.class).to("mock:result");
+
+                from(fileUri("done?initialDelay=0&delay=60000&watchDirectory=true&doneFileName=${file:name}.ready"))
+                        .convertBodyTo(String.class).to("mock:result");
+            }
+        };
+    }
+}
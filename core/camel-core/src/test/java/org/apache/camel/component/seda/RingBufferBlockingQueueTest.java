@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Timeout(30)
+public class RingBufferBlockingQueueTest {
+
+    @Test
+    public void testOfferPoll() {
+        RingBufferBlockingQueue<String> queue = new RingBufferBlockingQueue<>(3);
+        assertEquals(3, queue.remainingCapacity());
+        assertNull(queue.poll());
+
+        assertTrue(queue.offer("A"));
+        assertTrue(queue.offer("B"));
+        assertTrue(queue.offer("C"));
+        assertFalse(queue.offer("D"));
+        assertEquals(3, queue.size());
+        assertEquals(0, queue.remainingCapacity());
+        assertEquals("A", queue.peek());
+
+        // wrap around the ring buffer a few times
+        for (int i = 0; i < 10; i++) {
+            String e = queue.poll();
+            assertTrue(queue.offer(e));
+        }
+        assertEquals("B", queue.poll());
+        assertEquals("C", queue.poll());
+        assertEquals("A", queue.poll());
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testRemove() {
+        RingBufferBlockingQueue<String> queue = new RingBufferBlockingQueue<>(5);
+        queue.offer("A");
+        queue.offer("B");
+        queue.offer("C");
+
+        assertTrue(queue.remove("B"));
+        assertFalse(queue.remove("B"));
+        assertEquals(2, queue.size());
+        assertEquals(List.of("A", "C"), new ArrayList<>(queue));
+
+        assertTrue(queue.remove("A"));
+        assertEquals("C", queue.peek());
+        assertEquals("C", queue.poll());
+        assertNull(queue.poll());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testDrainTo() {
+        RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<>(10);
+        for (int i = 0; i < 10; i++) {
+            queue.offer(i);
+        }
+        List<Integer> batch = new ArrayList<>();
+        assertEquals(4, queue.drainTo(batch, 4));
+        assertEquals(List.of(0, 1, 2, 3), batch);
+        assertEquals(6, queue.drainTo(batch));
+        assertEquals(10, batch.size());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testTimeouts() throws Exception {
+        RingBufferBlockingQueue<String> queue = new RingBufferBlockingQueue<>(1);
+        assertNull(queue.poll(50, TimeUnit.MILLISECONDS));
+        assertTrue(queue.offer("A", 50, TimeUnit.MILLISECONDS));
+        assertFalse(queue.offer("B", 50, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testBlockingPutAndTake() throws Exception {
+        RingBufferBlockingQueue<String> queue = new RingBufferBlockingQueue<>(1);
+        queue.put("A");
+
+        CountDownLatch started = new CountDownLatch(1);
+        Thread producer = new Thread(() -> {
+            started.countDown();
+            try {
+                queue.put("B");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        started.await();
+
+        assertEquals("A", queue.take());
+        assertEquals("B", queue.take());
+        producer.join(5000);
+        assertFalse(producer.isAlive());
+    }
+
+    @Test
+    public void testConcurrentProducersAndConsumers() throws Exception {
+        final int producers = 4;
+        final int consumers = 3;
+        final int perProducer = 20000;
+        final RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<>(64);
+
+        ExecutorService executor = Executors.newFixedThreadPool(producers + consumers);
+        try {
+            List<Future<List<Integer>>> consumed = new ArrayList<>();
+            for (int c = 0; c < consumers; c++) {
+                consumed.add(executor.submit(() -> {
+                    List<Integer> answer = new ArrayList<>();
+                    Integer e;
+                    while ((e = queue.poll(500, TimeUnit.MILLISECONDS)) != null) {
+                        answer.add(e);
+                    }
+                    return answer;
+                }));
+            }
+            for (int p = 0; p < producers; p++) {
+                final int offset = p * perProducer;
+                executor.submit(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        queue.put(offset + i);
+                    }
+                    return null;
+                });
+            }
+
+            BitSet seen = new BitSet();
+            int total = 0;
+            for (Future<List<Integer>> future : consumed) {
+                for (Integer e : future.get()) {
+                    assertFalse(seen.get(e), "Duplicate element " + e);
+                    seen.set(e);
+                    total++;
+                }
+            }
+            assertEquals(producers * perProducer, total);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.support.service.ServiceHelper;
+import org.junit.jupiter.api.Test;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SedaConsumerBatchSuspendTest extends ContextTestSupport {
+
+    private final CountDownLatch processing = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Test
+    public void testSuspendReturnsRestOfBatchToQueue() throws Exception {
+        SedaEndpoint endpoint = context.getEndpoint("seda:foo", SedaEndpoint.class);
+        for (String body : new String[] { "A", "B", "C", "D", "E" }) {
+            template.sendBody("seda:foo", body);
+        }
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived("A");
+
+        context.getRouteController().startRoute("foo");
+        assertTrue(processing.await(5, TimeUnit.SECONDS));
+
+        // the consumer has drained the whole queue into its batch, which is still pending
+        SedaConsumer consumer = (SedaConsumer) context.getRoute("foo").getConsumer();
+        assertEquals(0, endpoint.getQueue().size());
+        assertEquals(4, consumer.getPendingExchangesSize());
+
+        ServiceHelper.suspendService(consumer);
+        release.countDown();
+
+        // the rest of the batch is returned to the queue instead of being processed
+        await().atMost(5, TimeUnit.SECONDS).until(() -> endpoint.getQueue().size() == 4);
+        assertEquals(4, consumer.getPendingExchangesSize());
+        mock.assertIsSatisfied();
+
+        resetMocks();
+        mock.expectedBodiesReceived("B", "C", "D", "E");
+        ServiceHelper.resumeService(consumer);
+        mock.assertIsSatisfied();
+        assertEquals(0, consumer.getPendingExchangesSize());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("seda:foo?maxMessagesPerPoll=10").routeId("foo").autoStartup(false)
+                        .process(exchange -> {
+                            if (processing.getCount() > 0) {
+                                processing.countDown();
+                                release.await(5, TimeUnit.SECONDS);
+                            }
+                        })
+                        .to("mock:result");
+            }
+        };
+    }
+}
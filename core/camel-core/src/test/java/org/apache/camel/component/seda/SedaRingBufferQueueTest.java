@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Timeout(20)
+public class SedaRingBufferQueueTest extends ContextTestSupport {
+
+    private final RingBufferBlockingQueueFactory<Exchange> queueFactory = new RingBufferBlockingQueueFactory<>();
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.getRegistry().bind("ringBufferQueueFactory", queueFactory);
+        return context;
+    }
+
+    @Test
+    public void testRingBufferQueue() throws Exception {
+        SedaEndpoint endpoint = context.getEndpoint(
+                "seda:batch?queueFactory=#ringBufferQueueFactory&size=100&maxMessagesPerPoll=10", SedaEndpoint.class);
+        RingBufferBlockingQueue<?> queue = assertIsInstanceOf(RingBufferBlockingQueue.class, endpoint.getQueue());
+        assertEquals(100, queue.getCapacity());
+        assertEquals(10, endpoint.getMaxMessagesPerPoll());
+    }
+
+    @Test
+    public void testBatchDrainKeepsOrder() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(200);
+        mock.expectsAscending(body());
+
+        for (int i = 0; i < 200; i++) {
+            template.sendBody("seda:batch?queueFactory=#ringBufferQueueFactory&size=100&blockWhenFull=true", i);
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testRequestReply() throws Exception {
+        Object out = template.requestBody("seda:batch?queueFactory=#ringBufferQueueFactory&size=100", 123);
+        assertEquals(123, out);
+    }
+
+    @Test
+    public void testBlockWhenFull() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:slow");
+        mock.expectedMessageCount(5);
+
+        // the queue can only hold one exchange so the producer must block until the consumer catches up
+        for (int i = 0; i < 5; i++) {
+            template.sendBody("seda:slow?queueFactory=#ringBufferQueueFactory&size=1&blockWhenFull=true", i);
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("seda:batch?queueFactory=#ringBufferQueueFactory&size=100&maxMessagesPerPoll=10")
+                        .to("mock:result");
+
+                from("seda:slow?queueFactory=#ringBufferQueueFactory&size=1&maxMessagesPerPoll=5")
+                        .delay(10).syncDelayed()
+                        .to("mock:slow");
+            }
+        };
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.StreamCache;
+import org.apache.camel.impl.engine.DefaultUnitOfWork;
+import org.apache.camel.spi.StreamCachingStrategy;
+import org.apache.camel.spi.UnitOfWork;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CachedOutputStreamOffHeapTest extends ContextTestSupport {
+    private static final String TEST_STRING = "This is a test string and it has enough"
+                                              + " aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa ";
+
+    private Exchange exchange;
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.setStreamCaching(true);
+        context.getStreamCachingStrategy().setSpoolDirectory(testDirectory(true).toFile());
+        context.getStreamCachingStrategy().setSpoolEnabled(true);
+        context.getStreamCachingStrategy().setSpoolThreshold(16);
+        context.getStreamCachingStrategy().setSpoolOffHeapEnabled(true);
+        context.getStreamCachingStrategy().setSpoolOffHeapArenaSize(128 * 1024);
+        return context;
+    }
+
+    @Override
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+
+        exchange = new DefaultExchange(context);
+        UnitOfWork uow = new DefaultUnitOfWork(exchange);
+        exchange.getExchangeExtension().setUnitOfWork(uow);
+    }
+
+    @Override
+    public boolean isUseRouteBuilder() {
+        return false;
+    }
+
+    @Test
+    public void testCacheStreamOffHeap() throws Exception {
+        context.start();
+        StreamCachingStrategy strategy = context.getStreamCachingStrategy();
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(TEST_STRING.getBytes(StandardCharsets.UTF_8));
+
+        File file = testDirectory().toFile();
+        assertEquals(0, file.list().length, "Should not spool to a temp file");
+        assertTrue(strategy.getSpoolOffHeapArenaUsed() > 0);
+
+        StreamCache cache = cos.newStreamCache();
+        assertInstanceOf(OffHeapInputStreamCache.class, cache);
+        assertFalse(cache.inMemory());
+        assertEquals(TEST_STRING.length(), cache.length());
+        assertEquals(TEST_STRING, context.getTypeConverter().convertTo(String.class, cache));
+
+        // the copy shares the same buffers and has its own position
+        StreamCache copy = cache.copy(exchange);
+        assertEquals(TEST_STRING, new String(((InputStream) copy).readAllBytes(), StandardCharsets.UTF_8));
+
+        cache.reset();
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        cache.writeTo(bos);
+        assertEquals(TEST_STRING, bos.toString(StandardCharsets.UTF_8));
+
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals(0, strategy.getSpoolOffHeapArenaUsed(), "Should release the off-heap buffers");
+        assertThrows(Exception.class, () -> ((InputStream) cache).read());
+    }
+
+    @Test
+    public void testCacheStreamOffHeapMultipleBuffers() throws Exception {
+        context.start();
+
+        byte[] data = new byte[100 * 1024];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(data, 0, 1000);
+        cos.write(data, 1000, data.length - 1000);
+
+        StreamCache cache = cos.newStreamCache();
+        assertInstanceOf(OffHeapInputStreamCache.class, cache);
+        assertEquals(data.length, cache.length());
+        assertArrayEquals(data, ((InputStream) cache).readAllBytes());
+
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals(0, context.getStreamCachingStrategy().getSpoolOffHeapArenaUsed());
+    }
+
+    @Test
+    public void testCacheStreamOffHeapOverflowToFile() throws Exception {
+        context.start();
+        StreamCachingStrategy strategy = context.getStreamCachingStrategy();
+
+        byte[] data = new byte[200 * 1024];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(data);
+
+        File file = testDirectory().toFile();
+        assertEquals(1, file.list().length, "Should overflow to a temp file");
+        assertEquals(0, strategy.getSpoolOffHeapArenaUsed(), "Should release the off-heap buffers on overflow");
+        assertEquals(1, strategy.getSpoolOffHeapOverflowCounter());
+
+        StreamCache cache = cos.newStreamCache();
+        assertInstanceOf(FileInputStreamCache.class, cache);
+        assertArrayEquals(data, ((InputStream) cache).readAllBytes());
+        ((InputStream) cache).close();
+
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals(0, file.list().length, "Should delete the temp file");
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Date;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.camel.support.DefaultExchangeHolder;
+import org.apache.camel.support.DefaultExchangeHolderBinaryCodec;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DefaultExchangeHolderBinaryCodecTest extends ContextTestSupport {
+
+    @Test
+    public void testEncodeDecode() throws Exception {
+        Date date = new Date();
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("Hello World");
+        exchange.getIn().setHeader("string", "Bye World");
+        exchange.getIn().setHeader("int", -123);
+        exchange.getIn().setHeader("long", Long.MAX_VALUE);
+        exchange.getIn().setHeader("double", 1.5d);
+        exchange.getIn().setHeader("float", -2.5f);
+        exchange.getIn().setHeader("short", (short) 7);
+        exchange.getIn().setHeader("byte", (byte) -1);
+        exchange.getIn().setHeader("char", 'x');
+        exchange.getIn().setHeader("boolean", true);
+        exchange.getIn().setHeader("date", date);
+        exchange.getIn().setHeader("bigInteger", new BigInteger("123456789012345678901234567890"));
+        exchange.getIn().setHeader("bigDecimal", new BigDecimal("-1234567890.0987654321"));
+        exchange.setProperty("string", "Hello Property");
+        exchange.setException(new IllegalArgumentException("Forced"));
+
+        Exchange copy = roundtrip(exchange, true);
+
+        assertEquals(exchange.getExchangeId(), copy.getExchangeId());
+        assertEquals("Hello World", copy.getIn().getBody());
+        assertEquals(exchange.getIn().getHeaders(), copy.getIn().getHeaders());
+        assertEquals(date, copy.getIn().getHeader("date"));
+        assertEquals("Hello Property", copy.getProperty("string"));
+        assertIsInstanceOf(IllegalArgumentException.class, copy.getException());
+        assertEquals("Forced", copy.getException().getMessage());
+    }
+
+    @Test
+    public void testBinaryBody() throws Exception {
+        byte[] body = new byte[10000];
+        for (int i = 0; i < body.length; i++) {
+            body[i] = (byte) i;
+        }
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody(body);
+
+        Exchange copy = roundtrip(exchange, false);
+        assertArrayEquals(body, copy.getIn().getBody(byte[].class));
+        assertFalse(copy.getIn().hasHeaders());
+    }
+
+    @Test
+    public void testSerializableBody() throws Exception {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody(new MyBody("Tiger"));
+
+        Exchange copy = roundtrip(exchange, false);
+        assertEquals("Tiger", copy.getIn().getBody(MyBody.class).name);
+    }
+
+    @Test
+    public void testSmallerThanJavaSerialization() throws Exception {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("Hello World");
+        for (int i = 0; i < 10; i++) {
+            exchange.getIn().setHeader("header" + i, i);
+        }
+        DefaultExchangeHolder holder = DefaultExchangeHolder.marshal(exchange);
+
+        byte[] binary = DefaultExchangeHolderBinaryCodec.encode(holder);
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(holder);
+        }
+        byte[] serialized = bos.toByteArray();
+
+        assertTrue(DefaultExchangeHolderBinaryCodec.isBinaryEncoded(binary));
+        assertFalse(DefaultExchangeHolderBinaryCodec.isBinaryEncoded(serialized));
+        assertTrue(binary.length * 4 < serialized.length,
+                "Binary size " + binary.length + " should be much smaller than " + serialized.length);
+    }
+
+    private Exchange roundtrip(Exchange exchange, boolean includeProperties) throws Exception {
+        DefaultExchangeHolder holder = DefaultExchangeHolder.marshal(exchange, includeProperties);
+        byte[] data = DefaultExchangeHolderBinaryCodec.encode(holder);
+        DefaultExchangeHolder decoded = DefaultExchangeHolderBinaryCodec.decode(data, null);
+
+        Exchange answer = new DefaultExchange(context);
+        DefaultExchangeHolder.unmarshal(answer, decoded);
+        return answer;
+    }
+
+    private static class MyBody implements java.io.Serializable {
+        private static final long serialVersionUID = 1L;
+        private final String name;
+
+        MyBody(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.Map;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.engine.DefaultLatencyHistogramRegistry;
+import org.apache.camel.spi.LatencyHistogram;
+import org.apache.camel.spi.LatencyHistogramRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LatencyHistogramRegistryTest extends ContextTestSupport {
+
+    private final LatencyHistogramRegistry registry = new DefaultLatencyHistogramRegistry();
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.addService(registry);
+        return context;
+    }
+
+    @Override
+    protected boolean useJmx() {
+        return false;
+    }
+
+    @Test
+    public void testLatencyHistograms() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(3);
+
+        template.sendBody("direct:start", "A");
+        template.sendBody("direct:start", "B");
+        template.sendBody("direct:start", "C");
+
+        assertMockEndpointsSatisfied();
+
+        LatencyHistogram route = registry.getRouteHistogram("foo");
+        assertNotNull(route);
+        assertEquals(3, route.getCount());
+        assertTrue(route.getMin() >= 50_000_000, "Route should include the delay");
+
+        Map<String, LatencyHistogram> processors = registry.getProcessorHistograms("foo");
+        assertEquals("[log, delay, result]", processors.keySet().toString());
+        assertEquals(3, processors.get("log").getCount());
+        assertEquals(3, processors.get("result").getCount());
+        LatencyHistogram delay = processors.get("delay");
+        assertEquals(3, delay.getCount());
+        assertTrue(delay.getValueAtPercentile(50) >= 50_000_000);
+        assertTrue(processors.get("result").getMax() < delay.getMin());
+
+        registry.reset();
+        assertEquals(0, route.getCount());
+        assertEquals(0, delay.getCount());
+    }
+
+    @Test
+    public void testLatencyHistogramsWithGeneratedIds() throws Exception {
+        getMockEndpoint("mock:bar").expectedMessageCount(2);
+
+        template.sendBody("direct:bar", "A");
+        template.sendBody("direct:bar", "B");
+
+        assertMockEndpointsSatisfied();
+
+        Map<String, LatencyHistogram> processors = registry.getProcessorHistograms("bar");
+        assertEquals(3, processors.size(), "Should have histograms for the nodes without an id " + processors.keySet());
+        for (LatencyHistogram histogram : processors.values()) {
+            assertEquals(2, histogram.getCount());
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").routeId("foo")
+                        .log("${body}").id("log")
+                        .delay(50).id("delay")
+                        .to("mock:result").id("result");
+
+                from("direct:bar").routeId("bar")
+                        .setHeader("foo", constant("123"))
+                        .filter(header("foo"))
+                            .to("mock:bar");
+            }
+        };
+    }
+}
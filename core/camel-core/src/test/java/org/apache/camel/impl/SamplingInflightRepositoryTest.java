@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.util.Collection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.engine.DefaultUnitOfWork;
+import org.apache.camel.impl.engine.SamplingInflightRepository;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.camel.spi.InflightRepository;
+import org.junit.jupiter.api.Test;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SamplingInflightRepositoryTest extends ContextTestSupport {
+
+    private final SamplingInflightRepository repository = new SamplingInflightRepository();
+    private final CountDownLatch latch = new CountDownLatch(1);
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        // only record by age
+        repository.setSampleRate(0);
+        repository.setAgeThreshold(200);
+        repository.setInflightBrowseEnabled(true);
+        context.setInflightRepository(repository);
+        return context;
+    }
+
+    @Test
+    public void testCountsWithoutRecording() throws Exception {
+        template.sendBody("direct:fast", "Hello World");
+        template.sendBody("direct:fast", "Bye World");
+
+        assertEquals(0, repository.size());
+        assertEquals(0, repository.size("fast"));
+        assertEquals(0, repository.browse().size());
+    }
+
+    @Test
+    public void testRecordByAge() throws Exception {
+        template.sendBody("seda:slow", "Hello World");
+        template.sendBody("direct:fast", "Bye World");
+
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertEquals(1, repository.browse().size()));
+        assertEquals(1, repository.size());
+        assertEquals(1, repository.size("slow"));
+
+        Collection<InflightRepository.InflightExchange> list = repository.browse("slow", 10, true);
+        assertEquals(1, list.size());
+        InflightRepository.InflightExchange inflight = list.iterator().next();
+        assertEquals("Hello World", inflight.getExchange().getMessage().getBody());
+        assertEquals("slow", inflight.getFromRouteId());
+        assertTrue(inflight.getDuration() >= 200, "Should be inflight for at least the age threshold");
+        assertNotNull(repository.oldest("slow"));
+        assertEquals(0, repository.browse("fast").size());
+
+        latch.countDown();
+
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertEquals(0, repository.size()));
+        assertEquals(0, repository.browse().size());
+    }
+
+    @Test
+    public void testSampleAll() throws Exception {
+        repository.setSampleRate(1);
+
+        template.sendBody("seda:slow", "Hello World");
+
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertEquals(1, repository.browse().size()));
+        latch.countDown();
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertEquals(0, repository.browse().size()));
+    }
+
+    @Test
+    public void testSampledUntilRemoved() throws Exception {
+        SamplingInflightRepository sampling = new SamplingInflightRepository();
+        sampling.setCamelContext(context);
+        sampling.setSampleRate(1);
+        sampling.setAgeThreshold(0);
+        sampling.setInflightBrowseEnabled(true);
+        sampling.start();
+        try {
+            // the exchange has no unit of work yet, which is the case when it is added by the unit of work
+            Exchange exchange = new DefaultExchange(context);
+            sampling.add(exchange);
+            assertEquals(1, sampling.browse().size());
+
+            sampling.remove(exchange);
+            assertEquals(0, sampling.size());
+            assertEquals(0, sampling.browse().size());
+        } finally {
+            sampling.stop();
+        }
+    }
+
+    @Test
+    public void testRecordByAgeAfterRestart() throws Exception {
+        SamplingInflightRepository sampling = new SamplingInflightRepository();
+        sampling.setCamelContext(context);
+        sampling.setSampleRate(0);
+        sampling.setAgeThreshold(100);
+        sampling.setInflightBrowseEnabled(true);
+        sampling.start();
+        try {
+            // this thread has a ring from before the restart
+            Exchange fast = new DefaultExchange(context);
+            sampling.add(fast);
+            sampling.remove(fast);
+            sampling.stop();
+            sampling.start();
+
+            Exchange slow = new DefaultExchange(context);
+            slow.getExchangeExtension().setUnitOfWork(new DefaultUnitOfWork(slow));
+            sampling.add(slow);
+
+            await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertEquals(1, sampling.browse().size()));
+            InflightRepository.InflightExchange inflight = sampling.browse().iterator().next();
+            assertEquals(slow.getExchangeId(), inflight.getExchange().getExchangeId());
+            assertTrue(inflight.getDuration() >= 100, "Should be inflight for at least the age threshold");
+
+            sampling.remove(slow);
+            assertEquals(0, sampling.browse().size());
+        } finally {
+            sampling.stop();
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:fast").routeId("fast").to("mock:fast");
+
+                from("seda:slow").routeId("slow")
+                        .process(e -> latch.await(10, TimeUnit.SECONDS))
+                        .to("mock:slow");
+            }
+        };
+    }
+}
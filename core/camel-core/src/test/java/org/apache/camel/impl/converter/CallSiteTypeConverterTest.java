@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.converter;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.NoTypeConversionAvailableException;
+import org.apache.camel.TypeConversionException;
+import org.apache.camel.TypeConverter;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.spi.TypeConverterRegistry;
+import org.apache.camel.support.TypeConverterSupport;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CallSiteTypeConverterTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.setTypeConverterStatisticsEnabled(true);
+        return context;
+    }
+
+    @Test
+    public void testRemembersTypeConverter() {
+        TypeConverterRegistry registry = context.getTypeConverterRegistry();
+        TypeConverter converter = registry.createCallSiteTypeConverter();
+        registry.getStatistics().reset();
+
+        assertEquals(123, converter.convertTo(Integer.class, "123"));
+        assertEquals(1, registry.getStatistics().getCallSiteMissCounter());
+        assertEquals(0, registry.getStatistics().getCallSiteHitCounter());
+
+        assertEquals(456, converter.convertTo(Integer.class, "456"));
+        assertEquals(789, converter.convertTo(Integer.class, "789"));
+        assertEquals(1, registry.getStatistics().getCallSiteMissCounter());
+        assertEquals(2, registry.getStatistics().getCallSiteHitCounter());
+        assertEquals(3, registry.getStatistics().getHitCounter());
+
+        // another type is looked up again
+        assertEquals(5L, converter.convertTo(Long.class, "5"));
+        assertEquals(2, registry.getStatistics().getCallSiteMissCounter());
+
+        // no conversion needed
+        String text = "Hello";
+        assertSame(text, converter.convertTo(String.class, text));
+        assertNull(converter.convertTo(Integer.class, null));
+        assertEquals(2, registry.getStatistics().getCallSiteMissCounter());
+        assertEquals(2, registry.getStatistics().getCallSiteHitCounter());
+    }
+
+    @Test
+    public void testConverterAddedAndRemoved() {
+        TypeConverterRegistry registry = context.getTypeConverterRegistry();
+        registry.addTypeConverter(Country.class, String.class, new CountryTypeConverter("England"));
+
+        TypeConverter converter = registry.createCallSiteTypeConverter();
+        assertEquals("England", converter.convertTo(Country.class, "en").getName());
+
+        // the remembered type converter must not be used after the registry has changed
+        registry.removeTypeConverter(Country.class, String.class);
+        registry.addTypeConverter(Country.class, String.class, new CountryTypeConverter("Great Britain"));
+        assertEquals("Great Britain", converter.convertTo(Country.class, "en").getName());
+    }
+
+    @Test
+    public void testMandatoryConvertTo() throws Exception {
+        TypeConverterRegistry registry = context.getTypeConverterRegistry();
+        TypeConverter converter = registry.createCallSiteTypeConverter();
+        registry.getStatistics().reset();
+
+        assertEquals(3, converter.mandatoryConvertTo(int.class, "3"));
+        assertEquals(4, converter.mandatoryConvertTo(int.class, "4"));
+
+        assertThrows(TypeConversionException.class, () -> converter.mandatoryConvertTo(int.class, "foo"));
+        assertEquals(1, registry.getStatistics().getFailedCounter());
+
+        assertThrows(NoTypeConversionAvailableException.class,
+                () -> converter.mandatoryConvertTo(Country.class, new Object()));
+    }
+
+    @Test
+    public void testConvertBody() throws Exception {
+        getMockEndpoint("mock:result").expectedBodiesReceived(1, 2, 3);
+
+        TypeConverterRegistry registry = context.getTypeConverterRegistry();
+        registry.getStatistics().reset();
+
+        template.sendBody("direct:start", "1");
+        template.sendBody("direct:start", "2");
+        template.sendBody("direct:start", "3");
+
+        assertMockEndpointsSatisfied();
+
+        assertEquals(1, registry.getStatistics().getCallSiteMissCounter());
+        assertEquals(2, registry.getStatistics().getCallSiteHitCounter());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:start").convertBodyTo(Integer.class).to("mock:result");
+            }
+        };
+    }
+
+    private static final class CountryTypeConverter extends TypeConverterSupport {
+
+        private final String name;
+
+        private CountryTypeConverter(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public <T> T convertTo(Class<T> type, Exchange exchange, Object value) {
+            Country country = new Country();
+            country.setIso(value.toString());
+            country.setName(name);
+            return type.cast(country);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DefaultLatencyHistogramTest {
+
+    @Test
+    public void testBuckets() {
+        long previous = -1;
+        for (long value = 0; value < 1_000_000; value += 7) {
+            int index = DefaultLatencyHistogram.bucketIndex(value);
+            long upper = DefaultLatencyHistogram.bucketUpperBound(index);
+            assertTrue(upper >= value, "Upper bound " + upper + " should hold " + value);
+            assertTrue(upper - value <= value / 32, "Upper bound " + upper + " too far from " + value);
+            assertTrue(upper >= previous);
+            previous = upper;
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        DefaultLatencyHistogram histogram = new DefaultLatencyHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMin());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getMean());
+        assertEquals(0, histogram.getValueAtPercentile(99));
+    }
+
+    @Test
+    public void testPercentiles() {
+        DefaultLatencyHistogram histogram = new DefaultLatencyHistogram();
+        // 1 to 1000 micros
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(i));
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1000, histogram.getMin());
+        assertEquals(1_000_000, histogram.getMax());
+        assertEquals(500_500, histogram.getMean(), 0.1);
+        assertPercentile(500_000, histogram.getValueAtPercentile(50));
+        assertPercentile(990_000, histogram.getValueAtPercentile(99));
+        assertPercentile(999_000, histogram.getValueAtPercentile(99.9));
+        assertEquals(1_000_000, histogram.getValueAtPercentile(100));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getValueAtPercentile(50));
+    }
+
+    @Test
+    public void testLargeLatency() {
+        DefaultLatencyHistogram histogram = new DefaultLatencyHistogram();
+        histogram.record(TimeUnit.DAYS.toNanos(1));
+        assertEquals(TimeUnit.DAYS.toNanos(1), histogram.getMax());
+        assertEquals(TimeUnit.DAYS.toNanos(1), histogram.getValueAtPercentile(99));
+    }
+
+    @Test
+    public void testConcurrentRecord() throws Exception {
+        DefaultLatencyHistogram histogram = new DefaultLatencyHistogram();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int t = 0; t < 4; t++) {
+                executor.submit(() -> {
+                    for (int i = 1; i <= 10000; i++) {
+                        histogram.record(i);
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+        assertEquals(40000, histogram.getCount());
+        assertEquals(1, histogram.getMin());
+        assertEquals(10000, histogram.getMax());
+        assertPercentile(5000, histogram.getValueAtPercentile(50));
+    }
+
+    private static void assertPercentile(long expected, long actual) {
+        // the percentile is the upper bound of its bucket which is accurate within about 3 percent
+        assertTrue(actual >= expected && actual <= expected * 1.04, "Expected about " + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.ThreadPoolProfileBuilder;
+import org.apache.camel.spi.ThreadPoolProfile;
+import org.apache.camel.support.VirtualThreadPoolFactory;
+import org.apache.camel.util.concurrent.VirtualThreadHelper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VirtualThreadPoolFactoryTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.getExecutorServiceManager().setThreadPoolFactory(new VirtualThreadPoolFactory());
+        return context;
+    }
+
+    @Test
+    public void testCachedThreadPool() throws Exception {
+        ExecutorService executor = context.getExecutorServiceManager().newCachedThreadPool(this, "foo");
+        assertVirtualThreads(executor, "foo", VirtualThreadHelper.isVirtualThreadsSupported());
+    }
+
+    @Test
+    public void testThreadPoolProfile() throws Exception {
+        ThreadPoolProfile profile = new ThreadPoolProfileBuilder("fooProfile").poolSize(2).maxPoolSize(5).build();
+        context.getExecutorServiceManager().registerThreadPoolProfile(profile);
+
+        ExecutorService executor = context.getExecutorServiceManager().newThreadPool(this, "bar", "fooProfile");
+        assertVirtualThreads(executor, "bar", VirtualThreadHelper.isVirtualThreadsSupported());
+    }
+
+    @Test
+    public void testThreadPoolProfileVirtualThreadsDisabled() throws Exception {
+        ThreadPoolProfile profile = new ThreadPoolProfileBuilder("fooProfile").virtualThreads(false).build();
+        context.getExecutorServiceManager().registerThreadPoolProfile(profile);
+
+        ExecutorService executor = context.getExecutorServiceManager().newThreadPool(this, "bar", "fooProfile");
+        assertVirtualThreads(executor, "bar", false);
+    }
+
+    @Test
+    public void testSingleThreadExecutor() throws Exception {
+        ExecutorService executor = context.getExecutorServiceManager().newSingleThreadExecutor(this, "single");
+        assertVirtualThreads(executor, "single", false);
+    }
+
+    private void assertVirtualThreads(ExecutorService executor, String name, boolean virtual) throws Exception {
+        if (virtual) {
+            assertFalse(executor instanceof ThreadPoolExecutor, "Should not be a pool of platform threads");
+        } else {
+            assertInstanceOf(ThreadPoolExecutor.class, executor);
+        }
+
+        String threadName = executor.submit(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+        assertTrue(threadName.endsWith(" - " + name), "Should use Camel thread name pattern: " + threadName);
+
+        context.getExecutorServiceManager().shutdown(executor);
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.ExtendedCamelContext;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.processor.async.MyAsyncComponent;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WorkStealingReactiveExecutorTest extends ContextTestSupport {
+
+    private final WorkStealingReactiveExecutor executor = new WorkStealingReactiveExecutor();
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        executor.setParallelism(2);
+        executor.setStatisticsEnabled(true);
+        context.adapt(ExtendedCamelContext.class).setReactiveExecutor(executor);
+        return context;
+    }
+
+    @Test
+    public void testRouting() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(200);
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Object>> replies = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                final int index = i;
+                replies.add(pool.submit(() -> template.requestBody("direct:start", "Hello " + index)));
+            }
+            for (int i = 0; i < 200; i++) {
+                assertEquals("Bye Hello " + i + " World", replies.get(i).get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertMockEndpointsSatisfied();
+
+        assertTrue(executor.getOffloadedTasks() > 0, "Should offload tasks to carrier threads");
+        assertTrue(executor.getCreatedCarriers() > 0, "Should create carrier threads");
+        assertTrue(executor.getStealCount() >= 0);
+        assertTrue(getMockEndpoint("mock:result").getExchanges().stream()
+                .anyMatch(e -> e.getMessage().getHeader("thread", String.class).contains("ReactiveExecutor")),
+                "Should route on carrier threads");
+    }
+
+    @Test
+    public void testSynchronousRoutingFromCarrierThread() throws Exception {
+        getMockEndpoint("mock:nested").expectedMessageCount(10);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("Nested Hello", template.requestBody("direct:nested", "Hello"));
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testExecuteFromQueueStaysOnSameThread() {
+        Thread caller = Thread.currentThread();
+        AtomicReference<Thread> first = new AtomicReference<>();
+        AtomicReference<Thread> second = new AtomicReference<>();
+
+        executor.scheduleQueue(() -> {
+            first.set(Thread.currentThread());
+            executor.schedule(() -> {
+                executor.schedule(() -> second.set(Thread.currentThread()));
+            });
+        });
+        while (executor.executeFromQueue()) {
+            // noop
+        }
+
+        assertSame(caller, first.get());
+        assertSame(caller, second.get());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                context.addComponent("async", new MyAsyncComponent());
+
+                from("direct:start")
+                        .transform(body().prepend("Bye "))
+                        .to("async:World?append=true&delay=1")
+                        .process(e -> e.getMessage().setHeader("thread", Thread.currentThread().getName()))
+                        .to("mock:result");
+
+                from("direct:nested")
+                        .process(e -> e.getMessage().setBody(
+                                template.requestBody("direct:inner", e.getMessage().getBody())))
+                        .to("mock:nested");
+
+                from("direct:inner")
+                        .transform(body().prepend("Nested "));
+            }
+        };
+    }
+}
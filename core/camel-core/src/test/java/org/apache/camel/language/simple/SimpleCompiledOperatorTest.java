@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.simple;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the operator tests with compiled predicates.
+ */
+public class SimpleCompiledOperatorTest extends SimpleOperatorTest {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.getGlobalOptions().put(Exchange.SIMPLE_COMPILE_PREDICATES, "true");
+        return context;
+    }
+
+    @Test
+    public void testCompiledPredicates() throws Exception {
+        exchange.getIn().setHeader("foo", 150);
+        exchange.getIn().setBody("xyz");
+
+        assertPredicate("${header.foo} > 100 && ${body} contains 'x'", true);
+        assertPredicate("${header.foo} > 200 || ${body} regex '^x.*'", true);
+        assertPredicate("${header.foo} in '100,150' && ${header.foo} range '100..200'", true);
+
+        SimpleLanguage simple = (SimpleLanguage) context.resolveLanguage("simple");
+        assertTrue(simple.isCompilePredicates());
+        assertTrue(simple.getCompiledPredicates().contains("${header.foo} > 100 && ${body} contains 'x'"));
+        assertTrue(simple.getCompiledPredicates().contains("${header.foo} > 200 || ${body} regex '^x.*'"));
+        assertTrue(simple.getCompiledPredicates().contains("${header.foo} in '100,150' && ${header.foo} range '100..200'"));
+    }
+
+    @Test
+    public void testInterpretedFallback() throws Exception {
+        exchange.getIn().setHeader("foo", 150);
+        exchange.getIn().setHeader("pattern", "^x.*");
+        exchange.getIn().setBody("xyz");
+
+        // the regular expression is dynamic so it cannot be compiled
+        assertPredicate("${header.foo} > 100 && ${body} regex ${header.pattern}", true);
+        assertPredicate("${header.foo} > 100 && ${body} !regex ${header.pattern}", false);
+
+        SimpleLanguage simple = (SimpleLanguage) context.resolveLanguage("simple");
+        assertTrue(simple.getInterpretedPredicates().contains("${header.foo} > 100 && ${body} regex ${header.pattern}"));
+        assertFalse(simple.getCompiledPredicates().contains("${header.foo} > 100 && ${body} regex ${header.pattern}"));
+    }
+
+    @Test
+    public void testCompiledPredicatesBounded() throws Exception {
+        context.getGlobalOptions().put(Exchange.MAXIMUM_SIMPLE_CACHE_SIZE, "5");
+        SimpleLanguage simple = new SimpleLanguage();
+        simple.setCamelContext(context);
+        simple.init();
+
+        for (int i = 0; i < 20; i++) {
+            simple.createPredicate("${header.foo} > " + i);
+        }
+        // only the most recent predicates are kept
+        assertEquals(5, simple.getCompiledPredicates().size());
+        assertTrue(simple.getCompiledPredicates().contains("${header.foo} > 19"));
+        assertFalse(simple.getCompiledPredicates().contains("${header.foo} > 0"));
+    }
+
+    @Test
+    public void testHeaderFallbackToProperty() throws Exception {
+        exchange.setProperty("bar", 123);
+        assertPredicate("${header.bar} == 123", true);
+        assertPredicate("${header[bar]} == 123", true);
+        assertPredicate("${headers.bar} != 123", false);
+    }
+}
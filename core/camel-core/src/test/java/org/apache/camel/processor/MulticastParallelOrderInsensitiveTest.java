@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.AggregationStrategy;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.processor.MulticastProcessor.BranchStatistics;
+import org.junit.jupiter.api.Test;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class MulticastParallelOrderInsensitiveTest extends ContextTestSupport {
+
+    private final CountDownLatch aggregatedB = new CountDownLatch(1);
+    private final CountDownLatch aggregatedC = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final Map<String, CountDownLatch> latches = Map.of("B", aggregatedB, "C", aggregatedC);
+    private final RecordingAggregationStrategy unordered = new RecordingAggregationStrategy(false);
+    private final RecordingAggregationStrategy ordered = new RecordingAggregationStrategy(true);
+
+    @Test
+    public void testOrderInsensitive() throws Exception {
+        String out = template.requestBody("direct:unordered", "Hello", String.class);
+        // the slow branches must not hold back the fast branches
+        assertEquals("BCA", out);
+        assertEquals(List.of("B", "C", "A"), unordered.bodies);
+
+        MulticastProcessor multicast = context.getProcessor("unordered", MulticastProcessor.class);
+        assertEquals(0, multicast.getBufferedResults());
+        assertEquals(0, multicast.getMaxBufferedResults());
+
+        // statistics is not enabled
+        for (BranchStatistics branch : multicast.getBranchStatistics()) {
+            assertEquals(0, branch.getCount());
+        }
+    }
+
+    @Test
+    public void testOrderSensitive() throws Exception {
+        MulticastProcessor multicast = context.getProcessor("ordered", MulticastProcessor.class);
+        multicast.setStatisticsEnabled(true);
+
+        String out = template.requestBody("direct:ordered", "Hello", String.class);
+        assertEquals("XYZ", out);
+        assertEquals(List.of("X", "Y", "Z"), ordered.bodies);
+
+        // the fast branches had to wait for the slow branch
+        assertEquals(0, multicast.getBufferedResults());
+        assertEquals(2, multicast.getMaxBufferedResults());
+
+        List<BranchStatistics> branches = multicast.getBranchStatistics();
+        assertEquals(3, branches.size());
+        for (BranchStatistics branch : branches) {
+            assertEquals(1, branch.getCount());
+        }
+
+        multicast.reset();
+        assertEquals(0, multicast.getMaxBufferedResults());
+        assertEquals(0, branches.get(0).getCount());
+    }
+
+    @Test
+    public void testOrderInsensitiveTimeout() throws Exception {
+        try {
+            String out = template.requestBody("direct:timeout", "Hello", String.class);
+            assertEquals("B", out);
+            // only the sub exchanges which did not complete has timed out
+            assertEquals(List.of("B"), unordered.bodies);
+            assertEquals(List.of(0, 2), unordered.timeouts);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:unordered")
+                        .multicast(unordered).parallelProcessing().id("unordered")
+                            .to("direct:a", "direct:b", "direct:c")
+                        .end();
+
+                from("direct:ordered")
+                        .multicast(ordered).parallelProcessing().id("ordered")
+                            .to("direct:x", "direct:y", "direct:z")
+                        .end();
+
+                from("direct:timeout")
+                        .multicast(unordered).parallelProcessing().timeout(100)
+                            .to("direct:block", "direct:b", "direct:block")
+                        .end();
+
+                // complete in the order B, C and A
+                from("direct:a").process(e -> aggregatedC.await(5, TimeUnit.SECONDS)).setBody(constant("A"));
+                from("direct:b").setBody(constant("B"));
+                from("direct:c").process(e -> aggregatedB.await(5, TimeUnit.SECONDS)).setBody(constant("C"));
+
+                // X completes when Y and Z are waiting for it
+                from("direct:x").process(e -> await().atMost(5, TimeUnit.SECONDS)
+                        .until(() -> context.getProcessor("ordered", MulticastProcessor.class).getBufferedResults() == 2))
+                        .setBody(constant("X"));
+                from("direct:y").setBody(constant("Y"));
+                from("direct:z").setBody(constant("Z"));
+
+                from("direct:block").process(e -> release.await(5, TimeUnit.SECONDS));
+            }
+        };
+    }
+
+    private final class RecordingAggregationStrategy implements AggregationStrategy {
+
+        private final boolean orderSensitive;
+        private final List<String> bodies = new CopyOnWriteArrayList<>();
+        private final List<Integer> timeouts = new CopyOnWriteArrayList<>();
+
+        private RecordingAggregationStrategy(boolean orderSensitive) {
+            this.orderSensitive = orderSensitive;
+        }
+
+        @Override
+        public Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
+            String body = newExchange.getMessage().getBody(String.class);
+            bodies.add(body);
+            CountDownLatch latch = latches.get(body);
+            if (latch != null) {
+                latch.countDown();
+            }
+            if (oldExchange == null) {
+                return newExchange;
+            }
+            oldExchange.getMessage().setBody(oldExchange.getMessage().getBody(String.class) + body);
+            return oldExchange;
+        }
+
+        @Override
+        public void timeout(Exchange exchange, int index, int total, long timeout) {
+            timeouts.add(index);
+        }
+
+        @Override
+        public boolean isOrderSensitive() {
+            return orderSensitive;
+        }
+    }
+}
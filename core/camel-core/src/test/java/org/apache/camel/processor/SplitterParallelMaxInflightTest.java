@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.FailedToCreateRouteException;
+import org.apache.camel.builder.AggregationStrategies;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SplitterParallelMaxInflightTest extends ContextTestSupport {
+
+    private static final int SIZE = 200;
+    private static final int MAX_INFLIGHT = 3;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicInteger maxInflight = new AtomicInteger();
+    private ExecutorService service;
+
+    @Override
+    @BeforeEach
+    public void setUp() throws Exception {
+        // use more threads than the in-flight limit, so the limit is what keeps the split messages back
+        service = Executors.newFixedThreadPool(10);
+        super.setUp();
+    }
+
+    @Override
+    @AfterEach
+    public void tearDown() throws Exception {
+        super.tearDown();
+        service.shutdownNow();
+    }
+
+    @Test
+    public void testStreamingMaxInflight() throws Exception {
+        doTestMaxInflight("direct:streaming");
+    }
+
+    @Test
+    public void testOrderedMaxInflight() throws Exception {
+        doTestMaxInflight("direct:ordered");
+    }
+
+    @Test
+    public void testMaxInflightRequiresParallelProcessing() throws Exception {
+        RouteBuilder builder = new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:sequential").split(body().tokenize(",")).maxInflightExchanges(5)
+                        .to("mock:split");
+            }
+        };
+        Exception e = assertThrows(FailedToCreateRouteException.class, () -> context.addRoutes(builder));
+        assertTrue(e.getCause().getMessage().startsWith("MaxInflightExchanges is used"));
+    }
+
+    private void doTestMaxInflight(String uri) throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(1);
+
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < SIZE; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(i);
+        }
+        template.sendBody(uri, sb.toString());
+
+        assertMockEndpointsSatisfied();
+
+        List<?> bodies = mock.getReceivedExchanges().get(0).getMessage().getBody(List.class);
+        assertEquals(SIZE, bodies.size());
+        assertTrue(maxInflight.get() <= MAX_INFLIGHT, "Should not process more than " + MAX_INFLIGHT
+                                                     + " split messages at the same time, was: " + maxInflight.get());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:streaming")
+                        .split(body().tokenize(","), AggregationStrategies.groupedBody())
+                        .streaming().parallelProcessing().executorService(service).maxInflightExchanges(MAX_INFLIGHT)
+                        .to("direct:work")
+                        .end()
+                        .to("mock:result");
+
+                from("direct:ordered")
+                        .split(body().tokenize(","), AggregationStrategies.groupedBody())
+                        .parallelProcessing().executorService(service).maxInflightExchanges(MAX_INFLIGHT)
+                        .to("direct:work")
+                        .end()
+                        .to("mock:result");
+
+                from("direct:work")
+                        .process(e -> {
+                            int current = inflight.incrementAndGet();
+                            maxInflight.accumulateAndGet(current, Math::max);
+                            // vary the processing time so the split messages complete out of order
+                            Thread.sleep(e.getMessage().getBody(Integer.class) % 3);
+                            inflight.decrementAndGet();
+                        });
+            }
+        };
+    }
+}
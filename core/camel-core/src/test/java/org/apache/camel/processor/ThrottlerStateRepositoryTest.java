@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.spi.Registry;
+import org.apache.camel.support.processor.throttle.MemoryThrottleStateRepository;
+import org.junit.jupiter.api.Test;
+
+public class ThrottlerStateRepositoryTest extends ContextTestSupport {
+
+    @Override
+    protected Registry createRegistry() throws Exception {
+        Registry answer = super.createRegistry();
+        answer.bind("myRepo", new MemoryThrottleStateRepository());
+        return answer;
+    }
+
+    @Test
+    public void testSharedStateRepository() throws Exception {
+        // both throttlers use the same repository so the permits are shared between them
+        getMockEndpoint("mock:result").expectedMessageCount(3);
+        getMockEndpoint("mock:error").expectedMessageCount(3);
+
+        for (int i = 0; i < 3; i++) {
+            template.sendBody("direct:a", "Hello " + i);
+            template.sendBody("direct:b", "Bye " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                onException(ThrottlerRejectedExecutionException.class).handled(true).to("mock:error");
+
+                from("direct:a").throttle(3).timePeriodMillis(60000).rejectExecution(true).stateRepository("myRepo")
+                        .to("mock:result");
+
+                from("direct:b").throttle(3).timePeriodMillis(60000).rejectExecution(true).stateRepository("myRepo")
+                        .to("mock:result");
+            }
+        };
+    }
+}
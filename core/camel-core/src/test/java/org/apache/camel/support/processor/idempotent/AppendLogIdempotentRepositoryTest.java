@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.TestSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AppendLogIdempotentRepositoryTest extends TestSupport {
+
+    private File directory;
+    private AppendLogIdempotentRepository repository;
+
+    @BeforeEach
+    public void setup() {
+        directory = testDirectory(true).resolve("log").toFile();
+        repository = new AppendLogIdempotentRepository(directory);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        repository.stop();
+    }
+
+    @Test
+    public void testAddContainsRemove() {
+        repository.start();
+
+        assertTrue(repository.add("A"));
+        assertTrue(repository.add("B"));
+        assertFalse(repository.add("A"));
+        assertTrue(repository.contains("A"));
+        assertTrue(repository.contains("B"));
+        assertFalse(repository.contains("C"));
+
+        assertTrue(repository.remove("A"));
+        assertFalse(repository.remove("A"));
+        assertFalse(repository.contains("A"));
+        assertEquals(1, repository.getSize());
+    }
+
+    @Test
+    public void testReloadFromLog() {
+        repository.start();
+        repository.add("A");
+        repository.add("B");
+        repository.add("C");
+        repository.remove("B");
+        repository.stop();
+
+        repository = new AppendLogIdempotentRepository(directory);
+        repository.start();
+        assertTrue(repository.contains("A"));
+        assertFalse(repository.contains("B"));
+        assertTrue(repository.contains("C"));
+        assertEquals(2, repository.getSize());
+    }
+
+    @Test
+    public void testSegmentsAndCompaction() {
+        repository.setMaxSegmentSize(64);
+        repository.start();
+
+        for (int i = 0; i < 20; i++) {
+            repository.add("key-" + i);
+        }
+        assertTrue(repository.getSegmentCount() > 1, "Should roll segments");
+
+        // removing most of the keys makes the log compact when the next segment is started
+        for (int i = 0; i < 18; i++) {
+            repository.remove("key-" + i);
+        }
+        assertTrue(repository.getCompactionCounter() > 0, "Should compact the log");
+
+        repository.compact();
+        assertEquals(1, repository.getSegmentCount());
+        repository.stop();
+
+        repository = new AppendLogIdempotentRepository(directory);
+        repository.start();
+        assertEquals(2, repository.getSize());
+        assertTrue(repository.contains("key-18"));
+        assertTrue(repository.contains("key-19"));
+    }
+
+    @Test
+    public void testIncompleteRecordIsTruncated() throws Exception {
+        repository.start();
+        repository.add("A");
+        repository.stop();
+
+        // simulate the JVM was stopped in the middle of writing a record
+        File segment = directory.listFiles()[0];
+        Files.write(segment.toPath(), "+B".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        repository = new AppendLogIdempotentRepository(directory);
+        repository.start();
+        assertTrue(repository.contains("A"));
+        assertFalse(repository.contains("B"));
+        assertTrue(repository.add("C"));
+        repository.stop();
+
+        repository = new AppendLogIdempotentRepository(directory);
+        repository.start();
+        assertTrue(repository.contains("A"));
+        assertTrue(repository.contains("C"));
+        assertEquals(2, repository.getSize());
+    }
+
+    @Test
+    public void testFailedWriteRevertsKeys() throws Exception {
+        repository.start();
+        assertTrue(repository.add("A"));
+
+        // simulate a failing disk by closing the active segment behind the back of the repository
+        Field field = AppendLogIdempotentRepository.class.getDeclaredField("channel");
+        field.setAccessible(true);
+        ((FileChannel) field.get(repository)).close();
+
+        assertThrows(RuntimeCamelException.class, () -> repository.add("B"));
+        assertFalse(repository.contains("B"), "The key is not stored, so it is not a duplicate");
+        assertThrows(RuntimeCamelException.class, () -> repository.remove("A"));
+        assertTrue(repository.contains("A"), "The key is still stored");
+    }
+
+    @Test
+    public void testClear() {
+        repository.start();
+        repository.add("A");
+        repository.add("B");
+        repository.clear();
+        assertFalse(repository.contains("A"));
+        repository.add("C");
+        repository.stop();
+
+        repository = new AppendLogIdempotentRepository(directory);
+        repository.start();
+        assertFalse(repository.contains("A"));
+        assertTrue(repository.contains("C"));
+        assertEquals(1, repository.getSize());
+    }
+
+    @Test
+    public void testConcurrentAdd() throws Exception {
+        repository.start();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                String key = "key-" + (i % 500);
+                results.add(executor.submit(() -> repository.add(key)));
+            }
+            int added = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get()) {
+                    added++;
+                }
+            }
+            assertEquals(500, added);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue(repository.getSyncCounter() <= 500);
+        repository.stop();
+
+        repository = new AppendLogIdempotentRepository(directory);
+        repository.start();
+        assertEquals(500, repository.getSize());
+    }
+}
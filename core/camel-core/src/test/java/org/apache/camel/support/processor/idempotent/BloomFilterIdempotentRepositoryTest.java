@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BloomFilterIdempotentRepositoryTest extends ContextTestSupport {
+
+    private final CountingIdempotentRepository counting = new CountingIdempotentRepository();
+    private final BloomFilterIdempotentRepository repository = new BloomFilterIdempotentRepository(counting);
+
+    @Test
+    public void testDefiniteMissSkipsRepository() {
+        repository.start();
+
+        assertFalse(repository.contains("A"));
+        assertEquals(0, counting.containsCounter.get());
+        assertEquals(1, repository.getFilterMissCounter());
+
+        assertTrue(repository.add("A"));
+        assertTrue(repository.contains("A"));
+        assertEquals(1, counting.containsCounter.get());
+        assertEquals(1, repository.getFilterHitCounter());
+        assertEquals(0, repository.getFalsePositiveCounter());
+
+        // removed keys stay in the filter, so they are false positives
+        assertTrue(repository.remove("A"));
+        assertFalse(repository.contains("A"));
+        assertEquals(1, repository.getFalsePositiveCounter());
+
+        repository.stop();
+    }
+
+    @Test
+    public void testAddToFilter() {
+        counting.add("A");
+        counting.add("B");
+        repository.addToFilter(List.of("A", "B"));
+        repository.start();
+
+        assertTrue(repository.contains("A"));
+        assertTrue(repository.contains("B"));
+        assertFalse(repository.add("A"));
+        repository.stop();
+    }
+
+    @Test
+    public void testGrowBeyondExpectedInsertions() {
+        repository.setExpectedInsertions(1000);
+        repository.setFalsePositiveProbability(0.01);
+        repository.start();
+
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            String key = "key-" + i;
+            keys.add(key);
+            repository.add(key);
+        }
+        // no false negatives
+        for (String key : keys) {
+            assertTrue(repository.contains(key));
+        }
+        repository.resetStatistics();
+
+        for (int i = 10000; i < 20000; i++) {
+            repository.contains("key-" + i);
+        }
+        // the false positive probability of all the filters together should stay within the limit
+        long fp = repository.getFalsePositiveCounter();
+        assertTrue(fp < 100, "Too many false positives: " + fp);
+        assertEquals(10000, repository.getFilterMissCounter() + fp);
+        repository.stop();
+    }
+
+    @Test
+    public void testIdempotentConsumer() throws Exception {
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:start").idempotentConsumer(header("messageId")).idempotentRepository(repository)
+                        .eager(false)
+                        .to("mock:result");
+            }
+        });
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived("one", "two", "three");
+
+        template.sendBodyAndHeader("direct:start", "one", "messageId", "1");
+        template.sendBodyAndHeader("direct:start", "two", "messageId", "2");
+        template.sendBodyAndHeader("direct:start", "one", "messageId", "1");
+        template.sendBodyAndHeader("direct:start", "two", "messageId", "2");
+        template.sendBodyAndHeader("direct:start", "three", "messageId", "3");
+
+        assertMockEndpointsSatisfied();
+
+        // only the duplicates were looked up in the repository (the new keys miss the filter on both contains and add)
+        assertEquals(2, counting.containsCounter.get());
+        assertEquals(6, repository.getFilterMissCounter());
+        assertEquals(2, repository.getFilterHitCounter());
+    }
+
+    @Test
+    public void testIdempotentConsumerEager() throws Exception {
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:start").idempotentConsumer(header("messageId")).idempotentRepository(repository)
+                        .to("mock:result");
+            }
+        });
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived("one", "two", "three");
+
+        template.sendBodyAndHeader("direct:start", "one", "messageId", "1");
+        template.sendBodyAndHeader("direct:start", "two", "messageId", "2");
+        template.sendBodyAndHeader("direct:start", "one", "messageId", "1");
+        template.sendBodyAndHeader("direct:start", "two", "messageId", "2");
+        template.sendBodyAndHeader("direct:start", "three", "messageId", "3");
+
+        assertMockEndpointsSatisfied();
+
+        // new keys are added directly, and only the duplicates were looked up in the repository
+        assertEquals(3, counting.addCounter.get());
+        assertEquals(2, counting.containsCounter.get());
+        assertEquals(3, repository.getFilterMissCounter());
+        assertEquals(2, repository.getFilterHitCounter());
+    }
+
+    private static class CountingIdempotentRepository extends MemoryIdempotentRepository {
+
+        private final AtomicInteger addCounter = new AtomicInteger();
+        private final AtomicInteger containsCounter = new AtomicInteger();
+
+        CountingIdempotentRepository() {
+            super(new HashMap<>());
+        }
+
+        @Override
+        public boolean add(String key) {
+            addCounter.incrementAndGet();
+            return super.add(key);
+        }
+
+        @Override
+        public boolean contains(String key) {
+            containsCounter.incrementAndGet();
+            return super.contains(key);
+        }
+    }
+}
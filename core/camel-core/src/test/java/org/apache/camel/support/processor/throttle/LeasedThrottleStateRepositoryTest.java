@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.throttle;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class LeasedThrottleStateRepositoryTest {
+
+    private static final long PERIOD = 60000;
+
+    private final Map<String, AtomicLong> store = new ConcurrentHashMap<>();
+    private final AtomicInteger roundTrips = new AtomicInteger();
+
+    @Test
+    public void testPermitsSharedAcrossRepositories() {
+        LeasedThrottleStateRepository node1 = new MyLeasedThrottleStateRepository();
+        node1.setLeaseSize(3);
+        LeasedThrottleStateRepository node2 = new MyLeasedThrottleStateRepository();
+        node2.setLeaseSize(3);
+        node1.start();
+        node2.start();
+
+        long window = System.currentTimeMillis() / PERIOD;
+        int acquired = 0;
+        for (int i = 0; i < 10; i++) {
+            if (node1.tryAcquire("foo", 10, PERIOD) == 0) {
+                acquired++;
+            }
+            if (node2.tryAcquire("foo", 10, PERIOD) == 0) {
+                acquired++;
+            }
+        }
+        assumeTrue(window == System.currentTimeMillis() / PERIOD, "The test should run within a single window");
+
+        assertEquals(10, acquired);
+        // leasing 3 permits at once means far fewer round trips than acquired permits
+        assertTrue(roundTrips.get() <= 6, "Should lease the permits, was: " + roundTrips.get());
+
+        long delay = node1.tryAcquire("foo", 10, PERIOD);
+        assertTrue(delay > 0);
+
+        node1.stop();
+        node2.stop();
+    }
+
+    private class MyLeasedThrottleStateRepository extends LeasedThrottleStateRepository {
+
+        @Override
+        protected long addAndGet(String name, int delta, long timeToLiveMillis) {
+            roundTrips.incrementAndGet();
+            return store.computeIfAbsent(name, k -> new AtomicLong()).addAndGet(delta);
+        }
+    }
+}
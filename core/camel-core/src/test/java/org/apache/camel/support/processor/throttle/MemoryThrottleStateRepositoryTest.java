@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.throttle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MemoryThrottleStateRepositoryTest {
+
+    private static final long PERIOD = 60000;
+
+    private MemoryThrottleStateRepository repository;
+
+    @BeforeEach
+    public void setup() {
+        repository = new MemoryThrottleStateRepository();
+        repository.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        repository.stop();
+    }
+
+    @Test
+    public void testAcquire() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, repository.tryAcquire("foo", 3, PERIOD));
+        }
+        long delay = repository.tryAcquire("foo", 3, PERIOD);
+        assertTrue(delay > 0 && delay <= TimeUnit.MILLISECONDS.toNanos(PERIOD), "Should wait for the period, was: " + delay);
+
+        // keys are throttled independently
+        assertEquals(0, repository.tryAcquire("bar", 3, PERIOD));
+        assertEquals(2, repository.getSize());
+    }
+
+    @Test
+    public void testPermitAvailableAfterPeriod() throws Exception {
+        assertEquals(0, repository.tryAcquire("foo", 1, 100));
+        long delay = repository.tryAcquire("foo", 1, 100);
+        assertTrue(delay > 0);
+
+        TimeUnit.NANOSECONDS.sleep(delay);
+        assertEquals(0, repository.tryAcquire("foo", 1, 100));
+    }
+
+    @Test
+    public void testRateIncrease() {
+        assertEquals(0, repository.tryAcquire("foo", 2, PERIOD));
+        assertEquals(0, repository.tryAcquire("foo", 2, PERIOD));
+        assertTrue(repository.tryAcquire("foo", 2, PERIOD) > 0);
+
+        // the two permits already used still count
+        assertEquals(0, repository.tryAcquire("foo", 3, PERIOD));
+        assertTrue(repository.tryAcquire("foo", 3, PERIOD) > 0);
+    }
+
+    @Test
+    public void testRateDecrease() {
+        assertEquals(0, repository.tryAcquire("foo", 3, PERIOD));
+        assertEquals(0, repository.tryAcquire("foo", 3, PERIOD));
+
+        assertTrue(repository.tryAcquire("foo", 2, PERIOD) > 0);
+        assertTrue(repository.tryAcquire("foo", 1, PERIOD) > 0);
+    }
+
+    @Test
+    public void testZeroRate() {
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(PERIOD), repository.tryAcquire("foo", 0, PERIOD));
+    }
+
+    @Test
+    public void testConcurrentAcquire() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    int acquired = 0;
+                    for (int j = 0; j < 1000; j++) {
+                        if (repository.tryAcquire("foo", 100, PERIOD) == 0) {
+                            acquired++;
+                        }
+                    }
+                    return acquired;
+                }));
+            }
+            int acquired = 0;
+            for (Future<Integer> result : results) {
+                acquired += result.get();
+            }
+            assertEquals(100, acquired);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CaseInsensitiveArrayMapTest {
+
+    @Test
+    public void testLookupCaseAgnostic() {
+        Map<String, Object> map = new CaseInsensitiveArrayMap();
+        assertNull(map.get("foo"));
+
+        map.put("foo", "cheese");
+
+        assertEquals("cheese", map.get("foo"));
+        assertEquals("cheese", map.get("Foo"));
+        assertEquals("cheese", map.get("FOO"));
+        assertNull(map.get("bar"));
+        assertNull(map.get(null));
+    }
+
+    @Test
+    public void testSetWithDifferentCase() {
+        Map<String, Object> map = new CaseInsensitiveArrayMap();
+        map.put("Foo", "cheese");
+        map.put("FOO", "cake");
+
+        assertEquals(1, map.size());
+        assertEquals("cake", map.get("foo"));
+        // the original key case is kept
+        assertEquals("Foo", map.keySet().iterator().next());
+    }
+
+    @Test
+    public void testRemoveWithDifferentCase() {
+        Map<String, Object> map = new CaseInsensitiveArrayMap();
+        map.put("foo", "cheese");
+        map.put("Bar", "beer");
+
+        assertEquals("cheese", map.remove("FOO"));
+        assertEquals(1, map.size());
+        assertNull(map.get("foo"));
+        assertEquals("beer", map.get("bar"));
+    }
+
+    @Test
+    public void testInsertionOrder() {
+        Map<String, Object> map = new CaseInsensitiveArrayMap();
+        map.put("Zulu", 1);
+        map.put("alpha", 2);
+        map.put("Mike", 3);
+        map.remove("ALPHA");
+        map.put("bravo", 4);
+
+        assertEquals(List.of("Zulu", "Mike", "bravo"), new ArrayList<>(map.keySet()));
+        assertEquals(List.of(1, 3, 4), new ArrayList<>(map.values()));
+    }
+
+    @Test
+    public void testManyHeaders() {
+        // more entries than when scanning is used
+        Map<String, Object> map = new CaseInsensitiveArrayMap();
+        for (int i = 0; i < 100; i++) {
+            map.put("Header" + i, i);
+        }
+        assertEquals(100, map.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, map.get("HEADER" + i));
+            assertEquals(i, map.get("header" + i));
+        }
+        for (int i = 0; i < 100; i += 2) {
+            assertEquals(i, map.remove("hEaDeR" + i));
+        }
+        assertEquals(50, map.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i % 2 == 0 ? null : i, map.get("header" + i));
+        }
+    }
+
+    @Test
+    public void testKeySet() {
+        Map<String, Object> map = new CaseInsensitiveArrayMap();
+        map.put("Foo", "cheese");
+        map.put("BAR", 123);
+        map.put("baZ", "beer");
+
+        Set<String> keys = map.keySet();
+        assertTrue(keys.contains("Foo"));
+        assertTrue(keys.contains("foo"));
+        assertTrue(keys.contains("BAR"));
+        assertTrue(keys.contains("bar"));
+        assertTrue(keys.contains("BAZ"));
+
+        assertTrue(keys.remove("FOO"));
+        assertEquals(2, map.size());
+        assertFalse(map.containsKey("foo"));
+    }
+
+    @Test
+    public void testRetainKeysCopyToAnotherMap() {
+        Map<String, Object> map = new CaseInsensitiveArrayMap();
+        map.put("Foo", "cheese");
+        map.put("BAR", 123);
+
+        Map<String, Object> other = new HashMap<>(map);
+        assertTrue(other.containsKey("Foo"));
+        assertFalse(other.containsKey("foo"));
+        assertTrue(other.containsKey("BAR"));
+        assertFalse(other.containsKey("bar"));
+    }
+
+    @Test
+    public void testEntrySetIterator() {
+        Map<String, Object> map = new CaseInsensitiveArrayMap();
+        map.put("foo", 1);
+        map.put("bar", 2);
+        map.put("baz", 3);
+
+        Iterator<Map.Entry<String, Object>> it = map.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Object> entry = it.next();
+            if ("bar".equals(entry.getKey())) {
+                it.remove();
+            } else {
+                entry.setValue((Integer) entry.getValue() * 10);
+            }
+        }
+
+        assertEquals(2, map.size());
+        assertEquals(10, map.get("FOO"));
+        assertEquals(30, map.get("BAZ"));
+        assertFalse(map.containsKey("bar"));
+    }
+
+    @Test
+    public void testCopyOnWrite() {
+        Map<String, Object> map = new CaseInsensitiveArrayMap();
+        for (int i = 0; i < 20; i++) {
+            map.put("Header" + i, i);
+        }
+
+        Map<String, Object> copy = new CaseInsensitiveArrayMap(map);
+        assertEquals(map, copy);
+
+        copy.put("header0", "changed");
+        copy.remove("header1");
+        copy.put("New", "new");
+
+        assertEquals(0, map.get("header0"));
+        assertEquals(1, map.get("header1"));
+        assertFalse(map.containsKey("new"));
+        assertEquals(20, map.size());
+
+        map.put("header2", "original");
+        assertEquals(2, copy.get("header2"));
+        assertEquals("changed", copy.get("HEADER0"));
+        assertEquals(20, copy.size());
+
+        Map<String, Object> copy2 = new CaseInsensitiveArrayMap();
+        copy2.putAll(map);
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertEquals(20, copy2.size());
+        assertEquals("original", copy2.get("header2"));
+    }
+
+    @Test
+    public void testSerialization() throws Exception {
+        CaseInsensitiveArrayMap map = new CaseInsensitiveArrayMap();
+        map.put("Foo", "cheese");
+        map.put("BAR", 123);
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bos)) {
+            out.writeObject(map);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> copy = (Map<String, Object>) in.readObject();
+            assertEquals("cheese", copy.get("foo"));
+            assertEquals(123, copy.get("bar"));
+        }
+    }
+
+    @Test
+    public void testHashIgnoresCase() {
+        assertEquals(CaseInsensitiveArrayMap.hash("content-type"), CaseInsensitiveArrayMap.hash("Content-Type"));
+        assertEquals(CaseInsensitiveArrayMap.hash("été"), CaseInsensitiveArrayMap.hash("ÉTÉ"));
+        assertTrue("été".equalsIgnoreCase("ÉTÉ"));
+    }
+}
@@ -227,6 +227,10 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "StreamCachingSpoolDirectory": target.setStreamCachingSpoolDirectory(property(camelContext, java.lang.String.class, value)); return true;
         case "streamcachingspoolenabled":
         case "StreamCachingSpoolEnabled": target.setStreamCachingSpoolEnabled(property(camelContext, boolean.class, value)); return true;
+        case "streamcachingspooloffheaparenasize":
+        case "StreamCachingSpoolOffHeapArenaSize": target.setStreamCachingSpoolOffHeapArenaSize(property(camelContext, long.class, value)); return true;
+        case "streamcachingspooloffheapenabled":
+        case "StreamCachingSpoolOffHeapEnabled": target.setStreamCachingSpoolOffHeapEnabled(property(camelContext, boolean.class, value)); return true;
         case "streamcachingspoolthreshold":
         case "StreamCachingSpoolThreshold": target.setStreamCachingSpoolThreshold(property(camelContext, long.class, value)); return true;
         case "streamcachingspoolusedheapmemorylimit":
@@ -468,6 +472,10 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "StreamCachingSpoolDirectory": return java.lang.String.class;
         case "streamcachingspoolenabled":
         case "StreamCachingSpoolEnabled": return boolean.class;
+        case "streamcachingspooloffheaparenasize":
+        case "StreamCachingSpoolOffHeapArenaSize": return long.class;
+        case "streamcachingspooloffheapenabled":
+        case "StreamCachingSpoolOffHeapEnabled": return boolean.class;
         case "streamcachingspoolthreshold":
         case "StreamCachingSpoolThreshold": return long.class;
         case "streamcachingspoolusedheapmemorylimit":
@@ -710,6 +718,10 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "StreamCachingSpoolDirectory": return target.getStreamCachingSpoolDirectory();
         case "streamcachingspoolenabled":
         case "StreamCachingSpoolEnabled": return target.isStreamCachingSpoolEnabled();
+        case "streamcachingspooloffheaparenasize":
+        case "StreamCachingSpoolOffHeapArenaSize": return target.getStreamCachingSpoolOffHeapArenaSize();
+        case "streamcachingspooloffheapenabled":
+        case "StreamCachingSpoolOffHeapEnabled": return target.isStreamCachingSpoolOffHeapEnabled();
         case "streamcachingspoolthreshold":
         case "StreamCachingSpoolThreshold": return target.getStreamCachingSpoolThreshold();
         case "streamcachingspoolusedheapmemorylimit":
@@ -52,6 +52,7 @@ import org.apache.camel.spi.EventNotifier;
 import org.apache.camel.spi.ExchangeFactory;
 import org.apache.camel.spi.ExecutorServiceManager;
 import org.apache.camel.spi.FactoryFinderResolver;
+import org.apache.camel.spi.HeadersMapFactory;
 import org.apache.camel.spi.InflightRepository;
 import org.apache.camel.spi.InterceptStrategy;
 import org.apache.camel.spi.LifecycleStrategy;
@@ -190,6 +191,10 @@ public final class DefaultConfigurationConfigurer {
         camelContext.getStreamCachingStrategy()
                 .setRemoveSpoolDirectoryWhenStopping(config.isStreamCachingRemoveSpoolDirectoryWhenStopping());
         camelContext.getStreamCachingStrategy().setSpoolCipher(config.getStreamCachingSpoolCipher());
+        camelContext.getStreamCachingStrategy().setSpoolOffHeapEnabled(config.isStreamCachingSpoolOffHeapEnabled());
+        if (config.getStreamCachingSpoolOffHeapArenaSize() != 0) {
+            camelContext.getStreamCachingStrategy().setSpoolOffHeapArenaSize(config.getStreamCachingSpoolOffHeapArenaSize());
+        }
         if (config.getStreamCachingSpoolDirectory() != null) {
             camelContext.getStreamCachingStrategy().setSpoolDirectory(config.getStreamCachingSpoolDirectory());
         }
@@ -462,6 +467,10 @@ public final class DefaultConfigurationConfigurer {
         if (exf != null) {
             ecc.setExchangeFactory(exf);
         }
+        HeadersMapFactory hmf = getSingleBeanOfType(registry, HeadersMapFactory.class);
+        if (hmf != null) {
+            ecc.setHeadersMapFactory(hmf);
+        }
         Set<TypeConverters> tcs = registry.findByType(TypeConverters.class);
         if (!tcs.isEmpty()) {
             tcs.forEach(t -> camelContext.getTypeConverterRegistry().addTypeConverters(t));
@@ -62,6 +62,8 @@ public abstract class DefaultConfigurationProperties<T> {
     private boolean streamCachingSpoolEnabled;
     private String streamCachingSpoolDirectory;
     private String streamCachingSpoolCipher;
+    private boolean streamCachingSpoolOffHeapEnabled;
+    private long streamCachingSpoolOffHeapArenaSize;
     private long streamCachingSpoolThreshold;
     private int streamCachingSpoolUsedHeapMemoryThreshold;
     private String streamCachingSpoolUsedHeapMemoryLimit;
@@ -502,6 +504,34 @@ public abstract class DefaultConfigurationProperties<T> {
         this.streamCachingSpoolCipher = streamCachingSpoolCipher;
     }
 
+    public boolean isStreamCachingSpoolOffHeapEnabled() {
+        return streamCachingSpoolOffHeapEnabled;
+    }
+
+    /**
+     * To enable stream caching spooling to off-heap memory. This means, for large stream messages the data is kept in
+     * pooled direct (off-heap) buffers instead of a temporary file, and when the off-heap arena is exhausted then
+     * spooling to disk is used. Spooling must be enabled for this to take effect.
+     *
+     * Default is false.
+     */
+    public void setStreamCachingSpoolOffHeapEnabled(boolean streamCachingSpoolOffHeapEnabled) {
+        this.streamCachingSpoolOffHeapEnabled = streamCachingSpoolOffHeapEnabled;
+    }
+
+    public long getStreamCachingSpoolOffHeapArenaSize() {
+        return streamCachingSpoolOffHeapArenaSize;
+    }
+
+    /**
+     * Sets the maximum number of bytes of off-heap memory to use for stream caching spooling to off-heap memory.
+     *
+     * The default size is 64mb.
+     */
+    public void setStreamCachingSpoolOffHeapArenaSize(long streamCachingSpoolOffHeapArenaSize) {
+        this.streamCachingSpoolOffHeapArenaSize = streamCachingSpoolOffHeapArenaSize;
+    }
+
     public long getStreamCachingSpoolThreshold() {
         return streamCachingSpoolThreshold;
     }
@@ -1856,6 +1886,28 @@ public abstract class DefaultConfigurationProperties<T> {
         return (T) this;
     }
 
+    /**
+     * To enable stream caching spooling to off-heap memory. This means, for large stream messages the data is kept in
+     * pooled direct (off-heap) buffers instead of a temporary file, and when the off-heap arena is exhausted then
+     * spooling to disk is used. Spooling must be enabled for this to take effect.
+     *
+     * Default is false.
+     */
+    public T withStreamCachingSpoolOffHeapEnabled(boolean streamCachingSpoolOffHeapEnabled) {
+        this.streamCachingSpoolOffHeapEnabled = streamCachingSpoolOffHeapEnabled;
+        return (T) this;
+    }
+
+    /**
+     * Sets the maximum number of bytes of off-heap memory to use for stream caching spooling to off-heap memory.
+     *
+     * The default size is 64mb.
+     */
+    public T withStreamCachingSpoolOffHeapArenaSize(long streamCachingSpoolOffHeapArenaSize) {
+        this.streamCachingSpoolOffHeapArenaSize = streamCachingSpoolOffHeapArenaSize;
+        return (T) this;
+    }
+
     /**
      * Stream caching threshold in bytes when overflow to disk is activated. The default threshold is 128kb. Use -1 to
      * disable overflow to disk.
@@ -40,6 +40,7 @@ public class ThreadPoolConfigurationProperties implements BootstrapCloseable {
     private Integer maxQueueSize;
     private Boolean allowCoreThreadTimeOut;
     private ThreadPoolRejectedPolicy rejectedPolicy;
+    private Boolean virtualThreads;
 
     // profile specific values
     private Map<String, ThreadPoolProfileConfigurationProperties> config = new HashMap<>();
@@ -138,6 +139,19 @@ public class ThreadPoolConfigurationProperties implements BootstrapCloseable {
         this.rejectedPolicy = rejectedPolicy;
     }
 
+    public Boolean getVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Sets the default for whether to use virtual threads instead of a pool of platform threads, which starts a new
+     * virtual thread per task. This requires Java 21 or newer, and when not supported by the JVM then a pool of platform
+     * threads is used.
+     */
+    public void setVirtualThreads(Boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
     public Map<String, ThreadPoolProfileConfigurationProperties> getConfig() {
         return config;
     }
@@ -175,6 +175,21 @@ public final class CamelOpenMBeanTypes {
                 new OpenType[] { SimpleType.STRING, SimpleType.STRING, SimpleType.LONG });
     }
 
+    public static TabularType multicastBranchStatisticsTabularType() throws OpenDataException {
+        CompositeType ct = multicastBranchStatisticsCompositeType();
+        return new TabularType("multicastBranchStatistics", "Multicast branch statistics", ct, new String[] { "index" });
+    }
+
+    public static CompositeType multicastBranchStatisticsCompositeType() throws OpenDataException {
+        return new CompositeType(
+                "branches", "Branches",
+                new String[] { "index", "processor", "count", "minTime", "meanTime", "maxTime", "totalTime" },
+                new String[] { "Index", "Processor", "Count", "Min Time", "Mean Time", "Max Time", "Total Time" },
+                new OpenType[] {
+                        SimpleType.INTEGER, SimpleType.STRING, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG,
+                        SimpleType.LONG, SimpleType.LONG });
+    }
+
     public static TabularType loadbalancerExceptionsTabularType() throws OpenDataException {
         CompositeType ct = loadbalancerExceptionsCompositeType();
         return new TabularType("exception", "Exception statistics", ct, new String[] { "exception" });
@@ -16,7 +16,10 @@
  */
 package org.apache.camel.api.management.mbean;
 
+import javax.management.openmbean.TabularData;
+
 import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
 
 public interface ManagedMulticastMBean extends ManagedProcessorMBean {
 
@@ -38,4 +41,13 @@ public interface ManagedMulticastMBean extends ManagedProcessorMBean {
     @ManagedAttribute(description = "The total timeout specified in millis, when using parallel processing.")
     Long getTimeout();
 
+    @ManagedAttribute(description = "Number of completed sub messages currently waiting for sub messages sent before them to complete, so they can be aggregated in order.")
+    Integer getBufferedResults();
+
+    @ManagedAttribute(description = "Highest number of completed sub messages which has been waiting at the same time for sub messages sent before them to complete.")
+    Integer getMaxBufferedResults();
+
+    @ManagedOperation(description = "Statistics of the processing time of the sub messages for each branch")
+    TabularData branchStatistics();
+
 }
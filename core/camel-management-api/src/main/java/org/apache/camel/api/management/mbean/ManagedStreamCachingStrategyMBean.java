@@ -77,6 +77,18 @@ public interface ManagedStreamCachingStrategyMBean extends ManagedServiceMBean {
     @ManagedAttribute(description = "Whether any or all spool rules determines whether to spool")
     boolean isAnySpoolRules();
 
+    @ManagedAttribute(description = "Whether spooling to off-heap memory is enabled")
+    boolean isSpoolOffHeapEnabled();
+
+    @ManagedAttribute(description = "Maximum number of bytes of off-heap memory to use for spooling")
+    long getSpoolOffHeapArenaSize();
+
+    @ManagedAttribute(description = "Number of bytes of off-heap memory currently in use for spooling")
+    long getSpoolOffHeapArenaUsed();
+
+    @ManagedAttribute(description = "Number of times spooling to off-heap memory overflowed to disk as the off-heap arena was exhausted")
+    long getSpoolOffHeapOverflowCounter();
+
     @ManagedAttribute(description = "Number of in-memory StreamCache created")
     long getCacheMemoryCounter();
 
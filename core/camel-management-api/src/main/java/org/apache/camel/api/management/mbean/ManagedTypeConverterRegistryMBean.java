@@ -36,6 +36,12 @@ public interface ManagedTypeConverterRegistryMBean extends ManagedServiceMBean {
     @ManagedAttribute(description = "Number of type conversion failures (failed conversions)")
     long getFailedCounter();
 
+    @ManagedAttribute(description = "Number of conversions reusing the type converter remembered at the call site")
+    long getCallSiteHitCounter();
+
+    @ManagedAttribute(description = "Number of conversions where the call site had to look up the type converter")
+    long getCallSiteMissCounter();
+
     @ManagedOperation(description = "Resets the type conversion counters")
     void resetTypeConversionCounters();
 
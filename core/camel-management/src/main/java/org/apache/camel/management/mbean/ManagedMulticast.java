@@ -16,11 +16,22 @@
  */
 package org.apache.camel.management.mbean;
 
+import java.util.List;
+
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.CompositeDataSupport;
+import javax.management.openmbean.CompositeType;
+import javax.management.openmbean.TabularData;
+import javax.management.openmbean.TabularDataSupport;
+
 import org.apache.camel.CamelContext;
+import org.apache.camel.RuntimeCamelException;
 import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.api.management.mbean.CamelOpenMBeanTypes;
 import org.apache.camel.api.management.mbean.ManagedMulticastMBean;
 import org.apache.camel.model.ProcessorDefinition;
 import org.apache.camel.processor.MulticastProcessor;
+import org.apache.camel.processor.MulticastProcessor.BranchStatistics;
 
 @ManagedResource(description = "Managed Multicast")
 public class ManagedMulticast extends ManagedProcessor implements ManagedMulticastMBean {
@@ -31,6 +42,23 @@ public class ManagedMulticast extends ManagedProcessor implements ManagedMultica
         this.processor = processor;
     }
 
+    @Override
+    public void reset() {
+        processor.reset();
+        super.reset();
+    }
+
+    @Override
+    public void setStatisticsEnabled(boolean statisticsEnabled) {
+        super.setStatisticsEnabled(statisticsEnabled);
+        processor.setStatisticsEnabled(statisticsEnabled);
+    }
+
+    @Override
+    public Boolean getSupportExtendedInformation() {
+        return true;
+    }
+
     @Override
     public Boolean isParallelAggregate() {
         return processor.isParallelAggregate();
@@ -60,4 +88,41 @@ public class ManagedMulticast extends ManagedProcessor implements ManagedMultica
     public Long getTimeout() {
         return processor.getTimeout();
     }
+
+    @Override
+    public Integer getBufferedResults() {
+        return processor.getBufferedResults();
+    }
+
+    @Override
+    public Integer getMaxBufferedResults() {
+        return processor.getMaxBufferedResults();
+    }
+
+    @Override
+    public TabularData branchStatistics() {
+        try {
+            TabularData answer = new TabularDataSupport(CamelOpenMBeanTypes.multicastBranchStatisticsTabularType());
+
+            List<BranchStatistics> branches = processor.getBranchStatistics();
+            List<ProcessorDefinition<?>> outputs = getDefinition().getOutputs();
+            for (int i = 0; i < branches.size(); i++) {
+                BranchStatistics stats = branches.get(i);
+
+                CompositeType ct = CamelOpenMBeanTypes.multicastBranchStatisticsCompositeType();
+                String label = branches.size() == outputs.size() ? outputs.get(i).getLabel() : getDefinition().getLabel();
+
+                CompositeData data = new CompositeDataSupport(
+                        ct,
+                        new String[] { "index", "processor", "count", "minTime", "meanTime", "maxTime", "totalTime" },
+                        new Object[] {
+                                i, label, stats.getCount(), stats.getMinTime(), stats.getMeanTime(), stats.getMaxTime(),
+                                stats.getTotalTime() });
+                answer.put(data);
+            }
+            return answer;
+        } catch (Exception e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+    }
 }
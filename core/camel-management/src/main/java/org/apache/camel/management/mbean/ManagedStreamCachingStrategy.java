@@ -152,6 +152,26 @@ public class ManagedStreamCachingStrategy extends ManagedService implements Mana
         return streamCachingStrategy.isAnySpoolRules();
     }
 
+    @Override
+    public boolean isSpoolOffHeapEnabled() {
+        return streamCachingStrategy.isSpoolOffHeapEnabled();
+    }
+
+    @Override
+    public long getSpoolOffHeapArenaSize() {
+        return streamCachingStrategy.getSpoolOffHeapArenaSize();
+    }
+
+    @Override
+    public long getSpoolOffHeapArenaUsed() {
+        return streamCachingStrategy.getSpoolOffHeapArenaUsed();
+    }
+
+    @Override
+    public long getSpoolOffHeapOverflowCounter() {
+        return streamCachingStrategy.getSpoolOffHeapOverflowCounter();
+    }
+
     @Override
     public long getCacheMemoryCounter() {
         return streamCachingStrategy.getStatistics().getCacheMemoryCounter();
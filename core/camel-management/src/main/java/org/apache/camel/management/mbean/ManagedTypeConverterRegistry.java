@@ -64,6 +64,16 @@ public class ManagedTypeConverterRegistry extends ManagedService implements Mana
         return registry.getStatistics().getFailedCounter();
     }
 
+    @Override
+    public long getCallSiteHitCounter() {
+        return registry.getStatistics().getCallSiteHitCounter();
+    }
+
+    @Override
+    public long getCallSiteMissCounter() {
+        return registry.getStatistics().getCallSiteMissCounter();
+    }
+
     @Override
     public void resetTypeConversionCounters() {
         registry.getStatistics().reset();
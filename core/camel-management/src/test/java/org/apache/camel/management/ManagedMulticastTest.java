@@ -16,8 +16,11 @@
  */
 package org.apache.camel.management;
 
+import javax.management.Attribute;
 import javax.management.MBeanServer;
 import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
 
 import org.apache.camel.builder.RouteBuilder;
 import org.junit.jupiter.api.Test;
@@ -62,6 +65,35 @@ public class ManagedMulticastTest extends ManagementTestSupport {
         assertEquals(false, parallel.booleanValue());
     }
 
+    @Test
+    public void testMulticastBranchStatistics() throws Exception {
+        MBeanServer mbeanServer = getMBeanServer();
+        ObjectName name = getCamelObjectName(TYPE_PROCESSOR, "myMulticast");
+        mbeanServer.setAttribute(name, new Attribute("StatisticsEnabled", true));
+
+        getMockEndpoint("mock:a").expectedMessageCount(3);
+        getMockEndpoint("mock:b").expectedMessageCount(3);
+
+        template.sendBody("direct:start", "Hello World");
+        template.sendBody("direct:start", "Bye World");
+        template.sendBody("direct:start", "Hi World");
+
+        assertMockEndpointsSatisfied();
+
+        // the replies are aggregated in order without parallel processing, so none has to wait for an earlier reply
+        Integer buffered = (Integer) mbeanServer.getAttribute(name, "MaxBufferedResults");
+        assertEquals(0, buffered.intValue());
+
+        TabularData data = (TabularData) mbeanServer.invoke(name, "branchStatistics", null, null);
+        assertEquals(2, data.size());
+        CompositeData row = data.get(new Object[] { 0 });
+        assertEquals("mock:a", row.get("processor"));
+        assertEquals(3L, row.get("count"));
+        row = data.get(new Object[] { 1 });
+        assertEquals("mock:b", row.get("processor"));
+        assertEquals(3L, row.get("count"));
+    }
+
     @Override
     protected RouteBuilder createRouteBuilder() throws Exception {
         return new RouteBuilder() {
@@ -88,6 +88,18 @@ public class ManagedStreamCachingStrategyTest extends ManagementTestSupport {
 
         Boolean remove = (Boolean) mbeanServer.getAttribute(name, "RemoveSpoolDirectoryWhenStopping");
         assertEquals(Boolean.TRUE, remove);
+
+        enabled = (Boolean) mbeanServer.getAttribute(name, "SpoolOffHeapEnabled");
+        assertEquals(Boolean.FALSE, enabled);
+
+        Long arena = (Long) mbeanServer.getAttribute(name, "SpoolOffHeapArenaSize");
+        assertEquals(64 * 1024 * 1024, arena.longValue());
+
+        arena = (Long) mbeanServer.getAttribute(name, "SpoolOffHeapArenaUsed");
+        assertEquals(0, arena.longValue());
+
+        counter = (Long) mbeanServer.getAttribute(name, "SpoolOffHeapOverflowCounter");
+        assertEquals(0, counter.longValue());
     }
 
     @Override
@@ -33,6 +33,9 @@ import org.apache.camel.spi.StreamCachingStrategy;
  * The temp file will store in the temp directory, you can configure it by setting the TEMP_DIR property. If you don't
  * set the TEMP_DIR property, it will choose the directory which is set by the system property of "java.io.tmpdir".
  * <p/>
+ * If spooling to off-heap memory is enabled, then the content is stored in off-heap buffers instead of a temp file, as
+ * long as there is room in the off-heap arena.
+ * <p/>
  * You can get a cached input stream of this stream. The temp file which is created with this output stream will be
  * deleted when you close this output stream or the cached fileInputStream(s) is/are closed after all the exchanges
  * using the temp file are completed.
@@ -151,8 +154,13 @@ public class CachedOutputStream extends OutputStream {
         flush();
         ByteArrayOutputStream bout = (ByteArrayOutputStream) currentStream;
         try {
-            // creates a tmp file and a file output stream
-            currentStream = tempFileManager.createOutputStream(strategy);
+            if (strategy.isSpoolOffHeapEnabled()) {
+                // spools to off-heap memory, which overflows to a tmp file if the off-heap arena is exhausted
+                currentStream = tempFileManager.createOffHeapOutputStream(strategy);
+            } else {
+                // creates a tmp file and a file output stream
+                currentStream = tempFileManager.createOutputStream(strategy);
+            }
             bout.writeTo(currentStream);
         } finally {
             // ensure flag is flipped to file based
@@ -191,6 +191,8 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
      *
      * Collects all FileInputStreamCache instances of the temporary file. Counts the number of exchanges which have a
      * FileInputStreamCache instance of the temporary file. Deletes the temporary file, if all exchanges are done.
+     * <p/>
+     * When spooling to off-heap memory, then the off-heap buffers are released instead, if all exchanges are done.
      *
      * @see CachedOutputStream
      */
@@ -204,6 +206,7 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
         private AtomicInteger exchangeCounter = new AtomicInteger();
         private File tempFile;
         private OutputStream outputStream; // file output stream
+        private OffHeapOutputStream offHeapOutputStream;
         private CipherPair ciphers;
 
         // there can be several input streams, for example in the multi-cast, or wiretap parallel processing
@@ -287,18 +290,7 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
             if (tempFile != null) {
                 throw new IllegalStateException("The method 'createOutputStream' can only be called once!");
             }
-            if (closedOnCompletion && exchangeCounter.get() == 0) {
-                // exchange was already stopped -> in this case the tempFile would never be deleted.
-                // This can happen when in the splitter or Multi-cast case with parallel processing, the CachedOutputStream is created when the main unit of work
-                // is still active, but has a timeout and after the timeout which stops the unit of work the FileOutputStream is created.
-                // We only can throw here an Exception and inform the user that the processing took longer than the set timeout.
-                String error
-                        = "Cannot create a FileOutputStream for Stream Caching, because this FileOutputStream would never be removed from the file system."
-                          + " This situation can happen with a Splitter or Multi Cast in parallel processing if there is a timeout set on the Splitter or Multi Cast, "
-                          + " and the processing in a sub-branch takes longer than the timeout. Consider to increase the timeout.";
-                LOG.error(error);
-                throw new IOException(error);
-            }
+            checkExchangesActive();
             tempFile = FileUtil.createTempFile("cos", ".tmp", strategy.getSpoolDirectory());
 
             LOG.trace("Creating temporary stream cache file: {}", tempFile);
@@ -328,7 +320,37 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
             return out;
         }
 
-        FileInputStreamCache newStreamCache() throws IOException {
+        OutputStream createOffHeapOutputStream(StreamCachingStrategy strategy) throws IOException {
+            // should only be called once
+            if (offHeapOutputStream != null) {
+                throw new IllegalStateException("The method 'createOffHeapOutputStream' can only be called once!");
+            }
+            checkExchangesActive();
+
+            LOG.trace("Creating off-heap stream cache");
+            offHeapOutputStream = new OffHeapOutputStream(strategy, this);
+            return offHeapOutputStream;
+        }
+
+        private void checkExchangesActive() throws IOException {
+            if (closedOnCompletion && exchangeCounter.get() == 0) {
+                // exchange was already stopped -> in this case the tempFile would never be deleted.
+                // This can happen when in the splitter or Multi-cast case with parallel processing, the CachedOutputStream is created when the main unit of work
+                // is still active, but has a timeout and after the timeout which stops the unit of work the FileOutputStream is created.
+                // We only can throw here an Exception and inform the user that the processing took longer than the set timeout.
+                String error
+                        = "Cannot create a FileOutputStream for Stream Caching, because this FileOutputStream would never be removed from the file system."
+                          + " This situation can happen with a Splitter or Multi Cast in parallel processing if there is a timeout set on the Splitter or Multi Cast, "
+                          + " and the processing in a sub-branch takes longer than the timeout. Consider to increase the timeout.";
+                LOG.error(error);
+                throw new IOException(error);
+            }
+        }
+
+        StreamCache newStreamCache() throws IOException {
+            if (offHeapOutputStream != null && !offHeapOutputStream.isOverflow()) {
+                return new OffHeapInputStreamCache(offHeapOutputStream, this);
+            }
             try {
                 return new FileInputStreamCache(this);
             } catch (FileNotFoundException e) {
@@ -346,6 +368,10 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
         }
 
         void cleanUpTempFile() {
+            // release off-heap memory
+            if (offHeapOutputStream != null) {
+                offHeapOutputStream.release();
+            }
             // cleanup temporary file
             try {
                 if (tempFile != null) {
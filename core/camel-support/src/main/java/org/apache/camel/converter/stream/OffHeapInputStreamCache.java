@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.StreamCache;
+import org.apache.camel.converter.stream.FileInputStreamCache.TempFileManager;
+
+/**
+ * A {@link StreamCache} for streams spooled to off-heap memory.
+ * <p/>
+ * The cache shares the off-heap buffers of the spooled stream, so copies of the cache do not copy any data. The buffers
+ * are released back to the off-heap arena when all the exchanges using the cache are completed.
+ */
+public final class OffHeapInputStreamCache extends InputStream implements StreamCache {
+
+    private final ByteBuffer[] buffers;
+    private final long length;
+    private final OffHeapOutputStream source;
+    private final TempFileManager tempFileManager;
+    private int index;
+
+    OffHeapInputStreamCache(OffHeapOutputStream source, TempFileManager tempFileManager) {
+        this.source = source;
+        this.tempFileManager = tempFileManager;
+        this.buffers = source.createViews();
+        long total = 0;
+        for (ByteBuffer buffer : buffers) {
+            total += buffer.limit();
+        }
+        this.length = total;
+    }
+
+    @Override
+    public synchronized void reset() {
+        for (ByteBuffer buffer : buffers) {
+            buffer.rewind();
+        }
+        index = 0;
+    }
+
+    @Override
+    public void writeTo(OutputStream os) throws IOException {
+        checkReleased();
+        WritableByteChannel channel = Channels.newChannel(os);
+        for (int i = index; i < buffers.length; i++) {
+            ByteBuffer slice = buffers[i].slice();
+            while (slice.hasRemaining()) {
+                channel.write(slice);
+            }
+        }
+    }
+
+    @Override
+    public StreamCache copy(Exchange exchange) throws IOException {
+        checkReleased();
+        tempFileManager.addExchange(exchange);
+        return new OffHeapInputStreamCache(source, tempFileManager);
+    }
+
+    @Override
+    public boolean inMemory() {
+        return false;
+    }
+
+    @Override
+    public long length() {
+        return length;
+    }
+
+    @Override
+    public int available() throws IOException {
+        checkReleased();
+        long answer = 0;
+        for (int i = index; i < buffers.length; i++) {
+            answer += buffers[i].remaining();
+        }
+        return (int) Math.min(answer, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int read() throws IOException {
+        checkReleased();
+        ByteBuffer buffer = nextBuffer();
+        return buffer != null ? buffer.get() & 0xff : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        checkReleased();
+        if (len == 0) {
+            return 0;
+        }
+        int answer = 0;
+        while (answer < len) {
+            ByteBuffer buffer = nextBuffer();
+            if (buffer == null) {
+                break;
+            }
+            int chunk = Math.min(len - answer, buffer.remaining());
+            buffer.get(b, off + answer, chunk);
+            answer += chunk;
+        }
+        return answer > 0 ? answer : -1;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        checkReleased();
+        long answer = 0;
+        while (answer < n) {
+            ByteBuffer buffer = nextBuffer();
+            if (buffer == null) {
+                break;
+            }
+            int chunk = (int) Math.min(n - answer, buffer.remaining());
+            buffer.position(buffer.position() + chunk);
+            answer += chunk;
+        }
+        return answer;
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapInputStreamCache[length: " + length + "]";
+    }
+
+    private ByteBuffer nextBuffer() {
+        while (index < buffers.length) {
+            ByteBuffer buffer = buffers[index];
+            if (buffer.hasRemaining()) {
+                return buffer;
+            }
+            index++;
+        }
+        return null;
+    }
+
+    private void checkReleased() throws IOException {
+        if (source.isReleased()) {
+            throw new IOException("Cannot read from stream cache as its off-heap memory has been released");
+        }
+    }
+}
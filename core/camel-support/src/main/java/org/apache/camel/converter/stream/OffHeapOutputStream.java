@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.camel.converter.stream.FileInputStreamCache.TempFileManager;
+import org.apache.camel.spi.StreamCachingStrategy;
+import org.apache.camel.util.IOHelper;
+
+/**
+ * An {@link OutputStream} which spools the data into off-heap buffers acquired from the
+ * {@link StreamCachingStrategy}. If the off-heap arena is exhausted then the data is moved to a temporary file, which
+ * is used for the remainder of the stream.
+ *
+ * @see OffHeapInputStreamCache
+ */
+final class OffHeapOutputStream extends OutputStream {
+
+    private final StreamCachingStrategy strategy;
+    private final TempFileManager tempFileManager;
+    private final List<ByteBuffer> buffers = new ArrayList<>();
+    private ByteBuffer current;
+    private OutputStream overflow;
+    private volatile boolean released;
+
+    OffHeapOutputStream(StreamCachingStrategy strategy, TempFileManager tempFileManager) {
+        this.strategy = strategy;
+        this.tempFileManager = tempFileManager;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (overflow == null && ensureCapacity()) {
+            current.put((byte) b);
+        } else {
+            overflow.write(b);
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            if (overflow != null || !ensureCapacity()) {
+                overflow.write(b, off, len);
+                return;
+            }
+            int chunk = Math.min(len, current.remaining());
+            current.put(b, off, chunk);
+            off += chunk;
+            len -= chunk;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (overflow != null) {
+            overflow.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (overflow != null) {
+            overflow.close();
+        }
+    }
+
+    /**
+     * Whether the off-heap arena was exhausted and the data has been moved to a temporary file.
+     */
+    boolean isOverflow() {
+        return overflow != null;
+    }
+
+    boolean isReleased() {
+        return released;
+    }
+
+    /**
+     * Creates read-only views of the written data, positioned at the beginning of the data.
+     */
+    ByteBuffer[] createViews() {
+        ByteBuffer[] answer = new ByteBuffer[buffers.size()];
+        for (int i = 0; i < answer.length; i++) {
+            ByteBuffer view = buffers.get(i).asReadOnlyBuffer();
+            view.flip();
+            answer[i] = view;
+        }
+        return answer;
+    }
+
+    /**
+     * Releases the buffers back to the off-heap arena.
+     */
+    synchronized void release() {
+        if (!released) {
+            released = true;
+            for (ByteBuffer buffer : buffers) {
+                strategy.releaseOffHeapBuffer(buffer);
+            }
+            buffers.clear();
+            current = null;
+        }
+    }
+
+    private boolean ensureCapacity() throws IOException {
+        if (current != null && current.hasRemaining()) {
+            return true;
+        }
+        current = strategy.acquireOffHeapBuffer();
+        if (current != null) {
+            buffers.add(current);
+            return true;
+        }
+        overflowToFile();
+        return false;
+    }
+
+    private void overflowToFile() throws IOException {
+        overflow = tempFileManager.createOutputStream(strategy);
+        byte[] data = new byte[strategy.getBufferSize() > 0 ? strategy.getBufferSize() : IOHelper.DEFAULT_BUFFER_SIZE];
+        for (ByteBuffer buffer : buffers) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                int chunk = Math.min(data.length, buffer.remaining());
+                buffer.get(data, 0, chunk);
+                overflow.write(data, 0, chunk);
+            }
+            strategy.releaseOffHeapBuffer(buffer);
+        }
+        buffers.clear();
+        current = null;
+    }
+}
@@ -33,6 +33,7 @@ import org.apache.camel.NamedNode;
 import org.apache.camel.NoSuchBeanException;
 import org.apache.camel.NoSuchEndpointException;
 import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.spi.LatencyHistogramRegistry;
 import org.apache.camel.spi.NormalizedEndpointUri;
 import org.apache.camel.spi.RestConfiguration;
 import org.apache.camel.spi.RouteStartupOrder;
@@ -595,6 +596,29 @@ public final class CamelContextHelper {
         return answer;
     }
 
+    /**
+     * Gets the {@link LatencyHistogramRegistry} which has been added as a service to the {@link CamelContext}, or bound
+     * in the registry. A registry found in the {@link org.apache.camel.spi.Registry} is added as a service, so it is
+     * only looked up once.
+     *
+     * @param  camelContext the camel context
+     * @return              the latency histogram registry, or <tt>null</tt> if latency histograms are not enabled
+     */
+    public static LatencyHistogramRegistry getLatencyHistogramRegistry(CamelContext camelContext) {
+        LatencyHistogramRegistry answer = camelContext.hasService(LatencyHistogramRegistry.class);
+        if (answer == null) {
+            answer = findSingleByType(camelContext, LatencyHistogramRegistry.class);
+            if (answer != null) {
+                try {
+                    camelContext.addService(answer, true, true);
+                } catch (Exception e) {
+                    throw RuntimeCamelException.wrapRuntimeException(e);
+                }
+            }
+        }
+        return answer;
+    }
+
     /**
      * Gets the route id the given node belongs to.
      *
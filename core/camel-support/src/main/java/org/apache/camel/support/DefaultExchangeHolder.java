@@ -197,6 +197,64 @@ public class DefaultExchangeHolder implements Serializable {
         payload.properties.put(key, property);
     }
 
+    // accessors used by DefaultExchangeHolderBinaryCodec
+
+    String getExchangeId() {
+        return exchangeId;
+    }
+
+    void setExchangeId(String exchangeId) {
+        this.exchangeId = exchangeId;
+    }
+
+    Object getInBody() {
+        return inBody;
+    }
+
+    void setInBody(Object inBody) {
+        this.inBody = inBody;
+    }
+
+    Object getOutBody() {
+        return outBody;
+    }
+
+    void setOutBody(Object outBody) {
+        this.outBody = outBody;
+    }
+
+    Map<String, Object> getInHeaders() {
+        return inHeaders;
+    }
+
+    void setInHeaders(Map<String, Object> inHeaders) {
+        this.inHeaders = inHeaders;
+    }
+
+    Map<String, Object> getOutHeaders() {
+        return outHeaders;
+    }
+
+    void setOutHeaders(Map<String, Object> outHeaders) {
+        this.outHeaders = outHeaders;
+    }
+
+    Map<String, Object> getProperties() {
+        return properties;
+    }
+
+    void setProperties(Map<String, Object> properties) {
+        this.properties = properties;
+    }
+
+    Exception getException() {
+        return exception;
+    }
+
+    void setException(Exception exception) {
+        this.exception = exception;
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder("DefaultExchangeHolder[exchangeId=").append(exchangeId);
@@ -0,0 +1,449 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.camel.util.ClassLoadingAwareObjectInputStream;
+
+/**
+ * A compact binary codec for {@link DefaultExchangeHolder}, which can be used instead of Java serialization by
+ * aggregation repositories that store exchanges.
+ * <p/>
+ * The format is schema-less: every value is written with a one byte type tag, lengths and numbers are written as
+ * variable length integers, and header and property names are only written once per encoded holder (any further
+ * occurrences refer to the first). Strings and byte arrays are written as raw bytes. Only values of other types (such
+ * as a serializable message body or the exception) are written using Java serialization.
+ * <p/>
+ * The encoded data starts with a header which is different from Java serialization, so {@link #isBinaryEncoded(byte[])}
+ * can be used to support both formats, such as when reading data that was stored before switching to this codec.
+ */
+public final class DefaultExchangeHolderBinaryCodec {
+
+    private static final int MAGIC = 0xCA;
+    private static final int VERSION = 1;
+
+    private static final int TYPE_NULL = 0;
+    private static final int TYPE_STRING = 1;
+    private static final int TYPE_BYTES = 2;
+    private static final int TYPE_INT = 3;
+    private static final int TYPE_LONG = 4;
+    private static final int TYPE_TRUE = 5;
+    private static final int TYPE_FALSE = 6;
+    private static final int TYPE_DOUBLE = 7;
+    private static final int TYPE_FLOAT = 8;
+    private static final int TYPE_SHORT = 9;
+    private static final int TYPE_BYTE = 10;
+    private static final int TYPE_CHAR = 11;
+    private static final int TYPE_DATE = 12;
+    private static final int TYPE_BIG_INTEGER = 13;
+    private static final int TYPE_BIG_DECIMAL = 14;
+    private static final int TYPE_SERIALIZED = 15;
+
+    private DefaultExchangeHolderBinaryCodec() {
+    }
+
+    /**
+     * Whether the data is encoded using this codec.
+     *
+     * @param  data the data
+     * @return      <tt>true</tt> if encoded by this codec, <tt>false</tt> otherwise (such as Java serialization)
+     */
+    public static boolean isBinaryEncoded(byte[] data) {
+        return data != null && data.length >= 2 && (data[0] & 0xFF) == MAGIC && data[1] == VERSION;
+    }
+
+    /**
+     * Encodes the holder.
+     *
+     * @param  holder      the holder
+     * @return             the encoded data
+     * @throws IOException is thrown if error encoding
+     */
+    public static byte[] encode(DefaultExchangeHolder holder) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(256);
+        encode(holder, bos);
+        return bos.toByteArray();
+    }
+
+    /**
+     * Encodes the holder to the stream.
+     *
+     * @param  holder      the holder
+     * @param  out         the stream to write to
+     * @throws IOException is thrown if error encoding
+     */
+    public static void encode(DefaultExchangeHolder holder, OutputStream out) throws IOException {
+        Writer writer = new Writer(out);
+        writer.writeByte(MAGIC);
+        writer.writeByte(VERSION);
+        writer.writeString(holder.getExchangeId());
+        writer.writeValue(holder.getInBody());
+        writer.writeValue(holder.getOutBody());
+        writer.writeMap(holder.getInHeaders());
+        writer.writeMap(holder.getOutHeaders());
+        writer.writeMap(holder.getProperties());
+        writer.writeValue(holder.getException());
+        writer.flush();
+    }
+
+    /**
+     * Decodes the holder.
+     *
+     * @param  data                   the encoded data
+     * @param  classLoader            the class loader to use for values that was written using Java serialization
+     * @return                        the holder
+     * @throws IOException            is thrown if error decoding
+     * @throws ClassNotFoundException is thrown if a class of a value is not found
+     */
+    public static DefaultExchangeHolder decode(byte[] data, ClassLoader classLoader)
+            throws IOException, ClassNotFoundException {
+        return decode(new ByteArrayInputStream(data), classLoader);
+    }
+
+    /**
+     * Decodes the holder from the stream.
+     *
+     * @param  in                     the stream to read from
+     * @param  classLoader            the class loader to use for values that was written using Java serialization
+     * @return                        the holder
+     * @throws IOException            is thrown if error decoding
+     * @throws ClassNotFoundException is thrown if a class of a value is not found
+     */
+    public static DefaultExchangeHolder decode(InputStream in, ClassLoader classLoader)
+            throws IOException, ClassNotFoundException {
+        Reader reader = new Reader(in, classLoader);
+        if (reader.readByte() != MAGIC || reader.readByte() != VERSION) {
+            throw new StreamCorruptedException("Data is not encoded by " + DefaultExchangeHolderBinaryCodec.class.getName());
+        }
+        DefaultExchangeHolder holder = new DefaultExchangeHolder();
+        holder.setExchangeId(reader.readString());
+        holder.setInBody(reader.readValue());
+        holder.setOutBody(reader.readValue());
+        holder.setInHeaders(reader.readMap());
+        holder.setOutHeaders(reader.readMap());
+        holder.setProperties(reader.readMap());
+        holder.setException((Exception) reader.readValue());
+        return holder;
+    }
+
+    private static final class Writer {
+        private final OutputStream out;
+        private final byte[] buffer = new byte[512];
+        private int position;
+        private Map<String, Integer> names;
+
+        Writer(OutputStream out) {
+            this.out = out;
+        }
+
+        void writeByte(int value) throws IOException {
+            if (position == buffer.length) {
+                flushBuffer();
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void writeBytes(byte[] data) throws IOException {
+            writeVarInt(data.length);
+            if (data.length > buffer.length - position) {
+                flushBuffer();
+                if (data.length > buffer.length) {
+                    out.write(data);
+                    return;
+                }
+            }
+            System.arraycopy(data, 0, buffer, position, data.length);
+            position += data.length;
+        }
+
+        void writeVarInt(int value) throws IOException {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        void writeVarLong(long value) throws IOException {
+            while ((value & ~0x7FL) != 0) {
+                writeByte((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            writeByte((int) value);
+        }
+
+        void writeZigZag(long value) throws IOException {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        void writeFixedLong(long value) throws IOException {
+            for (int i = 56; i >= 0; i -= 8) {
+                writeByte((int) (value >>> i));
+            }
+        }
+
+        void writeString(String value) throws IOException {
+            if (value == null) {
+                writeByte(TYPE_NULL);
+            } else {
+                writeByte(TYPE_STRING);
+                writeBytes(value.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        void writeName(String name) throws IOException {
+            if (names == null) {
+                names = new HashMap<>();
+            }
+            Integer index = names.get(name);
+            if (index != null) {
+                writeVarInt(index + 1);
+            } else {
+                names.put(name, names.size());
+                writeVarInt(0);
+                writeBytes(name.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        void writeMap(Map<String, Object> map) throws IOException {
+            if (map == null) {
+                writeVarInt(0);
+                return;
+            }
+            // the size is written as size + 1 to tell apart null and empty maps
+            writeVarInt(map.size() + 1);
+            for (Map.Entry<String, Object> entry : map.entrySet()) {
+                writeName(entry.getKey());
+                writeValue(entry.getValue());
+            }
+        }
+
+        void writeValue(Object value) throws IOException {
+            if (value == null) {
+                writeByte(TYPE_NULL);
+            } else if (value instanceof String) {
+                writeString((String) value);
+            } else if (value instanceof byte[]) {
+                writeByte(TYPE_BYTES);
+                writeBytes((byte[]) value);
+            } else if (value instanceof Integer) {
+                writeByte(TYPE_INT);
+                writeZigZag((Integer) value);
+            } else if (value instanceof Long) {
+                writeByte(TYPE_LONG);
+                writeZigZag((Long) value);
+            } else if (value instanceof Boolean) {
+                writeByte((Boolean) value ? TYPE_TRUE : TYPE_FALSE);
+            } else if (value instanceof Double) {
+                writeByte(TYPE_DOUBLE);
+                writeFixedLong(Double.doubleToRawLongBits((Double) value));
+            } else if (value instanceof Float) {
+                writeByte(TYPE_FLOAT);
+                writeVarInt(Float.floatToRawIntBits((Float) value));
+            } else if (value instanceof Short) {
+                writeByte(TYPE_SHORT);
+                writeZigZag((Short) value);
+            } else if (value instanceof Byte) {
+                writeByte(TYPE_BYTE);
+                writeByte((Byte) value);
+            } else if (value instanceof Character) {
+                writeByte(TYPE_CHAR);
+                writeVarInt((Character) value);
+            } else if (value.getClass() == Date.class) {
+                writeByte(TYPE_DATE);
+                writeZigZag(((Date) value).getTime());
+            } else if (value.getClass() == BigInteger.class) {
+                writeByte(TYPE_BIG_INTEGER);
+                writeBytes(((BigInteger) value).toByteArray());
+            } else if (value.getClass() == BigDecimal.class) {
+                writeByte(TYPE_BIG_DECIMAL);
+                writeZigZag(((BigDecimal) value).scale());
+                writeBytes(((BigDecimal) value).unscaledValue().toByteArray());
+            } else {
+                // fallback to java serialization (subclasses of the types above are also serialized to keep their type)
+                ByteArrayOutputStream bos = new ByteArrayOutputStream();
+                try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+                    oos.writeObject(value);
+                }
+                writeByte(TYPE_SERIALIZED);
+                writeBytes(bos.toByteArray());
+            }
+        }
+
+        void flush() throws IOException {
+            flushBuffer();
+            out.flush();
+        }
+
+        private void flushBuffer() throws IOException {
+            if (position > 0) {
+                out.write(buffer, 0, position);
+                position = 0;
+            }
+        }
+    }
+
+    private static final class Reader {
+        private final InputStream in;
+        private final ClassLoader classLoader;
+        private List<String> names;
+
+        Reader(InputStream in, ClassLoader classLoader) {
+            this.in = in;
+            this.classLoader = classLoader != null ? classLoader : DefaultExchangeHolderBinaryCodec.class.getClassLoader();
+        }
+
+        int readByte() throws IOException {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException();
+            }
+            return b;
+        }
+
+        byte[] readBytes() throws IOException {
+            int length = readVarInt();
+            byte[] data = new byte[length];
+            int offset = 0;
+            while (offset < length) {
+                int n = in.read(data, offset, length - offset);
+                if (n < 0) {
+                    throw new EOFException();
+                }
+                offset += n;
+            }
+            return data;
+        }
+
+        int readVarInt() throws IOException {
+            return (int) readVarLong();
+        }
+
+        long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new StreamCorruptedException("Invalid variable length number");
+        }
+
+        long readZigZag() throws IOException {
+            long value = readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        long readFixedLong() throws IOException {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | readByte();
+            }
+            return value;
+        }
+
+        String readString() throws IOException, ClassNotFoundException {
+            return (String) readValue();
+        }
+
+        String readName() throws IOException {
+            if (names == null) {
+                names = new ArrayList<>();
+            }
+            int index = readVarInt();
+            if (index > 0) {
+                return names.get(index - 1);
+            }
+            String name = new String(readBytes(), StandardCharsets.UTF_8);
+            names.add(name);
+            return name;
+        }
+
+        Map<String, Object> readMap() throws IOException, ClassNotFoundException {
+            int size = readVarInt() - 1;
+            if (size < 0) {
+                return null;
+            }
+            Map<String, Object> map = new LinkedHashMap<>(Math.max(16, (int) (size / 0.75f) + 1));
+            for (int i = 0; i < size; i++) {
+                String name = readName();
+                map.put(name, readValue());
+            }
+            return map;
+        }
+
+        Object readValue() throws IOException, ClassNotFoundException {
+            int type = readByte();
+            switch (type) {
+                case TYPE_NULL:
+                    return null;
+                case TYPE_STRING:
+                    return new String(readBytes(), StandardCharsets.UTF_8);
+                case TYPE_BYTES:
+                    return readBytes();
+                case TYPE_INT:
+                    return (int) readZigZag();
+                case TYPE_LONG:
+                    return readZigZag();
+                case TYPE_TRUE:
+                    return Boolean.TRUE;
+                case TYPE_FALSE:
+                    return Boolean.FALSE;
+                case TYPE_DOUBLE:
+                    return Double.longBitsToDouble(readFixedLong());
+                case TYPE_FLOAT:
+                    return Float.intBitsToFloat(readVarInt());
+                case TYPE_SHORT:
+                    return (short) readZigZag();
+                case TYPE_BYTE:
+                    return (byte) readByte();
+                case TYPE_CHAR:
+                    return (char) readVarInt();
+                case TYPE_DATE:
+                    return new Date(readZigZag());
+                case TYPE_BIG_INTEGER:
+                    return new BigInteger(readBytes());
+                case TYPE_BIG_DECIMAL:
+                    int scale = (int) readZigZag();
+                    return new BigDecimal(new BigInteger(readBytes()), scale);
+                case TYPE_SERIALIZED:
+                    try (ObjectInputStream ois = new ClassLoadingAwareObjectInputStream(
+                            classLoader, new ByteArrayInputStream(readBytes()))) {
+                        return ois.readObject();
+                    }
+                default:
+                    throw new StreamCorruptedException("Unknown value type: " + type);
+            }
+        }
+    }
+}
@@ -27,6 +27,7 @@ import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.CamelContextAware;
@@ -34,15 +35,25 @@ import org.apache.camel.StaticService;
 import org.apache.camel.spi.ThreadPoolFactory;
 import org.apache.camel.spi.ThreadPoolProfile;
 import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.concurrent.CamelThreadFactory;
 import org.apache.camel.util.concurrent.RejectableScheduledThreadPoolExecutor;
 import org.apache.camel.util.concurrent.RejectableThreadPoolExecutor;
 import org.apache.camel.util.concurrent.SizedScheduledExecutorService;
+import org.apache.camel.util.concurrent.VirtualThreadHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Factory for thread pools that uses the JDK {@link Executors} for creating the thread pools.
+ * <p/>
+ * If a {@link ThreadPoolProfile} has virtual threads enabled, then virtual threads are used (a new virtual thread per
+ * task) when supported by the JVM, otherwise a pool of platform threads is used as fallback.
  */
 public class DefaultThreadPoolFactory extends ServiceSupport implements CamelContextAware, ThreadPoolFactory, StaticService {
 
+    private static final Logger LOG = LoggerFactory.getLogger(DefaultThreadPoolFactory.class);
+
+    private final AtomicBoolean virtualThreadsWarned = new AtomicBoolean();
     private CamelContext camelContext;
 
     @Override
@@ -62,6 +73,10 @@ public class DefaultThreadPoolFactory extends ServiceSupport implements CamelCon
 
     @Override
     public ExecutorService newThreadPool(ThreadPoolProfile profile, ThreadFactory factory) {
+        if (Boolean.TRUE.equals(profile.getVirtualThreads()) && isVirtualThreadsSupported()) {
+            return newVirtualThreadPerTaskExecutor(factory);
+        }
+
         // allow core thread timeout is default true if not configured
         boolean allow = profile.getAllowCoreThreadTimeOut() != null ? profile.getAllowCoreThreadTimeOut() : true;
         return newThreadPool(profile.getPoolSize(),
@@ -117,6 +132,35 @@ public class DefaultThreadPoolFactory extends ServiceSupport implements CamelCon
         return answer;
     }
 
+    /**
+     * Creates an executor service which starts a new virtual thread per task.
+     *
+     * @param  threadFactory factory for creating threads, which is used for naming the virtual threads when its a
+     *                       {@link CamelThreadFactory}
+     * @return               the created executor service
+     */
+    public ExecutorService newVirtualThreadPerTaskExecutor(ThreadFactory threadFactory) {
+        ThreadFactory factory;
+        if (threadFactory instanceof CamelThreadFactory) {
+            factory = ((CamelThreadFactory) threadFactory).asVirtual();
+        } else {
+            factory = r -> VirtualThreadHelper.newVirtualThread("Camel VirtualThread", r);
+        }
+        return VirtualThreadHelper.newThreadPerTaskExecutor(factory);
+    }
+
+    /**
+     * Whether virtual threads are supported by the JVM, which logs a WARN the first time if not supported.
+     */
+    protected boolean isVirtualThreadsSupported() {
+        boolean answer = VirtualThreadHelper.isVirtualThreadsSupported();
+        if (!answer && virtualThreadsWarned.compareAndSet(false, true)) {
+            LOG.warn("Virtual threads are not supported on this JVM (requires Java 21 or newer)."
+                     + " Will fallback to use platform threads.");
+        }
+        return answer;
+    }
+
     @Override
     public ScheduledExecutorService newScheduledThreadPool(ThreadPoolProfile profile, ThreadFactory threadFactory) {
         RejectedExecutionHandler rejectedExecutionHandler = profile.getRejectedExecutionHandler();
@@ -30,10 +30,12 @@ import java.util.TreeMap;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.ExchangePropertyKey;
+import org.apache.camel.InvalidPayloadException;
 import org.apache.camel.Message;
 import org.apache.camel.MessageHistory;
 import org.apache.camel.Route;
 import org.apache.camel.StreamCache;
+import org.apache.camel.TypeConverter;
 import org.apache.camel.WrappedFile;
 import org.apache.camel.spi.DataTypeAware;
 import org.apache.camel.spi.ExchangeFormatter;
@@ -118,6 +120,63 @@ public final class MessageHelper {
         return answer;
     }
 
+    /**
+     * Gets the body of the message converted to the given type, the same way as {@link Message#getBody(Class)}, but
+     * using the given type converter, such as a call site type converter from
+     * {@link org.apache.camel.spi.TypeConverterRegistry#createCallSiteTypeConverter()}.
+     *
+     * @param  message   the message
+     * @param  type      the type to convert the body to
+     * @param  converter the type converter to use
+     * @return           the converted body, or <tt>null</tt> if not possible to convert
+     */
+    public static <T> T getBody(Message message, Class<T> type, TypeConverter converter) {
+        Object body = message.getBody();
+        if (type.isInstance(body)) {
+            return type.cast(body);
+        }
+
+        Exchange exchange = message.getExchange();
+        if (exchange == null) {
+            return message.getBody(type);
+        }
+        // lets first try converting the body itself first, before trying the message itself (e.g. used in camel-http)
+        T answer = converter.convertTo(type, exchange, body);
+        if (answer == null) {
+            answer = converter.tryConvertTo(type, exchange, message);
+        }
+        return answer;
+    }
+
+    /**
+     * Gets the body of the message converted to the given type, the same way as {@link Message#getMandatoryBody(Class)},
+     * but using the given type converter, such as a call site type converter from
+     * {@link org.apache.camel.spi.TypeConverterRegistry#createCallSiteTypeConverter()}.
+     *
+     * @param  message                 the message
+     * @param  type                    the type to convert the body to
+     * @param  converter               the type converter to use
+     * @return                         the converted body
+     * @throws InvalidPayloadException is thrown if not possible to convert the body
+     */
+    public static <T> T getMandatoryBody(Message message, Class<T> type, TypeConverter converter)
+            throws InvalidPayloadException {
+        Object body = message.getBody();
+        if (type.isInstance(body)) {
+            return type.cast(body);
+        }
+
+        Exchange exchange = message.getExchange();
+        if (exchange == null) {
+            return message.getMandatoryBody(type);
+        }
+        try {
+            return converter.mandatoryConvertTo(type, exchange, body);
+        } catch (Exception cause) {
+            throw new InvalidPayloadException(exchange, type, message, cause);
+        }
+    }
+
     /**
      * If the message body contains a {@link StreamCache} instance, reset the cache to enable reading from it again.
      *
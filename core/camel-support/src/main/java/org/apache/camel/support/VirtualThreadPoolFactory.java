@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+import org.apache.camel.spi.ThreadPoolProfile;
+
+/**
+ * Factory for thread pools that uses virtual threads (a new virtual thread per task) for all thread pools, except for
+ * scheduled thread pools and single threaded pools (which are used for processing tasks in order), which are using
+ * platform threads.
+ * <p/>
+ * This allows routes that are mostly blocked on I/O (such as HTTP or JDBC calls) to process many concurrent exchanges
+ * without having to tune the size of the thread pools. Virtual threads requires Java 21 or newer, and when not
+ * supported by the JVM, then this factory fallback to create pools of platform threads the same way as
+ * {@link DefaultThreadPoolFactory}.
+ * <p/>
+ * A thread pool profile can explicit turn off virtual threads by setting {@link ThreadPoolProfile#setVirtualThreads}
+ * to <tt>false</tt>.
+ */
+public class VirtualThreadPoolFactory extends DefaultThreadPoolFactory {
+
+    @Override
+    public ExecutorService newCachedThreadPool(ThreadFactory threadFactory) {
+        if (isVirtualThreadsSupported()) {
+            return newVirtualThreadPerTaskExecutor(threadFactory);
+        }
+        return super.newCachedThreadPool(threadFactory);
+    }
+
+    @Override
+    public ExecutorService newThreadPool(ThreadPoolProfile profile, ThreadFactory factory) {
+        // a single threaded pool is used for processing tasks in order, which must be kept as-is
+        boolean single = profile.getMaxPoolSize() != null && profile.getMaxPoolSize() <= 1;
+        if (!single && !Boolean.FALSE.equals(profile.getVirtualThreads()) && isVirtualThreadsSupported()) {
+            return newVirtualThreadPerTaskExecutor(factory);
+        }
+        return super.newThreadPool(profile, factory);
+    }
+
+}
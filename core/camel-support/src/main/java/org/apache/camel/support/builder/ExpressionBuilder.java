@@ -52,6 +52,7 @@ import org.apache.camel.support.ExpressionAdapter;
 import org.apache.camel.support.GroupIterator;
 import org.apache.camel.support.GroupTokenIterator;
 import org.apache.camel.support.LanguageSupport;
+import org.apache.camel.support.MessageHelper;
 import org.apache.camel.util.IOHelper;
 import org.apache.camel.util.InetAddressUtil;
 import org.apache.camel.util.ObjectHelper;
@@ -147,6 +148,7 @@ public class ExpressionBuilder {
     public static Expression headerExpression(final Expression headerName, final Expression typeName) {
         return new ExpressionAdapter() {
             private ClassResolver classResolver;
+            private TypeConverter converter;
 
             @Override
             public Object evaluate(Exchange exchange) {
@@ -158,7 +160,13 @@ public class ExpressionBuilder {
                     throw CamelExecutionException.wrapCamelExecutionException(exchange, e);
                 }
                 String text = headerName.evaluate(exchange, String.class);
-                Object header = exchange.getIn().getHeader(text, type);
+                Object header = exchange.getIn().getHeader(text);
+                if (header != null) {
+                    header = converter.convertTo(type, exchange, header);
+                } else if (boolean.class == type) {
+                    // lets avoid NullPointerException when converting to boolean for null values
+                    header = Boolean.FALSE;
+                }
                 if (header == null) {
                     // fall back on a property
                     header = exchange.getProperty(text, type);
@@ -171,6 +179,7 @@ public class ExpressionBuilder {
                 headerName.init(context);
                 typeName.init(context);
                 classResolver = context.getClassResolver();
+                converter = context.getTypeConverterRegistry().createCallSiteTypeConverter();
             }
 
             @Override
@@ -972,6 +981,7 @@ public class ExpressionBuilder {
     public static Expression bodyExpression(final Expression name) {
         return new ExpressionAdapter() {
             private ClassResolver classResolver;
+            private TypeConverter converter;
 
             @Override
             public Object evaluate(Exchange exchange) {
@@ -982,13 +992,14 @@ public class ExpressionBuilder {
                 } catch (ClassNotFoundException e) {
                     throw CamelExecutionException.wrapCamelExecutionException(exchange, e);
                 }
-                return exchange.getIn().getBody(type);
+                return MessageHelper.getBody(exchange.getIn(), type, converter);
             }
 
             @Override
             public void init(CamelContext context) {
                 name.init(context);
                 classResolver = context.getClassResolver();
+                converter = context.getTypeConverterRegistry().createCallSiteTypeConverter();
             }
 
             @Override
@@ -23,11 +23,13 @@ import org.apache.camel.AsyncProcessor;
 import org.apache.camel.Exchange;
 import org.apache.camel.ExchangePropertyKey;
 import org.apache.camel.Message;
+import org.apache.camel.TypeConverter;
 import org.apache.camel.spi.IdAware;
 import org.apache.camel.spi.RouteIdAware;
 import org.apache.camel.support.AsyncCallbackToCompletableFutureAdapter;
 import org.apache.camel.support.DefaultMessage;
 import org.apache.camel.support.ExchangeHelper;
+import org.apache.camel.support.MessageHelper;
 import org.apache.camel.support.service.ServiceSupport;
 import org.apache.camel.util.IOHelper;
 import org.apache.camel.util.ObjectHelper;
@@ -43,6 +45,7 @@ public class ConvertBodyProcessor extends ServiceSupport implements AsyncProcess
     private final Class<?> type;
     private final String charset;
     private final boolean mandatory;
+    private volatile TypeConverter converter;
 
     public ConvertBodyProcessor(Class<?> type) {
         ObjectHelper.notNull(type, "type", this);
@@ -112,12 +115,19 @@ public class ConvertBodyProcessor extends ServiceSupport implements AsyncProcess
             // have explicit configured and expects to be used
             exchange.setProperty(ExchangePropertyKey.CHARSET_NAME, charset);
         }
+        // the body is often of the same type for every exchange,
+        // so use a call site type converter which remembers the type converter used
+        TypeConverter tc = converter;
+        if (tc == null) {
+            tc = exchange.getContext().getTypeConverterRegistry().createCallSiteTypeConverter();
+            converter = tc;
+        }
         // use mandatory conversion
         Object value;
         if (mandatory) {
-            value = old.getMandatoryBody(type);
+            value = MessageHelper.getMandatoryBody(old, type, tc);
         } else {
-            value = old.getBody(type);
+            value = MessageHelper.getBody(old, type, tc);
         }
 
         // create a new message container so we do not drag specialized message objects along
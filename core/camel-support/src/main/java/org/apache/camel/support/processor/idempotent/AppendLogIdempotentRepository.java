@@ -0,0 +1,579 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.FileUtil;
+import org.apache.camel.util.IOHelper;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A file based implementation of {@link org.apache.camel.spi.IdempotentRepository} which stores the keys in an
+ * append-only log.
+ * <p/>
+ * All the keys are kept in an in-memory index, so {@link #contains(String)} does not use any locking or file access.
+ * Adding and removing keys appends a record to the active segment file in the log directory. When the active segment
+ * reaches the maximum segment size, then a new segment is started, and when the log contains more removed than live
+ * keys, then the log is compacted into a single segment with the live keys.
+ * <p/>
+ * When {@link #isSyncWrites()} is enabled (default) then the records are forced to disk before {@link #add(String)} and
+ * {@link #remove(String)} returns, where concurrent callers share the same sync to disk (group commit).
+ * <p/>
+ * Unlike {@link FileIdempotentRepository} then all keys are kept in memory, and the store is not truncated by dropping
+ * the oldest keys.
+ */
+@ManagedResource(description = "Append-only log file based idempotent repository")
+public class AppendLogIdempotentRepository extends ServiceSupport implements IdempotentRepository {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AppendLogIdempotentRepository.class);
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final byte ADD = '+';
+    private static final byte REMOVE = '-';
+    private static final byte DELIMITER = '\n';
+
+    private final Set<String> keys = ConcurrentHashMap.newKeySet();
+    // guards appending records to the pending buffer
+    private final Lock writeLock = new ReentrantLock();
+    // guards writing the pending buffer to disk, and changes to the segment files (must be acquired before writeLock)
+    private final Lock syncLock = new ReentrantLock();
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+
+    private File directory;
+    private long maxSegmentSize = 8 * 1024 * 1024L;
+    private boolean syncWrites = true;
+
+    private FileChannel channel;
+    private long segmentNumber;
+    private final List<Long> segments = new ArrayList<>();
+    // the records in the pending buffer (guarded by writeLock)
+    private Batch batch = new Batch();
+    private long deadRecords;
+    private volatile long compactionCounter;
+    private volatile long syncCounter;
+
+    public AppendLogIdempotentRepository() {
+    }
+
+    public AppendLogIdempotentRepository(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Creates a new append-only log file based repository.
+     *
+     * @param directory the directory for the log segment files
+     */
+    public static IdempotentRepository appendLogIdempotentRepository(File directory) {
+        return new AppendLogIdempotentRepository(directory);
+    }
+
+    @Override
+    @ManagedOperation(description = "Adds the key to the store")
+    public boolean add(String key) {
+        if (keys.contains(key)) {
+            return false;
+        }
+        if (key.indexOf(DELIMITER) != -1) {
+            throw new IllegalArgumentException("Key must not contain line breaks: " + key);
+        }
+        Batch appended;
+        writeLock.lock();
+        try {
+            if (!keys.add(key)) {
+                return false;
+            }
+            appended = appendRecord(ADD, key);
+        } finally {
+            writeLock.unlock();
+        }
+        commit(appended);
+        return true;
+    }
+
+    @Override
+    @ManagedOperation(description = "Does the store contain the given key")
+    public boolean contains(String key) {
+        return keys.contains(key);
+    }
+
+    @Override
+    @ManagedOperation(description = "Remove the key from the store")
+    public boolean remove(String key) {
+        Batch appended;
+        writeLock.lock();
+        try {
+            if (!keys.remove(key)) {
+                return false;
+            }
+            appended = appendRecord(REMOVE, key);
+            // both the add and the remove record are no longer needed
+            deadRecords += 2;
+        } finally {
+            writeLock.unlock();
+        }
+        commit(appended);
+        return true;
+    }
+
+    @Override
+    public boolean confirm(String key) {
+        // noop
+        return true;
+    }
+
+    @Override
+    @ManagedOperation(description = "Clear the store (danger this removes all entries)")
+    public void clear() {
+        syncLock.lock();
+        writeLock.lock();
+        try {
+            keys.clear();
+            pending.reset();
+            deadRecords = 0;
+            completeBatch();
+            closeChannel();
+            for (Long number : segments) {
+                FileUtil.deleteFile(segmentFile(number));
+            }
+            segments.clear();
+            openSegment(++segmentNumber);
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        } finally {
+            writeLock.unlock();
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Compacts the log into a single segment with the live keys.
+     */
+    @ManagedOperation(description = "Compacts the log into a single segment with the live keys")
+    public void compact() {
+        syncLock.lock();
+        writeLock.lock();
+        try {
+            doCompact();
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        } finally {
+            writeLock.unlock();
+            syncLock.unlock();
+        }
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * The directory for the log segment files.
+     */
+    public void setDirectory(File directory) {
+        this.directory = directory;
+    }
+
+    @ManagedAttribute(description = "The directory for the log segment files")
+    public String getDirectoryPath() {
+        return directory != null ? directory.getPath() : null;
+    }
+
+    @ManagedAttribute(description = "The maximum size in bytes of a log segment file")
+    public long getMaxSegmentSize() {
+        return maxSegmentSize;
+    }
+
+    /**
+     * Sets the maximum size in bytes of a log segment file, before a new segment is started.
+     * <p/>
+     * The default is 8mb.
+     */
+    public void setMaxSegmentSize(long maxSegmentSize) {
+        this.maxSegmentSize = maxSegmentSize;
+    }
+
+    @ManagedAttribute(description = "Whether records are forced to disk before add and remove returns")
+    public boolean isSyncWrites() {
+        return syncWrites;
+    }
+
+    /**
+     * Whether records are forced to disk before {@link #add(String)} and {@link #remove(String)} returns. Concurrent
+     * callers share the same sync to disk. When disabled then the records are written to the file, but it is left to
+     * the operating system when they are forced to disk.
+     * <p/>
+     * The default is true.
+     */
+    public void setSyncWrites(boolean syncWrites) {
+        this.syncWrites = syncWrites;
+    }
+
+    @ManagedAttribute(description = "Number of keys in the store")
+    public int getSize() {
+        return keys.size();
+    }
+
+    @ManagedAttribute(description = "Number of log segment files")
+    public int getSegmentCount() {
+        syncLock.lock();
+        try {
+            return segments.size();
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    @ManagedAttribute(description = "Number of times the log has been compacted")
+    public long getCompactionCounter() {
+        return compactionCounter;
+    }
+
+    @ManagedAttribute(description = "Number of times records has been forced to disk")
+    public long getSyncCounter() {
+        return syncCounter;
+    }
+
+    private Batch appendRecord(byte type, String key) {
+        byte[] data = key.getBytes(StandardCharsets.UTF_8);
+        pending.write(type);
+        pending.write(data, 0, data.length);
+        pending.write(DELIMITER);
+        batch.records.add(new Record(type, key));
+        return batch;
+    }
+
+    /**
+     * Marks the records in the pending buffer as written, and starts a new batch (must hold both locks).
+     */
+    private void completeBatch() {
+        batch.done = true;
+        batch = new Batch();
+    }
+
+    /**
+     * Writes the pending records of the given batch to disk. Concurrent callers are waiting for the caller that writes
+     * the records, so the records of all the callers are written (and forced to disk) at once. If the records cannot
+     * be written, then their keys are reverted in memory, and all the callers fail.
+     */
+    private void commit(Batch appended) {
+        syncLock.lock();
+        try {
+            if (appended.done) {
+                // written by another caller
+                if (appended.failure != null) {
+                    throw RuntimeCamelException.wrapRuntimeCamelException(appended.failure);
+                }
+                return;
+            }
+            Batch current;
+            byte[] data;
+            writeLock.lock();
+            try {
+                current = batch;
+                data = pending.toByteArray();
+                pending.reset();
+                batch = new Batch();
+            } finally {
+                writeLock.unlock();
+            }
+            long size = -1;
+            try {
+                size = channel.size();
+                channel.write(ByteBuffer.wrap(data));
+                if (syncWrites) {
+                    channel.force(false);
+                    syncCounter++;
+                }
+            } catch (IOException e) {
+                current.failure = e;
+                revert(current);
+                // do not leave a partial record in front of the records written next
+                if (size != -1) {
+                    try {
+                        channel.truncate(size);
+                    } catch (IOException ignore) {
+                        LOG.debug("Cannot truncate idempotent log segment after failed write", ignore);
+                    }
+                }
+                throw e;
+            } finally {
+                current.done = true;
+            }
+
+            if (channel.size() > maxSegmentSize) {
+                writeLock.lock();
+                try {
+                    rollSegment();
+                } finally {
+                    writeLock.unlock();
+                }
+            }
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private void revert(Batch failed) {
+        writeLock.lock();
+        try {
+            for (Record record : failed.records) {
+                if (record.type == ADD) {
+                    keys.remove(record.key);
+                } else {
+                    keys.add(record.key);
+                    deadRecords -= 2;
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void rollSegment() throws IOException {
+        if (deadRecords > keys.size()) {
+            doCompact();
+        } else {
+            LOG.debug("Starting new segment in idempotent log: {}", directory);
+            closeChannel();
+            openSegment(++segmentNumber);
+        }
+    }
+
+    private void doCompact() throws IOException {
+        LOG.debug("Compacting idempotent log: {} with {} keys", directory, keys.size());
+
+        if (pending.size() > 0) {
+            channel.write(ByteBuffer.wrap(pending.toByteArray()));
+            pending.reset();
+        }
+        closeChannel();
+        completeBatch();
+
+        // write the live keys to a temporary file which is then renamed as the newest segment, so the
+        // log is always valid if the JVM is stopped during compaction
+        long number = segmentNumber + 1;
+        File temp = new File(directory, SEGMENT_PREFIX + number + SEGMENT_SUFFIX + TEMP_SUFFIX);
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp.toPath()))) {
+            for (String key : keys) {
+                out.write(ADD);
+                out.write(key.getBytes(StandardCharsets.UTF_8));
+                out.write(DELIMITER);
+            }
+        }
+        try (FileChannel fc = FileChannel.open(temp.toPath(), StandardOpenOption.WRITE)) {
+            fc.force(true);
+        }
+        Files.move(temp.toPath(), segmentFile(number).toPath(), StandardCopyOption.ATOMIC_MOVE);
+
+        for (Long old : segments) {
+            FileUtil.deleteFile(segmentFile(old));
+        }
+        segments.clear();
+        deadRecords = 0;
+        segmentNumber = number;
+        openSegment(number);
+        compactionCounter++;
+    }
+
+    private void openSegment(long number) throws IOException {
+        channel = FileChannel.open(segmentFile(number).toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        if (!segments.contains(number)) {
+            segments.add(number);
+        }
+    }
+
+    private void closeChannel() throws IOException {
+        if (channel != null) {
+            if (channel.isOpen()) {
+                channel.force(false);
+            }
+            IOHelper.close(channel, "Closing idempotent log segment", LOG);
+            channel = null;
+        }
+    }
+
+    private File segmentFile(long number) {
+        return new File(directory, SEGMENT_PREFIX + number + SEGMENT_SUFFIX);
+    }
+
+    /**
+     * Loads the keys from the log segment files
+     */
+    protected void loadStore() throws IOException {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Cannot create directory: " + directory);
+        }
+
+        keys.clear();
+        segments.clear();
+        deadRecords = 0;
+        segmentNumber = 0;
+
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                String name = file.getName();
+                if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(TEMP_SUFFIX)) {
+                    // unfinished compaction
+                    FileUtil.deleteFile(file);
+                } else if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    String number = name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length());
+                    try {
+                        segments.add(Long.parseLong(number));
+                    } catch (NumberFormatException e) {
+                        LOG.warn("Ignoring unknown file: {} in idempotent log: {}", file, directory);
+                    }
+                }
+            }
+        }
+        segments.sort(null);
+
+        for (Long number : segments) {
+            long valid = replaySegment(segmentFile(number));
+            File file = segmentFile(number);
+            if (file.length() > valid) {
+                // incomplete record at the end of the segment (such as the JVM was stopped during writing)
+                LOG.warn("Truncating incomplete record at the end of idempotent log segment: {}", file);
+                try (FileChannel fc = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+                    fc.truncate(valid);
+                }
+            }
+            segmentNumber = number;
+        }
+        if (segments.isEmpty()) {
+            segmentNumber = 1;
+        }
+        openSegment(segmentNumber);
+
+        LOG.debug("Loaded {} keys from {} segments in idempotent log: {}", keys.size(), segments.size(), directory);
+    }
+
+    private long replaySegment(File file) throws IOException {
+        long position = 0;
+        long valid = 0;
+        ByteArrayOutputStream record = new ByteArrayOutputStream();
+        try (InputStream is = new BufferedInputStream(Files.newInputStream(file.toPath()))) {
+            int b;
+            while ((b = is.read()) != -1) {
+                position++;
+                if (b != DELIMITER) {
+                    record.write(b);
+                    continue;
+                }
+                byte[] data = record.toByteArray();
+                record.reset();
+                valid = position;
+                if (data.length == 0) {
+                    continue;
+                }
+                String key = new String(data, 1, data.length - 1, StandardCharsets.UTF_8);
+                if (data[0] == ADD) {
+                    keys.add(key);
+                } else if (data[0] == REMOVE) {
+                    keys.remove(key);
+                    deadRecords += 2;
+                }
+            }
+        }
+        return valid;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ObjectHelper.notNull(directory, "directory", this);
+
+        syncLock.lock();
+        writeLock.lock();
+        try {
+            loadStore();
+        } finally {
+            writeLock.unlock();
+            syncLock.unlock();
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        syncLock.lock();
+        writeLock.lock();
+        try {
+            if (channel != null && pending.size() > 0) {
+                channel.write(ByteBuffer.wrap(pending.toByteArray()));
+                pending.reset();
+            }
+            completeBatch();
+            closeChannel();
+            keys.clear();
+        } finally {
+            writeLock.unlock();
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * The records written to disk at once by a commit (guarded by syncLock once the records are being written).
+     */
+    private static final class Batch {
+        private final List<Record> records = new ArrayList<>();
+        private boolean done;
+        private IOException failure;
+    }
+
+    private static final class Record {
+        private final byte type;
+        private final String key;
+
+        private Record(byte type, String key) {
+            this.type = type;
+            this.key = key;
+        }
+    }
+
+}
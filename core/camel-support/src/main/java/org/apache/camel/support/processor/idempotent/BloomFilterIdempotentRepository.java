@@ -0,0 +1,407 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.Exchange;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.support.service.ServiceHelper;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.ObjectHelper;
+
+/**
+ * An {@link IdempotentRepository} which uses a Bloom filter in front of another {@link IdempotentRepository}, to avoid
+ * looking up keys in the other repository, which are definitely not in the repository.
+ * <p/>
+ * This is useful with repositories that uses a remote store (such as a database), where {@link #contains(String)} is
+ * expensive, and most of the keys are new keys. The same applies to {@link #add(String)} (as used by the idempotent
+ * consumer in eager mode), where a key which is definitely new is added to the other repository directly, and a key
+ * which may be in the repository is looked up in the other repository first.
+ * <p/>
+ * The Bloom filter only knows about the keys which has been added (or looked up) via this repository, and is empty
+ * when started. Therefore, this repository should only be used when the other repository is only updated via this
+ * repository, or when the existing keys are loaded into the filter using {@link #addToFilter(Iterable)} on startup.
+ * Otherwise, a key which exists in the other repository may be regarded as a new key, and a duplicate message is then
+ * processed.
+ * <p/>
+ * The Bloom filter grows when the expected number of keys is exceeded (a scalable Bloom filter), where the false
+ * positive probability is kept within the configured limit.
+ */
+@ManagedResource(description = "Bloom filter idempotent repository")
+public class BloomFilterIdempotentRepository extends ServiceSupport implements IdempotentRepository, CamelContextAware {
+
+    private CamelContext camelContext;
+    private final IdempotentRepository repository;
+    private long expectedInsertions = 1000000;
+    private double falsePositiveProbability = 0.01;
+    private final List<BloomFilter> filters = new CopyOnWriteArrayList<>();
+    private final LongAdder filterMissCounter = new LongAdder();
+    private final LongAdder filterHitCounter = new LongAdder();
+    private final LongAdder falsePositiveCounter = new LongAdder();
+
+    public BloomFilterIdempotentRepository(IdempotentRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Creates a new repository which uses a Bloom filter in front of the given repository.
+     *
+     * @param repository         the repository to use for the keys that may be in the repository
+     * @param expectedInsertions the expected number of keys
+     * @param fpp                the false positive probability (0 &lt; fpp &lt; 1)
+     */
+    public static IdempotentRepository bloomFilterIdempotentRepository(
+            IdempotentRepository repository, long expectedInsertions, double fpp) {
+        BloomFilterIdempotentRepository answer = new BloomFilterIdempotentRepository(repository);
+        answer.setExpectedInsertions(expectedInsertions);
+        answer.setFalsePositiveProbability(fpp);
+        return answer;
+    }
+
+    @Override
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    @Override
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    public IdempotentRepository getRepository() {
+        return repository;
+    }
+
+    @ManagedAttribute(description = "The expected number of keys")
+    public long getExpectedInsertions() {
+        return expectedInsertions;
+    }
+
+    /**
+     * The expected number of keys, which is used for sizing the Bloom filter. If the number of keys exceeds this, then
+     * the Bloom filter grows.
+     * <p/>
+     * The default is 1000000.
+     */
+    public void setExpectedInsertions(long expectedInsertions) {
+        this.expectedInsertions = expectedInsertions;
+    }
+
+    @ManagedAttribute(description = "The false positive probability of the Bloom filter")
+    public double getFalsePositiveProbability() {
+        return falsePositiveProbability;
+    }
+
+    /**
+     * The false positive probability of the Bloom filter, which is the probability that a key which is not in the
+     * repository is looked up in the other repository.
+     * <p/>
+     * The default is 0.01 (1%).
+     */
+    public void setFalsePositiveProbability(double falsePositiveProbability) {
+        this.falsePositiveProbability = falsePositiveProbability;
+    }
+
+    @ManagedAttribute(description = "Number of lookups where the key was definitely not in the repository")
+    public long getFilterMissCounter() {
+        return filterMissCounter.longValue();
+    }
+
+    @ManagedAttribute(description = "Number of lookups where the key may be in the repository, and was in the repository")
+    public long getFilterHitCounter() {
+        return filterHitCounter.longValue();
+    }
+
+    @ManagedAttribute(description = "Number of lookups where the key may be in the repository, but was not in the repository")
+    public long getFalsePositiveCounter() {
+        return falsePositiveCounter.longValue();
+    }
+
+    @ManagedAttribute(description = "Approximate number of keys in the Bloom filter")
+    public long getFilterSize() {
+        long answer = 0;
+        for (BloomFilter filter : filters) {
+            answer += filter.count.longValue();
+        }
+        return answer;
+    }
+
+    @ManagedAttribute(description = "Number of bytes used by the Bloom filter")
+    public long getFilterMemorySize() {
+        long answer = 0;
+        for (BloomFilter filter : filters) {
+            answer += filter.bits.length() * 8L;
+        }
+        return answer;
+    }
+
+    @ManagedOperation(description = "Reset the counters")
+    public void resetStatistics() {
+        filterMissCounter.reset();
+        filterHitCounter.reset();
+        falsePositiveCounter.reset();
+    }
+
+    /**
+     * Adds the keys to the Bloom filter, such as the existing keys of the other repository on startup.
+     *
+     * @param keys the keys
+     */
+    public void addToFilter(Iterable<String> keys) {
+        for (String key : keys) {
+            put(key);
+        }
+    }
+
+    @Override
+    @ManagedOperation(description = "Adds the key to the store")
+    public boolean add(String key) {
+        if (mightContain(key)) {
+            if (onFilterHit(repository.contains(key))) {
+                return false;
+            }
+        } else {
+            filterMissCounter.increment();
+        }
+        put(key);
+        return repository.add(key);
+    }
+
+    @Override
+    public boolean add(Exchange exchange, String key) {
+        if (mightContain(key)) {
+            if (onFilterHit(repository.contains(exchange, key))) {
+                return false;
+            }
+        } else {
+            filterMissCounter.increment();
+        }
+        put(key);
+        return repository.add(exchange, key);
+    }
+
+    @Override
+    @ManagedOperation(description = "Does the store contain the given key")
+    public boolean contains(String key) {
+        if (!mightContain(key)) {
+            filterMissCounter.increment();
+            return false;
+        }
+        return onFilterHit(repository.contains(key));
+    }
+
+    @Override
+    public boolean contains(Exchange exchange, String key) {
+        if (!mightContain(key)) {
+            filterMissCounter.increment();
+            return false;
+        }
+        return onFilterHit(repository.contains(exchange, key));
+    }
+
+    @Override
+    @ManagedOperation(description = "Remove the key from the store")
+    public boolean remove(String key) {
+        // keys cannot be removed from the Bloom filter, which is okay as it just may be a false positive
+        return repository.remove(key);
+    }
+
+    @Override
+    public boolean remove(Exchange exchange, String key) {
+        return repository.remove(exchange, key);
+    }
+
+    @Override
+    public boolean confirm(String key) {
+        return repository.confirm(key);
+    }
+
+    @Override
+    public boolean confirm(Exchange exchange, String key) {
+        return repository.confirm(exchange, key);
+    }
+
+    @Override
+    @ManagedOperation(description = "Clear the store (danger this removes all entries)")
+    public void clear() {
+        repository.clear();
+        synchronized (this) {
+            filters.clear();
+            filters.add(new BloomFilter(expectedInsertions, filterProbability(0)));
+        }
+    }
+
+    private boolean onFilterHit(boolean contains) {
+        if (contains) {
+            filterHitCounter.increment();
+        } else {
+            falsePositiveCounter.increment();
+        }
+        return contains;
+    }
+
+    private boolean mightContain(String key) {
+        long hash1 = hash(key);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        for (BloomFilter filter : filters) {
+            if (filter.mightContain(hash1, hash2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void put(String key) {
+        long hash1 = hash(key);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        // only add to the newest filter
+        BloomFilter filter = filters.isEmpty() ? grow(null) : filters.get(filters.size() - 1);
+        if (filter.count.longValue() >= filter.capacity) {
+            filter = grow(filter);
+        }
+        filter.put(hash1, hash2);
+    }
+
+    private synchronized BloomFilter grow(BloomFilter current) {
+        if (filters.isEmpty()) {
+            BloomFilter answer = new BloomFilter(expectedInsertions, filterProbability(0));
+            filters.add(answer);
+            return answer;
+        }
+        BloomFilter last = filters.get(filters.size() - 1);
+        if (last != current) {
+            // already grown by another thread
+            return last;
+        }
+        BloomFilter answer = new BloomFilter(current.capacity * 2, filterProbability(filters.size()));
+        filters.add(answer);
+        return answer;
+    }
+
+    /**
+     * The false positive probability of the filter at the given index. The probabilities of the filters add up, so the
+     * first filter uses half the configured probability, and every new filter half the probability of the previous one,
+     * which keeps the sum p/2 + p/4 + p/8 ... below the configured probability.
+     */
+    private double filterProbability(int index) {
+        return falsePositiveProbability / Math.pow(2, index + 1);
+    }
+
+    private static long hash(String key) {
+        // 64-bit FNV-1a
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        // finalizer from MurmurHash3 to spread the bits
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ObjectHelper.notNull(repository, "repository", this);
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("ExpectedInsertions must be a positive number, was: " + expectedInsertions);
+        }
+        if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException(
+                    "FalsePositiveProbability must be between 0 and 1, was: " + falsePositiveProbability);
+        }
+        if (filters.isEmpty()) {
+            grow(null);
+        }
+        CamelContextAware.trySetCamelContext(repository, camelContext);
+        ServiceHelper.startService(repository);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        ServiceHelper.stopService(repository);
+    }
+
+    /**
+     * A Bloom filter using double hashing, which can be updated and read concurrently.
+     */
+    private static final class BloomFilter {
+
+        private final long capacity;
+        private final AtomicLongArray bits;
+        private final long numBits;
+        private final int numHashes;
+        private final LongAdder count = new LongAdder();
+
+        BloomFilter(long capacity, double fpp) {
+            this.capacity = capacity;
+            long m = (long) Math.ceil(-capacity * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+            int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (m + 63) / 64));
+            this.bits = new AtomicLongArray(words);
+            this.numBits = words * 64L;
+            this.numHashes = Math.max(1, (int) Math.round((double) m / capacity * Math.log(2)));
+        }
+
+        void put(long hash1, long hash2) {
+            boolean changed = false;
+            long combined = hash1;
+            for (int i = 0; i < numHashes; i++) {
+                long index = (combined & Long.MAX_VALUE) % numBits;
+                int word = (int) (index >>> 6);
+                long mask = 1L << index;
+                long value = bits.get(word);
+                if ((value & mask) == 0) {
+                    bits.getAndUpdate(word, v -> v | mask);
+                    changed = true;
+                }
+                combined += hash2;
+            }
+            if (changed) {
+                count.increment();
+            }
+        }
+
+        boolean mightContain(long hash1, long hash2) {
+            long combined = hash1;
+            for (int i = 0; i < numHashes; i++) {
+                long index = (combined & Long.MAX_VALUE) % numBits;
+                if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+                combined += hash2;
+            }
+            return true;
+        }
+    }
+
+}
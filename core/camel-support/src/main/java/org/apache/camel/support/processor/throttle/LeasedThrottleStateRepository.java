@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.throttle;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.camel.spi.ThrottleStateRepository;
+import org.apache.camel.support.service.ServiceSupport;
+
+/**
+ * Base class for {@link org.apache.camel.spi.ThrottleStateRepository} implementations backed by a store which is shared
+ * by several Camel applications, so the throttle rate applies to all of them together.
+ * <p/>
+ * The permits are counted in fixed time windows, with a counter in the shared store per key and window. Instead of
+ * updating the counter for every message, a lease of several permits is taken from the counter at once and the permits
+ * are then handed out locally, so the store is only accessed once per lease. Leased permits which are not used before
+ * the window ends are discarded.
+ * <p/>
+ * The windows are aligned on the wall clock, so the clocks of the Camel applications should be synchronized. As the
+ * windows are fixed, up to twice the maximum number of permits can be acquired around the end of a window.
+ */
+public abstract class LeasedThrottleStateRepository extends ServiceSupport implements ThrottleStateRepository {
+
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+    private final AtomicLong lastPurge = new AtomicLong(System.currentTimeMillis());
+    private int leaseSize = 10;
+
+    /**
+     * Atomically adds the delta to the counter with the given name in the shared store. The counter is created with the
+     * value of the delta if it does not already exist.
+     *
+     * @param  name             the name of the counter
+     * @param  delta            the number of permits to add
+     * @param  timeToLiveMillis how long the counter should be kept in the store
+     * @return                  the value of the counter after the delta was added
+     */
+    protected abstract long addAndGet(String name, int delta, long timeToLiveMillis);
+
+    @Override
+    public long tryAcquire(String key, int maxRequestsPerPeriod, long timePeriodMillis) {
+        if (maxRequestsPerPeriod <= 0) {
+            return TimeUnit.MILLISECONDS.toNanos(timePeriodMillis);
+        }
+
+        long now = System.currentTimeMillis();
+        long window = now / timePeriodMillis;
+        Lease lease = leases.computeIfAbsent(key, k -> new Lease());
+        if (lease.tryTake(window)) {
+            return 0;
+        }
+
+        long delay;
+        synchronized (lease) {
+            // another thread may have renewed the lease in the meantime
+            if (lease.tryTake(window)) {
+                return 0;
+            }
+            delay = TimeUnit.MILLISECONDS.toNanos((window + 1) * timePeriodMillis - now);
+            if (lease.exhausted != window) {
+                int size = Math.max(1, Math.min(leaseSize, maxRequestsPerPeriod));
+                // keep the counter a bit longer than the window in case the clocks are not exactly in sync
+                long ttl = (window + 2) * timePeriodMillis - now;
+                long count = addAndGet(key + ":" + window, size, ttl);
+                long granted = Math.min(size, maxRequestsPerPeriod - (count - size));
+                if (granted > 0) {
+                    // the first permit of the lease is used right away
+                    lease.renew(window, (int) granted - 1);
+                    delay = 0;
+                } else {
+                    lease.exhausted = window;
+                }
+            }
+        }
+
+        long last = lastPurge.get();
+        if (now - last > timePeriodMillis * 10 && lastPurge.compareAndSet(last, now)) {
+            leases.values().removeIf(l -> l.permits.get().window < window && l.exhausted < window);
+        }
+        return delay;
+    }
+
+    public int getLeaseSize() {
+        return leaseSize;
+    }
+
+    /**
+     * The maximum number of permits to lease from the shared store at once. A larger lease means fewer round trips to
+     * the store, but permits leased by one Camel application cannot be used by the others until the window ends.
+     * <p/>
+     * Is by default 10.
+     */
+    public void setLeaseSize(int leaseSize) {
+        this.leaseSize = leaseSize;
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        leases.clear();
+    }
+
+    /**
+     * The permits leased for a single key.
+     */
+    private static final class Lease {
+        // the window and the remaining permits are replaced together, so a permit is never taken from a stale window
+        private final AtomicReference<Permits> permits = new AtomicReference<>(new Permits(-1, 0));
+        private volatile long exhausted = -1;
+
+        boolean tryTake(long window) {
+            while (true) {
+                Permits current = permits.get();
+                if (current.window != window || current.remaining <= 0) {
+                    return false;
+                }
+                if (permits.compareAndSet(current, new Permits(window, current.remaining - 1))) {
+                    return true;
+                }
+            }
+        }
+
+        void renew(long window, int remaining) {
+            permits.set(new Permits(window, remaining));
+        }
+    }
+
+    /**
+     * The permits remaining of a lease within a window.
+     */
+    private static final class Permits {
+        private final long window;
+        private final int remaining;
+
+        Permits(long window, int remaining) {
+            this.window = window;
+            this.remaining = remaining;
+        }
+    }
+}
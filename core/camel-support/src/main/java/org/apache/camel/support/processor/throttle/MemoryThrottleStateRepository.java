@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.throttle;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.apache.camel.spi.ThrottleStateRepository;
+import org.apache.camel.support.service.ServiceSupport;
+
+/**
+ * A memory based implementation of {@link org.apache.camel.spi.ThrottleStateRepository}.
+ * <p/>
+ * Each key has a ring with a slot per permit, which holds the time the permit was last used. A permit can be used again
+ * when the time period has elapsed since it was last used, which means that within any time period no more than the
+ * maximum number of permits are acquired. Acquiring a permit is a single compare and set on the head of the ring, so
+ * concurrent callers do not block each other.
+ * <p/>
+ * Keys which have not been used within the last time period are removed from time to time, as their state is then the
+ * same as for a new key.
+ */
+public class MemoryThrottleStateRepository extends ServiceSupport implements ThrottleStateRepository {
+
+    private final Map<String, PermitRing> rings = new ConcurrentHashMap<>();
+    private final AtomicLong lastPurge = new AtomicLong(System.nanoTime());
+
+    @Override
+    public long tryAcquire(String key, int maxRequestsPerPeriod, long timePeriodMillis) {
+        long period = TimeUnit.MILLISECONDS.toNanos(timePeriodMillis);
+        if (maxRequestsPerPeriod <= 0) {
+            return period;
+        }
+
+        long now = System.nanoTime();
+        PermitRing ring = rings.get(key);
+        if (ring == null || ring.size != maxRequestsPerPeriod) {
+            // the throttle rate has changed so carry over when the most recent permits were used
+            ring = rings.compute(key,
+                    (k, r) -> r != null && r.size == maxRequestsPerPeriod ? r : new PermitRing(maxRequestsPerPeriod, r, now));
+        }
+        long delay = ring.tryAcquire(now, period);
+
+        long last = lastPurge.get();
+        if (now - last > period * 10 && lastPurge.compareAndSet(last, now)) {
+            rings.values().removeIf(r -> r.isIdle(now, period));
+        }
+        return delay;
+    }
+
+    /**
+     * Number of keys currently in the repository
+     */
+    public int getSize() {
+        return rings.size();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        rings.clear();
+    }
+
+    /**
+     * The permits for a single key.
+     */
+    private static final class PermitRing {
+        private static final long UNUSED = Long.MIN_VALUE;
+
+        private final int size;
+        // number of permits acquired so far, permit n uses the slot n % size after the permit n - size
+        private final AtomicLong head = new AtomicLong();
+        // the time the slot was last used, which is written before the sequence
+        private final AtomicLongArray times;
+        // the number of the permit which last used the slot
+        private final AtomicLongArray sequences;
+
+        PermitRing(int size, PermitRing previous, long now) {
+            this.size = size;
+            this.times = new AtomicLongArray(size);
+            this.sequences = new AtomicLongArray(size);
+            for (int i = 0; i < size; i++) {
+                sequences.set(i, i - size);
+                times.set(i, previous != null ? previous.timeOfPermit(previous.head.get() - size + i, now) : UNUSED);
+            }
+        }
+
+        long tryAcquire(long now, long period) {
+            while (true) {
+                long h = head.get();
+                int index = (int) (h % size);
+                long sequence = sequences.get(index);
+                if (sequence != h - size) {
+                    if (sequence < h - size) {
+                        // the permit before is acquired right now but its time is not yet recorded
+                        return period;
+                    }
+                    // another caller acquired the permit
+                    continue;
+                }
+                long time = times.get(index);
+                if (time != UNUSED && now - time < period) {
+                    if (head.get() == h) {
+                        return period - (now - time);
+                    }
+                    continue;
+                }
+                if (head.compareAndSet(h, h + 1)) {
+                    times.set(index, now);
+                    sequences.set(index, h);
+                    return 0;
+                }
+            }
+        }
+
+        boolean isIdle(long now, long period) {
+            long time = timeOfPermit(head.get() - 1, now);
+            return time == UNUSED || now - time >= period;
+        }
+
+        private long timeOfPermit(long permit, long now) {
+            if (permit < head.get() - size) {
+                return UNUSED;
+            }
+            // the slots start out with the permits carried over from before the throttle rate changed
+            int index = Math.floorMod(permit, size);
+            if (sequences.get(index) != permit) {
+                // the permit is acquired right now and its time is not yet recorded
+                return now;
+            }
+            return times.get(index);
+        }
+    }
+}
@@ -0,0 +1,483 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * A map that uses case insensitive keys, but preserves the original key cases, and the insertion order.
+ * <p/>
+ * The map is optimized for the small number of entries which are typical for message headers. The entries are stored
+ * in arrays together with the hash of the case folded keys, which are scanned for smaller maps, and indexed using an
+ * open addressing hash table for larger maps. Copying a map (using {@link #CaseInsensitiveArrayMap(Map)}) is cheap as
+ * the arrays are shared until either of the maps is changed (copy on write).
+ * <p/>
+ * This map is <b>not</b> designed to be thread safe as concurrent access to it is not supposed to be performed by the
+ * Camel routing engine.
+ */
+public class CaseInsensitiveArrayMap extends AbstractMap<String, Object> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final String[] EMPTY_KEYS = new String[0];
+    private static final Object[] EMPTY_VALUES = new Object[0];
+    private static final int[] EMPTY_HASHES = new int[0];
+    private static final int DEFAULT_CAPACITY = 8;
+    // the number of entries from where the hash table is used instead of scanning the arrays
+    private static final int SCAN_THRESHOLD = 8;
+
+    private String[] keys;
+    private Object[] values;
+    private int[] hashes;
+    // open addressing hash table with the index + 1 of the entries (0 is an empty slot)
+    private int[] table;
+    private int size;
+    // whether the arrays are shared with a copy of this map, and must be copied before this map is changed
+    private boolean shared;
+    private transient Set<Entry<String, Object>> entrySet;
+    private transient Set<String> keySet;
+
+    public CaseInsensitiveArrayMap() {
+        keys = EMPTY_KEYS;
+        values = EMPTY_VALUES;
+        hashes = EMPTY_HASHES;
+    }
+
+    public CaseInsensitiveArrayMap(Map<? extends String, ?> map) {
+        if (map instanceof CaseInsensitiveArrayMap) {
+            CaseInsensitiveArrayMap other = (CaseInsensitiveArrayMap) map;
+            keys = other.keys;
+            values = other.values;
+            hashes = other.hashes;
+            table = other.table;
+            size = other.size;
+            if (size > 0) {
+                other.shared = true;
+                shared = true;
+            }
+        } else {
+            int capacity = map.size();
+            keys = capacity == 0 ? EMPTY_KEYS : new String[capacity];
+            values = capacity == 0 ? EMPTY_VALUES : new Object[capacity];
+            hashes = capacity == 0 ? EMPTY_HASHES : new int[capacity];
+            putAll(map);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Object get(Object key) {
+        int index = indexOf(key);
+        return index < 0 ? null : values[index];
+    }
+
+    @Override
+    public Object getOrDefault(Object key, Object defaultValue) {
+        int index = indexOf(key);
+        return index < 0 ? defaultValue : values[index];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        int hash = hash(key);
+        int index = indexOf(key, hash);
+        if (index >= 0) {
+            // keep the existing key (same as the original key case is preserved)
+            unshare();
+            Object answer = values[index];
+            values[index] = value;
+            return answer;
+        }
+
+        ensureCapacity(size + 1);
+        keys[size] = key;
+        values[size] = value;
+        hashes[size] = hash;
+        size++;
+        if (table != null && size * 2 <= table.length) {
+            insertIntoTable(size - 1);
+        } else if (size > SCAN_THRESHOLD) {
+            rebuildTable();
+        }
+        return null;
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ?> map) {
+        if (map instanceof CaseInsensitiveArrayMap) {
+            CaseInsensitiveArrayMap other = (CaseInsensitiveArrayMap) map;
+            if (size == 0 && other.size > 0 && other != this) {
+                // copy on write from the other map
+                keys = other.keys;
+                values = other.values;
+                hashes = other.hashes;
+                table = other.table;
+                size = other.size;
+                other.shared = true;
+                shared = true;
+                return;
+            }
+            for (int i = 0; i < other.size; i++) {
+                put(other.keys[i], other.values[i]);
+            }
+        } else {
+            for (Entry<? extends String, ?> entry : map.entrySet()) {
+                put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public Object remove(Object key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        Object answer = values[index];
+        removeAt(index);
+        return answer;
+    }
+
+    @Override
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        if (shared) {
+            keys = EMPTY_KEYS;
+            values = EMPTY_VALUES;
+            hashes = EMPTY_HASHES;
+            shared = false;
+        } else {
+            Arrays.fill(keys, 0, size, null);
+            Arrays.fill(values, 0, size, null);
+        }
+        table = null;
+        size = 0;
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super String, ? super Object> action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(keys[i], values[i]);
+        }
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    @Override
+    public Set<String> keySet() {
+        if (keySet == null) {
+            keySet = new KeySet();
+        }
+        return keySet;
+    }
+
+    private int indexOf(Object key) {
+        if (!(key instanceof String)) {
+            return -1;
+        }
+        String str = (String) key;
+        return indexOf(str, hash(str));
+    }
+
+    private int indexOf(String key, int hash) {
+        if (table == null) {
+            for (int i = 0; i < size; i++) {
+                if (hashes[i] == hash && matches(keys[i], key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        int mask = table.length - 1;
+        for (int slot = hash & mask;; slot = (slot + 1) & mask) {
+            int index = table[slot] - 1;
+            if (index < 0) {
+                return -1;
+            }
+            if (hashes[index] == hash && matches(keys[index], key)) {
+                return index;
+            }
+        }
+    }
+
+    private static boolean matches(String existing, String key) {
+        return existing == key || existing.equalsIgnoreCase(key);
+    }
+
+    /**
+     * Computes the hash of the key, using the same case folding as {@link String#equalsIgnoreCase(String)}, so keys
+     * that are equal ignoring case have the same hash.
+     */
+    static int hash(String key) {
+        int h = 0;
+        int len = key.length();
+        for (int i = 0; i < len; i++) {
+            int c = key.charAt(i);
+            if (c < 128) {
+                if (c >= 'A' && c <= 'Z') {
+                    c += 'a' - 'A';
+                }
+            } else {
+                c = key.codePointAt(i);
+                if (Character.isSupplementaryCodePoint(c)) {
+                    i++;
+                }
+                c = Character.toLowerCase(Character.toUpperCase(c));
+            }
+            h = 31 * h + c;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private void removeAt(int index) {
+        unshare();
+        int moved = size - index - 1;
+        if (moved > 0) {
+            System.arraycopy(keys, index + 1, keys, index, moved);
+            System.arraycopy(values, index + 1, values, index, moved);
+            System.arraycopy(hashes, index + 1, hashes, index, moved);
+        }
+        size--;
+        keys[size] = null;
+        values[size] = null;
+        if (table != null) {
+            rebuildTable();
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > keys.length) {
+            int newLength = Math.max(capacity, keys.length == 0 ? DEFAULT_CAPACITY : keys.length * 2);
+            keys = Arrays.copyOf(keys, newLength);
+            values = Arrays.copyOf(values, newLength);
+            hashes = Arrays.copyOf(hashes, newLength);
+            if (shared && table != null) {
+                table = table.clone();
+            }
+            shared = false;
+        } else {
+            unshare();
+        }
+    }
+
+    private void unshare() {
+        if (shared) {
+            keys = keys.clone();
+            values = values.clone();
+            hashes = hashes.clone();
+            if (table != null) {
+                table = table.clone();
+            }
+            shared = false;
+        }
+    }
+
+    private void rebuildTable() {
+        if (size <= SCAN_THRESHOLD) {
+            table = null;
+            return;
+        }
+        // keep the table at most half full
+        table = new int[Integer.highestOneBit(size * 4 - 1)];
+        for (int i = 0; i < size; i++) {
+            insertIntoTable(i);
+        }
+    }
+
+    private void insertIntoTable(int index) {
+        int mask = table.length - 1;
+        int slot = hashes[index] & mask;
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = index + 1;
+    }
+
+    private abstract class ArrayIterator<T> implements Iterator<T> {
+        private int next;
+        private int last = -1;
+        private int expectedSize = size;
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        int nextIndex() {
+            if (expectedSize != size) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+            last = next++;
+            return last;
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            removeAt(last);
+            next = last;
+            last = -1;
+            expectedSize = size;
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<String, Object>> {
+
+        @Override
+        public Iterator<Entry<String, Object>> iterator() {
+            return new ArrayIterator<>() {
+                @Override
+                public Entry<String, Object> next() {
+                    int index = nextIndex();
+                    return new ArrayEntry(keys[index], values[index]);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            CaseInsensitiveArrayMap.this.clear();
+        }
+    }
+
+    private final class KeySet extends AbstractSet<String> {
+
+        @Override
+        public Iterator<String> iterator() {
+            return new ArrayIterator<>() {
+                @Override
+                public String next() {
+                    return keys[nextIndex()];
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return containsKey(o);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            int index = indexOf(o);
+            if (index < 0) {
+                return false;
+            }
+            removeAt(index);
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            CaseInsensitiveArrayMap.this.clear();
+        }
+    }
+
+    private final class ArrayEntry implements Entry<String, Object> {
+        private final String key;
+        private Object value;
+
+        ArrayEntry(String key, Object value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            return value;
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            Object answer = this.value;
+            this.value = value;
+            put(key, value);
+            return answer;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> e = (Entry<?, ?>) o;
+            return Objects.equals(key, e.getKey()) && Objects.equals(value, e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+}
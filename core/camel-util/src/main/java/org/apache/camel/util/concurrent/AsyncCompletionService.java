@@ -70,6 +70,19 @@ public class AsyncCompletionService<V> {
         index.incrementAndGet();
     }
 
+    /**
+     * The number of completed tasks which has not yet been polled
+     */
+    public int size() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
     public V pollUnordered() {
         final ReentrantLock lock = this.lock;
         lock.lock();
@@ -23,6 +23,9 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Thread factory which creates threads supporting a naming pattern.
+ * <p/>
+ * The factory can create virtual threads instead of platform threads, which requires the JVM to support virtual
+ * threads, see {@link VirtualThreadHelper#isVirtualThreadsSupported()}.
  */
 public final class CamelThreadFactory implements ThreadFactory {
     private static final Logger LOG = LoggerFactory.getLogger(CamelThreadFactory.class);
@@ -30,18 +33,30 @@ public final class CamelThreadFactory implements ThreadFactory {
     private final String pattern;
     private final String name;
     private final boolean daemon;
+    private final boolean virtual;
 
     public CamelThreadFactory(String pattern, String name, boolean daemon) {
+        this(pattern, name, daemon, false);
+    }
+
+    public CamelThreadFactory(String pattern, String name, boolean daemon, boolean virtual) {
         this.pattern = pattern;
         this.name = name;
         this.daemon = daemon;
+        this.virtual = virtual;
     }
 
     @Override
     public Thread newThread(Runnable runnable) {
         String threadName = ThreadHelper.resolveThreadName(pattern, name);
-        Thread answer = new Thread(runnable, threadName);
-        answer.setDaemon(daemon);
+        Thread answer;
+        if (virtual) {
+            // virtual threads are always daemon threads
+            answer = VirtualThreadHelper.newVirtualThread(threadName, runnable);
+        } else {
+            answer = new Thread(runnable, threadName);
+            answer.setDaemon(daemon);
+        }
 
         LOG.trace("Created thread[{}] -> {}", threadName, answer);
         return answer;
@@ -51,6 +66,17 @@ public final class CamelThreadFactory implements ThreadFactory {
         return name;
     }
 
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * Creates a copy of this thread factory which creates virtual threads using the same naming pattern.
+     */
+    public CamelThreadFactory asVirtual() {
+        return virtual ? this : new CamelThreadFactory(pattern, name, daemon, true);
+    }
+
     @Override
     public String toString() {
         return "CamelThreadFactory[" + name + "]";
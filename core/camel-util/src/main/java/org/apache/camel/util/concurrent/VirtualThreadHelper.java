@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util.concurrent;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Helper for creating virtual threads when running on a JVM that supports virtual threads (Java 21 or newer).
+ * <p/>
+ * Camel is compiled for Java 17, and therefore the virtual thread API is accessed using method handles which are
+ * resolved once. When virtual threads are not supported then {@link #isVirtualThreadsSupported()} returns
+ * <tt>false</tt> and callers should fallback to use platform threads.
+ */
+public final class VirtualThreadHelper {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadHelper.class);
+
+    // Thread.ofVirtual()
+    private static final MethodHandle OF_VIRTUAL;
+    // Thread.Builder.name(String)
+    private static final MethodHandle NAME;
+    // Thread.Builder.unstarted(Runnable)
+    private static final MethodHandle UNSTARTED;
+    // Executors.newThreadPerTaskExecutor(ThreadFactory)
+    private static final MethodHandle NEW_THREAD_PER_TASK_EXECUTOR;
+
+    static {
+        MethodHandle ofVirtual = null;
+        MethodHandle name = null;
+        MethodHandle unstarted = null;
+        MethodHandle newThreadPerTaskExecutor = null;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            Class<?> ofVirtualBuilder = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(ofVirtualBuilder));
+            name = lookup.findVirtual(builder, "name", MethodType.methodType(builder, String.class));
+            unstarted = lookup.findVirtual(builder, "unstarted", MethodType.methodType(Thread.class, Runnable.class));
+            newThreadPerTaskExecutor = lookup.findStatic(Executors.class, "newThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class, ThreadFactory.class));
+            // virtual threads are a preview feature in Java 19 and 20, so check we can create one
+            Object b = ofVirtual.invoke();
+            unstarted.invoke(b, (Runnable) () -> {
+            });
+        } catch (Throwable e) {
+            LOG.trace("Virtual threads are not supported on this JVM due to: {}", e.getMessage(), e);
+            ofVirtual = null;
+            name = null;
+            unstarted = null;
+            newThreadPerTaskExecutor = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        UNSTARTED = unstarted;
+        NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+    }
+
+    private VirtualThreadHelper() {
+    }
+
+    /**
+     * Whether virtual threads are supported by this JVM.
+     */
+    public static boolean isVirtualThreadsSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Creates a new (unstarted) virtual thread.
+     *
+     * @param  name                          the thread name
+     * @param  runnable                      the task to run
+     * @return                               the virtual thread
+     * @throws UnsupportedOperationException is thrown if virtual threads are not supported by this JVM
+     */
+    public static Thread newVirtualThread(String name, Runnable runnable) {
+        if (!isVirtualThreadsSupported()) {
+            throw new UnsupportedOperationException("Virtual threads are not supported on this JVM");
+        }
+        try {
+            Object builder = OF_VIRTUAL.invoke();
+            builder = NAME.invoke(builder, name);
+            return (Thread) UNSTARTED.invoke(builder, runnable);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Creates an {@link ExecutorService} that starts a new thread for each task, using the given thread factory which
+     * should create virtual threads.
+     *
+     * @param  threadFactory                 the thread factory
+     * @return                               the executor service
+     * @throws UnsupportedOperationException is thrown if virtual threads are not supported by this JVM
+     */
+    public static ExecutorService newThreadPerTaskExecutor(ThreadFactory threadFactory) {
+        if (!isVirtualThreadsSupported()) {
+            throw new UnsupportedOperationException("Virtual threads are not supported on this JVM");
+        }
+        try {
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(threadFactory);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
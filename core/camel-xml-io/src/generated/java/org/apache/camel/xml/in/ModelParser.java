@@ -99,6 +99,7 @@ public class ModelParser extends BaseParser {
                 case "executorService": def.setExecutorService(val); break;
                 case "forceCompletionOnStop": def.setForceCompletionOnStop(val); break;
                 case "ignoreInvalidCorrelationKeys": def.setIgnoreInvalidCorrelationKeys(val); break;
+                case "lockStripes": def.setLockStripes(val); break;
                 case "optimisticLocking": def.setOptimisticLocking(val); break;
                 case "parallelProcessing": def.setParallelProcessing(val); break;
                 case "timeoutCheckerExecutorService": def.setTimeoutCheckerExecutorService(val); break;
@@ -1337,6 +1338,7 @@ public class ModelParser extends BaseParser {
                 case "aggregationStrategyMethodName": def.setAggregationStrategyMethodName(val); break;
                 case "delimiter": def.setDelimiter(val); break;
                 case "executorService": def.setExecutorService(val); break;
+                case "maxInflightExchanges": def.setMaxInflightExchanges(val); break;
                 case "onPrepare": def.setOnPrepare(val); break;
                 case "parallelAggregate": def.setParallelAggregate(val); break;
                 case "parallelProcessing": def.setParallelProcessing(val); break;
@@ -1433,6 +1435,7 @@ public class ModelParser extends BaseParser {
                 case "poolSize": def.setPoolSize(val); break;
                 case "rejectedPolicy": def.setRejectedPolicy(val); break;
                 case "timeUnit": def.setTimeUnit(val); break;
+                case "virtualThreads": def.setVirtualThreads(val); break;
                 default: return optionalIdentifiedDefinitionAttributeHandler().accept(def, key, val);
             }
             return true;
@@ -1463,6 +1466,7 @@ public class ModelParser extends BaseParser {
                 case "callerRunsWhenRejected": def.setCallerRunsWhenRejected(val); break;
                 case "executorService": def.setExecutorService(val); break;
                 case "rejectExecution": def.setRejectExecution(val); break;
+                case "stateRepository": def.setStateRepository(val); break;
                 case "timePeriodMillis": def.setTimePeriodMillis(val); break;
                 default: return processorDefinitionAttributeHandler().accept(def, key, val);
             }
@@ -1033,6 +1033,7 @@ public class ModelWriter extends BaseWriter {
         doWriteAttribute("completionFromBatchConsumer", def.getCompletionFromBatchConsumer());
         doWriteAttribute("completeAllOnStop", def.getCompleteAllOnStop());
         doWriteAttribute("completionSize", def.getCompletionSize());
+        doWriteAttribute("lockStripes", def.getLockStripes());
         doWriteAttribute("aggregationStrategyMethodName", def.getAggregationStrategyMethodName());
         doWriteAttribute("aggregateController", def.getAggregateController());
         doWriteAttribute("completionTimeout", def.getCompletionTimeout());
@@ -2297,6 +2298,7 @@ public class ModelWriter extends BaseWriter {
         doWriteAttribute("executorService", def.getExecutorService());
         doWriteAttribute("aggregationStrategyMethodName", def.getAggregationStrategyMethodName());
         doWriteAttribute("timeout", def.getTimeout());
+        doWriteAttribute("maxInflightExchanges", def.getMaxInflightExchanges());
         doWriteAttribute("streaming", def.getStreaming());
         doWriteAttribute("stopOnException", def.getStopOnException());
         doWriteAttribute("delimiter", def.getDelimiter());
@@ -2372,6 +2374,7 @@ public class ModelWriter extends BaseWriter {
             throws IOException {
         startElement(name);
         doWriteOptionalIdentifiedDefinitionAttributes(def);
+        doWriteAttribute("virtualThreads", def.getVirtualThreads());
         doWriteAttribute("keepAliveTime", def.getKeepAliveTime());
         doWriteAttribute("maxQueueSize", def.getMaxQueueSize());
         doWriteAttribute("allowCoreThreadTimeOut", def.getAllowCoreThreadTimeOut());
@@ -2410,6 +2413,7 @@ public class ModelWriter extends BaseWriter {
         doWriteProcessorDefinitionAttributes(def);
         doWriteAttribute("timePeriodMillis", def.getTimePeriodMillis());
         doWriteAttribute("rejectExecution", def.getRejectExecution());
+        doWriteAttribute("stateRepository", def.getStateRepository());
         doWriteAttribute("callerRunsWhenRejected", def.getCallerRunsWhenRejected());
         doWriteAttribute("executorService", def.getExecutorService());
         doWriteAttribute("asyncDelayed", def.getAsyncDelayed());
@@ -246,6 +246,50 @@ public interface KafkaComponentBuilderFactory {
             doSetProperty("autoOffsetReset", autoOffsetReset);
             return this;
         }
+        /**
+         * Whether to route the records of a poll as a batch, with one exchange
+         * per batch instead of one exchange per record. The message body is
+         * then a java.util.List with an exchange per record, which holds the
+         * record value as its body and the record metadata as its headers. A
+         * batch holds up to maxPollRecords records, and the offsets of the
+         * batch are committed once the batch exchange has completed. When
+         * allowManualCommit is enabled then the batch exchange has a
+         * KafkaManualCommit header that commits all the records of the batch.
+         * When breakOnFirstError is enabled and the batch fails then the
+         * consumer seeks back to the first record of the batch. This cannot be
+         * used together with processingThreads.
+         * 
+         * The option is a: &lt;code&gt;boolean&lt;/code&gt; type.
+         * 
+         * Default: false
+         * Group: consumer
+         * 
+         * @param batching the value to set
+         * @return the dsl builder
+         */
+        default KafkaComponentBuilder batching(boolean batching) {
+            doSetProperty("batching", batching);
+            return this;
+        }
+        /**
+         * The maximum time to wait for a batch to fill up when batching is
+         * enabled. By default a batch holds the records of a single poll. When
+         * this option is set, the records of consecutive polls are collected
+         * until there are maxPollRecords records, or the interval has elapsed
+         * since the first record of the batch was received.
+         * 
+         * The option is a: &lt;code&gt;java.lang.Long&lt;/code&gt; type.
+         * 
+         * Group: consumer
+         * 
+         * @param batchingIntervalMs the value to set
+         * @return the dsl builder
+         */
+        default KafkaComponentBuilder batchingIntervalMs(
+                java.lang.Long batchingIntervalMs) {
+            doSetProperty("batchingIntervalMs", batchingIntervalMs);
+            return this;
+        }
         /**
          * This options controls what happens when a consumer is processing an
          * exchange and it fails. If the option is false then the consumer
@@ -517,6 +561,26 @@ public interface KafkaComponentBuilderFactory {
             doSetProperty("keyDeserializer", keyDeserializer);
             return this;
         }
+        /**
+         * The maximum number of records that are being processed in parallel
+         * (see the processingThreads option) before the consumer pauses
+         * fetching from its partitions. Fetching is resumed when records have
+         * completed. As the records of a poll are always dispatched, the limit
+         * can be exceeded by up to the number of records of a poll
+         * (maxPollRecords).
+         * 
+         * The option is a: &lt;code&gt;int&lt;/code&gt; type.
+         * 
+         * Default: 1000
+         * Group: consumer
+         * 
+         * @param maxInFlightRecords the value to set
+         * @return the dsl builder
+         */
+        default KafkaComponentBuilder maxInFlightRecords(int maxInFlightRecords) {
+            doSetProperty("maxInFlightRecords", maxInFlightRecords);
+            return this;
+        }
         /**
          * The maximum amount of data per-partition the server will return. The
          * maximum total memory used for a request will be #partitions
@@ -653,6 +717,50 @@ public interface KafkaComponentBuilderFactory {
             doSetProperty("pollTimeoutMs", pollTimeoutMs);
             return this;
         }
+        /**
+         * The order to keep when processing the records in parallel (see the
+         * processingThreads option). KEY processes the records with the same
+         * key in order, and records with different keys in parallel (records
+         * without a key are ordered per partition). PARTITION processes the
+         * records of a partition in order, and the partitions in parallel.
+         * 
+         * The option is a:
+         * &lt;code&gt;org.apache.camel.component.kafka.ProcessingOrder&lt;/code&gt;
+         * type.
+         * 
+         * Default: KEY
+         * Group: consumer
+         * 
+         * @param processingOrder the value to set
+         * @return the dsl builder
+         */
+        default KafkaComponentBuilder processingOrder(
+                org.apache.camel.component.kafka.ProcessingOrder processingOrder) {
+            doSetProperty("processingOrder", processingOrder);
+            return this;
+        }
+        /**
+         * The number of threads used for processing the records of a poll in
+         * parallel. By default the records are processed one by one on the
+         * consumer thread, which bounds the throughput of a consumer by the
+         * time it takes to route a record. When processing in parallel the
+         * order of the records is still kept per key or per partition, see the
+         * processingOrder option, and the offsets are committed up till the
+         * last record before which all the records have completed. Use
+         * autoCommitIntervalMs to control how often the offsets are committed.
+         * This cannot be used together with allowManualCommit.
+         * 
+         * The option is a: &lt;code&gt;int&lt;/code&gt; type.
+         * 
+         * Group: consumer
+         * 
+         * @param processingThreads the value to set
+         * @return the dsl builder
+         */
+        default KafkaComponentBuilder processingThreads(int processingThreads) {
+            doSetProperty("processingThreads", processingThreads);
+            return this;
+        }
         /**
          * Set if KafkaConsumer will read from beginning or end on startup:
          * SeekPolicy.BEGINNING: read from beginning. SeekPolicy.END: read from
@@ -2148,6 +2256,8 @@ public interface KafkaComponentBuilderFactory {
             case "autoCommitEnable": getOrCreateConfiguration((KafkaComponent) component).setAutoCommitEnable((boolean) value); return true;
             case "autoCommitIntervalMs": getOrCreateConfiguration((KafkaComponent) component).setAutoCommitIntervalMs((java.lang.Integer) value); return true;
             case "autoOffsetReset": getOrCreateConfiguration((KafkaComponent) component).setAutoOffsetReset((java.lang.String) value); return true;
+            case "batching": getOrCreateConfiguration((KafkaComponent) component).setBatching((boolean) value); return true;
+            case "batchingIntervalMs": getOrCreateConfiguration((KafkaComponent) component).setBatchingIntervalMs((java.lang.Long) value); return true;
             case "breakOnFirstError": getOrCreateConfiguration((KafkaComponent) component).setBreakOnFirstError((boolean) value); return true;
             case "bridgeErrorHandler": ((KafkaComponent) component).setBridgeErrorHandler((boolean) value); return true;
             case "checkCrcs": getOrCreateConfiguration((KafkaComponent) component).setCheckCrcs((java.lang.Boolean) value); return true;
@@ -2162,6 +2272,7 @@ public interface KafkaComponentBuilderFactory {
             case "headerDeserializer": getOrCreateConfiguration((KafkaComponent) component).setHeaderDeserializer((org.apache.camel.component.kafka.serde.KafkaHeaderDeserializer) value); return true;
             case "heartbeatIntervalMs": getOrCreateConfiguration((KafkaComponent) component).setHeartbeatIntervalMs((java.lang.Integer) value); return true;
             case "keyDeserializer": getOrCreateConfiguration((KafkaComponent) component).setKeyDeserializer((java.lang.String) value); return true;
+            case "maxInFlightRecords": getOrCreateConfiguration((KafkaComponent) component).setMaxInFlightRecords((int) value); return true;
             case "maxPartitionFetchBytes": getOrCreateConfiguration((KafkaComponent) component).setMaxPartitionFetchBytes((java.lang.Integer) value); return true;
             case "maxPollIntervalMs": getOrCreateConfiguration((KafkaComponent) component).setMaxPollIntervalMs((java.lang.Long) value); return true;
             case "maxPollRecords": getOrCreateConfiguration((KafkaComponent) component).setMaxPollRecords((java.lang.Integer) value); return true;
@@ -2169,6 +2280,8 @@ public interface KafkaComponentBuilderFactory {
             case "partitionAssignor": getOrCreateConfiguration((KafkaComponent) component).setPartitionAssignor((java.lang.String) value); return true;
             case "pollOnError": getOrCreateConfiguration((KafkaComponent) component).setPollOnError((org.apache.camel.component.kafka.PollOnError) value); return true;
             case "pollTimeoutMs": getOrCreateConfiguration((KafkaComponent) component).setPollTimeoutMs((java.lang.Long) value); return true;
+            case "processingOrder": getOrCreateConfiguration((KafkaComponent) component).setProcessingOrder((org.apache.camel.component.kafka.ProcessingOrder) value); return true;
+            case "processingThreads": getOrCreateConfiguration((KafkaComponent) component).setProcessingThreads((int) value); return true;
             case "seekTo": getOrCreateConfiguration((KafkaComponent) component).setSeekTo((org.apache.camel.component.kafka.SeekPolicy) value); return true;
             case "sessionTimeoutMs": getOrCreateConfiguration((KafkaComponent) component).setSessionTimeoutMs((java.lang.Integer) value); return true;
             case "specificAvroReader": getOrCreateConfiguration((KafkaComponent) component).setSpecificAvroReader((boolean) value); return true;
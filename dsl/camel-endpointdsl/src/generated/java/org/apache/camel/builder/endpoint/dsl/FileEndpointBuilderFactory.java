@@ -329,6 +329,48 @@ public interface FileEndpointBuilderFactory {
             doSetProperty("sendEmptyMessageWhenIdle", sendEmptyMessageWhenIdle);
             return this;
         }
+        /**
+         * Whether to watch the directories for changes using the file system
+         * watch service, so new and changed files are picked up as soon as the
+         * file system notifies about them, instead of at the next poll. The
+         * regular polling is still in use as a periodic scan which picks up any
+         * files the notifications may have missed, so the delay option can be
+         * set to a longer interval.
+         * 
+         * The option is a: &lt;code&gt;boolean&lt;/code&gt; type.
+         * 
+         * Default: false
+         * Group: consumer
+         * 
+         * @param watchDirectory the value to set
+         * @return the dsl builder
+         */
+        default FileEndpointConsumerBuilder watchDirectory(
+                boolean watchDirectory) {
+            doSetProperty("watchDirectory", watchDirectory);
+            return this;
+        }
+        /**
+         * Whether to watch the directories for changes using the file system
+         * watch service, so new and changed files are picked up as soon as the
+         * file system notifies about them, instead of at the next poll. The
+         * regular polling is still in use as a periodic scan which picks up any
+         * files the notifications may have missed, so the delay option can be
+         * set to a longer interval.
+         * 
+         * The option will be converted to a &lt;code&gt;boolean&lt;/code&gt;
+         * type.
+         * 
+         * Default: false
+         * Group: consumer
+         * 
+         * @param watchDirectory the value to set
+         * @return the dsl builder
+         */
+        default FileEndpointConsumerBuilder watchDirectory(String watchDirectory) {
+            doSetProperty("watchDirectory", watchDirectory);
+            return this;
+        }
         /**
          * Ant style filter exclusion. If both antInclude and antExclude are
          * used, antExclude takes precedence over antInclude. Multiple
@@ -2392,6 +2434,44 @@ public interface FileEndpointBuilderFactory {
             doSetProperty("processStrategy", processStrategy);
             return this;
         }
+        /**
+         * The number of threads to use for scanning the sub directories in
+         * parallel when recursive is enabled. The files are gathered in no
+         * particular order, so use a sorter if the files should be processed in
+         * a given order.
+         * 
+         * The option is a: &lt;code&gt;int&lt;/code&gt; type.
+         * 
+         * Default: 1
+         * Group: consumer (advanced)
+         * 
+         * @param scanParallelism the value to set
+         * @return the dsl builder
+         */
+        default AdvancedFileEndpointConsumerBuilder scanParallelism(
+                int scanParallelism) {
+            doSetProperty("scanParallelism", scanParallelism);
+            return this;
+        }
+        /**
+         * The number of threads to use for scanning the sub directories in
+         * parallel when recursive is enabled. The files are gathered in no
+         * particular order, so use a sorter if the files should be processed in
+         * a given order.
+         * 
+         * The option will be converted to a &lt;code&gt;int&lt;/code&gt; type.
+         * 
+         * Default: 1
+         * Group: consumer (advanced)
+         * 
+         * @param scanParallelism the value to set
+         * @return the dsl builder
+         */
+        default AdvancedFileEndpointConsumerBuilder scanParallelism(
+                String scanParallelism) {
+            doSetProperty("scanParallelism", scanParallelism);
+            return this;
+        }
         /**
          * Whether the starting directory must exist. Mind that the autoCreate
          * option is default enabled, which means the starting directory is
@@ -2472,6 +2552,51 @@ public interface FileEndpointBuilderFactory {
             doSetProperty("startingDirectoryMustHaveAccess", startingDirectoryMustHaveAccess);
             return this;
         }
+        /**
+         * Whether to stream the entries of the directories when scanning for
+         * files, instead of listing all the entries of a directory at once.
+         * This lowers the memory usage when polling directories with a very
+         * large number of files, and when using maxMessagesPerPoll then the
+         * scan stops as soon as the limit is hit. This option is not in use
+         * when preSort is enabled, as pre sorting requires all the entries of a
+         * directory.
+         * 
+         * The option is a: &lt;code&gt;boolean&lt;/code&gt; type.
+         * 
+         * Default: false
+         * Group: consumer (advanced)
+         * 
+         * @param streamingScan the value to set
+         * @return the dsl builder
+         */
+        default AdvancedFileEndpointConsumerBuilder streamingScan(
+                boolean streamingScan) {
+            doSetProperty("streamingScan", streamingScan);
+            return this;
+        }
+        /**
+         * Whether to stream the entries of the directories when scanning for
+         * files, instead of listing all the entries of a directory at once.
+         * This lowers the memory usage when polling directories with a very
+         * large number of files, and when using maxMessagesPerPoll then the
+         * scan stops as soon as the limit is hit. This option is not in use
+         * when preSort is enabled, as pre sorting requires all the entries of a
+         * directory.
+         * 
+         * The option will be converted to a &lt;code&gt;boolean&lt;/code&gt;
+         * type.
+         * 
+         * Default: false
+         * Group: consumer (advanced)
+         * 
+         * @param streamingScan the value to set
+         * @return the dsl builder
+         */
+        default AdvancedFileEndpointConsumerBuilder streamingScan(
+                String streamingScan) {
+            doSetProperty("streamingScan", streamingScan);
+            return this;
+        }
         /**
          * Automatically create missing directories in the file's pathname. For
          * the file consumer, that means creating the starting directory. For
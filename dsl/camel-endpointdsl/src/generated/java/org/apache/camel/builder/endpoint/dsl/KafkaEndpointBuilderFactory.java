@@ -368,6 +368,96 @@ public interface KafkaEndpointBuilderFactory {
             doSetProperty("autoOffsetReset", autoOffsetReset);
             return this;
         }
+        /**
+         * Whether to route the records of a poll as a batch, with one exchange
+         * per batch instead of one exchange per record. The message body is
+         * then a java.util.List with an exchange per record, which holds the
+         * record value as its body and the record metadata as its headers. A
+         * batch holds up to maxPollRecords records, and the offsets of the
+         * batch are committed once the batch exchange has completed. When
+         * allowManualCommit is enabled then the batch exchange has a
+         * KafkaManualCommit header that commits all the records of the batch.
+         * When breakOnFirstError is enabled and the batch fails then the
+         * consumer seeks back to the first record of the batch. This cannot be
+         * used together with processingThreads.
+         * 
+         * The option is a: &lt;code&gt;boolean&lt;/code&gt; type.
+         * 
+         * Default: false
+         * Group: consumer
+         * 
+         * @param batching the value to set
+         * @return the dsl builder
+         */
+        default KafkaEndpointConsumerBuilder batching(boolean batching) {
+            doSetProperty("batching", batching);
+            return this;
+        }
+        /**
+         * Whether to route the records of a poll as a batch, with one exchange
+         * per batch instead of one exchange per record. The message body is
+         * then a java.util.List with an exchange per record, which holds the
+         * record value as its body and the record metadata as its headers. A
+         * batch holds up to maxPollRecords records, and the offsets of the
+         * batch are committed once the batch exchange has completed. When
+         * allowManualCommit is enabled then the batch exchange has a
+         * KafkaManualCommit header that commits all the records of the batch.
+         * When breakOnFirstError is enabled and the batch fails then the
+         * consumer seeks back to the first record of the batch. This cannot be
+         * used together with processingThreads.
+         * 
+         * The option will be converted to a &lt;code&gt;boolean&lt;/code&gt;
+         * type.
+         * 
+         * Default: false
+         * Group: consumer
+         * 
+         * @param batching the value to set
+         * @return the dsl builder
+         */
+        default KafkaEndpointConsumerBuilder batching(String batching) {
+            doSetProperty("batching", batching);
+            return this;
+        }
+        /**
+         * The maximum time to wait for a batch to fill up when batching is
+         * enabled. By default a batch holds the records of a single poll. When
+         * this option is set, the records of consecutive polls are collected
+         * until there are maxPollRecords records, or the interval has elapsed
+         * since the first record of the batch was received.
+         * 
+         * The option is a: &lt;code&gt;java.lang.Long&lt;/code&gt; type.
+         * 
+         * Group: consumer
+         * 
+         * @param batchingIntervalMs the value to set
+         * @return the dsl builder
+         */
+        default KafkaEndpointConsumerBuilder batchingIntervalMs(
+                Long batchingIntervalMs) {
+            doSetProperty("batchingIntervalMs", batchingIntervalMs);
+            return this;
+        }
+        /**
+         * The maximum time to wait for a batch to fill up when batching is
+         * enabled. By default a batch holds the records of a single poll. When
+         * this option is set, the records of consecutive polls are collected
+         * until there are maxPollRecords records, or the interval has elapsed
+         * since the first record of the batch was received.
+         * 
+         * The option will be converted to a
+         * &lt;code&gt;java.lang.Long&lt;/code&gt; type.
+         * 
+         * Group: consumer
+         * 
+         * @param batchingIntervalMs the value to set
+         * @return the dsl builder
+         */
+        default KafkaEndpointConsumerBuilder batchingIntervalMs(
+                String batchingIntervalMs) {
+            doSetProperty("batchingIntervalMs", batchingIntervalMs);
+            return this;
+        }
         /**
          * This options controls what happens when a consumer is processing an
          * exchange and it fails. If the option is false then the consumer
@@ -815,6 +905,48 @@ public interface KafkaEndpointBuilderFactory {
             doSetProperty("keyDeserializer", keyDeserializer);
             return this;
         }
+        /**
+         * The maximum number of records that are being processed in parallel
+         * (see the processingThreads option) before the consumer pauses
+         * fetching from its partitions. Fetching is resumed when records have
+         * completed. As the records of a poll are always dispatched, the limit
+         * can be exceeded by up to the number of records of a poll
+         * (maxPollRecords).
+         * 
+         * The option is a: &lt;code&gt;int&lt;/code&gt; type.
+         * 
+         * Default: 1000
+         * Group: consumer
+         * 
+         * @param maxInFlightRecords the value to set
+         * @return the dsl builder
+         */
+        default KafkaEndpointConsumerBuilder maxInFlightRecords(
+                int maxInFlightRecords) {
+            doSetProperty("maxInFlightRecords", maxInFlightRecords);
+            return this;
+        }
+        /**
+         * The maximum number of records that are being processed in parallel
+         * (see the processingThreads option) before the consumer pauses
+         * fetching from its partitions. Fetching is resumed when records have
+         * completed. As the records of a poll are always dispatched, the limit
+         * can be exceeded by up to the number of records of a poll
+         * (maxPollRecords).
+         * 
+         * The option will be converted to a &lt;code&gt;int&lt;/code&gt; type.
+         * 
+         * Default: 1000
+         * Group: consumer
+         * 
+         * @param maxInFlightRecords the value to set
+         * @return the dsl builder
+         */
+        default KafkaEndpointConsumerBuilder maxInFlightRecords(
+                String maxInFlightRecords) {
+            doSetProperty("maxInFlightRecords", maxInFlightRecords);
+            return this;
+        }
         /**
          * The maximum amount of data per-partition the server will return. The
          * maximum total memory used for a request will be #partitions
@@ -1072,6 +1204,96 @@ public interface KafkaEndpointBuilderFactory {
             doSetProperty("pollTimeoutMs", pollTimeoutMs);
             return this;
         }
+        /**
+         * The order to keep when processing the records in parallel (see the
+         * processingThreads option). KEY processes the records with the same
+         * key in order, and records with different keys in parallel (records
+         * without a key are ordered per partition). PARTITION processes the
+         * records of a partition in order, and the partitions in parallel.
+         * 
+         * The option is a:
+         * &lt;code&gt;org.apache.camel.component.kafka.ProcessingOrder&lt;/code&gt;
+         * type.
+         * 
+         * Default: KEY
+         * Group: consumer
+         * 
+         * @param processingOrder the value to set
+         * @return the dsl builder
+         */
+        default KafkaEndpointConsumerBuilder processingOrder(
+                org.apache.camel.component.kafka.ProcessingOrder processingOrder) {
+            doSetProperty("processingOrder", processingOrder);
+            return this;
+        }
+        /**
+         * The order to keep when processing the records in parallel (see the
+         * processingThreads option). KEY processes the records with the same
+         * key in order, and records with different keys in parallel (records
+         * without a key are ordered per partition). PARTITION processes the
+         * records of a partition in order, and the partitions in parallel.
+         * 
+         * The option will be converted to a
+         * &lt;code&gt;org.apache.camel.component.kafka.ProcessingOrder&lt;/code&gt;
+         * type.
+         * 
+         * Default: KEY
+         * Group: consumer
+         * 
+         * @param processingOrder the value to set
+         * @return the dsl builder
+         */
+        default KafkaEndpointConsumerBuilder processingOrder(
+                String processingOrder) {
+            doSetProperty("processingOrder", processingOrder);
+            return this;
+        }
+        /**
+         * The number of threads used for processing the records of a poll in
+         * parallel. By default the records are processed one by one on the
+         * consumer thread, which bounds the throughput of a consumer by the
+         * time it takes to route a record. When processing in parallel the
+         * order of the records is still kept per key or per partition, see the
+         * processingOrder option, and the offsets are committed up till the
+         * last record before which all the records have completed. Use
+         * autoCommitIntervalMs to control how often the offsets are committed.
+         * This cannot be used together with allowManualCommit.
+         * 
+         * The option is a: &lt;code&gt;int&lt;/code&gt; type.
+         * 
+         * Group: consumer
+         * 
+         * @param processingThreads the value to set
+         * @return the dsl builder
+         */
+        default KafkaEndpointConsumerBuilder processingThreads(
+                int processingThreads) {
+            doSetProperty("processingThreads", processingThreads);
+            return this;
+        }
+        /**
+         * The number of threads used for processing the records of a poll in
+         * parallel. By default the records are processed one by one on the
+         * consumer thread, which bounds the throughput of a consumer by the
+         * time it takes to route a record. When processing in parallel the
+         * order of the records is still kept per key or per partition, see the
+         * processingOrder option, and the offsets are committed up till the
+         * last record before which all the records have completed. Use
+         * autoCommitIntervalMs to control how often the offsets are committed.
+         * This cannot be used together with allowManualCommit.
+         * 
+         * The option will be converted to a &lt;code&gt;int&lt;/code&gt; type.
+         * 
+         * Group: consumer
+         * 
+         * @param processingThreads the value to set
+         * @return the dsl builder
+         */
+        default KafkaEndpointConsumerBuilder processingThreads(
+                String processingThreads) {
+            doSetProperty("processingThreads", processingThreads);
+            return this;
+        }
         /**
          * Set if KafkaConsumer will read from beginning or end on startup:
          * SeekPolicy.BEGINNING: read from beginning. SeekPolicy.END: read from
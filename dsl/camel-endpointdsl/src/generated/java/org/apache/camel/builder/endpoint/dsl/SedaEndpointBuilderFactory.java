@@ -274,6 +274,46 @@ public interface SedaEndpointBuilderFactory {
             doSetProperty("limitConcurrentConsumers", limitConcurrentConsumers);
             return this;
         }
+        /**
+         * The maximum number of exchanges each consumer thread takes from the
+         * queue when it wakes up, which are then processed one after the other
+         * before polling again. Draining several exchanges at once reduces the
+         * contention on the queue when many producers are sending to the same
+         * queue. The default is 1, which takes one exchange at a time.
+         * 
+         * The option is a: &lt;code&gt;int&lt;/code&gt; type.
+         * 
+         * Default: 1
+         * Group: consumer (advanced)
+         * 
+         * @param maxMessagesPerPoll the value to set
+         * @return the dsl builder
+         */
+        default AdvancedSedaEndpointConsumerBuilder maxMessagesPerPoll(
+                int maxMessagesPerPoll) {
+            doSetProperty("maxMessagesPerPoll", maxMessagesPerPoll);
+            return this;
+        }
+        /**
+         * The maximum number of exchanges each consumer thread takes from the
+         * queue when it wakes up, which are then processed one after the other
+         * before polling again. Draining several exchanges at once reduces the
+         * contention on the queue when many producers are sending to the same
+         * queue. The default is 1, which takes one exchange at a time.
+         * 
+         * The option will be converted to a &lt;code&gt;int&lt;/code&gt; type.
+         * 
+         * Default: 1
+         * Group: consumer (advanced)
+         * 
+         * @param maxMessagesPerPoll the value to set
+         * @return the dsl builder
+         */
+        default AdvancedSedaEndpointConsumerBuilder maxMessagesPerPoll(
+                String maxMessagesPerPoll) {
+            doSetProperty("maxMessagesPerPoll", maxMessagesPerPoll);
+            return this;
+        }
         /**
          * Specifies whether multiple consumers are allowed. If enabled, you can
          * use SEDA for Publish-Subscribe messaging. That is, you can send a
@@ -1235,6 +1235,44 @@ public interface SqlEndpointBuilderFactory {
             doSetProperty("alwaysPopulateStatement", alwaysPopulateStatement);
             return this;
         }
+        /**
+         * If set greater than zero, then the JDBC driver is hinted to fetch
+         * this number of rows from the database in each round trip. This is
+         * useful with outputType=StreamList to only keep a limited number of
+         * rows in memory while streaming a large result. Notice some JDBC
+         * drivers only stream the result when the connection is not in auto
+         * commit mode.
+         * 
+         * The option is a: &lt;code&gt;int&lt;/code&gt; type.
+         * 
+         * Group: advanced
+         * 
+         * @param fetchSize the value to set
+         * @return the dsl builder
+         */
+        default AdvancedSqlEndpointConsumerBuilder fetchSize(int fetchSize) {
+            doSetProperty("fetchSize", fetchSize);
+            return this;
+        }
+        /**
+         * If set greater than zero, then the JDBC driver is hinted to fetch
+         * this number of rows from the database in each round trip. This is
+         * useful with outputType=StreamList to only keep a limited number of
+         * rows in memory while streaming a large result. Notice some JDBC
+         * drivers only stream the result when the connection is not in auto
+         * commit mode.
+         * 
+         * The option will be converted to a &lt;code&gt;int&lt;/code&gt; type.
+         * 
+         * Group: advanced
+         * 
+         * @param fetchSize the value to set
+         * @return the dsl builder
+         */
+        default AdvancedSqlEndpointConsumerBuilder fetchSize(String fetchSize) {
+            doSetProperty("fetchSize", fetchSize);
+            return this;
+        }
         /**
          * If set greater than zero, then Camel will use this count value of
          * parameters to replace instead of querying via JDBC metadata API. This
@@ -1634,6 +1672,114 @@ public interface SqlEndpointBuilderFactory {
             doSetProperty("batch", batch);
             return this;
         }
+        /**
+         * Whether to coalesce the exchanges which use the same SQL statement
+         * into JDBC batches. Each exchange provides the parameters of a single
+         * statement, and is completed with its own update count once its batch
+         * has been executed. A batch is executed when coalesceSize exchanges
+         * have been collected, or coalesceTimeout has elapsed since its first
+         * exchange was collected. This cannot be combined with the batch
+         * option.
+         * 
+         * The option is a: &lt;code&gt;boolean&lt;/code&gt; type.
+         * 
+         * Group: producer
+         * 
+         * @param coalesce the value to set
+         * @return the dsl builder
+         */
+        default SqlEndpointProducerBuilder coalesce(boolean coalesce) {
+            doSetProperty("coalesce", coalesce);
+            return this;
+        }
+        /**
+         * Whether to coalesce the exchanges which use the same SQL statement
+         * into JDBC batches. Each exchange provides the parameters of a single
+         * statement, and is completed with its own update count once its batch
+         * has been executed. A batch is executed when coalesceSize exchanges
+         * have been collected, or coalesceTimeout has elapsed since its first
+         * exchange was collected. This cannot be combined with the batch
+         * option.
+         * 
+         * The option will be converted to a &lt;code&gt;boolean&lt;/code&gt;
+         * type.
+         * 
+         * Group: producer
+         * 
+         * @param coalesce the value to set
+         * @return the dsl builder
+         */
+        default SqlEndpointProducerBuilder coalesce(String coalesce) {
+            doSetProperty("coalesce", coalesce);
+            return this;
+        }
+        /**
+         * The maximum number of exchanges to coalesce into a single JDBC batch,
+         * when coalesce is enabled.
+         * 
+         * The option is a: &lt;code&gt;int&lt;/code&gt; type.
+         * 
+         * Default: 100
+         * Group: producer
+         * 
+         * @param coalesceSize the value to set
+         * @return the dsl builder
+         */
+        default SqlEndpointProducerBuilder coalesceSize(int coalesceSize) {
+            doSetProperty("coalesceSize", coalesceSize);
+            return this;
+        }
+        /**
+         * The maximum number of exchanges to coalesce into a single JDBC batch,
+         * when coalesce is enabled.
+         * 
+         * The option will be converted to a &lt;code&gt;int&lt;/code&gt; type.
+         * 
+         * Default: 100
+         * Group: producer
+         * 
+         * @param coalesceSize the value to set
+         * @return the dsl builder
+         */
+        default SqlEndpointProducerBuilder coalesceSize(String coalesceSize) {
+            doSetProperty("coalesceSize", coalesceSize);
+            return this;
+        }
+        /**
+         * The time in millis to wait for more exchanges to coalesce into a JDBC
+         * batch, after its first exchange was collected, when coalesce is
+         * enabled.
+         * 
+         * The option is a: &lt;code&gt;long&lt;/code&gt; type.
+         * 
+         * Default: 10
+         * Group: producer
+         * 
+         * @param coalesceTimeout the value to set
+         * @return the dsl builder
+         */
+        default SqlEndpointProducerBuilder coalesceTimeout(long coalesceTimeout) {
+            doSetProperty("coalesceTimeout", coalesceTimeout);
+            return this;
+        }
+        /**
+         * The time in millis to wait for more exchanges to coalesce into a JDBC
+         * batch, after its first exchange was collected, when coalesce is
+         * enabled.
+         * 
+         * The option will be converted to a &lt;code&gt;long&lt;/code&gt; type.
+         * 
+         * Default: 10
+         * Group: producer
+         * 
+         * @param coalesceTimeout the value to set
+         * @return the dsl builder
+         */
+        default SqlEndpointProducerBuilder coalesceTimeout(
+                String coalesceTimeout) {
+            doSetProperty("coalesceTimeout", coalesceTimeout);
+            return this;
+        }
         /**
          * If set, will ignore the results of the SQL query and use the existing
          * IN message as the OUT message for the continuation of processing.
@@ -1809,6 +1955,44 @@ public interface SqlEndpointBuilderFactory {
             doSetProperty("alwaysPopulateStatement", alwaysPopulateStatement);
             return this;
         }
+        /**
+         * If set greater than zero, then the JDBC driver is hinted to fetch
+         * this number of rows from the database in each round trip. This is
+         * useful with outputType=StreamList to only keep a limited number of
+         * rows in memory while streaming a large result. Notice some JDBC
+         * drivers only stream the result when the connection is not in auto
+         * commit mode.
+         * 
+         * The option is a: &lt;code&gt;int&lt;/code&gt; type.
+         * 
+         * Group: advanced
+         * 
+         * @param fetchSize the value to set
+         * @return the dsl builder
+         */
+        default AdvancedSqlEndpointProducerBuilder fetchSize(int fetchSize) {
+            doSetProperty("fetchSize", fetchSize);
+            return this;
+        }
+        /**
+         * If set greater than zero, then the JDBC driver is hinted to fetch
+         * this number of rows from the database in each round trip. This is
+         * useful with outputType=StreamList to only keep a limited number of
+         * rows in memory while streaming a large result. Notice some JDBC
+         * drivers only stream the result when the connection is not in auto
+         * commit mode.
+         * 
+         * The option will be converted to a &lt;code&gt;int&lt;/code&gt; type.
+         * 
+         * Group: advanced
+         * 
+         * @param fetchSize the value to set
+         * @return the dsl builder
+         */
+        default AdvancedSqlEndpointProducerBuilder fetchSize(String fetchSize) {
+            doSetProperty("fetchSize", fetchSize);
+            return this;
+        }
         /**
          * If set greater than zero, then Camel will use this count value of
          * parameters to replace instead of querying via JDBC metadata API. This
@@ -2232,6 +2416,44 @@ public interface SqlEndpointBuilderFactory {
             doSetProperty("alwaysPopulateStatement", alwaysPopulateStatement);
             return this;
         }
+        /**
+         * If set greater than zero, then the JDBC driver is hinted to fetch
+         * this number of rows from the database in each round trip. This is
+         * useful with outputType=StreamList to only keep a limited number of
+         * rows in memory while streaming a large result. Notice some JDBC
+         * drivers only stream the result when the connection is not in auto
+         * commit mode.
+         * 
+         * The option is a: &lt;code&gt;int&lt;/code&gt; type.
+         * 
+         * Group: advanced
+         * 
+         * @param fetchSize the value to set
+         * @return the dsl builder
+         */
+        default AdvancedSqlEndpointBuilder fetchSize(int fetchSize) {
+            doSetProperty("fetchSize", fetchSize);
+            return this;
+        }
+        /**
+         * If set greater than zero, then the JDBC driver is hinted to fetch
+         * this number of rows from the database in each round trip. This is
+         * useful with outputType=StreamList to only keep a limited number of
+         * rows in memory while streaming a large result. Notice some JDBC
+         * drivers only stream the result when the connection is not in auto
+         * commit mode.
+         * 
+         * The option will be converted to a &lt;code&gt;int&lt;/code&gt; type.
+         * 
+         * Group: advanced
+         * 
+         * @param fetchSize the value to set
+         * @return the dsl builder
+         */
+        default AdvancedSqlEndpointBuilder fetchSize(String fetchSize) {
+            doSetProperty("fetchSize", fetchSize);
+            return this;
+        }
         /**
          * If set greater than zero, then Camel will use this count value of
          * parameters to replace instead of querying via JDBC metadata API. This
@@ -328,6 +328,7 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     @YamlProperty(name = "id", type = "string"),
                     @YamlProperty(name = "ignore-invalid-correlation-keys", type = "boolean"),
                     @YamlProperty(name = "inherit-error-handler", type = "boolean"),
+                    @YamlProperty(name = "lock-stripes", type = "number"),
                     @YamlProperty(name = "optimistic-lock-retry-policy", type = "object:org.apache.camel.model.OptimisticLockRetryPolicyDefinition"),
                     @YamlProperty(name = "optimistic-locking", type = "boolean"),
                     @YamlProperty(name = "parallel-processing", type = "boolean"),
@@ -474,6 +475,11 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     target.setInheritErrorHandler(java.lang.Boolean.valueOf(val));
                     break;
                 }
+                case "lock-stripes": {
+                    String val = asText(node);
+                    target.setLockStripes(val);
+                    break;
+                }
                 case "optimistic-lock-retry-policy": {
                     org.apache.camel.model.OptimisticLockRetryPolicyDefinition val = asType(node, org.apache.camel.model.OptimisticLockRetryPolicyDefinition.class);
                     target.setOptimisticLockRetryPolicyDefinition(val);
@@ -15154,6 +15160,7 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     @YamlProperty(name = "expression", type = "object:org.apache.camel.model.language.ExpressionDefinition"),
                     @YamlProperty(name = "id", type = "string"),
                     @YamlProperty(name = "inherit-error-handler", type = "boolean"),
+                    @YamlProperty(name = "max-inflight-exchanges", type = "number"),
                     @YamlProperty(name = "on-prepare", type = "string"),
                     @YamlProperty(name = "parallel-aggregate", type = "boolean"),
                     @YamlProperty(name = "parallel-processing", type = "boolean"),
@@ -15218,6 +15225,11 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     target.setInheritErrorHandler(java.lang.Boolean.valueOf(val));
                     break;
                 }
+                case "max-inflight-exchanges": {
+                    String val = asText(node);
+                    target.setMaxInflightExchanges(val);
+                    break;
+                }
                 case "on-prepare": {
                     String val = asText(node);
                     target.setOnPrepare(val);
@@ -15941,7 +15953,8 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     @YamlProperty(name = "max-queue-size", type = "number"),
                     @YamlProperty(name = "pool-size", type = "number"),
                     @YamlProperty(name = "rejected-policy", type = "enum:Abort,CallerRuns,DiscardOldest,Discard"),
-                    @YamlProperty(name = "time-unit", type = "enum:NANOSECONDS,MICROSECONDS,MILLISECONDS,SECONDS,MINUTES,HOURS,DAYS")
+                    @YamlProperty(name = "time-unit", type = "enum:NANOSECONDS,MICROSECONDS,MILLISECONDS,SECONDS,MINUTES,HOURS,DAYS"),
+                    @YamlProperty(name = "virtual-threads", type = "boolean")
             }
     )
     public static class ThreadPoolProfileDefinitionDeserializer extends YamlDeserializerBase<ThreadPoolProfileDefinition> {
@@ -15998,6 +16011,11 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     target.setTimeUnit(val);
                     break;
                 }
+                case "virtual-threads": {
+                    String val = asText(node);
+                    target.setVirtualThreads(val);
+                    break;
+                }
                 case "id": {
                     String val = asText(node);
                     target.setId(val);
@@ -16204,6 +16222,7 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     @YamlProperty(name = "id", type = "string"),
                     @YamlProperty(name = "inherit-error-handler", type = "boolean"),
                     @YamlProperty(name = "reject-execution", type = "boolean"),
+                    @YamlProperty(name = "state-repository", type = "string"),
                     @YamlProperty(name = "time-period-millis", type = "string")
             }
     )
@@ -16261,6 +16280,11 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     target.setRejectExecution(val);
                     break;
                 }
+                case "state-repository": {
+                    String val = asText(node);
+                    target.setStateRepository(val);
+                    break;
+                }
                 case "time-period-millis": {
                     String val = asText(node);
                     target.setTimePeriodMillis(val);
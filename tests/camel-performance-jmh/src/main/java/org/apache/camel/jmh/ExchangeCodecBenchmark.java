@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.jmh;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.apache.camel.support.DefaultExchangeHolder;
+import org.apache.camel.support.DefaultExchangeHolderBinaryCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks encoding and decoding a {@link DefaultExchangeHolder} (as done by the aggregation repositories that store
+ * exchanges) using Java serialization and using the {@link DefaultExchangeHolderBinaryCodec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExchangeCodecBenchmark {
+
+    @Param({ "5", "20" })
+    private int headers;
+
+    @Param({ "string", "bytes" })
+    private String body;
+
+    private CamelContext context;
+    private DefaultExchangeHolder holder;
+    private byte[] serialized;
+    private byte[] binary;
+
+    @Setup
+    public void setup() throws IOException {
+        context = new DefaultCamelContext();
+        context.start();
+
+        Exchange exchange = new DefaultExchange(context);
+        if ("bytes".equals(body)) {
+            exchange.getIn().setBody(new byte[4096]);
+        } else {
+            exchange.getIn().setBody("Hello World how are you today, this is the body of the message");
+        }
+        for (int i = 0; i < headers; i++) {
+            exchange.getIn().setHeader("CamelHeader" + i, i % 2 == 0 ? "value" + i : i);
+        }
+        exchange.setProperty(Exchange.AGGREGATED_SIZE, 5);
+        holder = DefaultExchangeHolder.marshal(exchange, true);
+
+        serialized = serialize();
+        binary = DefaultExchangeHolderBinaryCodec.encode(holder);
+    }
+
+    @TearDown
+    public void teardown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public byte[] encodeJavaSerialization() throws IOException {
+        return serialize();
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() throws IOException {
+        return DefaultExchangeHolderBinaryCodec.encode(holder);
+    }
+
+    @Benchmark
+    public Object decodeJavaSerialization() throws Exception {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+            return ois.readObject();
+        }
+    }
+
+    @Benchmark
+    public Object decodeBinary() throws Exception {
+        return DefaultExchangeHolderBinaryCodec.decode(binary, null);
+    }
+
+    private byte[] serialize() throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(holder);
+        }
+        return bos.toByteArray();
+    }
+}
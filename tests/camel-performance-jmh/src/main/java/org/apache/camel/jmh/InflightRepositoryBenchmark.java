@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.engine.DefaultInflightRepository;
+import org.apache.camel.impl.engine.SamplingInflightRepository;
+import org.apache.camel.spi.InflightRepository;
+import org.apache.camel.support.DefaultExchange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks adding and removing exchanges to the inflight repository from several threads, with browsing enabled, as
+ * is done by the unit of work and the route advice for every exchange.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class InflightRepositoryBenchmark {
+
+    @Param({ "default", "sampling" })
+    private String repository;
+
+    private CamelContext context;
+    private InflightRepository inflightRepository;
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private Exchange exchange;
+
+        @Setup
+        public void setup(InflightRepositoryBenchmark benchmark) {
+            exchange = new DefaultExchange(benchmark.context);
+        }
+    }
+
+    @Setup
+    public void setup() throws Exception {
+        context = new DefaultCamelContext();
+        if ("sampling".equals(repository)) {
+            context.setInflightRepository(new SamplingInflightRepository());
+        } else {
+            context.setInflightRepository(new DefaultInflightRepository());
+        }
+        context.start();
+        inflightRepository = context.getInflightRepository();
+        inflightRepository.setInflightBrowseEnabled(true);
+        inflightRepository.addRoute("bench");
+    }
+
+    @TearDown
+    public void teardown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public void addRemove(ThreadState state) {
+        Exchange exchange = state.exchange;
+        inflightRepository.add(exchange);
+        inflightRepository.add(exchange, "bench");
+        inflightRepository.remove(exchange, "bench");
+        inflightRepository.remove(exchange);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ExtendedCamelContext;
+import org.apache.camel.Message;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.engine.ArrayHeadersMapFactory;
+import org.apache.camel.support.DefaultMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks setting, getting and copying headers on {@link DefaultMessage}, which uses the headers map from the
+ * configured {@link org.apache.camel.spi.HeadersMapFactory}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageHeaderBenchmark {
+
+    @Param({ "5", "20" })
+    private int headers;
+
+    @Param({ "default", "array" })
+    private String factory;
+
+    private CamelContext context;
+    private Message message;
+    private String[] names;
+
+    @Setup
+    public void setup() {
+        context = new DefaultCamelContext();
+        if ("array".equals(factory)) {
+            context.adapt(ExtendedCamelContext.class).setHeadersMapFactory(new ArrayHeadersMapFactory());
+        }
+        context.start();
+
+        names = new String[headers];
+        message = new DefaultMessage(context);
+        for (int i = 0; i < headers; i++) {
+            names[i] = "CamelHeader" + i;
+            message.setHeader(names[i], i);
+        }
+    }
+
+    @TearDown
+    public void teardown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public void setHeaders(Blackhole bh) {
+        Message msg = new DefaultMessage(context);
+        for (String name : names) {
+            msg.setHeader(name, name);
+        }
+        bh.consume(msg);
+    }
+
+    @Benchmark
+    public void getHeader(Blackhole bh) {
+        for (String name : names) {
+            bh.consume(message.getHeader(name));
+        }
+    }
+
+    @Benchmark
+    public void getHeaderCaseInsensitive(Blackhole bh) {
+        bh.consume(message.getHeader("camelheader0"));
+    }
+
+    @Benchmark
+    public void getHeaderConverted(Blackhole bh) {
+        for (String name : names) {
+            bh.consume(message.getHeader(name, String.class));
+        }
+    }
+
+    @Benchmark
+    public void copyMessage(Blackhole bh) {
+        bh.consume(message.copy());
+    }
+}
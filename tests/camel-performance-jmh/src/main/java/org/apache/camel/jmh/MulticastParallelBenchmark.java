@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.processor.aggregate.GroupedBodyAggregationStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks the multicast EIP sending to a number of recipients, both sequentially and using parallel processing, where
+ * the replies are aggregated either in the order they were sent or in the order they complete.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MulticastParallelBenchmark {
+
+    private CamelContext context;
+    private ProducerTemplate template;
+
+    @Setup
+    public void setup() throws Exception {
+        context = new DefaultCamelContext();
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:sequential")
+                        .multicast(new GroupedBodyAggregationStrategy())
+                        .to("direct:a", "direct:b", "direct:c", "direct:d");
+
+                from("direct:parallel")
+                        .multicast(new GroupedBodyAggregationStrategy()).parallelProcessing()
+                        .to("direct:a", "direct:b", "direct:c", "direct:d");
+
+                from("direct:parallelUnordered")
+                        .multicast(new UnorderedGroupedBodyAggregationStrategy()).parallelProcessing()
+                        .to("direct:a", "direct:b", "direct:c", "direct:d");
+
+                from("direct:a").transform(body().append(" A"));
+                from("direct:b").transform(body().append(" B"));
+                from("direct:c").transform(body().append(" C"));
+                from("direct:d").transform(body().append(" D"));
+            }
+        });
+        context.start();
+        template = context.createProducerTemplate();
+    }
+
+    @TearDown
+    public void teardown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public void multicastSequential(Blackhole bh) {
+        bh.consume(template.requestBody("direct:sequential", "Hello"));
+    }
+
+    @Benchmark
+    public void multicastParallel(Blackhole bh) {
+        bh.consume(template.requestBody("direct:parallel", "Hello"));
+    }
+
+    @Benchmark
+    public void multicastParallelUnordered(Blackhole bh) {
+        bh.consume(template.requestBody("direct:parallelUnordered", "Hello"));
+    }
+
+    /**
+     * Aggregates the replies in the order they complete.
+     */
+    private static final class UnorderedGroupedBodyAggregationStrategy extends GroupedBodyAggregationStrategy {
+
+        @Override
+        public boolean isOrderSensitive() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.seda.ArrayBlockingQueueFactory;
+import org.apache.camel.component.seda.LinkedBlockingQueueFactory;
+import org.apache.camel.component.seda.RingBufferBlockingQueueFactory;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks many threads sending to the same seda queue, which is consumed by a single consumer thread, with the
+ * different queue factories and number of exchanges taken from the queue per poll.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class SedaFanInBenchmark {
+
+    @Param({ "linked", "array", "ringBuffer" })
+    private String queue;
+
+    @Param({ "1", "100" })
+    private int maxMessagesPerPoll;
+
+    private CamelContext context;
+    private ProducerTemplate template;
+    private String uri;
+
+    @Setup
+    public void setup() throws Exception {
+        context = new DefaultCamelContext();
+        if ("array".equals(queue)) {
+            context.getRegistry().bind("queueFactory", new ArrayBlockingQueueFactory<Exchange>());
+        } else if ("ringBuffer".equals(queue)) {
+            context.getRegistry().bind("queueFactory", new RingBufferBlockingQueueFactory<Exchange>());
+        } else {
+            context.getRegistry().bind("queueFactory", new LinkedBlockingQueueFactory<Exchange>());
+        }
+        uri = "seda:fanIn?queueFactory=#queueFactory&size=1000&blockWhenFull=true&maxMessagesPerPoll=" + maxMessagesPerPoll;
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                from(uri).to("log:bench?level=OFF");
+            }
+        });
+        context.start();
+        template = context.createProducerTemplate();
+    }
+
+    @TearDown
+    public void teardown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public void sendToSeda() {
+        template.sendBody(uri, "Hello");
+    }
+}
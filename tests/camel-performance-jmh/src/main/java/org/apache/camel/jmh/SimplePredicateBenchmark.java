@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Predicate;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks evaluating simple language predicates, either interpreted or compiled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SimplePredicateBenchmark {
+
+    @Param({ "false", "true" })
+    private String compilePredicates;
+
+    private CamelContext context;
+    private Exchange exchange;
+    private Predicate andPredicate;
+    private Predicate regexPredicate;
+    private Predicate inPredicate;
+
+    @Setup
+    public void setup() {
+        context = new DefaultCamelContext();
+        context.getGlobalOptions().put(Exchange.SIMPLE_COMPILE_PREDICATES, compilePredicates);
+        context.start();
+
+        andPredicate = createPredicate("${header.foo} > 100 && ${body} contains 'x'");
+        regexPredicate = createPredicate("${header.bar} regex '^Cam.*'");
+        inPredicate = createPredicate("${header.bar} in 'Kafka,Artemis,Camel'");
+
+        exchange = new DefaultExchange(context);
+        exchange.getMessage().setBody("xyz");
+        exchange.getMessage().setHeader("foo", 123);
+        exchange.getMessage().setHeader("bar", "Camel");
+    }
+
+    private Predicate createPredicate(String text) {
+        Predicate predicate = context.resolveLanguage("simple").createPredicate(text);
+        predicate.init(context);
+        return predicate;
+    }
+
+    @TearDown
+    public void teardown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public void and(Blackhole bh) {
+        bh.consume(andPredicate.matches(exchange));
+    }
+
+    @Benchmark
+    public void regex(Blackhole bh) {
+        bh.consume(regexPredicate.matches(exchange));
+    }
+
+    @Benchmark
+    public void in(Blackhole bh) {
+        bh.consume(inPredicate.matches(exchange));
+    }
+}
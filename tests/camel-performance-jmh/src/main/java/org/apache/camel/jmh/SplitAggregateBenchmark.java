@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.processor.aggregate.GroupedBodyAggregationStrategy;
+import org.apache.camel.util.concurrent.SynchronousExecutorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks the splitter, both with its own aggregation strategy (composed message processor), and together with the
+ * aggregator which joins the splitted messages back together again. The parallel benchmarks compare streaming parallel
+ * splitting with and without a limit on the number of in-flight split messages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SplitAggregateBenchmark {
+
+    @Param({ "10", "100" })
+    private int size;
+
+    private CamelContext context;
+    private ProducerTemplate template;
+    private List<String> body;
+
+    @Setup
+    public void setup() throws Exception {
+        body = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            body.add("Message " + i);
+        }
+
+        context = new DefaultCamelContext();
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:split")
+                        .split(body(), new GroupedBodyAggregationStrategy())
+                            .transform(body().append("!"))
+                        .end();
+
+                from("direct:splitParallel")
+                        .split(body(), new GroupedBodyAggregationStrategy()).streaming().parallelProcessing()
+                            .transform(body().append("!"))
+                        .end();
+
+                from("direct:splitParallelWindow")
+                        .split(body(), new GroupedBodyAggregationStrategy()).streaming().parallelProcessing()
+                            .maxInflightExchanges(8)
+                            .transform(body().append("!"))
+                        .end();
+
+                from("direct:splitAggregate")
+                        .split(body())
+                            .transform(body().append("!"))
+                            .aggregate(header("CamelCorrelationId"), new GroupedBodyAggregationStrategy())
+                                .completionSize(size)
+                                .executorService("benchAggregate")
+                                .to("log:bench?level=OFF")
+                            .end()
+                        .end();
+            }
+        });
+        // aggregate synchronously so the benchmark measures the aggregation work
+        context.getRegistry().bind("benchAggregate", new SynchronousExecutorService());
+        context.start();
+        template = context.createProducerTemplate();
+    }
+
+    @TearDown
+    public void teardown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public void split(Blackhole bh) {
+        bh.consume(template.requestBody("direct:split", body));
+    }
+
+    @Benchmark
+    public void splitParallel(Blackhole bh) {
+        bh.consume(template.requestBody("direct:splitParallel", body));
+    }
+
+    @Benchmark
+    public void splitParallelWindow(Blackhole bh) {
+        bh.consume(template.requestBody("direct:splitParallelWindow", body));
+    }
+
+    @Benchmark
+    public void splitAggregate(Blackhole bh) {
+        bh.consume(template.requestBody("direct:splitAggregate", body));
+    }
+}
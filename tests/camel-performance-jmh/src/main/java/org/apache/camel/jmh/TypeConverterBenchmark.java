@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.TypeConverter;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.TypeConverterSupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks type conversions using the type converter registry, or a call site type converter which remembers the last
+ * type converter used.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TypeConverterBenchmark {
+
+    private static final byte[] BYTES = "Hello World".getBytes();
+
+    @Param({ "registry", "callSite" })
+    private String converterType;
+
+    private CamelContext context;
+    private TypeConverter converter;
+
+    @Setup
+    public void setup() {
+        context = new DefaultCamelContext();
+        context.getTypeConverterRegistry().addTypeConverter(Order.class, String.class, new OrderTypeConverter());
+        context.start();
+        if ("callSite".equals(converterType)) {
+            converter = context.getTypeConverterRegistry().createCallSiteTypeConverter();
+        } else {
+            converter = context.getTypeConverter();
+        }
+    }
+
+    @TearDown
+    public void teardown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public Object sameType() {
+        return converter.convertTo(String.class, "Hello World");
+    }
+
+    @Benchmark
+    public Object stringToInteger() {
+        return converter.convertTo(Integer.class, "12345");
+    }
+
+    @Benchmark
+    public Object integerToString() {
+        return converter.convertTo(String.class, 12345);
+    }
+
+    @Benchmark
+    public Object stringToBytes() {
+        return converter.convertTo(byte[].class, "Hello World");
+    }
+
+    @Benchmark
+    public Object bytesToString() {
+        return converter.convertTo(String.class, BYTES);
+    }
+
+    @Benchmark
+    public Object stringToBoolean() {
+        return converter.convertTo(Boolean.class, "true");
+    }
+
+    @Benchmark
+    public Object stringToCustomType() {
+        return converter.convertTo(Order.class, "123");
+    }
+
+    public static final class Order {
+        private final String id;
+
+        public Order(String id) {
+            this.id = id;
+        }
+
+        public String getId() {
+            return id;
+        }
+    }
+
+    private static final class OrderTypeConverter extends TypeConverterSupport {
+        @Override
+        public <T> T convertTo(Class<T> type, Exchange exchange, Object value) {
+            return type.cast(new Order(value.toString()));
+        }
+    }
+}